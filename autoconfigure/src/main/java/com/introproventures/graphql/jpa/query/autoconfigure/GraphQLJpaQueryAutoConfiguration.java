@@ -20,11 +20,17 @@ import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
 import com.introproventures.graphql.jpa.query.schema.GraphQLExecutorContextFactory;
 import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaExecutor;
 import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaExecutorContextFactory;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaPreparsedDocumentProvider;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaQueryCostInstrumentation;
 import graphql.GraphQL;
 import graphql.GraphQLContext;
+import graphql.execution.instrumentation.ChainedInstrumentation;
 import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.preparsed.NoOpPreparsedDocumentProvider;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.visibility.GraphqlFieldVisibility;
+import java.util.List;
 import java.util.function.Supplier;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
@@ -32,6 +38,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.hibernate.autoconfigure.HibernateJpaAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.graphql.ExecutionGraphQlService;
@@ -50,6 +57,7 @@ import org.springframework.graphql.ExecutionGraphQlService;
     havingValue = "true",
     matchIfMissing = true
 )
+@EnableConfigurationProperties(GraphQLJpaQueryProperties.class)
 public class GraphQLJpaQueryAutoConfiguration {
 
     @Bean
@@ -61,13 +69,28 @@ public class GraphQLJpaQueryAutoConfiguration {
         ObjectProvider<Supplier<GraphQLContext>> graphqlContext,
         ObjectProvider<QueryExecutionStrategyProvider> queryExecutionStrategy,
         ObjectProvider<MutationExecutionStrategyProvider> mutationExecutionStrategy,
-        ObjectProvider<SubscriptionExecutionStrategyProvider> subscriptionExecutionStrategy
+        ObjectProvider<SubscriptionExecutionStrategyProvider> subscriptionExecutionStrategy,
+        ObjectProvider<PreparsedDocumentProvider> preparsedDocumentProvider,
+        ObjectProvider<GraphQLJpaQueryCostInstrumentation> queryCostInstrumentation,
+        GraphQLJpaQueryProperties properties
     ) {
-        GraphQLJpaExecutorContextFactory bean = new GraphQLJpaExecutorContextFactory();
+        GraphQLJpaExecutorContextFactory bean = new GraphQLJpaExecutorContextFactory()
+            .withPreparsedDocumentProvider(
+                preparsedDocumentProvider.getIfAvailable(() ->
+                    properties.getPreparsedDocumentCacheSize() > 0
+                        ? new GraphQLJpaPreparsedDocumentProvider(properties.getPreparsedDocumentCacheSize())
+                        : NoOpPreparsedDocumentProvider.INSTANCE
+                )
+            );
 
         graphQLExecutionInputFactory.ifAvailable(bean::withExecutionInputFactory);
         graphqlFieldVisibility.ifAvailable(bean::withGraphqlFieldVisibility);
         instrumentation.ifAvailable(bean::withInstrumentation);
+        queryCostInstrumentation.ifAvailable(queryCost -> {
+            Supplier<Instrumentation> delegate = bean.getInstrumentation();
+
+            bean.withInstrumentation(() -> new ChainedInstrumentation(List.of(queryCost, delegate.get())));
+        });
         graphqlContext.ifAvailable(bean::withGraphqlContext);
         queryExecutionStrategy.ifAvailable(bean::withQueryExecutionStrategy);
         mutationExecutionStrategy.ifAvailable(bean::withMutationExecutionStrategy);
@@ -0,0 +1,55 @@
+package com.introproventures.graphql.jpa.query.autoconfigure;
+
+import com.introproventures.graphql.jpa.query.metrics.GraphQLJpaAdmissionControllerMetrics;
+import com.introproventures.graphql.jpa.query.metrics.GraphQLJpaQueryResultCacheMetrics;
+import com.introproventures.graphql.jpa.query.metrics.MicrometerQueryMetricsRecorder;
+import com.introproventures.graphql.jpa.query.schema.QueryMetricsRecorder;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaAdmissionController;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaQueryResultCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+@AutoConfiguration(
+    before = GraphQLSchemaBuilderAutoConfiguration.class,
+    afterName = {
+        "org.springframework.boot.micrometer.metrics.autoconfigure.CompositeMeterRegistryAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration",
+    }
+)
+@EnableConfigurationProperties(GraphQLJpaQueryProperties.class)
+@ConditionalOnClass({ MeterRegistry.class, MicrometerQueryMetricsRecorder.class })
+@ConditionalOnBean(MeterRegistry.class)
+@ConditionalOnProperty(name = "spring.graphql.jpa.query.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class GraphQLJpaQueryMetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(QueryMetricsRecorder.class)
+    MicrometerQueryMetricsRecorder micrometerQueryMetricsRecorder(
+        MeterRegistry meterRegistry,
+        GraphQLJpaQueryProperties properties
+    ) {
+        return new MicrometerQueryMetricsRecorder(meterRegistry, properties.getMetrics().getMaxTaggedFields());
+    }
+
+    @Bean
+    MeterBinder graphQLJpaAdmissionControllerMetrics(
+        ObjectProvider<GraphQLJpaAdmissionController> admissionController
+    ) {
+        return registry ->
+            admissionController.ifAvailable(it -> new GraphQLJpaAdmissionControllerMetrics(it).bindTo(registry));
+    }
+
+    @Bean
+    MeterBinder graphQLJpaQueryResultCacheMetrics(ObjectProvider<GraphQLJpaQueryResultCache> queryResultCache) {
+        return registry ->
+            queryResultCache.ifAvailable(it -> new GraphQLJpaQueryResultCacheMetrics(it).bindTo(registry));
+    }
+}
@@ -15,7 +15,11 @@
  */
 package com.introproventures.graphql.jpa.query.autoconfigure;
 
+import com.introproventures.graphql.jpa.query.autoconfigure.TransactionalDelegateExecutionStrategy.ExecutorMode;
+import com.introproventures.graphql.jpa.query.schema.impl.FetchMode;
+import com.introproventures.graphql.jpa.query.schema.impl.InListBinding;
 import jakarta.validation.constraints.NotEmpty;
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
@@ -55,11 +59,114 @@ public class GraphQLJpaQueryProperties {
      */
     private boolean enableRelay = false;
 
+    /**
+     * Use keyset cursors and seek predicates for GraphQL Relay Connection pages with first/after and last/before
+     * arguments. Offset cursors are used if the sort is not supported. Default is false
+     */
+    private boolean keysetPagination = false;
+
     /**
      * Enable or disable QraphQL module services.
      */
     private boolean enabled;
 
+    /**
+     * Executor mode used to run root queries, mutations and subscriptions in a new transaction.
+     * Use 'virtual' to run each request on its own virtual thread on Java 21 or later.
+     */
+    private ExecutorMode executorMode = ExecutorMode.PLATFORM;
+
+    /**
+     * Run total count and aggregate queries concurrently with page queries on separate read-only
+     * entity managers and database connections using executor mode threads. Concurrent queries do not see
+     * uncommitted changes, Hibernate filters, tenant identifier or thread local context of the request.
+     * Default is false
+     */
+    private boolean concurrentQueries = false;
+
+    /**
+     * Max number of concurrent queries running on separate database connections at the same time. Queries over
+     * the limit run on the request connection. Default is 0, i.e. JDBC connection pool size minus max concurrent
+     * executions of admission control, or half of the pool size if admission control is disabled
+     */
+    private int maxConcurrentQueries = 0;
+
+    /**
+     * Query page keys together with total count using COUNT(*) OVER() window function if supported by the database.
+     * Default is false
+     */
+    private boolean windowTotalCount = false;
+
+    /**
+     * Maximum number of parsed and validated query documents cached by the executor. Default is 0, i.e. caching
+     * is disabled
+     */
+    private int preparsedDocumentCacheSize = 0;
+
+    /**
+     * Maximum number of compiled criteria query templates cached by query field document shape. Variables used
+     * as where comparison operands are bound as parameters on each execution. Set to 0 to disable caching.
+     * Default is 0
+     */
+    private int queryTemplateCacheSize = 0;
+
+    /**
+     * Binding of entity keys in batch, restricted keys and page select queries, i.e. VALUES, PADDED or ARRAY.
+     * PADDED and ARRAY bindings enable Hibernate in clause parameter padding unless configured. Default is VALUES
+     */
+    private InListBinding inListBinding = InListBinding.VALUES;
+
+    /**
+     * Resolve to-one associations with where arguments by identity of the associated entity, so that repeated
+     * references are loaded once per query execution. Default is false
+     */
+    private boolean toOneIdentityCache = false;
+
+    /**
+     * Fetch mode of root query select results, i.e. ENTITY or PROJECTION of selected basic attributes.
+     * PROJECTION applies only to selections of basic persistent attributes, selecting any association falls
+     * back to ENTITY. Default is ENTITY
+     */
+    private FetchMode fetchMode = FetchMode.ENTITY;
+
+    /**
+     * Keep query results fetched in read-only transactions of query executions in the persistence context
+     * instead of detaching every result entity, and skip auto flush. Default is false
+     */
+    private boolean readOnlySession = false;
+
+    /**
+     * Max number of keys loaded by a single association batch query. Larger batches are split into chunks
+     * that run concurrently with concurrent queries enabled. Default is 0, i.e. unlimited
+     */
+    private int maxBatchSize = 0;
+
+    /**
+     * Number of threads used to build entity schema types in parallel on application startup. Parallel build
+     * is experimental. Default is 1, i.e. the schema is built on the startup thread
+     */
+    private int schemaBuildParallelism = 1;
+
+    /**
+     * Admission control settings for root query and mutation executions.
+     */
+    private final AdmissionControl admissionControl = new AdmissionControl();
+
+    /**
+     * Query cost estimation settings.
+     */
+    private final QueryCost queryCost = new QueryCost();
+
+    /**
+     * Micrometer query metrics settings.
+     */
+    private final Metrics metrics = new Metrics();
+
+    /**
+     * Select query result cache settings.
+     */
+    private final ResultCache resultCache = new ResultCache();
+
     /**
      * Web path for web controller
      * Use 'spring.graphql.jpa.query.web.path' to customize default /graphql path
@@ -171,4 +278,322 @@ public class GraphQLJpaQueryProperties {
     public void setEnableRelay(boolean enableRelay) {
         this.enableRelay = enableRelay;
     }
+
+    public int getPreparsedDocumentCacheSize() {
+        return preparsedDocumentCacheSize;
+    }
+
+    public void setPreparsedDocumentCacheSize(int preparsedDocumentCacheSize) {
+        this.preparsedDocumentCacheSize = preparsedDocumentCacheSize;
+    }
+
+    public int getQueryTemplateCacheSize() {
+        return queryTemplateCacheSize;
+    }
+
+    public void setQueryTemplateCacheSize(int queryTemplateCacheSize) {
+        this.queryTemplateCacheSize = queryTemplateCacheSize;
+    }
+
+    public InListBinding getInListBinding() {
+        return inListBinding;
+    }
+
+    public void setInListBinding(InListBinding inListBinding) {
+        this.inListBinding = inListBinding;
+    }
+
+    public boolean isToOneIdentityCache() {
+        return toOneIdentityCache;
+    }
+
+    public void setToOneIdentityCache(boolean toOneIdentityCache) {
+        this.toOneIdentityCache = toOneIdentityCache;
+    }
+
+    public FetchMode getFetchMode() {
+        return fetchMode;
+    }
+
+    public void setFetchMode(FetchMode fetchMode) {
+        this.fetchMode = fetchMode;
+    }
+
+    public boolean isReadOnlySession() {
+        return readOnlySession;
+    }
+
+    public void setReadOnlySession(boolean readOnlySession) {
+        this.readOnlySession = readOnlySession;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public int getSchemaBuildParallelism() {
+        return schemaBuildParallelism;
+    }
+
+    public void setSchemaBuildParallelism(int schemaBuildParallelism) {
+        this.schemaBuildParallelism = schemaBuildParallelism;
+    }
+
+    public boolean isKeysetPagination() {
+        return keysetPagination;
+    }
+
+    public void setKeysetPagination(boolean keysetPagination) {
+        this.keysetPagination = keysetPagination;
+    }
+
+    public boolean isConcurrentQueries() {
+        return concurrentQueries;
+    }
+
+    public void setConcurrentQueries(boolean concurrentQueries) {
+        this.concurrentQueries = concurrentQueries;
+    }
+
+    public int getMaxConcurrentQueries() {
+        return maxConcurrentQueries;
+    }
+
+    public void setMaxConcurrentQueries(int maxConcurrentQueries) {
+        this.maxConcurrentQueries = maxConcurrentQueries;
+    }
+
+    public boolean isWindowTotalCount() {
+        return windowTotalCount;
+    }
+
+    public void setWindowTotalCount(boolean windowTotalCount) {
+        this.windowTotalCount = windowTotalCount;
+    }
+
+    public ExecutorMode getExecutorMode() {
+        return executorMode;
+    }
+
+    public void setExecutorMode(ExecutorMode executorMode) {
+        this.executorMode = executorMode;
+    }
+
+    public AdmissionControl getAdmissionControl() {
+        return admissionControl;
+    }
+
+    public QueryCost getQueryCost() {
+        return queryCost;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    public static class AdmissionControl {
+
+        /**
+         * Enable or disable admission control. Default is false
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of concurrent root executions.
+         * Defaults to the maximum size of JDBC connection pool if set to 0.
+         */
+        private int maxConcurrentExecutions = 0;
+
+        /**
+         * Maximum number of executions waiting for admission before new executions are rejected.
+         */
+        private int maxQueueSize = 100;
+
+        /**
+         * Maximum time an execution waits for admission before it is rejected with OVERLOADED error.
+         */
+        private Duration queueTimeout = Duration.ofSeconds(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxConcurrentExecutions() {
+            return maxConcurrentExecutions;
+        }
+
+        public void setMaxConcurrentExecutions(int maxConcurrentExecutions) {
+            this.maxConcurrentExecutions = maxConcurrentExecutions;
+        }
+
+        public int getMaxQueueSize() {
+            return maxQueueSize;
+        }
+
+        public void setMaxQueueSize(int maxQueueSize) {
+            this.maxQueueSize = maxQueueSize;
+        }
+
+        public Duration getQueueTimeout() {
+            return queueTimeout;
+        }
+
+        public void setQueueTimeout(Duration queueTimeout) {
+            this.queueTimeout = queueTimeout;
+        }
+    }
+
+    public static class QueryCost {
+
+        /**
+         * Enable or disable query cost estimation. Default is false
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum estimated number of entity rows a query operation is allowed to load.
+         */
+        private long maxCost = 10000;
+
+        /**
+         * Estimated number of rows loaded for each to-many association of a parent entity.
+         */
+        private int toManySize = 10;
+
+        /**
+         * Reject operations over the maximum cost. Otherwise, log a warning and execute the operation.
+         */
+        private boolean reject = true;
+
+        /**
+         * Add estimated cost to the response extensions.
+         */
+        private boolean extension = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxCost() {
+            return maxCost;
+        }
+
+        public void setMaxCost(long maxCost) {
+            this.maxCost = maxCost;
+        }
+
+        public int getToManySize() {
+            return toManySize;
+        }
+
+        public void setToManySize(int toManySize) {
+            this.toManySize = toManySize;
+        }
+
+        public boolean isReject() {
+            return reject;
+        }
+
+        public void setReject(boolean reject) {
+            this.reject = reject;
+        }
+
+        public boolean isExtension() {
+            return extension;
+        }
+
+        public void setExtension(boolean extension) {
+            this.extension = extension;
+        }
+    }
+
+    public static class Metrics {
+
+        /**
+         * Enable or disable Micrometer query metrics if MeterRegistry is available. Default is true
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of distinct entity and field tag combinations.
+         * Queries for other fields are reported with 'other' tag values.
+         */
+        private int maxTaggedFields = 500;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxTaggedFields() {
+            return maxTaggedFields;
+        }
+
+        public void setMaxTaggedFields(int maxTaggedFields) {
+            this.maxTaggedFields = maxTaggedFields;
+        }
+    }
+
+    public static class ResultCache {
+
+        /**
+         * Enable or disable caching of root query field page results invalidated by Hibernate post-commit
+         * entity insert, update and delete events. Nested association fields are loaded by batch loaders on every
+         * execution. Default is false
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of cached query results.
+         */
+        private int maximumSize = 1000;
+
+        /**
+         * Maximum time to keep cached query result, i.e. to bound staleness after bulk or external writes.
+         */
+        private Duration timeToLive = Duration.ofMinutes(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
 }
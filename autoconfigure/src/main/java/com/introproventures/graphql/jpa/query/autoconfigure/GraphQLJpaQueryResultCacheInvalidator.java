@@ -0,0 +1,93 @@
+package com.introproventures.graphql.jpa.query.autoconfigure;
+
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaQueryResultCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Invalidates cached query results of the changed entity types after entity insert, update and delete
+ * transactions are committed. Bulk JPQL and native SQL updates do not fire entity events, so results of such
+ * writes are only bounded by the result cache time to live.
+ */
+public class GraphQLJpaQueryResultCacheInvalidator
+    implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(GraphQLJpaQueryResultCacheInvalidator.class);
+
+    private final transient GraphQLJpaQueryResultCache queryResultCache;
+
+    public GraphQLJpaQueryResultCacheInvalidator(GraphQLJpaQueryResultCache queryResultCache) {
+        this.queryResultCache = queryResultCache;
+    }
+
+    /**
+     * Registers invalidator as post-commit event listener of the Hibernate session factory.
+     *
+     * @param entityManagerFactory Hibernate entity manager factory
+     * @param queryResultCache query result cache
+     * @return registered invalidator
+     */
+    public static GraphQLJpaQueryResultCacheInvalidator register(
+        EntityManagerFactory entityManagerFactory,
+        GraphQLJpaQueryResultCache queryResultCache
+    ) {
+        GraphQLJpaQueryResultCacheInvalidator invalidator = new GraphQLJpaQueryResultCacheInvalidator(queryResultCache);
+
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, invalidator);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, invalidator);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, invalidator);
+
+        log.info("Registered query result cache invalidator for {}", entityManagerFactory);
+
+        return invalidator;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        invalidate(event.getPersister());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        invalidate(event.getPersister());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        invalidate(event.getPersister());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {}
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    private void invalidate(EntityPersister persister) {
+        queryResultCache.invalidate(persister.getMappedClass());
+    }
+}
@@ -3,13 +3,20 @@ package com.introproventures.graphql.jpa.query.autoconfigure;
 import static com.introproventures.graphql.jpa.query.autoconfigure.TransactionalDelegateExecutionStrategy.Builder.newTransactionalExecutionStrategy;
 
 import com.introproventures.graphql.jpa.query.schema.GraphQLSchemaBuilder;
+import com.introproventures.graphql.jpa.query.schema.QueryMetricsRecorder;
 import com.introproventures.graphql.jpa.query.schema.RestrictedKeysProvider;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaAdmissionController;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaQueryCostInstrumentation;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaQueryResultCache;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaQueryTemplateCache;
 import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaSchemaBuilder;
+import com.introproventures.graphql.jpa.query.schema.impl.InListBinding;
 import graphql.GraphQL;
 import graphql.execution.AsyncExecutionStrategy;
 import graphql.execution.SubscriptionExecutionStrategy;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
@@ -20,7 +27,9 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.hibernate.autoconfigure.HibernateJpaAutoConfiguration;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.orm.jpa.SharedEntityManagerCreator;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
@@ -37,6 +46,8 @@ public class GraphQLSchemaBuilderAutoConfiguration {
 
     private static final Logger log = LoggerFactory.getLogger(GraphQLSchemaBuilderAutoConfiguration.class);
 
+    private static final int DEFAULT_POOL_SIZE = 10;
+
     @Bean
     @ConditionalOnMissingBean(GraphQLSchemaTransactionTemplate.class)
     @ConditionalOnSingleCandidate(PlatformTransactionManager.class)
@@ -44,18 +55,57 @@ public class GraphQLSchemaBuilderAutoConfiguration {
         return () -> new TransactionTemplate(transactionManager);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "spring.graphql.jpa.query.admission-control.enabled", havingValue = "true")
+    GraphQLJpaAdmissionController graphQLJpaAdmissionController(
+        GraphQLJpaQueryProperties properties,
+        ObjectProvider<DataSource> dataSource
+    ) {
+        var admissionControl = properties.getAdmissionControl();
+
+        int maxConcurrentExecutions = admissionControl.getMaxConcurrentExecutions() > 0
+            ? admissionControl.getMaxConcurrentExecutions()
+            : maximumPoolSize(dataSource.getIfUnique());
+
+        log.info("Configured admission control for {} concurrent executions", maxConcurrentExecutions);
+
+        return new GraphQLJpaAdmissionController(
+            maxConcurrentExecutions,
+            admissionControl.getMaxQueueSize(),
+            admissionControl.getQueueTimeout()
+        );
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "spring.graphql.jpa.query.query-cost.enabled", havingValue = "true")
+    GraphQLJpaQueryCostInstrumentation graphQLJpaQueryCostInstrumentation(GraphQLJpaQueryProperties properties) {
+        var queryCost = properties.getQueryCost();
+
+        return new GraphQLJpaQueryCostInstrumentation(queryCost.getMaxCost())
+            .withToManySize(queryCost.getToManySize())
+            .withRejectOverBudget(queryCost.isReject())
+            .withCostExtension(queryCost.isExtension());
+    }
+
     @Bean
     @ConditionalOnMissingBean(QueryExecutionStrategyProvider.class)
     @ConditionalOnSingleCandidate(GraphQLSchemaTransactionTemplate.class)
     QueryExecutionStrategyProvider queryExecutionStrategy(
         GraphQLSchemaTransactionTemplate graphQLSchemaTransactionTemplate,
+        GraphQLJpaQueryProperties properties,
+        ObjectProvider<GraphQLJpaAdmissionController> admissionController,
         ObjectProvider<TransactionalExecutionStrategyCustomizer<QueryExecutionStrategyProvider>> executionStrategyCustomizer
     ) {
         var transactionTemplate = graphQLSchemaTransactionTemplate.get();
         transactionTemplate.setReadOnly(true);
 
         var executionStrategy = newTransactionalExecutionStrategy(transactionTemplate)
-            .delegate(new AsyncExecutionStrategy());
+            .delegate(new AsyncExecutionStrategy())
+            .executorMode(properties.getExecutorMode());
+
+        admissionController.ifAvailable(executionStrategy::admissionController);
 
         executionStrategyCustomizer.ifAvailable(customizer -> customizer.accept(executionStrategy));
 
@@ -67,13 +117,18 @@ public class GraphQLSchemaBuilderAutoConfiguration {
     @ConditionalOnSingleCandidate(GraphQLSchemaTransactionTemplate.class)
     MutationExecutionStrategyProvider mutationExecutionStrategy(
         GraphQLSchemaTransactionTemplate graphQLSchemaTransactionTemplate,
+        GraphQLJpaQueryProperties properties,
+        ObjectProvider<GraphQLJpaAdmissionController> admissionController,
         ObjectProvider<TransactionalExecutionStrategyCustomizer<MutationExecutionStrategyProvider>> executionStrategyCustomizer
     ) {
         var transactionTemplate = graphQLSchemaTransactionTemplate.get();
         transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
 
         var executionStrategy = newTransactionalExecutionStrategy(transactionTemplate)
-            .delegate(new AsyncExecutionStrategy());
+            .delegate(new AsyncExecutionStrategy())
+            .executorMode(properties.getExecutorMode());
+
+        admissionController.ifAvailable(executionStrategy::admissionController);
 
         executionStrategyCustomizer.ifAvailable(customizer -> customizer.accept(executionStrategy));
 
@@ -85,6 +140,7 @@ public class GraphQLSchemaBuilderAutoConfiguration {
     @ConditionalOnSingleCandidate(GraphQLSchemaTransactionTemplate.class)
     SubscriptionExecutionStrategyProvider subscriptionExecutionStrategy(
         GraphQLSchemaTransactionTemplate graphQLSchemaTransactionTemplate,
+        GraphQLJpaQueryProperties properties,
         ObjectProvider<TransactionalExecutionStrategyCustomizer<SubscriptionExecutionStrategyProvider>> executionStrategyCustomizer
     ) {
         var transactionTemplate = graphQLSchemaTransactionTemplate.get();
@@ -92,13 +148,58 @@ public class GraphQLSchemaBuilderAutoConfiguration {
         transactionTemplate.setReadOnly(true);
 
         var executionStrategy = newTransactionalExecutionStrategy(transactionTemplate)
-            .delegate(new SubscriptionExecutionStrategy());
+            .delegate(new SubscriptionExecutionStrategy())
+            .executorMode(properties.getExecutorMode());
 
         executionStrategyCustomizer.ifAvailable(customizer -> customizer.accept(executionStrategy));
 
         return executionStrategy::build;
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "spring.graphql.jpa.query.result-cache.enabled", havingValue = "true")
+    GraphQLJpaQueryResultCache graphQLJpaQueryResultCache(GraphQLJpaQueryProperties properties) {
+        return new GraphQLJpaQueryResultCache(
+            properties.getResultCache().getMaximumSize(),
+            properties.getResultCache().getTimeToLive()
+        );
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.hibernate.event.spi.PostCommitInsertEventListener")
+    @ConditionalOnProperty(name = "spring.graphql.jpa.query.result-cache.enabled", havingValue = "true")
+    static class QueryResultCacheInvalidationConfiguration {
+
+        @Bean
+        @ConditionalOnSingleCandidate(EntityManagerFactory.class)
+        GraphQLJpaQueryResultCacheInvalidator graphQLJpaQueryResultCacheInvalidator(
+            EntityManagerFactory entityManagerFactory,
+            GraphQLJpaQueryResultCache queryResultCache
+        ) {
+            return GraphQLJpaQueryResultCacheInvalidator.register(entityManagerFactory, queryResultCache);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.hibernate.Session")
+    static class InListBindingConfiguration {
+
+        private static final String IN_CLAUSE_PARAMETER_PADDING = "hibernate.query.in_clause_parameter_padding";
+
+        // Let's pad keys parameter IN-lists with Hibernate, unless padding is configured by the application
+        @Bean
+        HibernatePropertiesCustomizer graphQLJpaInListBindingHibernatePropertiesCustomizer(
+            GraphQLJpaQueryProperties properties
+        ) {
+            return hibernateProperties -> {
+                if (properties.getInListBinding() != InListBinding.VALUES) {
+                    hibernateProperties.putIfAbsent(IN_CLAUSE_PARAMETER_PADDING, "true");
+                }
+            };
+        }
+    }
+
     @Bean
     @ConditionalOnMissingBean(GraphQLSchemaEntityManager.class)
     @ConditionalOnSingleCandidate(EntityManagerFactory.class)
@@ -112,7 +213,11 @@ public class GraphQLSchemaBuilderAutoConfiguration {
     GraphQLJpaSchemaBuilder defaultGraphQLJpaSchemaBuilder(
         GraphQLSchemaEntityManager graphQLSchemaEntityManager,
         GraphQLJpaQueryProperties properties,
-        ObjectProvider<RestrictedKeysProvider> restrictedKeysProvider
+        ObjectProvider<RestrictedKeysProvider> restrictedKeysProvider,
+        ObjectProvider<QueryMetricsRecorder> queryMetricsRecorder,
+        ObjectProvider<GraphQLJpaQueryResultCache> queryResultCache,
+        ObjectProvider<GraphQLJpaAdmissionController> admissionController,
+        ObjectProvider<DataSource> dataSource
     ) {
         final EntityManager entityManager = graphQLSchemaEntityManager.get();
 
@@ -124,11 +229,46 @@ public class GraphQLSchemaBuilderAutoConfiguration {
             .defaultDistinct(properties.isDefaultDistinct())
             .useDistinctParameter(properties.isUseDistinctParameter())
             .toManyDefaultOptional(properties.isToManyDefaultOptional())
+            .useWindowTotalCount(properties.isWindowTotalCount())
+            .inListBinding(properties.getInListBinding())
+            .toOneIdentityCache(properties.isToOneIdentityCache())
+            .fetchMode(properties.getFetchMode())
+            .useReadOnlySession(properties.isReadOnlySession())
+            .maxBatchSize(properties.getMaxBatchSize())
+            .schemaBuildParallelism(properties.getSchemaBuildParallelism())
+            .useKeysetPagination(properties.isKeysetPagination())
             .enableRelay(properties.isEnableRelay());
 
         EnableGraphQLJpaQuerySchemaImportSelector.getPackageNames().stream().forEach(builder::additionalType);
 
         restrictedKeysProvider.ifAvailable(builder::restrictedKeysProvider);
+        queryMetricsRecorder.ifAvailable(builder::queryMetricsRecorder);
+        queryResultCache.ifAvailable(builder::queryResultCache);
+
+        if (properties.getQueryTemplateCacheSize() > 0) {
+            builder.queryTemplateCache(new GraphQLJpaQueryTemplateCache(properties.getQueryTemplateCacheSize()));
+        }
+
+        if (properties.isConcurrentQueries()) {
+            int maxConcurrentQueries = properties.getMaxConcurrentQueries() > 0
+                ? properties.getMaxConcurrentQueries()
+                : spareConnections(maximumPoolSize(dataSource.getIfUnique()), admissionController.getIfAvailable());
+
+            if (maxConcurrentQueries > 0) {
+                log.info("Configured concurrent queries on up to {} connections", maxConcurrentQueries);
+
+                builder
+                    .maxConcurrentQueries(maxConcurrentQueries)
+                    .concurrentQueryExecutor(
+                        switch (properties.getExecutorMode()) {
+                            case VIRTUAL -> TransactionalDelegateExecutionStrategy.Builder.virtualThreadExecutor();
+                            case PLATFORM -> TransactionalDelegateExecutionStrategy.Builder.platformThreadExecutor();
+                        }
+                    );
+            } else {
+                log.warn("No spare JDBC connections for concurrent queries. Queries run on request connections");
+            }
+        }
 
         log.warn("Configured {} for {} GraphQL schema", entityManager, properties.getName());
 
@@ -147,4 +287,33 @@ public class GraphQLSchemaBuilderAutoConfiguration {
             registry.register(builder.build());
         };
     }
+
+    // Connections left over by admission controlled executions, or half of the pool without admission control
+    static int spareConnections(int maximumPoolSize, GraphQLJpaAdmissionController admissionController) {
+        return admissionController != null
+            ? maximumPoolSize - admissionController.getMaxConcurrentExecutions()
+            : maximumPoolSize / 2;
+    }
+
+    /**
+     * Resolves maximum size of the JDBC connection pool, i.e. Hikari, Tomcat or DBCP2 data sources,
+     * without compile time dependency on the pool implementation
+     */
+    static int maximumPoolSize(DataSource dataSource) {
+        if (dataSource != null) {
+            for (String getter : new String[] { "getMaximumPoolSize", "getMaxActive", "getMaxTotal" }) {
+                try {
+                    Object value = dataSource.getClass().getMethod(getter).invoke(dataSource);
+
+                    if (value instanceof Integer size && size > 0) {
+                        return size;
+                    }
+                } catch (ReflectiveOperationException ignored) {}
+            }
+        }
+
+        log.warn("Unable to resolve JDBC connection pool size for {}. Using default {}", dataSource, DEFAULT_POOL_SIZE);
+
+        return DEFAULT_POOL_SIZE;
+    }
 }
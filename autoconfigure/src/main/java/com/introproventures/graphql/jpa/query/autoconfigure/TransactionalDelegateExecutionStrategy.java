@@ -1,11 +1,14 @@
 package com.introproventures.graphql.jpa.query.autoconfigure;
 
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaAdmissionController;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaAdmissionController.Permit;
 import graphql.ExecutionResult;
 import graphql.execution.AsyncExecutionStrategy;
 import graphql.execution.ExecutionContext;
 import graphql.execution.ExecutionStrategy;
 import graphql.execution.ExecutionStrategyParameters;
 import graphql.execution.NonNullableFieldWasNullException;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
@@ -27,14 +30,26 @@ public class TransactionalDelegateExecutionStrategy extends ExecutionStrategy {
 
     private final Supplier<Executor> executor;
 
+    private final GraphQLJpaAdmissionController admissionController;
+
     public TransactionalDelegateExecutionStrategy(
         TransactionTemplate transactionTemplate,
         ExecutionStrategy delegate,
         Supplier<Executor> executor
+    ) {
+        this(transactionTemplate, delegate, executor, null);
+    }
+
+    public TransactionalDelegateExecutionStrategy(
+        TransactionTemplate transactionTemplate,
+        ExecutionStrategy delegate,
+        Supplier<Executor> executor,
+        GraphQLJpaAdmissionController admissionController
     ) {
         this.transactionTemplate = transactionTemplate;
         this.delegate = delegate;
         this.executor = executor;
+        this.admissionController = admissionController;
     }
 
     @Override
@@ -50,38 +65,28 @@ public class TransactionalDelegateExecutionStrategy extends ExecutionStrategy {
                     Thread.currentThread()
                 );
             }
-            return CompletableFuture.supplyAsync(
-                () ->
-                    transactionTemplate.execute(status -> {
-                        if (log.isTraceEnabled()) {
-                            log.trace(
-                                "Begin transaction for {} on {}",
-                                executionContext.getExecutionId(),
-                                Thread.currentThread()
-                            );
-                        }
-                        try {
-                            if (log.isTraceEnabled()) {
-                                log.trace(
-                                    "Execute request for {} on {}",
-                                    executionContext.getExecutionId(),
-                                    Thread.currentThread()
-                                );
-                            }
-
-                            return delegate.execute(executionContext, parameters).join();
-                        } finally {
-                            if (log.isTraceEnabled()) {
-                                log.trace(
-                                    "End transaction for {} on {}",
-                                    executionContext.getExecutionId(),
-                                    Thread.currentThread()
-                                );
-                            }
-                        }
-                    }),
-                executor.get()
-            );
+            if (admissionController == null) {
+                return executeInTransaction(executionContext, parameters);
+            }
+
+            Optional<Permit> permit = admissionController.tryAcquire();
+
+            if (permit.isEmpty()) {
+                log.warn(
+                    "Rejected root execution request {}: too many concurrent executions",
+                    executionContext.getExecutionId()
+                );
+
+                return CompletableFuture.completedFuture(admissionController.overloadedResult());
+            }
+
+            try {
+                return executeInTransaction(executionContext, parameters)
+                    .whenComplete((result, error) -> permit.get().close());
+            } catch (RuntimeException e) {
+                permit.get().close();
+                throw e;
+            }
         } else {
             if (log.isTraceEnabled()) {
                 log.trace(
@@ -95,6 +100,44 @@ public class TransactionalDelegateExecutionStrategy extends ExecutionStrategy {
         }
     }
 
+    protected CompletableFuture<ExecutionResult> executeInTransaction(
+        ExecutionContext executionContext,
+        ExecutionStrategyParameters parameters
+    ) {
+        return CompletableFuture.supplyAsync(
+            () ->
+                transactionTemplate.execute(status -> {
+                    if (log.isTraceEnabled()) {
+                        log.trace(
+                            "Begin transaction for {} on {}",
+                            executionContext.getExecutionId(),
+                            Thread.currentThread()
+                        );
+                    }
+                    try {
+                        if (log.isTraceEnabled()) {
+                            log.trace(
+                                "Execute request for {} on {}",
+                                executionContext.getExecutionId(),
+                                Thread.currentThread()
+                            );
+                        }
+
+                        return delegate.execute(executionContext, parameters).join();
+                    } finally {
+                        if (log.isTraceEnabled()) {
+                            log.trace(
+                                "End transaction for {} on {}",
+                                executionContext.getExecutionId(),
+                                Thread.currentThread()
+                            );
+                        }
+                    }
+                }),
+            executor.get()
+        );
+    }
+
     public TransactionTemplate getTransactionTemplate() {
         return transactionTemplate;
     }
@@ -107,6 +150,25 @@ public class TransactionalDelegateExecutionStrategy extends ExecutionStrategy {
         return executor;
     }
 
+    public GraphQLJpaAdmissionController getAdmissionController() {
+        return admissionController;
+    }
+
+    /**
+     * Executor mode used to run root execution requests in a new transaction
+     */
+    public enum ExecutorMode {
+        /**
+         * Shared cached pool of platform threads
+         */
+        PLATFORM,
+        /**
+         * New virtual thread per root execution request. Requires Java 21 or later, otherwise falls back
+         * to platform threads.
+         */
+        VIRTUAL,
+    }
+
     public static final class Builder {
 
         private static final ExecutorService EXECUTOR_SERVICE = Executors.newCachedThreadPool();
@@ -115,9 +177,45 @@ public class TransactionalDelegateExecutionStrategy extends ExecutionStrategy {
             Runtime.getRuntime().addShutdownHook(new Thread(EXECUTOR_SERVICE::shutdown));
         }
 
+        /**
+         * Lazily creates virtual thread per task executor on first use. The transaction and entity manager resources
+         * are bound to the virtual thread for the whole root execution, the same way as with platform threads.
+         */
+        private static final class VirtualThreadExecutorHolder {
+
+            private static final ExecutorService EXECUTOR_SERVICE = newVirtualThreadPerTaskExecutor();
+
+            static {
+                if (EXECUTOR_SERVICE != Builder.EXECUTOR_SERVICE) {
+                    Runtime.getRuntime().addShutdownHook(new Thread(EXECUTOR_SERVICE::shutdown));
+                }
+            }
+
+            private static ExecutorService newVirtualThreadPerTaskExecutor() {
+                try {
+                    return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                } catch (ReflectiveOperationException e) {
+                    log.warn(
+                        "Virtual threads are not supported by Java {} runtime. Using cached thread pool executor.",
+                        Runtime.version()
+                    );
+                    return Builder.EXECUTOR_SERVICE;
+                }
+            }
+        }
+
+        public static Executor virtualThreadExecutor() {
+            return VirtualThreadExecutorHolder.EXECUTOR_SERVICE;
+        }
+
+        public static Executor platformThreadExecutor() {
+            return EXECUTOR_SERVICE;
+        }
+
         private TransactionTemplate transactionTemplate;
         private Supplier<Executor> executor = () -> EXECUTOR_SERVICE;
         private ExecutionStrategy delegate = new AsyncExecutionStrategy();
+        private GraphQLJpaAdmissionController admissionController;
 
         private Builder() {}
 
@@ -149,8 +247,25 @@ public class TransactionalDelegateExecutionStrategy extends ExecutionStrategy {
             return executor(() -> executor);
         }
 
+        public Builder executorMode(ExecutorMode executorMode) {
+            return switch (executorMode) {
+                case VIRTUAL -> executor(Builder::virtualThreadExecutor);
+                case PLATFORM -> executor(Builder::platformThreadExecutor);
+            };
+        }
+
+        public Builder admissionController(GraphQLJpaAdmissionController admissionController) {
+            this.admissionController = admissionController;
+            return this;
+        }
+
         public TransactionalDelegateExecutionStrategy build() {
-            return new TransactionalDelegateExecutionStrategy(transactionTemplate, delegate, executor);
+            return new TransactionalDelegateExecutionStrategy(
+                transactionTemplate,
+                delegate,
+                executor,
+                admissionController
+            );
         }
     }
 }
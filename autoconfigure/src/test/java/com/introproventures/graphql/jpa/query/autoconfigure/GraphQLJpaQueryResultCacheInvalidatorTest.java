@@ -0,0 +1,104 @@
+package com.introproventures.graphql.jpa.query.autoconfigure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.introproventures.graphql.jpa.query.autoconfigure.support.TestEntity;
+import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaExecutor;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaQueryResultCache;
+import graphql.ExecutionResult;
+import graphql.schema.GraphQLSchema;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(
+    webEnvironment = WebEnvironment.NONE,
+    properties = "spring.graphql.jpa.query.result-cache.enabled=true"
+)
+public class GraphQLJpaQueryResultCacheInvalidatorTest {
+
+    private static final Long ENTITY_ID = 1000L;
+
+    private static final String QUERY = "{ TestEntities(where: {id: {GE: " + ENTITY_ID + "}}) { select { id } } }";
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EnableGraphQLJpaQuerySchema(basePackageClasses = TestEntity.class)
+    static class Application {}
+
+    @Autowired
+    private GraphQLSchema graphQLSchema;
+
+    @Autowired
+    private GraphQLJpaQueryResultCache queryResultCache;
+
+    @Autowired
+    private GraphQLJpaQueryResultCacheInvalidator queryResultCacheInvalidator;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private GraphQLExecutor executor;
+
+    @BeforeEach
+    public void setUp() {
+        queryResultCache.clear();
+        executor = new GraphQLJpaExecutor(graphQLSchema);
+    }
+
+    @Test
+    public void committedEntityChangeInvalidatesCachedResult() {
+        //given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        long hitCount = queryResultCache.getHitCount();
+
+        assertThat(execute()).isEqualTo("{TestEntities={select=[]}}");
+        assertThat(execute()).isEqualTo("{TestEntities={select=[]}}");
+        assertThat(queryResultCache.getHitCount()).isEqualTo(hitCount + 1);
+
+        long missCount = queryResultCache.getMissCount();
+        long invalidationCount = queryResultCache.getInvalidationCount();
+
+        try {
+            //when
+            transactionTemplate.executeWithoutResult(status -> {
+                TestEntity entity = new TestEntity();
+                entity.setId(ENTITY_ID);
+
+                entityManager.persist(entity);
+            });
+
+            //then
+            assertThat(queryResultCacheInvalidator).isNotNull();
+            assertThat(queryResultCache.getInvalidationCount()).isGreaterThan(invalidationCount);
+            assertThat(execute()).isEqualTo("{TestEntities={select=[{id=" + ENTITY_ID + "}]}}");
+            assertThat(queryResultCache.getMissCount()).isEqualTo(missCount + 1);
+        } finally {
+            transactionTemplate.executeWithoutResult(status ->
+                entityManager.remove(entityManager.find(TestEntity.class, ENTITY_ID))
+            );
+        }
+
+        assertThat(execute()).isEqualTo("{TestEntities={select=[]}}");
+    }
+
+    private String execute() {
+        ExecutionResult result = executor.execute(QUERY);
+
+        assertThat(result.getErrors()).isEmpty();
+
+        return result.getData().toString();
+    }
+}
@@ -0,0 +1,157 @@
+package com.introproventures.graphql.jpa.query.autoconfigure;
+
+import static com.introproventures.graphql.jpa.query.autoconfigure.TransactionalDelegateExecutionStrategy.Builder.newTransactionalExecutionStrategy;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.introproventures.graphql.jpa.query.autoconfigure.TransactionalDelegateExecutionStrategy.Builder;
+import com.introproventures.graphql.jpa.query.autoconfigure.TransactionalDelegateExecutionStrategy.ExecutorMode;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaAdmissionController;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.execution.ExecutionContext;
+import graphql.execution.ExecutionStrategy;
+import graphql.execution.ExecutionStrategyParameters;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class TransactionalDelegateExecutionStrategyTest {
+
+    private final AtomicReference<Thread> executionThread = new AtomicReference<>();
+
+    private final ExecutionStrategy delegate = new ExecutionStrategy() {
+        @Override
+        public CompletableFuture<ExecutionResult> execute(
+            ExecutionContext executionContext,
+            ExecutionStrategyParameters parameters
+        ) {
+            executionThread.set(Thread.currentThread());
+
+            return CompletableFuture.completedFuture(ExecutionResultImpl.newExecutionResult().data("ok").build());
+        }
+    };
+
+    @Test
+    public void testPlatformExecutorMode() {
+        //given
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+        TransactionalDelegateExecutionStrategy executionStrategy = newTransactionalExecutionStrategy(
+            new TransactionTemplate(transactionManager)
+        )
+            .delegate(delegate)
+            .executorMode(ExecutorMode.PLATFORM)
+            .build();
+
+        //when
+        ExecutionResult result = executionStrategy
+            .execute(mock(ExecutionContext.class), mock(ExecutionStrategyParameters.class))
+            .join();
+
+        //then
+        assertThat(result.<String>getData()).isEqualTo("ok");
+        assertThat(executionStrategy.getExecutor().get()).isSameAs(Builder.platformThreadExecutor());
+        assertThat(executionThread.get()).isNotSameAs(Thread.currentThread());
+        verify(transactionManager).getTransaction(Mockito.any());
+        verify(transactionManager).commit(Mockito.any());
+    }
+
+    @Test
+    public void testVirtualExecutorMode() throws Exception {
+        //given
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+        TransactionalDelegateExecutionStrategy executionStrategy = newTransactionalExecutionStrategy(
+            new TransactionTemplate(transactionManager)
+        )
+            .delegate(delegate)
+            .executorMode(ExecutorMode.VIRTUAL)
+            .build();
+
+        //when
+        ExecutionResult result = executionStrategy
+            .execute(mock(ExecutionContext.class), mock(ExecutionStrategyParameters.class))
+            .join();
+
+        //then
+        assertThat(result.<String>getData()).isEqualTo("ok");
+        assertThat(executionStrategy.getExecutor().get()).isSameAs(Builder.virtualThreadExecutor());
+        verify(transactionManager).getTransaction(Mockito.any());
+        verify(transactionManager).commit(Mockito.any());
+
+        if (Runtime.version().feature() >= 21) {
+            boolean isVirtual = (Boolean) Thread.class.getMethod("isVirtual").invoke(executionThread.get());
+
+            assertThat(isVirtual).isTrue();
+        } else {
+            assertThat(Builder.virtualThreadExecutor()).isSameAs(Builder.platformThreadExecutor());
+        }
+    }
+
+    @Test
+    public void testAdmissionControlRejectsOverloadedExecution() {
+        //given
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        GraphQLJpaAdmissionController admissionController = new GraphQLJpaAdmissionController(1, 0, Duration.ZERO);
+
+        TransactionalDelegateExecutionStrategy executionStrategy = newTransactionalExecutionStrategy(
+            new TransactionTemplate(transactionManager)
+        )
+            .delegate(delegate)
+            .admissionController(admissionController)
+            .build();
+
+        admissionController.tryAcquire();
+
+        //when
+        ExecutionResult result = executionStrategy
+            .execute(mock(ExecutionContext.class), mock(ExecutionStrategyParameters.class))
+            .join();
+
+        //then
+        assertThat(result.getErrors())
+            .hasSize(1)
+            .first()
+            .satisfies(error ->
+                assertThat(error.getExtensions()).containsEntry("code", GraphQLJpaAdmissionController.OVERLOADED)
+            );
+        assertThat(executionThread.get()).isNull();
+        assertThat(admissionController.getRejectedCount()).isEqualTo(1);
+        verify(transactionManager, never()).getTransaction(Mockito.any());
+    }
+
+    @Test
+    public void testAdmissionControlReleasesPermitAfterExecution() {
+        //given
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        GraphQLJpaAdmissionController admissionController = new GraphQLJpaAdmissionController(1, 0, Duration.ZERO);
+
+        TransactionalDelegateExecutionStrategy executionStrategy = newTransactionalExecutionStrategy(
+            new TransactionTemplate(transactionManager)
+        )
+            .delegate(delegate)
+            .admissionController(admissionController)
+            .build();
+
+        //when
+        ExecutionResult result1 = executionStrategy
+            .execute(mock(ExecutionContext.class), mock(ExecutionStrategyParameters.class))
+            .join();
+        ExecutionResult result2 = executionStrategy
+            .execute(mock(ExecutionContext.class), mock(ExecutionStrategyParameters.class))
+            .join();
+
+        //then
+        assertThat(result1.<String>getData()).isEqualTo("ok");
+        assertThat(result2.<String>getData()).isEqualTo("ok");
+        assertThat(admissionController.getAdmittedCount()).isEqualTo(2);
+        assertThat(admissionController.getInFlightCount()).isZero();
+    }
+}
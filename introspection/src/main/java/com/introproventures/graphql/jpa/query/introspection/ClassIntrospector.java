@@ -1,11 +1,11 @@
 package com.introproventures.graphql.jpa.query.introspection;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ClassIntrospector {
 
-    protected final Map<Class<?>, ClassDescriptor> cache = new LinkedHashMap<>();
+    protected final Map<Class<?>, ClassDescriptor> cache = new ConcurrentHashMap<>();
     protected final boolean scanAccessible;
     protected final boolean enhancedProperties;
     protected final boolean includeFieldsAsProperties;
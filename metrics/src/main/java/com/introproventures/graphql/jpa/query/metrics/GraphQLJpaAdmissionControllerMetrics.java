@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017 IntroPro Ventures, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.introproventures.graphql.jpa.query.metrics;
+
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaAdmissionController;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binds in-flight, queued, admitted and rejected execution metrics of {@link GraphQLJpaAdmissionController}
+ */
+public class GraphQLJpaAdmissionControllerMetrics implements MeterBinder {
+
+    public static final String METRIC_PREFIX = "graphql.jpa.admission";
+
+    private final GraphQLJpaAdmissionController admissionController;
+
+    public GraphQLJpaAdmissionControllerMetrics(GraphQLJpaAdmissionController admissionController) {
+        this.admissionController = admissionController;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge
+            .builder(METRIC_PREFIX + ".in.flight", admissionController, GraphQLJpaAdmissionController::getInFlightCount)
+            .description("Number of admitted executions in progress")
+            .register(registry);
+
+        Gauge
+            .builder(
+                METRIC_PREFIX + ".max.in.flight",
+                admissionController,
+                GraphQLJpaAdmissionController::getMaxConcurrentExecutions
+            )
+            .description("Maximum number of concurrent executions")
+            .register(registry);
+
+        Gauge
+            .builder(METRIC_PREFIX + ".queue.depth", admissionController, GraphQLJpaAdmissionController::getQueueDepth)
+            .description("Number of executions waiting for admission")
+            .register(registry);
+
+        FunctionCounter
+            .builder(METRIC_PREFIX + ".admitted", admissionController, GraphQLJpaAdmissionController::getAdmittedCount)
+            .description("Number of admitted executions")
+            .register(registry);
+
+        FunctionCounter
+            .builder(METRIC_PREFIX + ".rejected", admissionController, GraphQLJpaAdmissionController::getRejectedCount)
+            .description("Number of executions rejected as overloaded")
+            .register(registry);
+
+        FunctionCounter
+            .builder(METRIC_PREFIX + ".timeout", admissionController, GraphQLJpaAdmissionController::getTimeoutCount)
+            .description("Number of executions rejected after queue timeout")
+            .register(registry);
+
+        TimeGauge
+            .builder(
+                METRIC_PREFIX + ".wait.max",
+                admissionController,
+                TimeUnit.NANOSECONDS,
+                it -> it.getMaxWaitTime().toNanos()
+            )
+            .description("Maximum time spent by execution waiting for admission")
+            .register(registry);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017 IntroPro Ventures, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.introproventures.graphql.jpa.query.metrics;
+
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaQueryResultCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+public class GraphQLJpaQueryResultCacheMetrics implements MeterBinder {
+
+    public static final String METRIC_PREFIX = "graphql.jpa.result.cache";
+
+    private final GraphQLJpaQueryResultCache queryResultCache;
+
+    public GraphQLJpaQueryResultCacheMetrics(GraphQLJpaQueryResultCache queryResultCache) {
+        this.queryResultCache = queryResultCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge
+            .builder(METRIC_PREFIX + ".size", queryResultCache, GraphQLJpaQueryResultCache::size)
+            .description("Number of cached query results")
+            .register(registry);
+
+        FunctionCounter
+            .builder(METRIC_PREFIX + ".hits", queryResultCache, GraphQLJpaQueryResultCache::getHitCount)
+            .description("Number of queries served from the result cache")
+            .register(registry);
+
+        FunctionCounter
+            .builder(METRIC_PREFIX + ".misses", queryResultCache, GraphQLJpaQueryResultCache::getMissCount)
+            .description("Number of queries executed on the database after result cache miss")
+            .register(registry);
+
+        FunctionCounter
+            .builder(METRIC_PREFIX + ".evictions", queryResultCache, GraphQLJpaQueryResultCache::getEvictionCount)
+            .description("Number of query results evicted by size or time to live")
+            .register(registry);
+
+        FunctionCounter
+            .builder(
+                METRIC_PREFIX + ".invalidations",
+                queryResultCache,
+                GraphQLJpaQueryResultCache::getInvalidationCount
+            )
+            .description("Number of query results invalidated by entity changes")
+            .register(registry);
+    }
+}
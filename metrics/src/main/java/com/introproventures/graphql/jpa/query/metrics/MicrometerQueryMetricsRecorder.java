@@ -0,0 +1,175 @@
+/*
+ * Copyright 2017 IntroPro Ventures, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.introproventures.graphql.jpa.query.metrics;
+
+import com.introproventures.graphql.jpa.query.schema.QueryMetricsRecorder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer implementation of {@link QueryMetricsRecorder} that publishes JPA query timings,
+ * number of returned rows, batch loader sizes and chunks tagged by query kind, entity and field.
+ *
+ * Entity and field tag values come from the schema entity model, but to keep the number of time series bounded
+ * for large schemas, only the first {@code maxTaggedFields} entity field combinations are tagged with their names
+ * and the rest are reported under the {@value #OTHER} tag value.
+ */
+public class MicrometerQueryMetricsRecorder implements QueryMetricsRecorder {
+
+    public static final String QUERY_METRIC_NAME = "graphql.jpa.query";
+
+    public static final String ROWS_METRIC_NAME = "graphql.jpa.query.rows";
+
+    public static final String BATCH_SIZE_METRIC_NAME = "graphql.jpa.query.batch.size";
+
+    public static final String BATCH_CHUNKS_METRIC_NAME = "graphql.jpa.query.batch.chunks";
+
+    public static final String KIND_TAG = "kind";
+
+    public static final String ENTITY_TAG = "entity";
+
+    public static final String FIELD_TAG = "field";
+
+    public static final String OTHER = "other";
+
+    public static final int DEFAULT_MAX_TAGGED_FIELDS = 500;
+
+    private final MeterRegistry meterRegistry;
+    private final int maxTaggedFields;
+
+    private final Map<String, Tags> fieldTags = new ConcurrentHashMap<>();
+    private final Map<Tags, QueryMeters> queryMeters = new ConcurrentHashMap<>();
+    private final Map<Tags, DistributionSummary> batchSizeMeters = new ConcurrentHashMap<>();
+    private final Map<Tags, BatchChunksMeters> batchChunksMeters = new ConcurrentHashMap<>();
+
+    public MicrometerQueryMetricsRecorder(MeterRegistry meterRegistry) {
+        this(meterRegistry, DEFAULT_MAX_TAGGED_FIELDS);
+    }
+
+    public MicrometerQueryMetricsRecorder(MeterRegistry meterRegistry, int maxTaggedFields) {
+        if (meterRegistry == null) {
+            throw new IllegalArgumentException("meterRegistry must not be null");
+        }
+        if (maxTaggedFields < 0) {
+            throw new IllegalArgumentException("maxTaggedFields must not be negative: " + maxTaggedFields);
+        }
+        this.meterRegistry = meterRegistry;
+        this.maxTaggedFields = maxTaggedFields;
+    }
+
+    @Override
+    public void recordQuery(QueryKind kind, String entity, String field, long durationNanos, long rows) {
+        QueryMeters meters = queryMeters.computeIfAbsent(tags(kind, entity, field), this::queryMeters);
+
+        meters.timer.record(durationNanos, TimeUnit.NANOSECONDS);
+        meters.rows.record(rows);
+    }
+
+    @Override
+    public void recordBatchSize(QueryKind kind, String entity, String field, int batchSize) {
+        batchSizeMeters.computeIfAbsent(tags(kind, entity, field), this::batchSizeMeter).record(batchSize);
+    }
+
+    @Override
+    public void recordBatchChunks(QueryKind kind, String entity, String field, int chunks, long durationNanos) {
+        BatchChunksMeters meters = batchChunksMeters.computeIfAbsent(
+            tags(kind, entity, field),
+            this::batchChunksMeters
+        );
+
+        meters.chunks.record(chunks);
+        meters.timer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public int getMaxTaggedFields() {
+        return maxTaggedFields;
+    }
+
+    protected Tags tags(QueryKind kind, String entity, String field) {
+        return fieldTags(entity, field).and(KIND_TAG, kind.name());
+    }
+
+    private Tags fieldTags(String entity, String field) {
+        String key = entity + "." + field;
+        Tags tags = fieldTags.get(key);
+
+        if (tags != null) {
+            return tags;
+        }
+
+        if (fieldTags.size() >= maxTaggedFields) {
+            return Tags.of(ENTITY_TAG, OTHER, FIELD_TAG, OTHER);
+        }
+
+        return fieldTags.computeIfAbsent(
+            key,
+            it -> Tags.of(ENTITY_TAG, String.valueOf(entity), FIELD_TAG, String.valueOf(field))
+        );
+    }
+
+    private QueryMeters queryMeters(Tags tags) {
+        Timer timer = Timer
+            .builder(QUERY_METRIC_NAME)
+            .description("JPA query execution time including reading of results")
+            .tags(tags)
+            .register(meterRegistry);
+
+        DistributionSummary rows = DistributionSummary
+            .builder(ROWS_METRIC_NAME)
+            .description("Number of rows returned by JPA query")
+            .baseUnit("rows")
+            .tags(tags)
+            .register(meterRegistry);
+
+        return new QueryMeters(timer, rows);
+    }
+
+    private DistributionSummary batchSizeMeter(Tags tags) {
+        return DistributionSummary
+            .builder(BATCH_SIZE_METRIC_NAME)
+            .description("Number of parent keys loaded by batch query")
+            .baseUnit("keys")
+            .tags(tags)
+            .register(meterRegistry);
+    }
+
+    private BatchChunksMeters batchChunksMeters(Tags tags) {
+        DistributionSummary chunks = DistributionSummary
+            .builder(BATCH_CHUNKS_METRIC_NAME)
+            .description("Number of chunk queries of batch split by max batch size")
+            .baseUnit("chunks")
+            .tags(tags)
+            .register(meterRegistry);
+
+        Timer timer = Timer
+            .builder(BATCH_CHUNKS_METRIC_NAME + ".time")
+            .description("Time to load and merge all chunks of batch split by max batch size")
+            .tags(tags)
+            .register(meterRegistry);
+
+        return new BatchChunksMeters(chunks, timer);
+    }
+
+    private record QueryMeters(Timer timer, DistributionSummary rows) {}
+
+    private record BatchChunksMeters(DistributionSummary chunks, Timer timer) {}
+}
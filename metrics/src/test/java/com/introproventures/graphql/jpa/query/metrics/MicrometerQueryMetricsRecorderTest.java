@@ -0,0 +1,127 @@
+package com.introproventures.graphql.jpa.query.metrics;
+
+import static com.introproventures.graphql.jpa.query.metrics.MicrometerQueryMetricsRecorder.BATCH_CHUNKS_METRIC_NAME;
+import static com.introproventures.graphql.jpa.query.metrics.MicrometerQueryMetricsRecorder.BATCH_SIZE_METRIC_NAME;
+import static com.introproventures.graphql.jpa.query.metrics.MicrometerQueryMetricsRecorder.OTHER;
+import static com.introproventures.graphql.jpa.query.metrics.MicrometerQueryMetricsRecorder.QUERY_METRIC_NAME;
+import static com.introproventures.graphql.jpa.query.metrics.MicrometerQueryMetricsRecorder.ROWS_METRIC_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.introproventures.graphql.jpa.query.schema.QueryMetricsRecorder.QueryKind;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaAdmissionController;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class MicrometerQueryMetricsRecorderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void shouldRecordQueryTimeAndRows() {
+        //given
+        MicrometerQueryMetricsRecorder recorder = new MicrometerQueryMetricsRecorder(meterRegistry);
+
+        //when
+        recorder.recordQuery(QueryKind.SELECT, "Human", "Humans", TimeUnit.MILLISECONDS.toNanos(5), 10);
+        recorder.recordQuery(QueryKind.SELECT, "Human", "Humans", TimeUnit.MILLISECONDS.toNanos(15), 2);
+
+        //then
+        var timer = meterRegistry
+            .get(QUERY_METRIC_NAME)
+            .tags("kind", "SELECT", "entity", "Human", "field", "Humans")
+            .timer();
+
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(20.0);
+
+        var rows = meterRegistry
+            .get(ROWS_METRIC_NAME)
+            .tags("kind", "SELECT", "entity", "Human", "field", "Humans")
+            .summary();
+
+        assertThat(rows.count()).isEqualTo(2);
+        assertThat(rows.totalAmount()).isEqualTo(12.0);
+        assertThat(rows.max()).isEqualTo(10.0);
+    }
+
+    @Test
+    public void shouldRecordBatchSize() {
+        //given
+        MicrometerQueryMetricsRecorder recorder = new MicrometerQueryMetricsRecorder(meterRegistry);
+
+        //when
+        recorder.recordBatchSize(QueryKind.BATCH_TO_MANY, "Human", "friends", 7);
+
+        //then
+        var batchSize = meterRegistry
+            .get(BATCH_SIZE_METRIC_NAME)
+            .tags("kind", "BATCH_TO_MANY", "entity", "Human", "field", "friends")
+            .summary();
+
+        assertThat(batchSize.count()).isEqualTo(1);
+        assertThat(batchSize.totalAmount()).isEqualTo(7.0);
+    }
+
+    @Test
+    public void shouldRecordBatchChunks() {
+        //given
+        MicrometerQueryMetricsRecorder recorder = new MicrometerQueryMetricsRecorder(meterRegistry);
+
+        //when
+        recorder.recordBatchChunks(QueryKind.BATCH_TO_MANY, "Human", "friends", 4, 2_000_000);
+
+        //then
+        var chunks = meterRegistry
+            .get(BATCH_CHUNKS_METRIC_NAME)
+            .tags("kind", "BATCH_TO_MANY", "entity", "Human", "field", "friends")
+            .summary();
+
+        var timer = meterRegistry
+            .get(BATCH_CHUNKS_METRIC_NAME + ".time")
+            .tags("kind", "BATCH_TO_MANY", "entity", "Human", "field", "friends")
+            .timer();
+
+        assertThat(chunks.count()).isEqualTo(1);
+        assertThat(chunks.totalAmount()).isEqualTo(4.0);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(2.0);
+    }
+
+    @Test
+    public void shouldBoundTagCardinality() {
+        //given
+        MicrometerQueryMetricsRecorder recorder = new MicrometerQueryMetricsRecorder(meterRegistry, 2);
+
+        //when
+        recorder.recordQuery(QueryKind.SELECT, "Human", "Humans", 1, 1);
+        recorder.recordQuery(QueryKind.SELECT, "Droid", "Droids", 1, 1);
+        recorder.recordQuery(QueryKind.SELECT, "Book", "Books", 1, 1);
+        recorder.recordQuery(QueryKind.COUNT, "Author", "Authors", 1, 1);
+        recorder.recordQuery(QueryKind.COUNT, "Human", "Humans", 1, 1);
+
+        //then
+        assertThat(meterRegistry.get(QUERY_METRIC_NAME).timers()).hasSize(5);
+        assertThat(meterRegistry.get(QUERY_METRIC_NAME).tags("entity", OTHER, "field", OTHER).timers())
+            .hasSize(2);
+        assertThat(meterRegistry.get(QUERY_METRIC_NAME).tags("kind", "COUNT", "entity", "Human").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    public void shouldBindAdmissionControllerMetrics() {
+        //given
+        GraphQLJpaAdmissionController admissionController = new GraphQLJpaAdmissionController(1, 0, Duration.ZERO);
+
+        new GraphQLJpaAdmissionControllerMetrics(admissionController).bindTo(meterRegistry);
+
+        //when
+        admissionController.tryAcquire();
+        admissionController.tryAcquire();
+
+        //then
+        assertThat(meterRegistry.get("graphql.jpa.admission.in.flight").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("graphql.jpa.admission.admitted").functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("graphql.jpa.admission.rejected").functionCounter().count()).isEqualTo(1.0);
+    }
+}
@@ -56,7 +56,6 @@ import java.time.format.DateTimeParseException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -64,6 +63,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.TimeZone;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -80,7 +80,7 @@ public class JavaScalars {
 
     private static final Logger log = LoggerFactory.getLogger(JavaScalars.class);
 
-    private static final Map<Class<?>, GraphQLScalarType> scalarsRegistry = new HashMap<Class<?>, GraphQLScalarType>();
+    private static final Map<Class<?>, GraphQLScalarType> scalarsRegistry = new ConcurrentHashMap<>();
 
     private static final JavaScalars instance = new JavaScalars();
 
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017 IntroPro Ventures Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.introproventures.graphql.jpa.query.schema;
+
+import graphql.schema.visibility.GraphqlFieldVisibility;
+import java.util.function.Supplier;
+
+/**
+ * The GraphQLFieldVisibilitySupplier supplies field visibility for the current request together with a key
+ * that identifies its visibility policy, i.e. the user role. Requests that resolve to equal keys share
+ * one visibility transformed schema, so the supplier is only invoked when the schema for a key is not cached yet.
+ *
+ * Plain {@link Supplier} of {@link GraphqlFieldVisibility} instances are keyed by the returned visibility instance.
+ */
+public interface GraphQLFieldVisibilitySupplier extends Supplier<GraphqlFieldVisibility> {
+    /**
+     * Returns the key of visibility policy for the current request. The key must implement equals and hashCode.
+     *
+     * @return the visibility policy key
+     */
+    Object getVisibilityKey();
+}
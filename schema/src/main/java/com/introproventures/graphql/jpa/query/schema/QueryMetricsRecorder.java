@@ -0,0 +1,78 @@
+package com.introproventures.graphql.jpa.query.schema;
+
+/**
+ * The QueryMetricsRecorder interface receives timings and result sizes of JPA queries executed by the schema
+ * data fetchers and batch loaders, so that they can be exported to a metrics registry.
+ *
+ * The entity and field arguments are bounded by the schema entity model, i.e. entity name and GraphQL field name
+ * without aliases. All methods have no-op default implementations.
+ */
+public interface QueryMetricsRecorder {
+    QueryMetricsRecorder NOOP = new QueryMetricsRecorder() {};
+
+    /**
+     * Kinds of JPA queries executed by the schema
+     */
+    enum QueryKind {
+        /**
+         * Select entities query for root query field
+         */
+        SELECT,
+        /**
+         * Select paged entity keys query
+         */
+        KEYS,
+        /**
+         * Select single entity by id query
+         */
+        SINGLE,
+        /**
+         * Total count query for pages and total fields
+         */
+        COUNT,
+        /**
+         * Aggregate count and group by queries
+         */
+        AGGREGATE,
+        /**
+         * Batch query for to-many associations
+         */
+        BATCH_TO_MANY,
+        /**
+         * Batch query for to-one associations
+         */
+        BATCH_TO_ONE,
+    }
+
+    /**
+     * Records executed query
+     *
+     * @param kind query kind
+     * @param entity entity name
+     * @param field GraphQL field name
+     * @param durationNanos query execution time in nanoseconds including reading results
+     * @param rows number of returned rows
+     */
+    default void recordQuery(QueryKind kind, String entity, String field, long durationNanos, long rows) {}
+
+    /**
+     * Records number of parent keys loaded by batch query
+     *
+     * @param kind batch query kind
+     * @param entity entity name
+     * @param field GraphQL association field name
+     * @param batchSize number of keys
+     */
+    default void recordBatchSize(QueryKind kind, String entity, String field, int batchSize) {}
+
+    /**
+     * Records batch load split into chunks of max batch size
+     *
+     * @param kind batch query kind
+     * @param entity entity name
+     * @param field GraphQL association field name
+     * @param chunks number of chunk queries
+     * @param durationNanos time to load and merge all chunks in nanoseconds
+     */
+    default void recordBatchChunks(QueryKind kind, String entity, String field, int chunks, long durationNanos) {}
+}
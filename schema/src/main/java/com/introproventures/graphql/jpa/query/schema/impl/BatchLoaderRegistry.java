@@ -3,6 +3,7 @@ package com.introproventures.graphql.jpa.query.schema.impl;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.dataloader.DataLoader;
 import org.dataloader.DataLoaderFactory;
 import org.dataloader.DataLoaderOptions;
@@ -11,8 +12,8 @@ import org.dataloader.MappedBatchLoaderWithContext;
 
 public class BatchLoaderRegistry {
 
-    private static final Map<String, MappedBatchLoaderWithContext<Object, List<Object>>> mappedToManyBatchLoaders = new LinkedHashMap<>();
-    private static final Map<String, MappedBatchLoaderWithContext<Object, Object>> mappedToOneBatchLoaders = new LinkedHashMap<>();
+    private static final Map<String, MappedBatchLoaderWithContext<Object, List<Object>>> mappedToManyBatchLoaders = new ConcurrentHashMap<>();
+    private static final Map<String, MappedBatchLoaderWithContext<Object, Object>> mappedToOneBatchLoaders = new ConcurrentHashMap<>();
     private static BatchLoaderRegistry instance = new BatchLoaderRegistry();
 
     public static BatchLoaderRegistry getInstance() {
@@ -19,7 +19,6 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -27,6 +26,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -38,7 +38,7 @@ public class EntityIntrospector {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EntityIntrospector.class);
 
-    private static final Map<Class<?>, EntityIntrospectionResult> map = new LinkedHashMap<>();
+    private static final Map<Class<?>, EntityIntrospectionResult> map = new ConcurrentHashMap<>();
 
     private static ClassIntrospector introspector = ClassIntrospector
         .builder()
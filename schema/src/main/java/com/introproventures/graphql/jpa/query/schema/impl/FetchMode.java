@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017 IntroPro Ventures Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+/**
+ * Fetch mode of root query select results.
+ */
+public enum FetchMode {
+    /**
+     * Selects managed entities with fetch graph of selected associations, and detaches every result entity
+     */
+    ENTITY,
+
+    /**
+     * Selects tuples of selected basic attributes and id as maps keyed by attribute names, if selection contains
+     * only basic persistent attributes, or falls back to {@link #ENTITY}. Any selected association, embedded,
+     * element collection, transient or calculated field falls back to {@link #ENTITY} for the whole select, i.e.
+     * to-one foreign keys are not projected. Entities with subtypes or composite ids are always selected as
+     * entities
+     */
+    PROJECTION,
+}
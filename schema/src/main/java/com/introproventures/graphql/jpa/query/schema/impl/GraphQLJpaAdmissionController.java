@@ -0,0 +1,198 @@
+/*
+ * Copyright 2017 IntroPro Ventures Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import graphql.ErrorType;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for root GraphQL executions that caps the number of in-flight executions,
+ * i.e. transactions holding a JDBC connection, to the configured limit, usually the size of the connection pool.
+ *
+ * Executions over the limit wait in a bounded fair queue up to the queue timeout. When the queue is full
+ * or the deadline expires, the execution is rejected with {@value #OVERLOADED} error instead of waiting
+ * for a pool connection timeout.
+ */
+public class GraphQLJpaAdmissionController {
+
+    public static final String OVERLOADED = "OVERLOADED";
+
+    public static final int DEFAULT_MAX_QUEUE_SIZE = 100;
+
+    public static final Duration DEFAULT_QUEUE_TIMEOUT = Duration.ofSeconds(1);
+
+    private final int maxConcurrentExecutions;
+    private final int maxQueueSize;
+    private final Duration queueTimeout;
+
+    private final Semaphore permits;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    private final AtomicLong admittedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong totalWaitTimeNanos = new AtomicLong();
+    private final AtomicLong maxWaitTimeNanos = new AtomicLong();
+
+    public GraphQLJpaAdmissionController(int maxConcurrentExecutions) {
+        this(maxConcurrentExecutions, DEFAULT_MAX_QUEUE_SIZE, DEFAULT_QUEUE_TIMEOUT);
+    }
+
+    public GraphQLJpaAdmissionController(int maxConcurrentExecutions, int maxQueueSize, Duration queueTimeout) {
+        if (maxConcurrentExecutions <= 0) {
+            throw new IllegalArgumentException("maxConcurrentExecutions must be positive: " + maxConcurrentExecutions);
+        }
+        if (maxQueueSize < 0) {
+            throw new IllegalArgumentException("maxQueueSize must not be negative: " + maxQueueSize);
+        }
+        if (queueTimeout == null || queueTimeout.isNegative()) {
+            throw new IllegalArgumentException("queueTimeout must not be negative: " + queueTimeout);
+        }
+
+        this.maxConcurrentExecutions = maxConcurrentExecutions;
+        this.maxQueueSize = maxQueueSize;
+        this.queueTimeout = queueTimeout;
+        this.permits = new Semaphore(maxConcurrentExecutions, true);
+    }
+
+    /**
+     * Tries to admit execution, waiting in the queue up to the queue timeout if all permits are in use.
+     * The returned permit must be closed when the execution completes.
+     *
+     * @return permit for admitted execution or empty if execution is rejected
+     */
+    public Optional<Permit> tryAcquire() {
+        if (permits.tryAcquire()) {
+            return Optional.of(admit(0));
+        }
+
+        if (queueDepth.incrementAndGet() > maxQueueSize) {
+            queueDepth.decrementAndGet();
+            rejectedCount.incrementAndGet();
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+
+        try {
+            if (permits.tryAcquire(queueTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                return Optional.of(admit(System.nanoTime() - start));
+            }
+            timeoutCount.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            queueDepth.decrementAndGet();
+        }
+
+        rejectedCount.incrementAndGet();
+
+        return Optional.empty();
+    }
+
+    private Permit admit(long waitTimeNanos) {
+        admittedCount.incrementAndGet();
+        totalWaitTimeNanos.addAndGet(waitTimeNanos);
+        maxWaitTimeNanos.accumulateAndGet(waitTimeNanos, Math::max);
+
+        AtomicBoolean released = new AtomicBoolean();
+
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+    }
+
+    /**
+     * Creates execution result with {@value #OVERLOADED} error for rejected execution
+     *
+     * @return execution result
+     */
+    public ExecutionResult overloadedResult() {
+        return ExecutionResultImpl.newExecutionResult().addError(overloadedError()).build();
+    }
+
+    public GraphQLError overloadedError() {
+        return GraphqlErrorBuilder
+            .newError()
+            .message("Server is overloaded. Too many concurrent executions, please retry later.")
+            .errorType(ErrorType.ExecutionAborted)
+            .extensions(Map.of("code", OVERLOADED))
+            .build();
+    }
+
+    public int getMaxConcurrentExecutions() {
+        return maxConcurrentExecutions;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public Duration getQueueTimeout() {
+        return queueTimeout;
+    }
+
+    public int getInFlightCount() {
+        return maxConcurrentExecutions - permits.availablePermits();
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public long getAdmittedCount() {
+        return admittedCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    public Duration getTotalWaitTime() {
+        return Duration.ofNanos(totalWaitTimeNanos.get());
+    }
+
+    public Duration getMaxWaitTime() {
+        return Duration.ofNanos(maxWaitTimeNanos.get());
+    }
+
+    /**
+     * Admitted execution permit that releases its slot on close
+     */
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
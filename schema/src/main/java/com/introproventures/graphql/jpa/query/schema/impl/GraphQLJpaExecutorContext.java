@@ -18,13 +18,15 @@ package com.introproventures.graphql.jpa.query.schema.impl;
 
 import com.introproventures.graphql.jpa.query.schema.GraphQLExecutionInputFactory;
 import com.introproventures.graphql.jpa.query.schema.GraphQLExecutorContext;
+import com.introproventures.graphql.jpa.query.schema.GraphQLFieldVisibilitySupplier;
 import graphql.ExecutionInput;
 import graphql.GraphQL;
 import graphql.GraphQLContext;
 import graphql.execution.ExecutionStrategy;
 import graphql.execution.instrumentation.ChainedInstrumentation;
 import graphql.execution.instrumentation.Instrumentation;
-import graphql.schema.GraphQLCodeRegistry;
+import graphql.execution.preparsed.NoOpPreparsedDocumentProvider;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.visibility.GraphqlFieldVisibility;
 import java.util.Arrays;
@@ -47,6 +49,8 @@ public class GraphQLJpaExecutorContext implements GraphQLExecutorContext {
     private final Supplier<ExecutionStrategy> queryExecutionStrategy;
     private final Supplier<ExecutionStrategy> mutationExecutionStrategy;
     private final Supplier<ExecutionStrategy> subscriptionExecutionStrategy;
+    private final PreparsedDocumentProvider preparsedDocumentProvider;
+    private final GraphQLJpaVisibilitySchemaCache visibilitySchemaCache;
 
     private GraphQLJpaExecutorContext(Builder builder) {
         this.graphQLSchema = builder.graphQLSchema;
@@ -58,6 +62,8 @@ public class GraphQLJpaExecutorContext implements GraphQLExecutorContext {
         this.queryExecutionStrategy = builder.queryExecutionStrategy;
         this.mutationExecutionStrategy = builder.mutationExecutionStrategy;
         this.subscriptionExecutionStrategy = builder.subscriptionExecutionStrategy;
+        this.preparsedDocumentProvider = builder.preparsedDocumentProvider;
+        this.visibilitySchemaCache = builder.visibilitySchemaCache;
     }
 
     @Override
@@ -71,10 +77,12 @@ public class GraphQLJpaExecutorContext implements GraphQLExecutorContext {
     @Override
     public GraphQL.Builder newGraphQL() {
         Instrumentation instrumentation = newIstrumentation();
+        GraphQLSchema graphQLSchema = getGraphQLSchema(getVisibilityKey());
 
         return GraphQL
-            .newGraphQL(getGraphQLSchema())
+            .newGraphQL(graphQLSchema)
             .instrumentation(instrumentation)
+            .preparsedDocumentProvider(newPreparsedDocumentProvider(graphQLSchema))
             .queryExecutionStrategy(queryExecutionStrategy.get())
             .mutationExecutionStrategy(mutationExecutionStrategy.get())
             .subscriptionExecutionStrategy(subscriptionExecutionStrategy.get());
@@ -94,13 +102,44 @@ public class GraphQLJpaExecutorContext implements GraphQLExecutorContext {
         return new ChainedInstrumentation(list);
     }
 
+    /**
+     * Returns document provider for the schema the request is executed against. Cached documents are partitioned
+     * by the schema instance actually in use, so that requests resolving the same visibility transformed schema
+     * share validated documents regardless of how the visibility was supplied.
+     */
+    public PreparsedDocumentProvider newPreparsedDocumentProvider(GraphQLSchema graphQLSchema) {
+        if (preparsedDocumentProvider instanceof GraphQLJpaPreparsedDocumentProvider documentCache) {
+            return documentCache.scoped(graphQLSchema);
+        }
+
+        return preparsedDocumentProvider;
+    }
+
     @Override
     public GraphQLSchema getGraphQLSchema() {
-        GraphQLCodeRegistry codeRegistry = graphQLSchema
-            .getCodeRegistry()
-            .transform(builder -> builder.fieldVisibility(graphqlFieldVisibility.get()));
+        return getGraphQLSchema(getVisibilityKey());
+    }
 
-        return graphQLSchema.transform(builder -> builder.codeRegistry(codeRegistry));
+    protected GraphQLSchema getGraphQLSchema(Object visibilityKey) {
+        if (visibilityKey instanceof GraphqlFieldVisibility fieldVisibility) {
+            return visibilitySchemaCache.getGraphQLSchema(graphQLSchema, visibilityKey, () -> fieldVisibility);
+        }
+
+        return visibilitySchemaCache.getGraphQLSchema(graphQLSchema, visibilityKey, graphqlFieldVisibility);
+    }
+
+    /**
+     * Resolves the visibility policy key for the current request. Plain visibility suppliers are keyed
+     * by the visibility instance they return, so they must return a stable instance per policy. A supplier
+     * creating a new instance on every call misses the schema cache and evicts useful entries; implement
+     * {@link GraphQLFieldVisibilitySupplier} to provide a stable key instead.
+     */
+    protected Object getVisibilityKey() {
+        if (graphqlFieldVisibility instanceof GraphQLFieldVisibilitySupplier visibilitySupplier) {
+            return visibilitySupplier.getVisibilityKey();
+        }
+
+        return graphqlFieldVisibility.get();
     }
 
     /**
@@ -132,6 +171,10 @@ public class GraphQLJpaExecutorContext implements GraphQLExecutorContext {
 
         IBuildStage subscriptionExecutionStrategy(Supplier<ExecutionStrategy> subscriptionExecutionStrategy);
 
+        IBuildStage preparsedDocumentProvider(PreparsedDocumentProvider preparsedDocumentProvider);
+
+        IBuildStage visibilitySchemaCache(GraphQLJpaVisibilitySchemaCache visibilitySchemaCache);
+
         GraphQLJpaExecutorContext build();
     }
 
@@ -149,6 +192,8 @@ public class GraphQLJpaExecutorContext implements GraphQLExecutorContext {
         private Supplier<ExecutionStrategy> queryExecutionStrategy;
         private Supplier<ExecutionStrategy> mutationExecutionStrategy;
         private Supplier<ExecutionStrategy> subscriptionExecutionStrategy;
+        private PreparsedDocumentProvider preparsedDocumentProvider = NoOpPreparsedDocumentProvider.INSTANCE;
+        private GraphQLJpaVisibilitySchemaCache visibilitySchemaCache = new GraphQLJpaVisibilitySchemaCache(0);
 
         private Builder() {}
 
@@ -210,6 +255,20 @@ public class GraphQLJpaExecutorContext implements GraphQLExecutorContext {
             return this;
         }
 
+        @Override
+        public IBuildStage preparsedDocumentProvider(PreparsedDocumentProvider preparsedDocumentProvider) {
+            this.preparsedDocumentProvider = preparsedDocumentProvider;
+
+            return this;
+        }
+
+        @Override
+        public IBuildStage visibilitySchemaCache(GraphQLJpaVisibilitySchemaCache visibilitySchemaCache) {
+            this.visibilitySchemaCache = visibilitySchemaCache;
+
+            return this;
+        }
+
         @Override
         public GraphQLJpaExecutorContext build() {
             return new GraphQLJpaExecutorContext(this);
@@ -26,6 +26,8 @@ import graphql.execution.ExecutionStrategy;
 import graphql.execution.SubscriptionExecutionStrategy;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.preparsed.NoOpPreparsedDocumentProvider;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.visibility.DefaultGraphqlFieldVisibility;
 import graphql.schema.visibility.GraphqlFieldVisibility;
@@ -60,6 +62,9 @@ public class GraphQLJpaExecutorContextFactory implements GraphQLExecutorContextF
     private Supplier<ExecutionStrategy> mutationExecutionStrategy = AsyncSerialExecutionStrategy::new;
     private Supplier<ExecutionStrategy> subscriptionExecutionStrategy = SubscriptionExecutionStrategy::new;
 
+    private PreparsedDocumentProvider preparsedDocumentProvider = NoOpPreparsedDocumentProvider.INSTANCE;
+    private GraphQLJpaVisibilitySchemaCache visibilitySchemaCache = new GraphQLJpaVisibilitySchemaCache();
+
     public GraphQLJpaExecutorContextFactory() {}
 
     @Override
@@ -75,6 +80,8 @@ public class GraphQLJpaExecutorContextFactory implements GraphQLExecutorContextF
             .queryExecutionStrategy(queryExecutionStrategy)
             .mutationExecutionStrategy(mutationExecutionStrategy)
             .subscriptionExecutionStrategy(subscriptionExecutionStrategy)
+            .preparsedDocumentProvider(preparsedDocumentProvider)
+            .visibilitySchemaCache(visibilitySchemaCache)
             .build();
     }
 
@@ -123,6 +130,20 @@ public class GraphQLJpaExecutorContextFactory implements GraphQLExecutorContextF
         return this;
     }
 
+    public GraphQLJpaExecutorContextFactory withPreparsedDocumentProvider(
+        PreparsedDocumentProvider preparsedDocumentProvider
+    ) {
+        this.preparsedDocumentProvider = preparsedDocumentProvider;
+        return this;
+    }
+
+    public GraphQLJpaExecutorContextFactory withVisibilitySchemaCache(
+        GraphQLJpaVisibilitySchemaCache visibilitySchemaCache
+    ) {
+        this.visibilitySchemaCache = visibilitySchemaCache;
+        return this;
+    }
+
     public GraphQLExecutionInputFactory getExecutionInputFactory() {
         return executionInputFactory;
     }
@@ -138,4 +159,12 @@ public class GraphQLJpaExecutorContextFactory implements GraphQLExecutorContextF
     public Supplier<GraphQLContext> getGraphqlContext() {
         return graphqlContext;
     }
+
+    public PreparsedDocumentProvider getPreparsedDocumentProvider() {
+        return preparsedDocumentProvider;
+    }
+
+    public GraphQLJpaVisibilitySchemaCache getVisibilitySchemaCache() {
+        return visibilitySchemaCache;
+    }
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017 IntroPro Ventures Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Size bounded LRU {@link PreparsedDocumentProvider} that caches parsed and validated query documents
+ * keyed by query text and operation name.
+ *
+ * Validation depends on the field visibility of the schema the query is executed against, so the executor
+ * context uses {@link #scoped(Object)} to partition cached documents by the visibility transformed schema
+ * instance in use. Documents with parse or validation errors are never cached.
+ */
+public class GraphQLJpaPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private final int maximumSize;
+    private final Map<DocumentKey, PreparsedDocumentEntry> cache;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public GraphQLJpaPreparsedDocumentProvider() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public GraphQLJpaPreparsedDocumentProvider(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize must not be negative: " + maximumSize);
+        }
+
+        this.maximumSize = maximumSize;
+        this.cache =
+            Collections.synchronizedMap(
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<DocumentKey, PreparsedDocumentEntry> eldest) {
+                        if (size() > GraphQLJpaPreparsedDocumentProvider.this.maximumSize) {
+                            evictionCount.incrementAndGet();
+                            return true;
+                        }
+                        return false;
+                    }
+                }
+            );
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+        ExecutionInput executionInput,
+        Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction
+    ) {
+        return getDocumentAsync(null, executionInput, parseAndValidateFunction);
+    }
+
+    /**
+     * Returns a view of this cache that keeps documents for the given scope apart from other scopes, i.e.
+     * schemas with different field visibility.
+     *
+     * @param scope cache partition key
+     * @return scoped document provider sharing this cache capacity and counters
+     */
+    public PreparsedDocumentProvider scoped(Object scope) {
+        return new PreparsedDocumentProvider() {
+            @Override
+            public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+                ExecutionInput executionInput,
+                Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction
+            ) {
+                return GraphQLJpaPreparsedDocumentProvider.this.getDocumentAsync(
+                        scope,
+                        executionInput,
+                        parseAndValidateFunction
+                    );
+            }
+        };
+    }
+
+    protected CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+        Object scope,
+        ExecutionInput executionInput,
+        Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction
+    ) {
+        if (maximumSize == 0) {
+            return CompletableFuture.completedFuture(parseAndValidateFunction.apply(executionInput));
+        }
+
+        DocumentKey key = new DocumentKey(scope, executionInput.getQuery(), executionInput.getOperationName());
+
+        PreparsedDocumentEntry entry = cache.get(key);
+
+        if (entry != null) {
+            hitCount.incrementAndGet();
+
+            return CompletableFuture.completedFuture(entry);
+        }
+
+        missCount.incrementAndGet();
+
+        entry = parseAndValidateFunction.apply(executionInput);
+
+        if (!entry.hasErrors()) {
+            cache.put(key, entry);
+        }
+
+        return CompletableFuture.completedFuture(entry);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    record DocumentKey(Object scope, String query, String operationName) {}
+}
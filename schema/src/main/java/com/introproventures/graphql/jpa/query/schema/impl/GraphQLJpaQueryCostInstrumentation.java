@@ -0,0 +1,369 @@
+/*
+ * Copyright 2017 IntroPro Ventures Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import static com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaSchemaBuilder.PAGE_LIMIT_PARAM_NAME;
+import static com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaSchemaBuilder.PAGE_PARAM_NAME;
+
+import com.introproventures.graphql.jpa.query.schema.relay.GraphQLJpaRelayDataFetcher;
+import graphql.ExecutionResult;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.CoercedVariables;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.language.Document;
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Instrumentation that estimates the number of entity rows a query operation may load before any SQL is executed,
+ * and rejects operations over the configured cost budget with {@value #QUERY_COST_EXCEEDED} error.
+ *
+ * The estimate multiplies the cardinality of each selected association along its path. Root query fields use
+ * the page limit argument, capped by the default max results, to-many associations use the configured
+ * to-many size and to-one associations count as a single row, so the cost grows with both fan-out and nesting depth.
+ * Associations are resolved from the JPA data fetchers generated by the schema builder for the entity metamodel.
+ *
+ * The estimated cost is added to the response extensions under the {@value #COST_EXTENSION} key, so that clients
+ * can tune their queries.
+ */
+public class GraphQLJpaQueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphQLJpaQueryCostInstrumentation.class);
+
+    public static final String COST_EXTENSION = "cost";
+
+    public static final String QUERY_COST_EXCEEDED = "QUERY_COST_EXCEEDED";
+
+    public static final int DEFAULT_TO_MANY_SIZE = 10;
+
+    private final long maxCost;
+
+    private int toManySize = DEFAULT_TO_MANY_SIZE;
+
+    private boolean rejectOverBudget = true;
+
+    private boolean costExtension = true;
+
+    public GraphQLJpaQueryCostInstrumentation(long maxCost) {
+        if (maxCost <= 0) {
+            throw new IllegalArgumentException("maxCost must be positive: " + maxCost);
+        }
+        this.maxCost = maxCost;
+    }
+
+    /**
+     * Sets estimated number of rows loaded for each to-many association of a parent entity
+     *
+     * @param toManySize number of rows
+     * @return this instance
+     */
+    public GraphQLJpaQueryCostInstrumentation withToManySize(int toManySize) {
+        this.toManySize = toManySize;
+        return this;
+    }
+
+    /**
+     * Rejects operations over the cost budget if true, otherwise only logs a warning and executes the operation
+     *
+     * @param rejectOverBudget flag
+     * @return this instance
+     */
+    public GraphQLJpaQueryCostInstrumentation withRejectOverBudget(boolean rejectOverBudget) {
+        this.rejectOverBudget = rejectOverBudget;
+        return this;
+    }
+
+    /**
+     * Adds estimated cost to execution result extensions if true
+     *
+     * @param costExtension flag
+     * @return this instance
+     */
+    public GraphQLJpaQueryCostInstrumentation withCostExtension(boolean costExtension) {
+        this.costExtension = costExtension;
+        return this;
+    }
+
+    @Override
+    public CompletableFuture<InstrumentationState> createStateAsync(InstrumentationCreateStateParameters parameters) {
+        return CompletableFuture.completedFuture(new QueryCostState());
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+        InstrumentationExecuteOperationParameters parameters,
+        InstrumentationState state
+    ) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+
+        long cost = estimateCost(
+            executionContext.getGraphQLSchema(),
+            executionContext.getDocument(),
+            executionContext.getExecutionInput().getOperationName(),
+            executionContext.getCoercedVariables()
+        );
+
+        if (state instanceof QueryCostState queryCostState) {
+            queryCostState.cost.set(cost);
+        }
+
+        if (cost > maxCost) {
+            if (rejectOverBudget) {
+                throw new QueryCostExceededException(cost, maxCost);
+            }
+            logger.warn(
+                "Query cost {} exceeds maximum cost {} for execution {}",
+                cost,
+                maxCost,
+                executionContext.getExecutionId()
+            );
+        }
+
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(
+        ExecutionResult executionResult,
+        InstrumentationExecutionParameters parameters,
+        InstrumentationState state
+    ) {
+        if (costExtension && state instanceof QueryCostState queryCostState && queryCostState.cost.get() >= 0) {
+            return CompletableFuture.completedFuture(
+                executionResult.transform(builder ->
+                    builder.addExtension(COST_EXTENSION, costExtension(queryCostState.cost.get(), maxCost))
+                )
+            );
+        }
+
+        return super.instrumentExecutionResult(executionResult, parameters, state);
+    }
+
+    /**
+     * Estimates number of entity rows loaded by query operation
+     *
+     * @param graphQLSchema schema
+     * @param document query document
+     * @param operationName operation name
+     * @param variables coerced variables
+     * @return estimated cost
+     */
+    public long estimateCost(
+        GraphQLSchema graphQLSchema,
+        Document document,
+        String operationName,
+        CoercedVariables variables
+    ) {
+        Map<QueryVisitorFieldEnvironment, Long> rows = new HashMap<>();
+        AtomicLong cost = new AtomicLong();
+
+        QueryTraverser
+            .newQueryTraverser()
+            .schema(graphQLSchema)
+            .document(document)
+            .operationName(operationName)
+            .coercedVariables(variables)
+            .build()
+            .visitPreOrder(
+                new QueryVisitorStub() {
+                    @Override
+                    public void visitField(QueryVisitorFieldEnvironment environment) {
+                        if (environment.isTypeNameIntrospectionField()) {
+                            return;
+                        }
+
+                        long parentRows = Optional
+                            .ofNullable(environment.getParentEnvironment())
+                            .map(rows::get)
+                            .orElse(1L);
+
+                        long fieldRows = multiply(parentRows, cardinality(graphQLSchema, environment));
+
+                        rows.put(environment, fieldRows);
+
+                        if (!isLeaf(environment.getFieldDefinition().getType())) {
+                            cost.set(add(cost.get(), fieldRows));
+                        }
+                    }
+                }
+            );
+
+        return cost.get();
+    }
+
+    protected long cardinality(GraphQLSchema graphQLSchema, QueryVisitorFieldEnvironment environment) {
+        DataFetcher<?> dataFetcher = getDataFetcher(graphQLSchema, environment);
+
+        if (dataFetcher instanceof GraphQLJpaToOneDataFetcher) {
+            return 1;
+        } else if (dataFetcher instanceof GraphQLJpaToManyDataFetcher) {
+            return toManySize;
+        } else if (!isList(environment.getFieldDefinition().getType())) {
+            return 1;
+        }
+
+        QueryVisitorFieldEnvironment parentEnvironment = environment.getParentEnvironment();
+
+        if (parentEnvironment != null) {
+            DataFetcher<?> parentDataFetcher = getDataFetcher(graphQLSchema, parentEnvironment);
+
+            if (parentDataFetcher instanceof GraphQLJpaQueryDataFetcher queryDataFetcher) {
+                int limit = getPageLimit(parentEnvironment.getArguments())
+                    .orElse(queryDataFetcher.getDefaultPageLimitSize());
+
+                return Math.min(limit, queryDataFetcher.getDefaultMaxResults());
+            } else if (parentDataFetcher instanceof GraphQLJpaRelayDataFetcher relayDataFetcher) {
+                int first = Optional
+                    .ofNullable(parentEnvironment.getArguments().get("first"))
+                    .map(Number.class::cast)
+                    .map(Number::intValue)
+                    .orElse(relayDataFetcher.getDefaultFirstSize());
+
+                return Math.min(first, relayDataFetcher.getDefaultMaxResults());
+            }
+        }
+
+        return toManySize;
+    }
+
+    public long getMaxCost() {
+        return maxCost;
+    }
+
+    public int getToManySize() {
+        return toManySize;
+    }
+
+    public boolean isRejectOverBudget() {
+        return rejectOverBudget;
+    }
+
+    public boolean isCostExtension() {
+        return costExtension;
+    }
+
+    private static DataFetcher<?> getDataFetcher(
+        GraphQLSchema graphQLSchema,
+        QueryVisitorFieldEnvironment environment
+    ) {
+        FieldCoordinates coordinates = FieldCoordinates.coordinates(
+            environment.getFieldsContainer().getName(),
+            environment.getFieldDefinition().getName()
+        );
+
+        return graphQLSchema.getCodeRegistry().getDataFetcher(coordinates, environment.getFieldDefinition());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<Integer> getPageLimit(Map<String, Object> arguments) {
+        return Optional
+            .ofNullable(arguments.get(PAGE_PARAM_NAME))
+            .filter(Map.class::isInstance)
+            .map(page -> ((Map<String, Object>) page).get(PAGE_LIMIT_PARAM_NAME))
+            .map(Number.class::cast)
+            .map(Number::intValue);
+    }
+
+    private static boolean isLeaf(GraphQLType type) {
+        return GraphQLTypeUtil.isLeaf(GraphQLTypeUtil.unwrapAll(type));
+    }
+
+    private static boolean isList(GraphQLType type) {
+        return GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(type));
+    }
+
+    private static long multiply(long a, long b) {
+        try {
+            return Math.multiplyExact(a, Math.max(b, 0));
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static long add(long a, long b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static Map<String, Object> costExtension(long cost, long maxCost) {
+        Map<String, Object> extension = new LinkedHashMap<>();
+        extension.put("estimated", cost);
+        extension.put("maximum", maxCost);
+
+        return extension;
+    }
+
+    static class QueryCostState implements InstrumentationState {
+
+        private final AtomicLong cost = new AtomicLong(-1);
+    }
+
+    /**
+     * Aborts execution of an operation with estimated cost over the budget
+     */
+    public static class QueryCostExceededException extends AbortExecutionException {
+
+        private final long cost;
+        private final long maxCost;
+
+        public QueryCostExceededException(long cost, long maxCost) {
+            super("Query cost " + cost + " exceeds maximum cost " + maxCost);
+            this.cost = cost;
+            this.maxCost = maxCost;
+        }
+
+        @Override
+        public Map<String, Object> getExtensions() {
+            Map<String, Object> extensions = new LinkedHashMap<>();
+            extensions.put("code", QUERY_COST_EXCEEDED);
+            extensions.put(COST_EXTENSION, costExtension(cost, maxCost));
+
+            return extensions;
+        }
+
+        public long getCost() {
+            return cost;
+        }
+
+        public long getMaxCost() {
+            return maxCost;
+        }
+    }
+}
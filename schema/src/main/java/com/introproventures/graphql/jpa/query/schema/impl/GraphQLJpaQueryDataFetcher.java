@@ -15,9 +15,11 @@
  */
 package com.introproventures.graphql.jpa.query.schema.impl;
 
+import static com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaSchemaBuilder.PAGE_END_CURSOR_PARAM_NAME;
 import static com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaSchemaBuilder.PAGE_PAGES_PARAM_NAME;
 import static com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaSchemaBuilder.PAGE_TOTAL_PARAM_NAME;
 import static com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaSchemaBuilder.QUERY_SELECT_PARAM_NAME;
+import static com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaSchemaBuilder.TIME_BUCKET_PARAM_NAME;
 import static com.introproventures.graphql.jpa.query.support.GraphQLSupport.extractPageArgument;
 import static com.introproventures.graphql.jpa.query.support.GraphQLSupport.findArgument;
 import static com.introproventures.graphql.jpa.query.support.GraphQLSupport.getAliasOrName;
@@ -27,6 +29,11 @@ import static com.introproventures.graphql.jpa.query.support.GraphQLSupport.getS
 import static com.introproventures.graphql.jpa.query.support.GraphQLSupport.searchByFieldName;
 
 import com.introproventures.graphql.jpa.query.schema.JavaScalars;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaQueryFactory.AggregateFunction;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaQueryFactory.PagedKeys;
+import com.introproventures.graphql.jpa.query.schema.relay.KeysetCursor;
+import com.introproventures.graphql.jpa.query.schema.relay.SortField;
+import com.introproventures.graphql.jpa.query.support.GraphQLSupport;
 import graphql.GraphQLException;
 import graphql.language.Argument;
 import graphql.language.EnumValue;
@@ -38,6 +45,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
@@ -63,16 +72,35 @@ class GraphQLJpaQueryDataFetcher implements DataFetcher<PagedResult<Object>> {
     private final int defaultPageLimitSize;
     private final boolean enableDefaultMaxResults;
     private final GraphQLJpaQueryFactory queryFactory;
+    private final GraphQLJpaQueryResultCache resultCache;
 
     private GraphQLJpaQueryDataFetcher(Builder builder) {
         this.queryFactory = builder.queryFactory;
         this.defaultMaxResults = builder.defaultMaxResults;
         this.defaultPageLimitSize = builder.defaultPageLimitSize;
         this.enableDefaultMaxResults = builder.enableDefaultMaxResults;
+        this.resultCache = builder.resultCache;
     }
 
     @Override
     public PagedResult<Object> get(DataFetchingEnvironment environment) {
+        final Optional<List<Object>> restrictedKeys = queryFactory.getRestrictedKeys(environment);
+
+        if (resultCache != null) {
+            return resultCache.getResult(
+                queryFactory.getResultKey(environment, restrictedKeys),
+                queryFactory.getResultEntityTypes(),
+                () -> queryPagedResult(environment, restrictedKeys)
+            );
+        }
+
+        return queryPagedResult(environment, restrictedKeys);
+    }
+
+    protected PagedResult<Object> queryPagedResult(
+        DataFetchingEnvironment environment,
+        Optional<List<Object>> restrictedKeys
+    ) {
         final Field rootNode = environment.getField();
         final Optional<Argument> pageArgument = getPageArgument(environment.getField());
         final PageArgument page = extractPageArgument(environment, pageArgument, defaultPageLimitSize);
@@ -82,6 +110,7 @@ class GraphQLJpaQueryDataFetcher implements DataFetcher<PagedResult<Object>> {
         Optional<Field> totalSelection = getSelectionField(rootNode, PAGE_TOTAL_PARAM_NAME);
         Optional<Field> recordsSelection = searchByFieldName(rootNode, QUERY_SELECT_PARAM_NAME);
         Optional<Field> aggregateSelection = getSelectionField(rootNode, AGGREGATE_PARAM_NAME);
+        Optional<Field> endCursorSelection = getSelectionField(rootNode, PAGE_END_CURSOR_PARAM_NAME);
 
         final int firstResult = page.getOffset();
         final int maxResults = Integer.min(page.getLimit(), defaultMaxResults); // Limit max results to avoid OoM
@@ -91,20 +120,91 @@ class GraphQLJpaQueryDataFetcher implements DataFetcher<PagedResult<Object>> {
             .withOffset(firstResult)
             .withLimit(maxResults);
 
-        final Optional<List<Object>> restrictedKeys = queryFactory.getRestrictedKeys(environment);
+        final boolean totalSelected = totalSelection.isPresent() || pagesSelection.isPresent();
+
+        // Let's resolve keyset sort, if the page continues after a cursor or the end cursor is requested
+        final Optional<List<SortField>> keysetSortFields = page.getAfter().isPresent() || endCursorSelection.isPresent()
+            ? queryFactory.getKeysetSortFields(environment)
+            : Optional.empty();
+
+        if (page.getAfter().isPresent() && keysetSortFields.isEmpty()) {
+            throw new GraphQLException("Page after cursor is not supported for the query sort: " + rootNode.getName());
+        }
+
+        // Let's query page keys in keyset order with the id tie-breaker, if the end cursor is returned, so that
+        // the next page continues exactly after the last key of this page
+        final boolean keysetPage =
+            page.getAfter().isPresent() || (endCursorSelection.isPresent() && keysetSortFields.isPresent());
+
+        // Let's resolve page keys and total count with a single query, if supported
+        final boolean windowTotalCount =
+            totalSelected &&
+            recordsSelection.isPresent() &&
+            restrictedKeys.isPresent() &&
+            (pageArgument.isPresent() || enableDefaultMaxResults) &&
+            !keysetPage &&
+            queryFactory.isWindowTotalCount();
+
+        // Let's submit count and aggregate queries first, so that these can run concurrently with page queries
+        final Optional<CompletableFuture<Long>> totalQuery = totalSelected && !windowTotalCount
+            ? Optional.of(queryFactory.supplyQuery(it -> it.queryTotalCount(environment, restrictedKeys)))
+            : Optional.empty();
+
+        final Optional<CompletableFuture<Map<String, Object>>> aggregateQuery = aggregateSelection.map(aggregateField ->
+            queryAggregate(aggregateField, environment, restrictedKeys)
+        );
 
         if (recordsSelection.isPresent()) {
             if (restrictedKeys.isPresent()) {
                 if (pageArgument.isPresent() || enableDefaultMaxResults) {
-                    final List<Object> queryKeys = queryFactory.queryKeys(
-                        environment,
-                        firstResult,
-                        maxResults,
-                        restrictedKeys.get()
-                    );
+                    final List<Object> queryKeys;
+
+                    if (windowTotalCount) {
+                        final PagedKeys pagedKeys = queryFactory.queryKeysWithTotalCount(
+                            environment,
+                            firstResult,
+                            maxResults,
+                            restrictedKeys.get()
+                        );
+
+                        queryKeys = pagedKeys.keys();
+                        pagedResult.withTotal(pagedKeys.total());
+                    } else if (keysetPage) {
+                        final List<SortField> sortFields = keysetSortFields.get();
+                        final List<Object> seekValues = page
+                            .getAfter()
+                            .map(KeysetCursor::fromCursor)
+                            .map(cursor -> cursor.getValues(sortFields, queryFactory.getKeysetValueTypes(sortFields)))
+                            .orElse(List.of());
+
+                        queryKeys =
+                            queryFactory.queryKeysetKeys(
+                                environment,
+                                sortFields,
+                                seekValues,
+                                false,
+                                page.getAfter().isPresent() ? 0 : firstResult,
+                                maxResults,
+                                restrictedKeys.get()
+                            );
+                    } else {
+                        queryKeys = queryFactory.queryKeys(environment, firstResult, maxResults, restrictedKeys.get());
+                    }
 
                     if (!queryKeys.isEmpty()) {
-                        pagedResult.withSelect(queryFactory.queryResultList(environment, maxResults, queryKeys));
+                        final List<Object> resultList = queryFactory.queryResultList(
+                            environment,
+                            maxResults,
+                            queryKeys
+                        );
+                        final Object lastKey = queryKeys.get(queryKeys.size() - 1);
+
+                        pagedResult.withSelect(resultList);
+
+                        keysetSortFields
+                            .filter(it -> endCursorSelection.isPresent())
+                            .flatMap(sortFields -> getEndCursor(resultList, lastKey, sortFields))
+                            .ifPresent(pagedResult::withEndCursor);
                     } else {
                         pagedResult.withSelect(List.of());
                     }
@@ -114,41 +214,145 @@ class GraphQLJpaQueryDataFetcher implements DataFetcher<PagedResult<Object>> {
             }
         }
 
-        if (totalSelection.isPresent() || pagesSelection.isPresent()) {
-            final Long total = queryFactory.queryTotalCount(environment, restrictedKeys);
+        totalQuery.map(GraphQLJpaQueryDataFetcher::join).ifPresent(pagedResult::withTotal);
+
+        aggregateQuery.map(GraphQLJpaQueryDataFetcher::join).ifPresent(pagedResult::withAggregate);
+
+        return pagedResult.build();
+    }
 
-            pagedResult.withTotal(total);
+    /**
+     * Returns keyset cursor of the record with the last page key, so that the next page can be requested
+     * with a seek predicate instead of skipping offset rows.
+     */
+    private Optional<String> getEndCursor(List<Object> resultList, Object lastKey, List<SortField> sortFields) {
+        final List<SortField> idSortField = sortFields.subList(sortFields.size() - 1, sortFields.size());
+
+        return resultList
+            .stream()
+            .filter(node -> lastKey.equals(queryFactory.getKeysetValues(node, idSortField).get(0)))
+            .findFirst()
+            .map(node -> KeysetCursor.of(sortFields, queryFactory.getKeysetValues(node, sortFields)))
+            .map(cursor -> cursor.toConnectionCursor().getValue());
+    }
+
+    protected CompletableFuture<Map<String, Object>> queryAggregate(
+        Field aggregateField,
+        DataFetchingEnvironment environment,
+        Optional<List<Object>> restrictedKeys
+    ) {
+        Map<String, CompletableFuture<?>> aggregate = new LinkedHashMap<>();
+
+        // Let's plan count queries, so that total and singular association counts are fused into one statement
+        final List<Field> countFields = getFields(aggregateField.getSelectionSet(), COUNT_FIELD_NAME);
+
+        final List<Optional<String>> fusedCounts = countFields
+            .stream()
+            .map(GraphQLJpaQueryDataFetcher::getCountOfArgument)
+            .filter(queryFactory::isFusedAggregateCount)
+            .distinct()
+            .toList();
+
+        final CompletableFuture<List<Long>> fusedCountsQuery = fusedCounts.isEmpty()
+            ? CompletableFuture.completedFuture(List.of())
+            : queryFactory.supplyQuery(it -> it.queryAggregateCounts(fusedCounts, environment, restrictedKeys));
+
+        final Map<Optional<String>, CompletableFuture<Long>> countQueries = new LinkedHashMap<>();
+
+        countFields.forEach(countField -> {
+            final Optional<String> countOf = getCountOfArgument(countField);
+
+            final CompletableFuture<Long> countQuery = countQueries.computeIfAbsent(
+                countOf,
+                key ->
+                    fusedCounts.contains(key)
+                        ? fusedCountsQuery.thenApply(counts -> counts.get(fusedCounts.indexOf(key)))
+                        : queryFactory.supplyQuery(it -> it.queryAggregateCount(key.get(), environment, restrictedKeys))
+            );
+
+            aggregate.put(getAliasOrName(countField), countQuery);
+        });
+
+        // Let's compute all sum, avg, min and max aggregate functions with a single statement
+        final List<AggregateFunction> functions = getAggregateFunctions(aggregateField);
+
+        if (!functions.isEmpty()) {
+            final CompletableFuture<List<Object>> functionsQuery = queryFactory.supplyQuery(it ->
+                it.queryAggregateFunctions(functions, environment, restrictedKeys)
+            );
+
+            functions.forEach(function ->
+                aggregate.put(
+                    function.alias(),
+                    functionsQuery.thenApply(values -> serializeValue(values.get(functions.indexOf(function))))
+                )
+            );
         }
 
-        aggregateSelection.ifPresent(aggregateField -> {
-            Map<String, Object> aggregate = new LinkedHashMap<>();
-
-            getFields(aggregateField.getSelectionSet(), COUNT_FIELD_NAME)
-                .forEach(countField -> {
-                    getCountOfArgument(countField)
-                        .ifPresentOrElse(
-                            argument ->
-                                aggregate.put(
-                                    getAliasOrName(countField),
-                                    queryFactory.queryAggregateCount(argument, environment, restrictedKeys)
-                                ),
-                            () ->
-                                aggregate.put(
-                                    getAliasOrName(countField),
-                                    queryFactory.queryTotalCount(environment, restrictedKeys)
-                                )
-                        );
-                });
+        getFields(aggregateField.getSelectionSet(), GROUP_FIELD_NAME)
+            .forEach(groupField -> {
+                var countField = getFields(groupField.getSelectionSet(), COUNT_FIELD_NAME).stream().findFirst();
+
+                var groupFunctions = getAggregateFunctions(groupField);
+
+                if (countField.isEmpty() && groupFunctions.isEmpty()) {
+                    throw new GraphQLException("Missing aggregate count for group: " + groupField);
+                }
+
+                var countOfArgumentValue = countField.flatMap(GraphQLJpaQueryDataFetcher::getCountOfArgument);
+
+                Map.Entry<String, String>[] groupings = getFields(groupField.getSelectionSet(), BY_FILED_NAME)
+                    .stream()
+                    .map(GraphQLJpaQueryDataFetcher::groupByFieldEntry)
+                    .toArray(Map.Entry[]::new);
+
+                if (groupings.length == 0) {
+                    throw new GraphQLException("At least one field is required for aggregate group: " + groupField);
+                }
+
+                Map<String, TimeBucket> buckets = new LinkedHashMap<>();
+
+                getFields(groupField.getSelectionSet(), BY_FILED_NAME)
+                    .forEach(byField ->
+                        getTimeBucketArgument(byField).ifPresent(bucket -> buckets.put(getAliasOrName(byField), bucket))
+                    );
+
+                Map.Entry<String, String>[] values = Stream
+                    .concat(
+                        Stream.of(groupings),
+                        groupFunctions.stream().map(function -> Map.entry(function.alias(), function.attribute()))
+                    )
+                    .toArray(Map.Entry[]::new);
+
+                var resultList = queryFactory
+                    .supplyQuery(it ->
+                        it.queryAggregateGroupBy(
+                            countField.map(GraphQLSupport::getAliasOrName),
+                            countOfArgumentValue,
+                            groupFunctions,
+                            buckets,
+                            environment,
+                            restrictedKeys,
+                            groupings
+                        )
+                    )
+                    .thenApply(result -> serializeGroupings(result, values));
+
+                aggregate.put(getAliasOrName(groupField), resultList);
+            });
 
-            getFields(aggregateField.getSelectionSet(), GROUP_FIELD_NAME)
-                .forEach(groupField -> {
+        getSelectionField(aggregateField, BY_FILED_NAME)
+            .map(byField -> byField.getSelectionSet().getSelections().stream().map(Field.class::cast).toList())
+            .filter(Predicate.not(List::isEmpty))
+            .ifPresent(aggregateBySelections -> {
+                Map<String, CompletableFuture<?>> aggregatesBy = new LinkedHashMap<>();
+
+                aggregateBySelections.forEach(groupField -> {
                     var countField = getFields(groupField.getSelectionSet(), COUNT_FIELD_NAME)
                         .stream()
                         .findFirst()
                         .orElseThrow(() -> new GraphQLException("Missing aggregate count for group: " + groupField));
 
-                    var countOfArgumentValue = getCountOfArgument(countField);
-
                     Map.Entry<String, String>[] groupings = getFields(groupField.getSelectionSet(), BY_FILED_NAME)
                         .stream()
                         .map(GraphQLJpaQueryDataFetcher::groupByFieldEntry)
@@ -159,91 +363,95 @@ class GraphQLJpaQueryDataFetcher implements DataFetcher<PagedResult<Object>> {
                     }
 
                     var resultList = queryFactory
-                        .queryAggregateGroupByCount(
-                            getAliasOrName(countField),
-                            countOfArgumentValue,
-                            environment,
-                            restrictedKeys,
-                            groupings
-                        )
-                        .stream()
-                        .peek(map ->
-                            Stream
-                                .of(groupings)
-                                .forEach(group -> {
-                                    var value = map.get(group.getKey());
-
-                                    Optional
-                                        .ofNullable(value)
-                                        .map(Object::getClass)
-                                        .map(JavaScalars::of)
-                                        .map(GraphQLScalarType::getCoercing)
-                                        .ifPresent(coercing -> map.put(group.getKey(), coercing.serialize(value)));
-                                })
-                        )
-                        .toList();
-
-                    aggregate.put(getAliasOrName(groupField), resultList);
-                });
-
-            getSelectionField(aggregateField, BY_FILED_NAME)
-                .map(byField -> byField.getSelectionSet().getSelections().stream().map(Field.class::cast).toList())
-                .filter(Predicate.not(List::isEmpty))
-                .ifPresent(aggregateBySelections -> {
-                    var aggregatesBy = new LinkedHashMap<>();
-                    aggregate.put(BY_FILED_NAME, aggregatesBy);
-
-                    aggregateBySelections.forEach(groupField -> {
-                        var countField = getFields(groupField.getSelectionSet(), COUNT_FIELD_NAME)
-                            .stream()
-                            .findFirst()
-                            .orElseThrow(() -> new GraphQLException("Missing aggregate count for group: " + groupField)
-                            );
-
-                        Map.Entry<String, String>[] groupings = getFields(groupField.getSelectionSet(), BY_FILED_NAME)
-                            .stream()
-                            .map(GraphQLJpaQueryDataFetcher::groupByFieldEntry)
-                            .toArray(Map.Entry[]::new);
-
-                        if (groupings.length == 0) {
-                            throw new GraphQLException(
-                                "At least one field is required for aggregate group: " + groupField
-                            );
-                        }
-
-                        var resultList = queryFactory
-                            .queryAggregateGroupByAssociationCount(
+                        .supplyQuery(it ->
+                            it.queryAggregateGroupByAssociationCount(
                                 getAliasOrName(countField),
                                 groupField.getName(),
                                 environment,
                                 restrictedKeys,
                                 groupings
                             )
-                            .stream()
-                            .peek(map ->
-                                Stream
-                                    .of(groupings)
-                                    .forEach(group -> {
-                                        var value = map.get(group.getKey());
-
-                                        Optional
-                                            .ofNullable(value)
-                                            .map(Object::getClass)
-                                            .map(JavaScalars::of)
-                                            .map(GraphQLScalarType::getCoercing)
-                                            .ifPresent(coercing -> map.put(group.getKey(), coercing.serialize(value)));
-                                    })
-                            )
-                            .toList();
+                        )
+                        .thenApply(result -> serializeGroupings(result, groupings));
 
-                        aggregatesBy.put(getAliasOrName(groupField), resultList);
-                    });
+                    aggregatesBy.put(getAliasOrName(groupField), resultList);
                 });
 
-            pagedResult.withAggregate(aggregate);
-        });
+                aggregate.put(BY_FILED_NAME, allOf(aggregatesBy));
+            });
 
-        return pagedResult.build();
+        return allOf(aggregate);
+    }
+
+    static List<Map> serializeGroupings(List<Map> resultList, Map.Entry<String, String>[] groupings) {
+        return resultList
+            .stream()
+            .peek(map ->
+                Stream
+                    .of(groupings)
+                    .forEach(group -> {
+                        var value = map.get(group.getKey());
+
+                        Optional
+                            .ofNullable(value)
+                            .map(Object::getClass)
+                            .map(JavaScalars::of)
+                            .map(GraphQLScalarType::getCoercing)
+                            .ifPresent(coercing -> map.put(group.getKey(), coercing.serialize(value)));
+                    })
+            )
+            .toList();
+    }
+
+    static Object serializeValue(Object value) {
+        return Optional
+            .ofNullable(value)
+            .map(Object::getClass)
+            .map(JavaScalars::of)
+            .map(GraphQLScalarType::getCoercing)
+            .map(coercing -> coercing.serialize(value))
+            .orElse(value);
+    }
+
+    static List<AggregateFunction> getAggregateFunctions(Field selectedField) {
+        return AggregateFunction.NAMES
+            .stream()
+            .flatMap(name -> getFields(selectedField.getSelectionSet(), name).stream())
+            .map(GraphQLJpaQueryDataFetcher::aggregateFunction)
+            .toList();
+    }
+
+    static AggregateFunction aggregateFunction(Field selectedField) {
+        String value = findArgument(selectedField, FIELD_ARGUMENT_NAME)
+            .map(Argument::getValue)
+            .map(EnumValue.class::cast)
+            .map(EnumValue::getName)
+            .orElseThrow(() -> new GraphQLException(selectedField.getName() + " field argument is required."));
+
+        return new AggregateFunction(getAliasOrName(selectedField), selectedField.getName(), value);
+    }
+
+    static CompletableFuture<Map<String, Object>> allOf(Map<String, CompletableFuture<?>> futures) {
+        return CompletableFuture
+            .allOf(futures.values().toArray(CompletableFuture[]::new))
+            .thenApply(ignored -> {
+                Map<String, Object> result = new LinkedHashMap<>();
+
+                futures.forEach((key, future) -> result.put(key, future.join()));
+
+                return result;
+            });
+    }
+
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
     static Map.Entry<String, String> groupByFieldEntry(Field selectedField) {
@@ -266,6 +474,14 @@ class GraphQLJpaQueryDataFetcher implements DataFetcher<PagedResult<Object>> {
         return Map.entry(key, value);
     }
 
+    static Optional<TimeBucket> getTimeBucketArgument(Field selectedField) {
+        return findArgument(selectedField, TIME_BUCKET_PARAM_NAME)
+            .map(Argument::getValue)
+            .map(EnumValue.class::cast)
+            .map(EnumValue::getName)
+            .map(TimeBucket::valueOf);
+    }
+
     static Optional<String> getCountOfArgument(Field selectedField) {
         return findArgument(selectedField, OF_ARGUMENT_NAME)
             .map(Argument::getValue)
@@ -336,6 +552,13 @@ class GraphQLJpaQueryDataFetcher implements DataFetcher<PagedResult<Object>> {
      * Definition of a stage for staged builder.
      */
     public interface IBuildStage {
+        /**
+         * Builder method for resultCache parameter.
+         * @param resultCache field to set
+         * @return builder
+         */
+        public IBuildStage withResultCache(GraphQLJpaQueryResultCache resultCache);
+
         /**
          * Builder method of the builder.
          * @return built class
@@ -353,6 +576,7 @@ class GraphQLJpaQueryDataFetcher implements DataFetcher<PagedResult<Object>> {
         private int defaultMaxResults;
         private int defaultPageLimitSize;
         private boolean enableDefaultMaxResults;
+        private GraphQLJpaQueryResultCache resultCache;
 
         private Builder() {}
 
@@ -374,6 +598,12 @@ class GraphQLJpaQueryDataFetcher implements DataFetcher<PagedResult<Object>> {
             return this;
         }
 
+        @Override
+        public IBuildStage withResultCache(GraphQLJpaQueryResultCache resultCache) {
+            this.resultCache = resultCache;
+            return this;
+        }
+
         @Override
         public GraphQLJpaQueryDataFetcher build() {
             return new GraphQLJpaQueryDataFetcher(this);
@@ -16,6 +16,8 @@
 package com.introproventures.graphql.jpa.query.schema.impl;
 
 import static com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaSchemaBuilder.SELECT_DISTINCT_PARAM_NAME;
+import static com.introproventures.graphql.jpa.query.support.GraphQLSupport.extractPageArgument;
+import static com.introproventures.graphql.jpa.query.support.GraphQLSupport.getPageArgument;
 import static com.introproventures.graphql.jpa.query.support.GraphQLSupport.isAfterArgument;
 import static com.introproventures.graphql.jpa.query.support.GraphQLSupport.isDistinctArgument;
 import static com.introproventures.graphql.jpa.query.support.GraphQLSupport.isFirstArgument;
@@ -32,10 +34,20 @@ import static java.util.stream.Collectors.groupingBy;
 import com.introproventures.graphql.jpa.query.annotation.GraphQLDefaultOrderBy;
 import com.introproventures.graphql.jpa.query.introspection.ReflectionUtil;
 import com.introproventures.graphql.jpa.query.schema.JavaScalars;
+import com.introproventures.graphql.jpa.query.schema.QueryMetricsRecorder;
+import com.introproventures.graphql.jpa.query.schema.QueryMetricsRecorder.QueryKind;
 import com.introproventures.graphql.jpa.query.schema.RestrictedKeysProvider;
 import com.introproventures.graphql.jpa.query.schema.impl.EntityIntrospector.EntityIntrospectionResult;
 import com.introproventures.graphql.jpa.query.schema.impl.EntityIntrospector.EntityIntrospectionResult.AttributePropertyDescriptor;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaQueryResultCache.ResultKey;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaQueryTemplateCache.Operation;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaQueryTemplateCache.QueryTemplate;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaQueryTemplateCache.QueryTemplateKey;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaQueryTemplateCache.QueryTemplateParameters;
 import com.introproventures.graphql.jpa.query.schema.impl.PredicateFilter.Criteria;
+import com.introproventures.graphql.jpa.query.schema.relay.KeysetCursor;
+import com.introproventures.graphql.jpa.query.schema.relay.SortField;
+import com.introproventures.graphql.jpa.query.schema.relay.SortField.Direction;
 import com.introproventures.graphql.jpa.query.support.GraphQLSupport;
 import graphql.GraphQLContext;
 import graphql.GraphQLException;
@@ -44,18 +56,20 @@ import graphql.execution.MergedField;
 import graphql.execution.ValuesResolver;
 import graphql.language.Argument;
 import graphql.language.ArrayValue;
+import graphql.language.AstPrinter;
 import graphql.language.BooleanValue;
 import graphql.language.EnumValue;
 import graphql.language.Field;
 import graphql.language.FloatValue;
 import graphql.language.IntValue;
+import graphql.language.Node;
 import graphql.language.NullValue;
 import graphql.language.ObjectField;
 import graphql.language.ObjectValue;
+import graphql.language.SelectionSet;
 import graphql.language.StringValue;
 import graphql.language.Value;
 import graphql.language.VariableReference;
-import graphql.schema.Coercing;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.GraphQLArgument;
 import graphql.schema.GraphQLFieldDefinition;
@@ -66,7 +80,11 @@ import graphql.schema.GraphQLSchema;
 import graphql.schema.GraphQLType;
 import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.FlushModeType;
 import jakarta.persistence.Subgraph;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.AbstractQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
@@ -77,6 +95,7 @@ import jakarta.persistence.criteria.From;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.ParameterExpression;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
@@ -86,31 +105,49 @@ import jakarta.persistence.metamodel.Attribute;
 import jakarta.persistence.metamodel.Attribute.PersistentAttributeType;
 import jakarta.persistence.metamodel.EmbeddableType;
 import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
 import jakarta.persistence.metamodel.PluralAttribute;
 import jakarta.persistence.metamodel.SingularAttribute;
 import jakarta.persistence.metamodel.Type;
 import java.beans.BeanInfo;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.time.temporal.Temporal;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -149,6 +186,102 @@ public final class GraphQLJpaQueryFactory {
         }
     }
 
+    private static Method createWindowMethod;
+    private static Method countOverMethod;
+
+    static {
+        try {
+            Class<?> criteriaBuilderClass = Class.forName("org.hibernate.query.criteria.HibernateCriteriaBuilder");
+            Class<?> windowClass = Class.forName("org.hibernate.query.criteria.JpaWindow");
+
+            createWindowMethod = criteriaBuilderClass.getMethod("createWindow");
+            countOverMethod = criteriaBuilderClass.getMethod("count", Expression.class, windowClass);
+        } catch (Exception ignored) {
+            createWindowMethod = null;
+            countOverMethod = null;
+        }
+    }
+
+    private static Method rowNumberMethod;
+    private static Method windowPartitionByMethod;
+    private static Method windowOrderByMethod;
+    private static Method subQueryMultiselectMethod;
+    private static Method fromSubQueryMethod;
+
+    static {
+        try {
+            Class<?> criteriaBuilderClass = Class.forName("org.hibernate.query.criteria.HibernateCriteriaBuilder");
+            Class<?> windowClass = Class.forName("org.hibernate.query.criteria.JpaWindow");
+            Class<?> subQueryClass = Class.forName("org.hibernate.query.criteria.JpaSubQuery");
+            Class<?> selectCriteriaClass = Class.forName("org.hibernate.query.criteria.JpaSelectCriteria");
+
+            rowNumberMethod = criteriaBuilderClass.getMethod("rowNumber", windowClass);
+            windowPartitionByMethod = windowClass.getMethod("partitionBy", Expression[].class);
+            windowOrderByMethod = windowClass.getMethod("orderBy", Order[].class);
+            subQueryMultiselectMethod = subQueryClass.getMethod("multiselect", Selection[].class);
+            fromSubQueryMethod = selectCriteriaClass.getMethod("from", Subquery.class);
+        } catch (Exception ignored) {
+            rowNumberMethod = null;
+            windowPartitionByMethod = null;
+            windowOrderByMethod = null;
+            subQueryMultiselectMethod = null;
+            fromSubQueryMethod = null;
+        }
+    }
+
+    private static Method setQueryPlanCacheableMethod;
+
+    static {
+        try {
+            Class<?> queryClass = Class.forName("org.hibernate.query.Query");
+
+            setQueryPlanCacheableMethod = queryClass.getMethod("setQueryPlanCacheable", boolean.class);
+        } catch (Exception ignored) {
+            setQueryPlanCacheableMethod = null;
+        }
+    }
+
+    private static Method copyCriteriaQueryMethod;
+    private static Method simpleCopyContextMethod;
+
+    static {
+        try {
+            Class<?> copyContextClass = Class.forName("org.hibernate.query.sqm.tree.SqmCopyContext");
+            Class<?> selectStatementClass = Class.forName("org.hibernate.query.sqm.tree.select.SqmSelectStatement");
+
+            simpleCopyContextMethod = copyContextClass.getMethod("simpleContext");
+            copyCriteriaQueryMethod = selectStatementClass.getMethod("copy", copyContextClass);
+        } catch (Exception ignored) {
+            simpleCopyContextMethod = null;
+            copyCriteriaQueryMethod = null;
+        }
+    }
+
+    private static final Set<String> QUERY_TEMPLATE_PARAMETER_CRITERIA = Set.of(
+        Criteria.EQ.name(),
+        Criteria.NE.name(),
+        Criteria.GT.name(),
+        Criteria.GE.name(),
+        Criteria.LT.name(),
+        Criteria.LE.name()
+    );
+
+    // Parameters of the query template compiled on the current thread, if any
+    private final ThreadLocal<QueryTemplateParameters> queryTemplateParameters = new ThreadLocal<>();
+
+    private static Class<?> sessionClass;
+    private static Method isDefaultReadOnlyMethod;
+
+    static {
+        try {
+            sessionClass = Class.forName("org.hibernate.Session");
+            isDefaultReadOnlyMethod = sessionClass.getMethod("isDefaultReadOnly");
+        } catch (Exception ignored) {
+            sessionClass = null;
+            isDefaultReadOnlyMethod = null;
+        }
+    }
+
     protected static final String WHERE = "where";
     protected static final String OPTIONAL = "optional";
 
@@ -156,6 +289,9 @@ public final class GraphQLJpaQueryFactory {
     protected static final String ORG_HIBERNATE_FETCH_SIZE = "org.hibernate.fetchSize";
     protected static final String ORG_HIBERNATE_READ_ONLY = "org.hibernate.readOnly";
 
+    protected static final String KEYS_PARAMETER_NAME = "keys";
+    protected static final String ANY_FUNCTION = "any";
+
     private final Map<GraphQLObjectType, EntityType> entityTypeMap = new ConcurrentHashMap<>();
     private final Map<GraphQLObjectType, EmbeddableType> embeddableTypeMap = new ConcurrentHashMap<>();
 
@@ -169,6 +305,20 @@ public final class GraphQLJpaQueryFactory {
     private final RestrictedKeysProvider restrictedKeysProvider;
     private final boolean resultStream;
     private final GraphQLObjectTypeMetadata graphQLObjectTypeMetadata;
+    private final QueryMetricsRecorder queryMetricsRecorder;
+    private final Executor concurrentQueryExecutor;
+    private final Semaphore concurrentQueryPermits;
+    private final boolean windowTotalCount;
+    private final GraphQLJpaQueryTemplateCache queryTemplateCache;
+    private final InListBinding inListBinding;
+    private final boolean toOneIdentityCache;
+    private final FetchMode fetchMode;
+    private final boolean readOnlySession;
+    private final int maxBatchSize;
+    private volatile Boolean windowFunctionsSupported;
+    private volatile Boolean arrayBindingSupported;
+    private volatile DialectFamily dialectFamily;
+    private volatile Set<Class<?>> resultEntityTypes;
 
     private GraphQLJpaQueryFactory(Builder builder) {
         this.entityManager = builder.entityManager;
@@ -181,6 +331,51 @@ public final class GraphQLJpaQueryFactory {
         this.restrictedKeysProvider = builder.restrictedKeysProvider;
         this.resultStream = builder.resultStream;
         this.graphQLObjectTypeMetadata = builder.graphQLObjectTypeMetadata;
+        this.queryMetricsRecorder = builder.queryMetricsRecorder;
+        this.concurrentQueryExecutor = builder.concurrentQueryExecutor;
+        this.concurrentQueryPermits = builder.concurrentQueryPermits;
+        this.windowTotalCount = builder.windowTotalCount;
+        this.queryTemplateCache = getQueryTemplateCache(builder.queryTemplateCache);
+        this.inListBinding = builder.inListBinding;
+        this.toOneIdentityCache = builder.toOneIdentityCache;
+        this.fetchMode = builder.fetchMode;
+        this.readOnlySession = builder.readOnlySession;
+        this.maxBatchSize = builder.maxBatchSize;
+    }
+
+    private GraphQLJpaQueryFactory(GraphQLJpaQueryFactory queryFactory, EntityManager entityManager) {
+        this(queryFactory, entityManager, queryFactory.resultStream);
+    }
+
+    private GraphQLJpaQueryFactory(
+        GraphQLJpaQueryFactory queryFactory,
+        EntityManager entityManager,
+        boolean resultStream
+    ) {
+        this.entityManager = entityManager;
+        this.entityType = queryFactory.entityType;
+        this.entityObjectType = queryFactory.entityObjectType;
+        this.selectNodeName = queryFactory.selectNodeName;
+        this.toManyDefaultOptional = queryFactory.toManyDefaultOptional;
+        this.defaultDistinct = queryFactory.defaultDistinct;
+        this.defaultFetchSize = queryFactory.defaultFetchSize;
+        this.restrictedKeysProvider = queryFactory.restrictedKeysProvider;
+        this.resultStream = resultStream;
+        this.graphQLObjectTypeMetadata = queryFactory.graphQLObjectTypeMetadata;
+        this.queryMetricsRecorder = queryFactory.queryMetricsRecorder;
+        this.concurrentQueryExecutor = null;
+        this.concurrentQueryPermits = null;
+        this.windowTotalCount = queryFactory.windowTotalCount;
+        this.queryTemplateCache = queryFactory.queryTemplateCache;
+        this.inListBinding = queryFactory.inListBinding;
+        this.toOneIdentityCache = queryFactory.toOneIdentityCache;
+        this.fetchMode = queryFactory.fetchMode;
+        this.readOnlySession = queryFactory.readOnlySession;
+        this.maxBatchSize = queryFactory.maxBatchSize;
+        this.windowFunctionsSupported = queryFactory.windowFunctionsSupported;
+        this.arrayBindingSupported = queryFactory.arrayBindingSupported;
+        this.dialectFamily = queryFactory.dialectFamily;
+        this.resultEntityTypes = queryFactory.resultEntityTypes;
     }
 
     public DataFetchingEnvironment getQueryEnvironment(DataFetchingEnvironment environment, MergedField queryField) {
@@ -245,23 +440,297 @@ public final class GraphQLJpaQueryFactory {
             );
         }
 
-        return keysQuery.getResultList();
+        return recordQuery(QueryKind.KEYS, environment, keysQuery::getResultList, List::size);
+    }
+
+    /**
+     * Queries page keys together with total count of matching entities in a single statement using
+     * <code>COUNT(*) OVER()</code> window function, if supported by the database dialect. Otherwise, or if
+     * the page is empty, the total count is resolved with a separate count query.
+     *
+     * @param environment data fetching environment
+     * @param firstResult page offset
+     * @param maxResults page size
+     * @param restrictedKeys restricted keys
+     * @return page keys with total count
+     */
+    public PagedKeys queryKeysWithTotalCount(
+        DataFetchingEnvironment environment,
+        int firstResult,
+        int maxResults,
+        List<Object> restrictedKeys
+    ) {
+        if (!isWindowTotalCount()) {
+            return new PagedKeys(
+                queryKeys(environment, firstResult, maxResults, restrictedKeys),
+                queryTotalCount(environment, Optional.of(restrictedKeys))
+            );
+        }
+
+        MergedField queryField = resolveQueryField(environment.getField());
+
+        final DataFetchingEnvironment queryEnvironment = getQueryEnvironment(environment, queryField);
+        TypedQuery<Object> keysQuery = getKeysWithTotalCountQuery(
+            queryEnvironment,
+            queryEnvironment.getField(),
+            restrictedKeys
+        );
+
+        keysQuery.setFirstResult(firstResult).setMaxResults(maxResults);
+
+        if (logger.isDebugEnabled()) {
+            logger.info("\nGraphQL JPQL Keys With Total Count Query String:\n    {}", getJPQLQueryString(keysQuery));
+        }
+
+        List<Object> resultList = recordQuery(QueryKind.KEYS, environment, keysQuery::getResultList, List::size);
+
+        if (resultList.isEmpty()) {
+            return new PagedKeys(List.of(), queryTotalCount(environment, Optional.of(restrictedKeys)));
+        }
+
+        List<Object> keys = resultList.stream().map(Object[].class::cast).map(row -> row[0]).toList();
+        Long total = ((Number) ((Object[]) resultList.get(0))[1]).longValue();
+
+        return new PagedKeys(keys, total);
+    }
+
+    /**
+     * Returns true if page keys and total count can be queried with a single statement using
+     * <code>COUNT(*) OVER()</code> window function for this entity.
+     *
+     * @return true if window total count is enabled and supported
+     */
+    public boolean isWindowTotalCount() {
+        if (!windowTotalCount || countOverMethod == null || !hasIdAttribute()) {
+            return false;
+        }
+
+        if (entityType.getIdType().getPersistenceType() != Type.PersistenceType.BASIC) {
+            return false;
+        }
+
+        if (windowFunctionsSupported == null) {
+            windowFunctionsSupported = supportsWindowFunctions(entityManager);
+        }
+
+        return windowFunctionsSupported;
+    }
+
+    /**
+     * Returns effective sort of the query selection followed by the id as a tie-breaker, if every sort attribute
+     * is a required basic attribute of the entity with a type that can be encoded into keyset cursor. Otherwise,
+     * returns empty, so that pages must be resolved with offset.
+     *
+     * @param environment data fetching environment
+     * @return keyset sort fields
+     */
+    public Optional<List<SortField>> getKeysetSortFields(DataFetchingEnvironment environment) {
+        if (!hasIdAttribute() || !KeysetCursor.isSupportedType(entityType.getIdType().getJavaType())) {
+            return Optional.empty();
+        }
+
+        final MergedField queryField = resolveQueryField(environment.getField());
+        final DataFetchingEnvironment queryEnvironment = getQueryEnvironment(environment, queryField);
+
+        final List<SortField> sortFields = new ArrayList<>();
+
+        GraphQLSupport
+            .fields(queryEnvironment.getField().getSelectionSet())
+            .filter(it -> isPersistent(queryEnvironment, it.getName()))
+            .forEach(selection ->
+                selection
+                    .getArguments()
+                    .stream()
+                    .filter(this::isOrderByArgument)
+                    .findFirst()
+                    .map(argument -> getOrderByValue(argument, queryEnvironment))
+                    .ifPresent(orderBy ->
+                        sortFields.add(
+                            new SortField(
+                                selection.getName(),
+                                DESC.equals(orderBy.getName()) ? Direction.DESC : Direction.ASC
+                            )
+                        )
+                    )
+            );
+
+        // Let's resolve default order the same way as the keys query does
+        if (sortFields.isEmpty()) {
+            EntityIntrospector
+                .introspect(entityType)
+                .getPersistentPropertyDescriptors()
+                .stream()
+                .filter(AttributePropertyDescriptor::hasDefaultOrderBy)
+                .findFirst()
+                .ifPresent(attribute ->
+                    sortFields.add(
+                        new SortField(
+                            attribute.getName(),
+                            attribute.getDefaultOrderBy().get().asc() ? Direction.ASC : Direction.DESC
+                        )
+                    )
+                );
+        }
+
+        final List<SortField> keysetSortFields = new ArrayList<>();
+
+        for (SortField sortField : sortFields) {
+            if (!isKeysetAttribute(sortField.getName())) {
+                return Optional.empty();
+            }
+
+            keysetSortFields.add(sortField);
+
+            // The id is unique, so that the rest of sort fields does not matter
+            if (idAttributeName().equals(sortField.getName())) {
+                return Optional.of(keysetSortFields);
+            }
+        }
+
+        keysetSortFields.add(new SortField(idAttributeName(), Direction.ASC));
+
+        return Optional.of(keysetSortFields);
+    }
+
+    /**
+     * Returns java types of the keyset sort attributes used to decode keyset cursor values
+     *
+     * @param sortFields keyset sort fields
+     * @return attribute java types
+     */
+    public List<Class<?>> getKeysetValueTypes(List<SortField> sortFields) {
+        return sortFields
+            .stream()
+            .<Class<?>>map(sortField -> entityType.getSingularAttribute(sortField.getName()).getJavaType())
+            .toList();
+    }
+
+    /**
+     * Returns values of the keyset sort attributes of the entity used to encode keyset cursor
+     *
+     * @param entity query result entity
+     * @param sortFields keyset sort fields
+     * @return attribute values
+     */
+    public List<Object> getKeysetValues(Object entity, List<SortField> sortFields) {
+        return sortFields.stream().map(sortField -> getKeysetValue(entity, sortField.getName())).toList();
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private Object getKeysetValue(Object entity, String attributeName) {
+        // Projection results are maps keyed by attribute names
+        if (entity instanceof Map<?, ?> projection) {
+            return projection.get(attributeName);
+        }
+
+        // Let's prefer getters, because persistent fields may not be accessible
+        Optional<Method> readMethod = EntityIntrospector
+            .introspect(entityType)
+            .getPropertyDescriptor(attributeName)
+            .flatMap(AttributePropertyDescriptor::getReadMethod);
+
+        if (readMethod.isPresent()) {
+            try {
+                return readMethod.get().invoke(entity);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        return getAttributeValue(entity, (SingularAttribute) entityType.getSingularAttribute(attributeName));
+    }
+
+    /**
+     * Queries page keys with keyset seek predicate, i.e. <code>(a, b, id) &gt; (?, ?, ?)</code>, instead of skipping
+     * offset rows. Backward pages are queried in reversed order, so that keys are returned nearest to the cursor first.
+     *
+     * @param environment data fetching environment
+     * @param sortFields keyset sort fields
+     * @param seekValues cursor values, or empty list for the first or last page
+     * @param backward true to query keys before the cursor
+     * @param maxResults page size
+     * @param restrictedKeys restricted keys
+     * @return page keys
+     */
+    public List<Object> queryKeysetKeys(
+        DataFetchingEnvironment environment,
+        List<SortField> sortFields,
+        List<Object> seekValues,
+        boolean backward,
+        int maxResults,
+        List<Object> restrictedKeys
+    ) {
+        return queryKeysetKeys(environment, sortFields, seekValues, backward, 0, maxResults, restrictedKeys);
+    }
+
+    /**
+     * Queries page keys in keyset order skipping first results, i.e. the first page with offset, so that its last
+     * key continues with the keyset seek predicate of the next page.
+     *
+     * @param environment data fetching environment
+     * @param sortFields keyset sort fields
+     * @param seekValues cursor values, or empty list for the first or last page
+     * @param backward true to query keys before the cursor
+     * @param firstResult page offset
+     * @param maxResults page size
+     * @param restrictedKeys restricted keys
+     * @return page keys
+     */
+    public List<Object> queryKeysetKeys(
+        DataFetchingEnvironment environment,
+        List<SortField> sortFields,
+        List<Object> seekValues,
+        boolean backward,
+        int firstResult,
+        int maxResults,
+        List<Object> restrictedKeys
+    ) {
+        MergedField queryField = resolveQueryField(environment.getField());
+
+        final DataFetchingEnvironment queryEnvironment = getQueryEnvironment(environment, queryField);
+        TypedQuery<Object> keysQuery = getKeysetKeysQuery(
+            queryEnvironment,
+            queryEnvironment.getField(),
+            sortFields,
+            seekValues,
+            backward,
+            restrictedKeys
+        );
+
+        keysQuery.setFirstResult(firstResult);
+        keysQuery.setMaxResults(maxResults);
+
+        if (logger.isDebugEnabled()) {
+            logger.info("\nGraphQL JPQL Keyset Keys Query String:\n    {}", getJPQLQueryString(keysQuery));
+        }
+
+        return recordQuery(QueryKind.KEYS, environment, keysQuery::getResultList, List::size);
     }
 
     public List<Object> queryResultList(DataFetchingEnvironment environment, int maxResults, List<Object> keys) {
-        // Let's execute query and get result as stream
-        Stream<Object> resultStream = queryResultStream(environment, maxResults, keys);
-        var size = keys.isEmpty() ? maxResults : min(keys.size(), maxResults);
-        // Let's wrap stream into lazy list to pass it downstream
-        return resultStream.limit(size).toList();
+        return recordQuery(
+            QueryKind.SELECT,
+            environment,
+            () -> {
+                // Let's execute query and get result as stream
+                Stream<Object> resultStream = queryResultStream(environment, maxResults, keys);
+                var size = keys.isEmpty() ? maxResults : min(keys.size(), maxResults);
+                // Let's wrap stream into lazy list to pass it downstream
+                return resultStream.limit(size).toList();
+            },
+            List::size
+        );
     }
 
     protected Stream<Object> queryResultStream(DataFetchingEnvironment environment, int maxResults, List<Object> keys) {
+        return getQueryResultStream(environment, min(maxResults, defaultFetchSize), keys);
+    }
+
+    private Stream<Object> getQueryResultStream(DataFetchingEnvironment environment, int fetchSize, List<Object> keys) {
         MergedField queryField = resolveQueryField(environment.getField());
 
         // Override query environment with associated entity object type and
         final DataFetchingEnvironment queryEnvironment = getQueryEnvironment(environment, queryField);
-        final int fetchSize = min(maxResults, defaultFetchSize);
         final boolean isDistinct = resolveDistinctArgument(queryEnvironment.getField());
 
         final TypedQuery<Object> query = getQuery(
@@ -271,18 +740,30 @@ public final class GraphQLJpaQueryFactory {
             keys.toArray()
         );
 
+        if (isProjection(queryEnvironment)) {
+            final TypedQuery<Tuple> query = getProjectionQuery(
+                queryEnvironment,
+                queryEnvironment.getField(),
+                isDistinct,
+                keys.toArray()
+            );
+
+            return getProjectionResultStream(query, fetchSize);
+        }
+
         // Let's create entity graph from selection
         var entityGraph = createEntityGraph(queryEnvironment);
 
         // Let's execute query and get wrap result into stream
-        return getResultStream(query, fetchSize, isDistinct, entityGraph);
+        return getResultStream(query, fetchSize, isDistinct, entityGraph, hasAssociationFilters(environment));
     }
 
     protected <T> Stream<T> getResultStream(
         TypedQuery<T> query,
         int fetchSize,
         boolean isDistinct,
-        EntityGraph<?> entityGraph
+        EntityGraph<?> entityGraph,
+        boolean associationFilters
     ) {
         // Let's try to reduce overhead and disable all caching
         query.setHint(ORG_HIBERNATE_READ_ONLY, true);
@@ -304,10 +785,44 @@ public final class GraphQLJpaQueryFactory {
             );
         }
 
+        final boolean readOnly = isReadOnlySession();
+
+        if (readOnly) {
+            query.setFlushMode(FlushModeType.COMMIT);
+        }
+
         // Let's execute query and wrap result into stream
         final Stream<T> resultStream = this.resultStream ? query.getResultStream() : query.getResultList().stream();
 
-        return resultStream.map(this::unproxy).peek(this::detach);
+        // Read-only session entities are not dirty checked, so let's skip detaching of every result entity
+        return isDetachResult(readOnly, associationFilters)
+            ? resultStream.map(this::unproxy).peek(entityManager::detach)
+            : resultStream.map(this::unproxy);
+    }
+
+    protected Stream<Object> getProjectionResultStream(TypedQuery<Tuple> query, int fetchSize) {
+        query.setHint(ORG_HIBERNATE_READ_ONLY, true);
+        query.setHint(ORG_HIBERNATE_FETCH_SIZE, fetchSize);
+        query.setHint(ORG_HIBERNATE_CACHEABLE, false);
+
+        if (isReadOnlySession()) {
+            query.setFlushMode(FlushModeType.COMMIT);
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.info("\nGraphQL JPQL Projection Query String:\n    {}", getJPQLQueryString(query));
+        }
+
+        final Stream<Tuple> resultStream = this.resultStream ? query.getResultStream() : query.getResultList().stream();
+
+        // Let's serve tuples as maps keyed by attribute names, so that property data fetchers resolve field values
+        return resultStream.map(tuple -> {
+            Map<String, Object> result = new LinkedHashMap<>();
+
+            tuple.getElements().forEach(element -> result.put(element.getAlias(), tuple.get(element)));
+
+            return result;
+        });
     }
 
     protected Object querySingleResult(final DataFetchingEnvironment environment) {
@@ -329,7 +844,18 @@ public final class GraphQLJpaQueryFactory {
                 logger.info("\nGraphQL JPQL Single Result Query String:\n    {}", getJPQLQueryString(query));
             }
 
-            return Optional.ofNullable(query.getSingleResult()).map(this::unproxyAndThenDetach).orElse(null);
+            final boolean detach = isDetachResult(isReadOnlySession(), hasAssociationFilters(environment));
+
+            return recordQuery(
+                QueryKind.SINGLE,
+                environment,
+                () ->
+                    Optional
+                        .ofNullable(query.getSingleResult())
+                        .map(it -> unproxyAndThenDetach(it, detach))
+                        .orElse(null),
+                result -> result != null ? 1 : 0
+            );
         }
 
         return null;
@@ -351,7 +877,7 @@ public final class GraphQLJpaQueryFactory {
                 logger.info("\nGraphQL JPQL Count Query String:\n    {}", getJPQLQueryString(countQuery));
             }
 
-            return countQuery.getSingleResult();
+            return recordQuery(QueryKind.COUNT, environment, countQuery::getSingleResult, count -> 1);
         }
 
         return 0L;
@@ -378,91 +904,391 @@ public final class GraphQLJpaQueryFactory {
                 logger.info("\nGraphQL JPQL Count Query String:\n    {}", getJPQLQueryString(countQuery));
             }
 
-            return countQuery.getSingleResult();
+            return recordQuery(QueryKind.AGGREGATE, environment, countQuery::getSingleResult, count -> 1);
         }
 
         return 0L;
     }
 
-    public List<Map> queryAggregateGroupByCount(
-        String alias,
-        Optional<String> countOf,
+    /**
+     * Queries multiple aggregate counts of entities matching the query field arguments with a single statement,
+     * i.e. <code>select count(root), count(join1), count(join2) ... from Entity root left join ...</code>.
+     * Only total count and counts of singular associations can be combined, because these do not multiply
+     * the number of root rows, see {@link #isFusedAggregateCount(Optional)}.
+     *
+     * @param counts list of count of association names or empty for total count
+     * @param environment data fetching environment
+     * @param restrictedKeys restricted keys
+     * @return list of counts in the same order
+     */
+    public List<Long> queryAggregateCounts(
+        List<Optional<String>> counts,
         DataFetchingEnvironment environment,
-        Optional<List<Object>> restrictedKeys,
-        Map.Entry<String, String>... groupings
+        Optional<List<Object>> restrictedKeys
     ) {
+        if (counts.isEmpty()) {
+            return List.of();
+        }
+
         final MergedField queryField = flattenEmbeddedIdArguments(environment.getField());
 
         final DataFetchingEnvironment queryEnvironment = getQueryEnvironment(environment, queryField);
 
         if (restrictedKeys.isPresent()) {
-            TypedQuery<Map> countQuery = getAggregateGroupByCountQuery(
+            TypedQuery<Object[]> countsQuery = getAggregateCountsQuery(
                 queryEnvironment,
                 queryEnvironment.getField(),
-                alias,
-                countOf,
-                restrictedKeys.get(),
-                groupings
+                counts,
+                restrictedKeys.get()
             );
 
             if (logger.isDebugEnabled()) {
-                logger.info("\nGraphQL JPQL Count Query String:\n    {}", getJPQLQueryString(countQuery));
+                logger.info("\nGraphQL JPQL Counts Query String:\n    {}", getJPQLQueryString(countsQuery));
             }
 
-            return countQuery.getResultList();
+            Object[] result = recordQuery(QueryKind.AGGREGATE, environment, countsQuery::getSingleResult, row -> 1);
+
+            return Stream.of(result).map(Number.class::cast).map(Number::longValue).toList();
         }
 
-        return Collections.emptyList();
+        return counts.stream().map(it -> 0L).toList();
     }
 
-    public List<Map> queryAggregateGroupByAssociationCount(
-        String countAlias,
-        String association,
+    /**
+     * Queries sum, avg, min and max aggregate functions of entity attributes matching the query field arguments
+     * with a single statement, i.e. <code>select sum(root.a), avg(root.b), min(root.c) ... from Entity root</code>.
+     *
+     * @param functions list of aggregate functions
+     * @param environment data fetching environment
+     * @param restrictedKeys restricted keys
+     * @return list of aggregate values in the same order
+     */
+    public List<Object> queryAggregateFunctions(
+        List<AggregateFunction> functions,
         DataFetchingEnvironment environment,
-        Optional<List<Object>> restrictedKeys,
-        Map.Entry<String, String>... groupings
+        Optional<List<Object>> restrictedKeys
     ) {
+        if (functions.isEmpty()) {
+            return List.of();
+        }
+
         final MergedField queryField = flattenEmbeddedIdArguments(environment.getField());
 
         final DataFetchingEnvironment queryEnvironment = getQueryEnvironment(environment, queryField);
 
         if (restrictedKeys.isPresent()) {
-            TypedQuery<Map> countQuery = getAggregateGroupByAssociationCountQuery(
+            TypedQuery<Object[]> functionsQuery = getAggregateFunctionsQuery(
                 queryEnvironment,
                 queryEnvironment.getField(),
-                countAlias,
-                association,
-                restrictedKeys.get(),
-                groupings
+                functions,
+                restrictedKeys.get()
             );
 
             if (logger.isDebugEnabled()) {
-                logger.info("\nGraphQL JPQL Count Query String:\n    {}", getJPQLQueryString(countQuery));
+                logger.info("\nGraphQL JPQL Aggregate Query String:\n    {}", getJPQLQueryString(functionsQuery));
             }
 
-            return countQuery.getResultList();
+            Object[] result = recordQuery(QueryKind.AGGREGATE, environment, functionsQuery::getSingleResult, row -> 1);
+
+            return Arrays.asList(result);
         }
 
-        return Collections.emptyList();
+        return Arrays.asList(new Object[functions.size()]);
     }
 
-    protected <T> TypedQuery<T> getQuery(
+    /**
+     * Returns true if aggregate count can be combined with other counts in a single statement
+     *
+     * @param countOf count of association name or empty for total count
+     * @return true for total count or singular association count
+     */
+    public boolean isFusedAggregateCount(Optional<String> countOf) {
+        return countOf
+            .map(association -> {
+                try {
+                    return !entityType.getAttribute(association).isCollection();
+                } catch (IllegalArgumentException e) {
+                    return false;
+                }
+            })
+            .orElse(true);
+    }
+
+    public List<Map> queryAggregateGroupByCount(
+        String alias,
+        Optional<String> countOf,
         DataFetchingEnvironment environment,
-        Field field,
-        boolean isDistinct,
-        Object... keys
+        Optional<List<Object>> restrictedKeys,
+        Map.Entry<String, String>... groupings
+    ) {
+        return queryAggregateGroupBy(
+            Optional.of(alias),
+            countOf,
+            List.of(),
+            Map.of(),
+            environment,
+            restrictedKeys,
+            groupings
+        );
+    }
+
+    /**
+     * Queries optional count and aggregate functions of entities grouped by attributes with a single statement,
+     * i.e. <code>select root.a, count(root), sum(root.b) ... from Entity root group by root.a</code>.
+     *
+     * @param countAlias optional count alias
+     * @param countOf optional count of association name
+     * @param functions list of aggregate functions
+     * @param buckets time buckets of temporal group by attributes keyed by group by alias
+     * @param environment data fetching environment
+     * @param restrictedKeys restricted keys
+     * @param groupings group by alias and attribute name entries
+     * @return list of grouped aggregate maps
+     */
+    public List<Map> queryAggregateGroupBy(
+        Optional<String> countAlias,
+        Optional<String> countOf,
+        List<AggregateFunction> functions,
+        Map<String, TimeBucket> buckets,
+        DataFetchingEnvironment environment,
+        Optional<List<Object>> restrictedKeys,
+        Map.Entry<String, String>... groupings
+    ) {
+        final MergedField queryField = flattenEmbeddedIdArguments(environment.getField());
+
+        final DataFetchingEnvironment queryEnvironment = getQueryEnvironment(environment, queryField);
+
+        if (restrictedKeys.isPresent()) {
+            TypedQuery<Map> countQuery = getAggregateGroupByQuery(
+                queryEnvironment,
+                queryEnvironment.getField(),
+                countAlias,
+                countOf,
+                functions,
+                buckets,
+                restrictedKeys.get(),
+                groupings
+            );
+
+            if (logger.isDebugEnabled()) {
+                logger.info("\nGraphQL JPQL Count Query String:\n    {}", getJPQLQueryString(countQuery));
+            }
+
+            return recordQuery(QueryKind.AGGREGATE, environment, countQuery::getResultList, List::size);
+        }
+
+        return Collections.emptyList();
+    }
+
+    public List<Map> queryAggregateGroupByAssociationCount(
+        String countAlias,
+        String association,
+        DataFetchingEnvironment environment,
+        Optional<List<Object>> restrictedKeys,
+        Map.Entry<String, String>... groupings
+    ) {
+        final MergedField queryField = flattenEmbeddedIdArguments(environment.getField());
+
+        final DataFetchingEnvironment queryEnvironment = getQueryEnvironment(environment, queryField);
+
+        if (restrictedKeys.isPresent()) {
+            TypedQuery<Map> countQuery = getAggregateGroupByAssociationCountQuery(
+                queryEnvironment,
+                queryEnvironment.getField(),
+                countAlias,
+                association,
+                restrictedKeys.get(),
+                groupings
+            );
+
+            if (logger.isDebugEnabled()) {
+                logger.info("\nGraphQL JPQL Count Query String:\n    {}", getJPQLQueryString(countQuery));
+            }
+
+            return recordQuery(QueryKind.AGGREGATE, environment, countQuery::getResultList, List::size);
+        }
+
+        return Collections.emptyList();
+    }
+
+    protected <T> TypedQuery<T> getQuery(
+        DataFetchingEnvironment environment,
+        Field field,
+        boolean isDistinct,
+        Object... keys
     ) {
         DataFetchingEnvironment queryEnvironment = DataFetchingEnvironmentBuilder
             .newDataFetchingEnvironment(environment)
             .localContext(Boolean.TRUE) // Fetch mode
             .build();
 
-        CriteriaQuery<T> criteriaQuery = getCriteriaQuery(queryEnvironment, field, isDistinct, keys);
+        if (isQueryTemplate(keys.length > 0)) {
+            QueryTemplate<T> template = getQueryTemplate(
+                isDistinct ? Operation.SELECT_DISTINCT : Operation.SELECT,
+                queryEnvironment,
+                field,
+                keys.length > 0,
+                () -> getCriteriaQuery(queryEnvironment, field, isDistinct, true, keys)
+            );
+
+            return bindQueryTemplate(template, environment, Arrays.asList(keys));
+        }
+
+        final boolean keysParameter = isKeysParameter();
+
+        CriteriaQuery<T> criteriaQuery = getCriteriaQuery(queryEnvironment, field, isDistinct, keysParameter, keys);
+
+        TypedQuery<T> query = entityManager.createQuery(criteriaQuery);
+
+        return keysParameter ? bindKeysParameter(query, Arrays.asList(keys)) : query;
+    }
+
+    protected TypedQuery<Tuple> getProjectionQuery(
+        DataFetchingEnvironment environment,
+        Field field,
+        boolean isDistinct,
+        Object... keys
+    ) {
+        // Projection queries cannot fetch joins, so let's use plain joins for collection predicates
+        DataFetchingEnvironment queryEnvironment = DataFetchingEnvironmentBuilder
+            .newDataFetchingEnvironment(environment)
+            .localContext(Boolean.FALSE)
+            .build();
+
+        if (isQueryTemplate(keys.length > 0)) {
+            QueryTemplate<Tuple> template = getQueryTemplate(
+                isDistinct ? Operation.PROJECTION_DISTINCT : Operation.PROJECTION,
+                queryEnvironment,
+                field,
+                keys.length > 0,
+                () -> getProjectionCriteriaQuery(queryEnvironment, field, isDistinct, true, keys)
+            );
+
+            return bindQueryTemplate(template, environment, Arrays.asList(keys));
+        }
+
+        final boolean keysParameter = isKeysParameter();
+
+        TypedQuery<Tuple> query = entityManager.createQuery(
+            getProjectionCriteriaQuery(queryEnvironment, field, isDistinct, keysParameter, keys)
+        );
+
+        return keysParameter ? bindKeysParameter(query, Arrays.asList(keys)) : query;
+    }
+
+    private CriteriaQuery<Tuple> getProjectionCriteriaQuery(
+        DataFetchingEnvironment environment,
+        Field field,
+        boolean isDistinct,
+        boolean keysParameter,
+        Object... keys
+    ) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> from = query.from(entityType);
+
+        query.multiselect(
+            getProjectionAttributeNames(field).stream().<Selection<?>>map(name -> from.get(name).alias(name)).toList()
+        );
+
+        return getCriteriaQuery(query, from, environment, field, isDistinct, keysParameter, keys);
+    }
+
+    /**
+     * Returns true if root query select results can be fetched as tuples of selected attributes, i.e. projection
+     * fetch mode is enabled, entity has a single id attribute without subtypes and the selection contains only
+     * basic persistent attributes. Otherwise, results are fetched as entities to resolve associations, transient
+     * and calculated fields.
+     *
+     * @param environment query environment with resolved select field
+     * @return true if projection query is used
+     */
+    protected boolean isProjection(DataFetchingEnvironment environment) {
+        SelectionSet selectionSet = environment.getField().getSelectionSet();
+
+        if (fetchMode != FetchMode.PROJECTION || selectionSet == null || !hasIdAttribute() || hasEntitySubtypes()) {
+            return false;
+        }
+
+        var entityDescriptor = EntityIntrospector.introspect(entityType);
+
+        return selectionSet
+            .getSelections()
+            .stream()
+            .allMatch(selection ->
+                selection instanceof Field selectedField &&
+                (
+                    selectedField.getName().startsWith("__") ||
+                    entityDescriptor
+                        .getPropertyDescriptor(selectedField.getName())
+                        .filter(AttributePropertyDescriptor::isPersistent)
+                        .flatMap(AttributePropertyDescriptor::getAttribute)
+                        .filter(attribute -> attribute.getPersistentAttributeType() == PersistentAttributeType.BASIC)
+                        .isPresent()
+                )
+            );
+    }
+
+    private boolean hasEntitySubtypes() {
+        return entityManager
+            .getMetamodel()
+            .getEntities()
+            .stream()
+            .anyMatch(it -> it != entityType && entityType.getJavaType().isAssignableFrom(it.getJavaType()));
+    }
+
+    private List<String> getProjectionAttributeNames(Field field) {
+        Set<String> names = new LinkedHashSet<>();
 
-        return entityManager.createQuery(criteriaQuery);
+        names.add(idAttributeName());
+
+        // Distinct queries must select default order by attribute
+        EntityIntrospector
+            .introspect(entityType)
+            .getPersistentPropertyDescriptors()
+            .stream()
+            .filter(AttributePropertyDescriptor::hasDefaultOrderBy)
+            .findFirst()
+            .map(AttributePropertyDescriptor::getName)
+            .ifPresent(names::add);
+
+        selections(field)
+            .stream()
+            .map(Field::getName)
+            .filter(name -> !name.startsWith("__"))
+            .forEach(names::add);
+
+        return new ArrayList<>(names);
     }
 
     protected TypedQuery<Long> getCountQuery(DataFetchingEnvironment environment, Field field, List<Object> keys) {
+        if (isQueryTemplate(!keys.isEmpty())) {
+            QueryTemplate<Long> template = getQueryTemplate(
+                Operation.COUNT,
+                environment,
+                field,
+                !keys.isEmpty(),
+                () -> getCountCriteriaQuery(environment, field, keys, true)
+            );
+
+            return bindQueryTemplate(template, environment, keys);
+        }
+
+        final boolean keysParameter = isKeysParameter();
+
+        TypedQuery<Long> query = entityManager.createQuery(
+            getCountCriteriaQuery(environment, field, keys, keysParameter)
+        );
+
+        return keysParameter ? bindKeysParameter(query, keys) : query;
+    }
+
+    private CriteriaQuery<Long> getCountCriteriaQuery(
+        DataFetchingEnvironment environment,
+        Field field,
+        List<Object> keys,
+        boolean keysParameter
+    ) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<Long> query = cb.createQuery(Long.class);
         Root<?> root = query.from(entityType);
@@ -484,13 +1310,13 @@ public final class GraphQLJpaQueryFactory {
             .collect(Collectors.toList());
 
         if (!keys.isEmpty() && hasIdAttribute()) {
-            Predicate restrictions = root.get(idAttributeName()).in(keys);
+            Predicate restrictions = getKeysPredicate(cb, root.get(idAttributeName()), keys, keysParameter);
             predicates.add(restrictions);
         }
 
         query.where(predicates.toArray(new Predicate[0]));
 
-        return entityManager.createQuery(query);
+        return query;
     }
 
     protected TypedQuery<Long> getAggregateCountQuery(
@@ -501,6 +1327,8 @@ public final class GraphQLJpaQueryFactory {
         String... groupings
     ) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final boolean keysParameter = isKeysParameter();
+
         CriteriaQuery<Long> query = cb.createQuery(Long.class);
         Root<?> root = query.from(entityType);
         Join<?, ?> join = root.join(aggregate);
@@ -521,47 +1349,87 @@ public final class GraphQLJpaQueryFactory {
             .collect(Collectors.toList());
 
         if (!keys.isEmpty() && hasIdAttribute()) {
-            Predicate restrictions = root.get(idAttributeName()).in(keys);
-            predicates.add(restrictions);
+            predicates.add(getKeysPredicate(cb, root.get(idAttributeName()), keys, keysParameter));
         }
 
         query.where(predicates.toArray(new Predicate[0]));
 
-        return entityManager.createQuery(query);
+        final TypedQuery<Long> countQuery = entityManager.createQuery(query);
+
+        return keysParameter ? bindKeysParameter(countQuery, keys) : countQuery;
     }
 
-    protected TypedQuery<Map> getAggregateGroupByCountQuery(
+    protected TypedQuery<Object[]> getAggregateCountsQuery(
         DataFetchingEnvironment environment,
         Field field,
-        String alias,
-        Optional<String> countOfJoin,
-        List<Object> keys,
-        Map.Entry<String, String>... groupBy
+        List<Optional<String>> counts,
+        List<Object> keys
     ) {
-        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        final CriteriaQuery<Map> query = cb.createQuery(Map.class);
-        final Root<?> root = query.from(entityType);
-        final DataFetchingEnvironment queryEnvironment = DataFetchingEnvironmentBuilder
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final boolean keysParameter = isKeysParameter();
+
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<?> root = query.from(entityType);
+
+        DataFetchingEnvironment queryEnvironment = DataFetchingEnvironmentBuilder
             .newDataFetchingEnvironment(environment)
             .root(query)
             .localContext(Boolean.FALSE) // Join mode
             .build();
+        root.alias("root");
 
-        final List<Selection<?>> selections = new ArrayList<>();
+        List<Predicate> predicates = field
+            .getArguments()
+            .stream()
+            .map(it -> getPredicate(field, cb, root, null, queryEnvironment, it))
+            .filter(it -> it != null)
+            .collect(Collectors.toList());
 
-        Stream.of(groupBy).map(group -> root.get(group.getValue()).alias(group.getKey())).forEach(selections::add);
+        if (!keys.isEmpty() && hasIdAttribute()) {
+            predicates.add(getKeysPredicate(cb, root.get(idAttributeName()), keys, keysParameter));
+        }
 
-        final Expression<?>[] groupings = Stream
-            .of(groupBy)
-            .map(group -> root.get(group.getValue()))
-            .toArray(Expression[]::new);
+        // Let's use left outer joins for singular associations, so that root rows are not multiplied
+        Map<String, Join<?, ?>> joins = new LinkedHashMap<>();
 
-        countOfJoin.ifPresentOrElse(
-            it -> selections.add(cb.count(root.join(it)).alias(alias)),
-            () -> selections.add(cb.count(root).alias(alias))
-        );
+        List<Selection<?>> selections = counts
+            .stream()
+            .map(countOf ->
+                countOf
+                    .<Expression<?>>map(association ->
+                        joins.computeIfAbsent(association, it -> root.join(it, JoinType.LEFT))
+                    )
+                    .orElse(root)
+            )
+            .<Selection<?>>map(cb::count)
+            .toList();
 
-        query.multiselect(selections).groupBy(groupings);
+        query.multiselect(selections);
+
+        query.where(predicates.toArray(new Predicate[0]));
+
+        final TypedQuery<Object[]> countsQuery = entityManager.createQuery(query);
+
+        return keysParameter ? bindKeysParameter(countsQuery, keys) : countsQuery;
+    }
+
+    protected TypedQuery<Object[]> getAggregateFunctionsQuery(
+        DataFetchingEnvironment environment,
+        Field field,
+        List<AggregateFunction> functions,
+        List<Object> keys
+    ) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final boolean keysParameter = isKeysParameter();
+
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<?> root = query.from(entityType);
+
+        DataFetchingEnvironment queryEnvironment = DataFetchingEnvironmentBuilder
+            .newDataFetchingEnvironment(environment)
+            .root(query)
+            .localContext(Boolean.FALSE) // Join mode
+            .build();
 
         List<Predicate> predicates = field
             .getArguments()
@@ -571,28 +1439,66 @@ public final class GraphQLJpaQueryFactory {
             .collect(Collectors.toList());
 
         if (!keys.isEmpty() && hasIdAttribute()) {
-            Predicate restrictions = root.get(idAttributeName()).in(keys);
-            predicates.add(restrictions);
+            predicates.add(getKeysPredicate(cb, root.get(idAttributeName()), keys, keysParameter));
         }
 
+        query.multiselect(functions.stream().<Selection<?>>map(it -> getAggregateFunction(cb, root, it)).toList());
+
         query.where(predicates.toArray(new Predicate[0]));
 
-        return entityManager.createQuery(query);
+        final TypedQuery<Object[]> functionsQuery = entityManager.createQuery(query);
+
+        return keysParameter ? bindKeysParameter(functionsQuery, keys) : functionsQuery;
     }
 
-    protected TypedQuery<Map> getAggregateGroupByAssociationCountQuery(
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    protected Expression<?> getAggregateFunction(CriteriaBuilder cb, From<?, ?> from, AggregateFunction function) {
+        final Expression path = from.get(function.attribute());
+
+        return switch (function.function()) {
+            case AggregateFunction.SUM -> cb.sum(path);
+            case AggregateFunction.AVG -> cb.avg(path);
+            case AggregateFunction.MIN -> cb.least(path);
+            case AggregateFunction.MAX -> cb.greatest(path);
+            default -> throw new GraphQLException("Unsupported aggregate function: " + function.function());
+        };
+    }
+
+    protected TypedQuery<Map> getAggregateGroupByCountQuery(
         DataFetchingEnvironment environment,
         Field field,
-        String countAlias,
-        String association,
+        String alias,
+        Optional<String> countOfJoin,
+        List<Object> keys,
+        Map.Entry<String, String>... groupBy
+    ) {
+        return getAggregateGroupByQuery(
+            environment,
+            field,
+            Optional.of(alias),
+            countOfJoin,
+            List.of(),
+            Map.of(),
+            keys,
+            groupBy
+        );
+    }
+
+    protected TypedQuery<Map> getAggregateGroupByQuery(
+        DataFetchingEnvironment environment,
+        Field field,
+        Optional<String> countAlias,
+        Optional<String> countOfJoin,
+        List<AggregateFunction> functions,
+        Map<String, TimeBucket> buckets,
         List<Object> keys,
         Map.Entry<String, String>... groupBy
     ) {
         final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final boolean keysParameter = isKeysParameter();
+
         final CriteriaQuery<Map> query = cb.createQuery(Map.class);
         final Root<?> root = query.from(entityType);
-        final Join<?, ?> join = root.join(association);
-
         final DataFetchingEnvironment queryEnvironment = DataFetchingEnvironmentBuilder
             .newDataFetchingEnvironment(environment)
             .root(query)
@@ -601,15 +1507,39 @@ public final class GraphQLJpaQueryFactory {
 
         final List<Selection<?>> selections = new ArrayList<>();
 
-        Stream.of(groupBy).map(group -> join.get(group.getValue()).alias(group.getKey())).forEach(selections::add);
-
-        selections.add(cb.count(join).alias(countAlias));
+        Stream.of(groupBy).map(group -> root.get(group.getValue()).alias(group.getKey())).forEach(selections::add);
 
         final Expression<?>[] groupings = Stream
             .of(groupBy)
-            .map(group -> join.get(group.getValue()))
+            .map(group ->
+                Optional
+                    .ofNullable(buckets.get(group.getKey()))
+                    .<Expression<?>>map(bucket -> getTimeBucketExpression(cb, root.get(group.getValue()), bucket))
+                    .orElseGet(() -> root.get(group.getValue()))
+            )
             .toArray(Expression[]::new);
 
+        // Let's select the same bucket expressions as group by, so that the database matches them
+        for (int i = 0; i < groupBy.length; i++) {
+            if (buckets.containsKey(groupBy[i].getKey())) {
+                selections.set(i, groupings[i].alias(groupBy[i].getKey()));
+            }
+        }
+
+        // Let's keep histogram buckets in chronological order
+        if (!buckets.isEmpty()) {
+            query.orderBy(Stream.of(groupings).map(cb::asc).toList());
+        }
+
+        countAlias.ifPresent(alias ->
+            countOfJoin.ifPresentOrElse(
+                it -> selections.add(cb.count(root.join(it)).alias(alias)),
+                () -> selections.add(cb.count(root).alias(alias))
+            )
+        );
+
+        functions.stream().map(it -> getAggregateFunction(cb, root, it).alias(it.alias())).forEach(selections::add);
+
         query.multiselect(selections).groupBy(groupings);
 
         List<Predicate> predicates = field
@@ -620,28 +1550,194 @@ public final class GraphQLJpaQueryFactory {
             .collect(Collectors.toList());
 
         if (!keys.isEmpty() && hasIdAttribute()) {
-            Predicate restrictions = root.get(idAttributeName()).in(keys);
-            predicates.add(restrictions);
+            predicates.add(getKeysPredicate(cb, root.get(idAttributeName()), keys, keysParameter));
         }
 
         query.where(predicates.toArray(new Predicate[0]));
 
-        return entityManager.createQuery(query);
+        final TypedQuery<Map> groupByQuery = entityManager.createQuery(query);
+
+        return keysParameter ? bindKeysParameter(groupByQuery, keys) : groupByQuery;
     }
 
-    protected TypedQuery<Object> getKeysQuery(DataFetchingEnvironment environment, Field field, List<Object> keys) {
-        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Object> query = cb.createQuery(Object.class);
-        Root<?> from = query.from(entityType);
+    /**
+     * Returns expression truncating temporal attribute value to the start of the time bucket using the database
+     * dialect function, i.e. <code>date_trunc('day', root.a)</code> on PostgreSQL and H2,
+     * <code>trunc(root.a, 'DD')</code> on Oracle, <code>timestamp(str_to_date(date_format(root.a, ...), ...))</code>
+     * on MySQL and MariaDB, or <code>datetimefromparts(year(root.a), ...)</code> on SQL Server. The expression
+     * evaluates to the start timestamp of the bucket on every dialect.
+     *
+     * @param cb criteria builder
+     * @param path temporal attribute path
+     * @param bucket time bucket
+     * @return time bucket expression
+     */
+    protected Expression<?> getTimeBucketExpression(CriteriaBuilder cb, Path<?> path, TimeBucket bucket) {
+        final Class<?> javaType = path.getJavaType();
 
-        from.alias("root");
+        if (
+            !Temporal.class.isAssignableFrom(javaType) &&
+            !Date.class.isAssignableFrom(javaType) &&
+            !Calendar.class.isAssignableFrom(javaType)
+        ) {
+            throw new GraphQLException("Time bucket requires temporal attribute type: " + javaType.getName());
+        }
 
-        DataFetchingEnvironment queryEnvironment = DataFetchingEnvironmentBuilder
+        if (dialectFamily == null) {
+            dialectFamily = resolveDialectFamily(entityManager);
+        }
+
+        return switch (dialectFamily) {
+            case ORACLE -> cb.function("trunc", javaType, path, cb.literal(bucket.getOracleFormat()));
+            case MYSQL -> cb.function(
+                "timestamp",
+                javaType,
+                cb.function(
+                    "str_to_date",
+                    String.class,
+                    cb.function("date_format", String.class, path, cb.literal(bucket.getMySQLFormat())),
+                    cb.literal(bucket.getMySQLParseFormat())
+                )
+            );
+            case SQL_SERVER -> getSqlServerTimeBucketExpression(cb, path, bucket);
+            case DEFAULT -> cb.function("date_trunc", javaType, cb.literal(bucket.getUnit()), path);
+        };
+    }
+
+    // SQL Server has no date_trunc function before 2022, so let's compose the start of bucket from date parts
+    private Expression<?> getSqlServerTimeBucketExpression(CriteriaBuilder cb, Path<?> path, TimeBucket bucket) {
+        if (bucket == TimeBucket.WEEK) {
+            throw new GraphQLException("Time bucket " + bucket + " is not supported by SQL Server dialect");
+        }
+
+        final Expression<Integer> one = cb.literal(1);
+        final Expression<Integer> zero = cb.literal(0);
+
+        return cb.function(
+            "datetimefromparts",
+            path.getJavaType(),
+            cb.function("year", Integer.class, path),
+            bucket == TimeBucket.YEAR ? one : cb.function("month", Integer.class, path),
+            bucket == TimeBucket.YEAR || bucket == TimeBucket.MONTH ? one : cb.function("day", Integer.class, path),
+            bucket == TimeBucket.HOUR ? cb.function("hour", Integer.class, path) : zero,
+            zero,
+            zero,
+            zero
+        );
+    }
+
+    protected TypedQuery<Map> getAggregateGroupByAssociationCountQuery(
+        DataFetchingEnvironment environment,
+        Field field,
+        String countAlias,
+        String association,
+        List<Object> keys,
+        Map.Entry<String, String>... groupBy
+    ) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final boolean keysParameter = isKeysParameter();
+
+        final CriteriaQuery<Map> query = cb.createQuery(Map.class);
+        final Root<?> root = query.from(entityType);
+        final Join<?, ?> join = root.join(association);
+
+        final DataFetchingEnvironment queryEnvironment = DataFetchingEnvironmentBuilder
+            .newDataFetchingEnvironment(environment)
+            .root(query)
+            .localContext(Boolean.FALSE) // Join mode
+            .build();
+
+        final List<Selection<?>> selections = new ArrayList<>();
+
+        Stream.of(groupBy).map(group -> join.get(group.getValue()).alias(group.getKey())).forEach(selections::add);
+
+        selections.add(cb.count(join).alias(countAlias));
+
+        final Expression<?>[] groupings = Stream
+            .of(groupBy)
+            .map(group -> join.get(group.getValue()))
+            .toArray(Expression[]::new);
+
+        query.multiselect(selections).groupBy(groupings);
+
+        List<Predicate> predicates = field
+            .getArguments()
+            .stream()
+            .map(it -> getPredicate(field, cb, root, null, queryEnvironment, it))
+            .filter(it -> it != null)
+            .collect(Collectors.toList());
+
+        if (!keys.isEmpty() && hasIdAttribute()) {
+            predicates.add(getKeysPredicate(cb, root.get(idAttributeName()), keys, keysParameter));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]));
+
+        final TypedQuery<Map> groupByQuery = entityManager.createQuery(query);
+
+        return keysParameter ? bindKeysParameter(groupByQuery, keys) : groupByQuery;
+    }
+
+    protected TypedQuery<Object> getKeysQuery(DataFetchingEnvironment environment, Field field, List<Object> keys) {
+        return getKeysQuery(environment, field, keys, false);
+    }
+
+    protected TypedQuery<Object> getKeysWithTotalCountQuery(
+        DataFetchingEnvironment environment,
+        Field field,
+        List<Object> keys
+    ) {
+        return getKeysQuery(environment, field, keys, true);
+    }
+
+    private TypedQuery<Object> getKeysQuery(
+        DataFetchingEnvironment environment,
+        Field field,
+        List<Object> keys,
+        boolean withTotalCount
+    ) {
+        if (isQueryTemplate(!keys.isEmpty())) {
+            QueryTemplate<Object> template = getQueryTemplate(
+                withTotalCount ? Operation.KEYS_WITH_TOTAL_COUNT : Operation.KEYS,
+                environment,
+                field,
+                !keys.isEmpty(),
+                () -> getKeysCriteriaQuery(environment, field, keys, withTotalCount, true)
+            );
+
+            return bindQueryTemplate(template, environment, keys);
+        }
+
+        final boolean keysParameter = isKeysParameter();
+
+        TypedQuery<Object> query = entityManager.createQuery(
+            getKeysCriteriaQuery(environment, field, keys, withTotalCount, keysParameter)
+        );
+
+        return keysParameter ? bindKeysParameter(query, keys) : query;
+    }
+
+    private CriteriaQuery<Object> getKeysCriteriaQuery(
+        DataFetchingEnvironment environment,
+        Field field,
+        List<Object> keys,
+        boolean withTotalCount,
+        boolean keysParameter
+    ) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> query = cb.createQuery(Object.class);
+        Root<?> from = query.from(entityType);
+
+        from.alias("root");
+
+        DataFetchingEnvironment queryEnvironment = DataFetchingEnvironmentBuilder
             .newDataFetchingEnvironment(environment)
             .root(query)
             .localContext(Boolean.FALSE)
             .build();
-        if (hasIdAttribute()) {
+        if (withTotalCount) {
+            query.multiselect(from.get(idAttributeName()), countOver(cb, from));
+        } else if (hasIdAttribute()) {
             query.select(from.get(idAttributeName()));
         } else if (hasIdClassAttribue()) {
             List<Selection<?>> selection = Stream
@@ -659,7 +1755,7 @@ public final class GraphQLJpaQueryFactory {
             .collect(Collectors.toList());
 
         if (!keys.isEmpty() && hasIdAttribute()) {
-            Predicate restrictions = from.get(idAttributeName()).in(keys);
+            Predicate restrictions = getKeysPredicate(cb, from.get(idAttributeName()), keys, keysParameter);
             predicates.add(restrictions);
         }
 
@@ -677,7 +1773,249 @@ public final class GraphQLJpaQueryFactory {
 
         mayBeAddDefaultOrderBy(query, from, cb);
 
-        return entityManager.createQuery(query);
+        return query;
+    }
+
+    protected TypedQuery<Object> getKeysetKeysQuery(
+        DataFetchingEnvironment environment,
+        Field field,
+        List<SortField> sortFields,
+        List<Object> seekValues,
+        boolean backward,
+        List<Object> keys
+    ) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final boolean keysParameter = isKeysParameter();
+
+        CriteriaQuery<Object> query = cb.createQuery(Object.class);
+        Root<?> from = query.from(entityType);
+
+        from.alias("root");
+
+        DataFetchingEnvironment queryEnvironment = DataFetchingEnvironmentBuilder
+            .newDataFetchingEnvironment(environment)
+            .root(query)
+            .localContext(Boolean.FALSE)
+            .build();
+
+        query.select(from.get(idAttributeName()));
+
+        List<Predicate> predicates = field
+            .getArguments()
+            .stream()
+            .map(it -> getPredicate(field, cb, from, null, queryEnvironment, it))
+            .filter(it -> it != null)
+            .collect(Collectors.toList());
+
+        if (!keys.isEmpty()) {
+            predicates.add(getKeysPredicate(cb, from.get(idAttributeName()), keys, keysParameter));
+        }
+
+        if (!seekValues.isEmpty()) {
+            predicates.add(getKeysetPredicate(cb, from, sortFields, seekValues, backward));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]));
+
+        query.orderBy(
+            sortFields
+                .stream()
+                .map(sortField ->
+                    isKeysetAscending(sortField, backward)
+                        ? cb.asc(from.get(sortField.getName()))
+                        : cb.desc(from.get(sortField.getName()))
+                )
+                .toList()
+        );
+
+        final TypedQuery<Object> keysQuery = entityManager.createQuery(query);
+
+        return keysParameter ? bindKeysParameter(keysQuery, keys) : keysQuery;
+    }
+
+    /**
+     * Builds expanded keyset seek predicate, i.e.
+     * <code>a &gt; ? or (a = ? and b &gt; ?) or (a = ? and b = ? and id &gt; ?)</code>,
+     * with comparison direction of each sort field, because criteria API does not support row value comparison.
+     * The range predicate on the leading sort attribute lets the database use an index range scan.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private Predicate getKeysetPredicate(
+        CriteriaBuilder cb,
+        From<?, ?> from,
+        List<SortField> sortFields,
+        List<Object> seekValues,
+        boolean backward
+    ) {
+        List<Predicate> disjunction = new ArrayList<>();
+
+        for (int i = 0; i < sortFields.size(); i++) {
+            List<Predicate> conjunction = new ArrayList<>();
+
+            for (int j = 0; j < i; j++) {
+                conjunction.add(cb.equal(from.get(sortFields.get(j).getName()), seekValues.get(j)));
+            }
+
+            Expression<Comparable> path = from.get(sortFields.get(i).getName());
+            Comparable value = (Comparable) seekValues.get(i);
+
+            conjunction.add(
+                isKeysetAscending(sortFields.get(i), backward) ? cb.greaterThan(path, value) : cb.lessThan(path, value)
+            );
+
+            disjunction.add(cb.and(conjunction.toArray(new Predicate[0])));
+        }
+
+        Expression<Comparable> leadingPath = from.get(sortFields.get(0).getName());
+        Comparable leadingValue = (Comparable) seekValues.get(0);
+
+        Predicate leadingRange = isKeysetAscending(sortFields.get(0), backward)
+            ? cb.greaterThanOrEqualTo(leadingPath, leadingValue)
+            : cb.lessThanOrEqualTo(leadingPath, leadingValue);
+
+        return cb.and(leadingRange, cb.or(disjunction.toArray(new Predicate[0])));
+    }
+
+    private static boolean isKeysetAscending(SortField sortField, boolean backward) {
+        return (sortField.getDirection() == Direction.ASC) != backward;
+    }
+
+    private boolean isKeysetAttribute(String attributeName) {
+        try {
+            Attribute<?, ?> attribute = entityType.getAttribute(attributeName);
+
+            return (
+                attribute instanceof SingularAttribute<?, ?> singularAttribute &&
+                attribute.getPersistentAttributeType() == PersistentAttributeType.BASIC &&
+                (singularAttribute.isId() || !singularAttribute.isOptional()) &&
+                KeysetCursor.isSupportedType(attribute.getJavaType())
+            );
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Loads to-many association batch for parent keys. If max batch size is configured and exceeded, the keys are
+     * split into chunks of max batch size that are loaded with separate queries, concurrently on separate read-only
+     * entity managers if concurrent query executor is configured, and the results are merged in keys order.
+     *
+     * @param environment association field data fetching environment
+     * @param keys parent keys
+     * @return future map of parent keys to associated entities
+     */
+    public CompletionStage<Map<Object, List<Object>>> loadOneToManyBatch(
+        DataFetchingEnvironment environment,
+        Set<Object> keys
+    ) {
+        return loadBatch(
+            QueryKind.BATCH_TO_MANY,
+            environment,
+            keys,
+            (queryFactory, chunk) -> queryFactory.loadOneToMany(environment, chunk)
+        );
+    }
+
+    /**
+     * Loads to-one association batch for parent keys in chunks of max batch size.
+     *
+     * @param environment association field data fetching environment
+     * @param keys parent keys
+     * @return future map of parent keys to associated entities
+     */
+    public CompletionStage<Map<Object, Object>> loadManyToOneBatch(
+        DataFetchingEnvironment environment,
+        Set<Object> keys
+    ) {
+        return loadBatch(
+            QueryKind.BATCH_TO_ONE,
+            environment,
+            keys,
+            (queryFactory, chunk) -> queryFactory.loadManyToOne(environment, chunk)
+        );
+    }
+
+    /**
+     * Loads to-one associated entities batch by ids in chunks of max batch size.
+     *
+     * @param environment association field data fetching environment
+     * @param ids associated entity ids
+     * @return future map of ids to associated entities
+     */
+    public CompletionStage<Map<Object, Object>> loadToOneByIdsBatch(
+        DataFetchingEnvironment environment,
+        Set<Object> ids
+    ) {
+        return loadBatch(
+            QueryKind.BATCH_TO_ONE,
+            environment,
+            ids,
+            (queryFactory, chunk) -> queryFactory.loadToOneByIds(environment, chunk)
+        );
+    }
+
+    /**
+     * Loads batch of keys with a single query, or splits keys larger than max batch size into chunks. Chunks run
+     * concurrently with {@link #supplyQuery(Function)}, so that the number of chunks in flight on separate
+     * connections is capped by concurrent query permits and the remaining chunks run on the request entity manager.
+     * The batch fails if any of its chunks fails.
+     */
+    protected <V> CompletionStage<Map<Object, V>> loadBatch(
+        QueryKind kind,
+        DataFetchingEnvironment environment,
+        Set<Object> keys,
+        BiFunction<GraphQLJpaQueryFactory, Set<Object>, Map<Object, V>> batchQuery
+    ) {
+        if (maxBatchSize <= 0 || keys.size() <= maxBatchSize) {
+            return CompletableFuture.completedStage(batchQuery.apply(this, keys));
+        }
+
+        final long start = System.nanoTime();
+        final List<Set<Object>> chunks = partitionKeys(keys, maxBatchSize);
+        final List<CompletableFuture<Map<Object, V>>> results = chunks
+            .stream()
+            .map(chunk -> supplyQuery(queryFactory -> batchQuery.apply(queryFactory, chunk)))
+            .toList();
+
+        return CompletableFuture
+            .allOf(results.toArray(CompletableFuture[]::new))
+            .thenApply(done -> {
+                Map<Object, V> resultMap = new LinkedHashMap<>(keys.size());
+
+                // Chunks preserve keys order, so let's merge chunk results in the same order
+                results.forEach(result -> resultMap.putAll(result.join()));
+
+                queryMetricsRecorder.recordBatchChunks(
+                    kind,
+                    entityType.getName(),
+                    environment.getField().getName(),
+                    chunks.size(),
+                    System.nanoTime() - start
+                );
+
+                return resultMap;
+            });
+    }
+
+    static List<Set<Object>> partitionKeys(Set<Object> keys, int chunkSize) {
+        final List<Set<Object>> chunks = new ArrayList<>((keys.size() + chunkSize - 1) / chunkSize);
+
+        Set<Object> chunk = new LinkedHashSet<>(chunkSize);
+
+        for (Object key : keys) {
+            chunk.add(key);
+
+            if (chunk.size() == chunkSize) {
+                chunks.add(chunk);
+                chunk = new LinkedHashSet<>(chunkSize);
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+
+        return chunks;
     }
 
     protected Map<Object, List<Object>> loadOneToMany(DataFetchingEnvironment environment, Set<Object> keys) {
@@ -687,7 +2025,22 @@ public final class GraphQLJpaQueryFactory {
 
         var entityGraph = createEntityGraph(environment);
 
-        List<Object[]> resultList = getResultList(query, entityGraph);
+        queryMetricsRecorder.recordBatchSize(
+            QueryKind.BATCH_TO_MANY,
+            entityType.getName(),
+            field.getName(),
+            keys.size()
+        );
+
+        final boolean readOnly = isReadOnlySession();
+        final boolean detach = isDetachResult(readOnly, hasAssociationFilters(environment));
+
+        List<Object[]> resultList = recordQuery(
+            QueryKind.BATCH_TO_MANY,
+            environment,
+            () -> getResultList(query, entityGraph, readOnly),
+            List::size
+        );
 
         if (logger.isTraceEnabled()) {
             logger.trace(
@@ -704,20 +2057,32 @@ public final class GraphQLJpaQueryFactory {
             .collect(
                 groupingBy(
                     t -> t[0],
-                    Collectors.mapping(t -> this.unproxyAndThenDetach(t[1]), GraphQLSupport.toResultList())
+                    Collectors.mapping(t -> this.unproxyAndThenDetach(t[1], detach), GraphQLSupport.toResultList())
                 )
             );
         Map<Object, List<Object>> resultMap = new LinkedHashMap<>(keys.size());
 
+        // Let's trim pages of elements for each parent if the batch query could not rank them
+        final Optional<PageArgument> collectionPage = getCollectionPage(environment).filter(page ->
+            !isCollectionPageWindow(field)
+        );
+
         keys.forEach(it -> {
             List<Object> list = batch.getOrDefault(it, Collections.emptyList());
 
-            resultMap.put(it, list);
+            resultMap.put(it, collectionPage.map(page -> getPage(list, page)).orElse(list));
         });
 
         return resultMap;
     }
 
+    private static List<Object> getPage(List<Object> list, PageArgument page) {
+        int fromIndex = Math.min(page.getOffset(), list.size());
+        int toIndex = Math.min(page.getOffset() + page.getLimit(), list.size());
+
+        return new ArrayList<>(list.subList(fromIndex, toIndex));
+    }
+
     protected Map<Object, Object> loadManyToOne(DataFetchingEnvironment environment, Set<Object> keys) {
         Field field = environment.getField();
 
@@ -725,16 +2090,272 @@ public final class GraphQLJpaQueryFactory {
 
         var entityGraph = createEntityGraph(environment);
 
-        List<Object[]> resultList = getResultList(query, entityGraph);
+        queryMetricsRecorder.recordBatchSize(
+            QueryKind.BATCH_TO_ONE,
+            entityType.getName(),
+            field.getName(),
+            keys.size()
+        );
+
+        final boolean readOnly = isReadOnlySession();
+        final boolean detach = isDetachResult(readOnly, hasAssociationFilters(environment));
+
+        List<Object[]> resultList = recordQuery(
+            QueryKind.BATCH_TO_ONE,
+            environment,
+            () -> getResultList(query, entityGraph, readOnly),
+            List::size
+        );
+
+        Map<Object, Object> resultMap = new LinkedHashMap<>(resultList.size());
+
+        resultList.forEach(item -> resultMap.put(item[0], this.unproxyAndThenDetach(item[1], detach)));
+
+        return resultMap;
+    }
+
+    /**
+     * Returns true if to-one association field should be resolved by identity of the associated entity, i.e.
+     * request scoped identity cache is enabled and the associated entity has a single id attribute.
+     *
+     * @param environment association field data fetching environment
+     * @return true if identity cache is used
+     */
+    protected boolean isToOneIdentityCache(DataFetchingEnvironment environment) {
+        return toOneIdentityCache && getEntityType(getObjectType(environment)).hasSingleIdAttribute();
+    }
+
+    /**
+     * Returns identifier of the to-one association value of the source entity, so that association can be
+     * resolved by identity without loading an uninitialized proxy.
+     *
+     * @param source parent entity
+     * @param attribute to-one association attribute
+     * @return identifier of associated entity or null if there is no association
+     */
+    protected Object getToOneIdentifier(Object source, SingularAttribute<Object, Object> attribute) {
+        Object value = getAttributeValue(unproxy(source), attribute);
+
+        return value != null
+            ? entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(value)
+            : null;
+    }
+
+    /**
+     * Returns identity cache key of the to-one association field, i.e. entity name with field document without
+     * alias, so that fields with the same arguments and selections share loaded entities by identifier.
+     *
+     * @param environment association field data fetching environment
+     * @return identity cache key
+     */
+    protected String getToOneIdentityKey(DataFetchingEnvironment environment) {
+        Field field = environment.getField().transform(builder -> builder.alias(null));
+
+        return getEntityType(getObjectType(environment)).getName() + ":" + AstPrinter.printAstCompact(field);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    protected Map<Object, Object> loadToOneByIds(DataFetchingEnvironment environment, Set<Object> ids) {
+        Field field = environment.getField();
+        EntityType<?> fieldEntityType = getEntityType(getObjectType(environment));
+        SingularAttribute idAttribute = fieldEntityType.getId(Object.class);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> query = cb.createQuery();
+        Root<?> from = query.from(fieldEntityType);
+
+        DataFetchingEnvironment queryEnvironment = DataFetchingEnvironmentBuilder
+            .newDataFetchingEnvironment(environment)
+            .root(query)
+            .localContext(Boolean.TRUE)
+            .build();
+
+        from.alias(fieldEntityType.getName().toLowerCase());
+
+        query.select(from);
+
+        List<Predicate> predicates = getFieldPredicates(field, query, cb, from, from, queryEnvironment);
+
+        final boolean keysParameter = isKeysParameter();
+
+        predicates.add(getKeysPredicate(cb, from.get(idAttribute.getName()), ids, keysParameter));
+
+        query.where(predicates.toArray(new Predicate[0]));
+
+        TypedQuery<Object> idsQuery = entityManager.createQuery(query.distinct(isDefaultDistinct()));
+
+        if (keysParameter) {
+            bindKeysParameter(idsQuery, ids, idAttribute.getJavaType());
+        }
+
+        var entityGraph = createEntityGraph(environment);
+
+        queryMetricsRecorder.recordBatchSize(
+            QueryKind.BATCH_TO_ONE,
+            entityType.getName(),
+            field.getName(),
+            ids.size()
+        );
+
+        final boolean readOnly = isReadOnlySession();
+        final boolean detach = isDetachResult(readOnly, hasAssociationFilters(environment));
+
+        List<Object> resultList = recordQuery(
+            QueryKind.BATCH_TO_ONE,
+            environment,
+            () -> getResultList(idsQuery, entityGraph, readOnly),
+            List::size
+        );
+
+        var persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
 
         Map<Object, Object> resultMap = new LinkedHashMap<>(resultList.size());
 
-        resultList.forEach(item -> resultMap.put(item[0], this.unproxyAndThenDetach(item[1])));
+        resultList.forEach(item ->
+            resultMap.put(persistenceUnitUtil.getIdentifier(item), this.unproxyAndThenDetach(item, detach))
+        );
 
         return resultMap;
     }
 
-    protected <T> List<T> getResultList(TypedQuery<T> query, EntityGraph<?> entityGraph) {
+    /**
+     * Runs query function with this query factory. If concurrent query executor is configured and a concurrent
+     * query permit is available, the function is executed asynchronously with a copy of this query factory bound
+     * to a new read-only entity manager, so that it uses a separate database connection outside of the current
+     * transaction. Such query reads its own snapshot of committed data and does not see uncommitted changes,
+     * Hibernate filters, tenant identifier or thread local context of the request. Otherwise, the function is
+     * executed in the calling thread with the request entity manager, so that the request never waits for a
+     * second connection while holding one.
+     *
+     * @param query query function
+     * @return future result of the query
+     */
+    public <T> CompletableFuture<T> supplyQuery(Function<GraphQLJpaQueryFactory, T> query) {
+        if (concurrentQueryExecutor == null || !tryAcquireConcurrentQuery()) {
+            return CompletableFuture.completedFuture(query.apply(this));
+        }
+
+        final EntityManagerFactory entityManagerFactory = entityManager.getEntityManagerFactory();
+
+        try {
+            return CompletableFuture.supplyAsync(
+                () -> {
+                    try {
+                        final EntityManager readOnlyEntityManager = entityManagerFactory.createEntityManager();
+
+                        try {
+                            readOnlyEntityManager.setFlushMode(FlushModeType.COMMIT);
+                            readOnlyEntityManager.setProperty(ORG_HIBERNATE_READ_ONLY, true);
+
+                            return query.apply(new GraphQLJpaQueryFactory(this, readOnlyEntityManager));
+                        } finally {
+                            readOnlyEntityManager.close();
+                        }
+                    } finally {
+                        releaseConcurrentQuery();
+                    }
+                },
+                concurrentQueryExecutor
+            );
+        } catch (RejectedExecutionException e) {
+            releaseConcurrentQuery();
+
+            return CompletableFuture.completedFuture(query.apply(this));
+        }
+    }
+
+    private boolean tryAcquireConcurrentQuery() {
+        return concurrentQueryPermits == null || concurrentQueryPermits.tryAcquire();
+    }
+
+    private void releaseConcurrentQuery() {
+        if (concurrentQueryPermits != null) {
+            concurrentQueryPermits.release();
+        }
+    }
+
+    /**
+     * Opens forward-only result stream of the query with a new read-only entity manager. The entity manager and its
+     * resource local transaction are kept open for the lifetime of the stream, i.e. rows are fetched from the
+     * database cursor in chunks of fetch size only when the stream is advanced. Closing the stream closes the
+     * cursor, rolls back the read-only transaction and closes the entity manager.
+     *
+     * @param environment query data fetching environment
+     * @param fetchSize JDBC fetch size of the cursor
+     * @return result stream that must be closed by the caller
+     */
+    public Stream<Object> openResultStream(DataFetchingEnvironment environment, int fetchSize) {
+        final EntityManager streamEntityManager = entityManager.getEntityManagerFactory().createEntityManager();
+
+        streamEntityManager.setFlushMode(FlushModeType.COMMIT);
+        streamEntityManager.setProperty(ORG_HIBERNATE_READ_ONLY, true);
+
+        final EntityTransaction transaction = beginTransaction(streamEntityManager);
+        final Runnable closeHandler = () -> {
+            try {
+                if (transaction != null && transaction.isActive()) {
+                    transaction.rollback();
+                }
+            } finally {
+                streamEntityManager.close();
+            }
+        };
+
+        try {
+            return new GraphQLJpaQueryFactory(this, streamEntityManager, true)
+                .getQueryResultStream(environment, fetchSize, List.of())
+                .onClose(closeHandler);
+        } catch (RuntimeException e) {
+            closeHandler.run();
+            throw e;
+        }
+    }
+
+    private static EntityTransaction beginTransaction(EntityManager entityManager) {
+        try {
+            final EntityTransaction transaction = entityManager.getTransaction();
+            transaction.begin();
+
+            return transaction;
+        } catch (IllegalStateException e) {
+            // JTA entity managers do not support resource local transactions, so let's stream without one
+            return null;
+        }
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public boolean isConcurrentQueries() {
+        return concurrentQueryExecutor != null;
+    }
+
+    protected <T> T recordQuery(
+        QueryKind kind,
+        DataFetchingEnvironment environment,
+        Supplier<T> query,
+        ToLongFunction<T> rows
+    ) {
+        if (queryMetricsRecorder == QueryMetricsRecorder.NOOP) {
+            return query.get();
+        }
+
+        final long start = System.nanoTime();
+        final T result = query.get();
+
+        queryMetricsRecorder.recordQuery(
+            kind,
+            entityType.getName(),
+            environment.getField().getName(),
+            System.nanoTime() - start,
+            rows.applyAsLong(result)
+        );
+
+        return result;
+    }
+
+    protected <T> List<T> getResultList(TypedQuery<T> query, EntityGraph<?> entityGraph, boolean readOnly) {
         if (logger.isDebugEnabled()) {
             logger.info("\nGraphQL JPQL Batch Query String:\n    {}", getJPQLQueryString(query));
         }
@@ -748,45 +2369,277 @@ public final class GraphQLJpaQueryFactory {
             query.setHint(JAKARTA_PERSISTENCE_FETCHGRAPH, entityGraph);
         }
 
-        return query.getResultList();
+        if (readOnly) {
+            query.setFlushMode(FlushModeType.COMMIT);
+        }
+
+        return query.getResultList();
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    protected TypedQuery<Object[]> getBatchQuery(
+        DataFetchingEnvironment environment,
+        Field field,
+        boolean isDistinct,
+        Set<Object> keys
+    ) {
+        SingularAttribute parentIdAttribute = entityType.getId(Object.class);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        //CriteriaQuery<Object> query = cb.createQuery((Class<Object>) entityType.getJavaType());
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<?> from = query.from(entityType);
+
+        DataFetchingEnvironment queryEnvironment = DataFetchingEnvironmentBuilder
+            .newDataFetchingEnvironment(environment)
+            .root(query)
+            .localContext(Boolean.TRUE)
+            .build();
+
+        from.alias("owner");
+
+        final boolean keysParameter = isKeysParameter();
+        final ParameterExpression<?> keysParameterExpression = keysParameter
+            ? getKeysParameter(cb, from.get(parentIdAttribute.getName()))
+            : null;
+
+        // Must use inner join in parent context
+        Join join = from
+            .join(field.getName())
+            .on(
+                keysParameter
+                    ? getKeysPredicate(cb, from.get(parentIdAttribute.getName()), keysParameterExpression)
+                    : getKeysPredicate(cb, from.get(parentIdAttribute.getName()), keys, false)
+            );
+
+        query.multiselect(from.get(parentIdAttribute.getName()), join.alias(field.getName()));
+
+        List<Predicate> predicates = getFieldPredicates(field, query, cb, from, join, queryEnvironment);
+
+        final Optional<PageArgument> collectionPage = getCollectionPage(environment);
+
+        if (collectionPage.isPresent() && getCollectionElementType(field).isPresent()) {
+            if (isCollectionPageWindow(field)) {
+                predicates.add(
+                    getCollectionPagePredicate(
+                        query,
+                        cb,
+                        from,
+                        join,
+                        environment,
+                        keys,
+                        keysParameterExpression,
+                        collectionPage.get()
+                    )
+                );
+            }
+
+            // Let's keep page order of elements for each parent
+            if (query.getOrderList().isEmpty()) {
+                query.orderBy(getCollectionPageOrders(cb, field, join, environment));
+            }
+        }
+
+        query.where(predicates.toArray(new Predicate[0]));
+
+        TypedQuery<Object[]> batchQuery = entityManager.createQuery(query.distinct(isDistinct));
+
+        return keysParameter ? bindKeysParameter(batchQuery, keys) : batchQuery;
+    }
+
+    /**
+     * Returns page of the plural association field elements requested for each parent, if page argument with limit
+     * is present on the field. Page after cursor is not supported for plural association fields.
+     *
+     * @param environment plural association field data fetching environment
+     * @return optional page argument
+     * @throws GraphQLException if page after cursor is requested
+     */
+    protected Optional<PageArgument> getCollectionPage(DataFetchingEnvironment environment) {
+        final Optional<PageArgument> page = getPageArgument(environment.getField())
+            .map(argument -> extractPageArgument(environment, Optional.of(argument), 0));
+
+        if (page.flatMap(PageArgument::getAfter).isPresent()) {
+            throw new GraphQLException(
+                "Page after cursor is not supported for collection field: " + environment.getField().getName()
+            );
+        }
+
+        return page.filter(it -> it.getLimit() > 0 && it.getStart() > 0);
+    }
+
+    /**
+     * Returns true if page of plural association elements can be selected for each parent in batch query using
+     * <code>ROW_NUMBER() OVER (PARTITION BY owner ORDER BY ...)</code> window function. Otherwise, pages are
+     * resolved from the loaded elements.
+     *
+     * @param field plural association field
+     * @return true if window function is supported
+     */
+    protected boolean isCollectionPageWindow(Field field) {
+        if (rowNumberMethod == null || fromSubQueryMethod == null || createWindowMethod == null || !hasIdAttribute()) {
+            return false;
+        }
+
+        if (getCollectionElementType(field).isEmpty()) {
+            return false;
+        }
+
+        if (windowFunctionsSupported == null) {
+            windowFunctionsSupported = supportsWindowFunctions(entityManager);
+        }
+
+        return windowFunctionsSupported;
+    }
+
+    // Element entity type of plural association with single id attribute
+    private Optional<EntityType<?>> getCollectionElementType(Field field) {
+        if (
+            isPersistent(entityType, field.getName()) &&
+            entityType.getAttribute(field.getName()) instanceof PluralAttribute<?, ?, ?> attribute &&
+            attribute.getElementType() instanceof EntityType<?> elementType &&
+            elementType.hasSingleIdAttribute()
+        ) {
+            return Optional.of(elementType);
+        }
+
+        return Optional.empty();
     }
 
+    // Joins batch query with derived table of element row numbers partitioned by parent, i.e.
+    // (select owner.id, element.id, row_number() over (partition by owner.id order by ...) from ...) and
+    // restricts elements to the requested page of each parent. Parent keys reuse the keys parameter of the batch
+    // query if it is bound as a parameter
     @SuppressWarnings({ "rawtypes", "unchecked" })
-    protected TypedQuery<Object[]> getBatchQuery(
+    private Predicate getCollectionPagePredicate(
+        CriteriaQuery<?> query,
+        CriteriaBuilder cb,
+        Root<?> from,
+        Join join,
         DataFetchingEnvironment environment,
-        Field field,
-        boolean isDistinct,
-        Set<Object> keys
+        Set<Object> keys,
+        ParameterExpression<?> keysParameter,
+        PageArgument page
     ) {
-        SingularAttribute parentIdAttribute = entityType.getId(Object.class);
+        final Field field = environment.getField();
+        final String parentIdName = idAttributeName();
+        final EntityType<?> elementType = getCollectionElementType(field).orElseThrow();
+        final String elementIdName = elementType.getId(elementType.getIdType().getJavaType()).getName();
 
-        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        //CriteriaQuery<Object> query = cb.createQuery((Class<Object>) entityType.getJavaType());
-        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
-        Root<?> from = query.from(entityType);
+        final Subquery<Tuple> rowNumbers = query.subquery(Tuple.class);
+        final Root<?> owner = rowNumbers.from(entityType);
+        final Join element = owner.join(field.getName());
 
-        DataFetchingEnvironment queryEnvironment = DataFetchingEnvironmentBuilder
+        // Let's use plain joins for where predicates in the subquery
+        final DataFetchingEnvironment rowNumbersEnvironment = DataFetchingEnvironmentBuilder
             .newDataFetchingEnvironment(environment)
             .root(query)
-            .localContext(Boolean.TRUE)
+            .localContext(Boolean.FALSE)
             .build();
 
-        from.alias("owner");
+        final List<Predicate> predicates = new ArrayList<>();
 
-        // Must use inner join in parent context
-        Join join = from.join(field.getName()).on(from.get(parentIdAttribute.getName()).in(keys));
+        predicates.add(
+            keysParameter != null
+                ? getKeysPredicate(cb, owner.get(parentIdName), keysParameter)
+                : getKeysPredicate(cb, owner.get(parentIdName), keys, false)
+        );
 
-        query.multiselect(from.get(parentIdAttribute.getName()), join.alias(field.getName()));
+        field
+            .getArguments()
+            .stream()
+            .filter(GraphQLSupport::isWhereArgument)
+            .map(argument -> getPredicate(field, cb, owner, element, rowNumbersEnvironment, argument))
+            .filter(Objects::nonNull)
+            .forEach(predicates::add);
 
-        List<Predicate> predicates = getFieldPredicates(field, query, cb, from, join, queryEnvironment);
+        rowNumbers.where(predicates.toArray(new Predicate[0]));
 
-        query.where(predicates.toArray(new Predicate[0]));
+        try {
+            Object window = createWindowMethod.invoke(cb);
+            window = windowPartitionByMethod.invoke(window, (Object) new Expression<?>[] { owner.get(parentIdName) });
+            window =
+                windowOrderByMethod.invoke(
+                    window,
+                    (Object) getCollectionPageOrders(cb, field, element, environment).toArray(new Order[0])
+                );
 
-        // optionally add default ordering
-        // FIXME need to extract correct id attribute from collection entity
-        // mayBeAddDefaultOrderBy(query, join, cb);
+            Expression<Long> rowNumber = (Expression<Long>) rowNumberMethod.invoke(cb, window);
+
+            subQueryMultiselectMethod.invoke(
+                rowNumbers,
+                (Object) new Selection<?>[] {
+                    owner.get(parentIdName).alias("ownerId"),
+                    element.get(elementIdName).alias("elementId"),
+                    rowNumber.alias("rowNumber"),
+                }
+            );
+
+            From<?, ?> rowNumbersRoot = (From<?, ?>) fromSubQueryMethod.invoke(query, rowNumbers);
+            Path<Long> rowNumberPath = rowNumbersRoot.get("rowNumber");
+
+            return cb.and(
+                cb.equal(rowNumbersRoot.get("ownerId"), from.get(parentIdName)),
+                cb.equal(rowNumbersRoot.get("elementId"), join.get(elementIdName)),
+                cb.greaterThan(rowNumberPath, (long) page.getOffset()),
+                cb.lessThanOrEqualTo(rowNumberPath, (long) page.getOffset() + page.getLimit())
+            );
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("ROW_NUMBER() OVER() window function is not supported", e);
+        }
+    }
+
+    // Element orders from orderBy arguments of the selection or default order of element entity
+    // followed by element id as a tie-breaker
+    private List<Order> getCollectionPageOrders(
+        CriteriaBuilder cb,
+        Field field,
+        From<?, ?> element,
+        DataFetchingEnvironment environment
+    ) {
+        final EntityType<?> elementType = getCollectionElementType(field).orElseThrow();
+        final String elementIdName = elementType.getId(elementType.getIdType().getJavaType()).getName();
+        final List<Order> orders = new ArrayList<>();
+
+        GraphQLSupport
+            .fields(field.getSelectionSet())
+            .filter(selection -> isPersistent(elementType, selection.getName()))
+            .filter(selection -> elementType.getAttribute(selection.getName()) instanceof SingularAttribute)
+            .forEach(selection ->
+                selection
+                    .getArguments()
+                    .stream()
+                    .filter(this::isOrderByArgument)
+                    .findFirst()
+                    .map(argument -> getOrderByValue(argument, environment))
+                    .ifPresent(orderBy ->
+                        orders.add(
+                            DESC.equals(orderBy.getName())
+                                ? cb.desc(element.get(selection.getName()))
+                                : cb.asc(element.get(selection.getName()))
+                        )
+                    )
+            );
+
+        if (orders.isEmpty()) {
+            EntityIntrospector
+                .introspect(elementType)
+                .getPersistentPropertyDescriptors()
+                .stream()
+                .filter(AttributePropertyDescriptor::hasDefaultOrderBy)
+                .findFirst()
+                .ifPresent(attribute ->
+                    orders.add(
+                        attribute.getDefaultOrderBy().get().asc()
+                            ? cb.asc(element.get(attribute.getName()))
+                            : cb.desc(element.get(attribute.getName()))
+                    )
+                );
+        }
 
-        return entityManager.createQuery(query.distinct(isDistinct));
+        orders.add(cb.asc(element.get(elementIdName)));
+
+        return orders;
     }
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
@@ -811,8 +2664,12 @@ public final class GraphQLJpaQueryFactory {
 
         from.alias("owner");
 
+        final boolean keysParameter = isKeysParameter();
+
         // Must use inner join in parent context
-        Join join = from.join(field.getName()).on(from.get(parentIdAttribute.getName()).in(keys));
+        Join join = from
+            .join(field.getName())
+            .on(getKeysPredicate(cb, from.get(parentIdAttribute.getName()), keys, keysParameter));
 
         query.select(join.alias(field.getName()));
 
@@ -823,7 +2680,9 @@ public final class GraphQLJpaQueryFactory {
         // optionally add default ordering
         mayBeAddDefaultOrderBy(query, join, cb);
 
-        return entityManager.createQuery(query.distinct(isDistinct));
+        TypedQuery<Object> batchQuery = entityManager.createQuery(query.distinct(isDistinct));
+
+        return keysParameter ? bindKeysParameter(batchQuery, keys) : batchQuery;
     }
 
     @SuppressWarnings("unchecked")
@@ -832,11 +2691,35 @@ public final class GraphQLJpaQueryFactory {
         Field field,
         boolean isDistinct,
         Object... keys
+    ) {
+        return getCriteriaQuery(environment, field, isDistinct, false, keys);
+    }
+
+    private <T> CriteriaQuery<T> getCriteriaQuery(
+        DataFetchingEnvironment environment,
+        Field field,
+        boolean isDistinct,
+        boolean keysParameter,
+        Object... keys
     ) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<T> query = cb.createQuery((Class<T>) entityType.getJavaType());
         Root<?> from = query.from(entityType);
 
+        return getCriteriaQuery(query, from, environment, field, isDistinct, keysParameter, keys);
+    }
+
+    private <T> CriteriaQuery<T> getCriteriaQuery(
+        CriteriaQuery<T> query,
+        Root<?> from,
+        DataFetchingEnvironment environment,
+        Field field,
+        boolean isDistinct,
+        boolean keysParameter,
+        Object... keys
+    ) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
         DataFetchingEnvironment queryEnvironment = DataFetchingEnvironmentBuilder
             .newDataFetchingEnvironment(environment)
             .root(query)
@@ -848,7 +2731,7 @@ public final class GraphQLJpaQueryFactory {
 
         if (keys.length > 0) {
             if (hasIdAttribute()) {
-                predicates.add(from.get(idAttributeName()).in(keys));
+                predicates.add(getKeysPredicate(cb, from.get(idAttributeName()), Arrays.asList(keys), keysParameter));
             } // array of idClass attributes
             else if (hasIdClassAttribue()) {
                 String[] names = idClassAttributeNames();
@@ -979,7 +2862,11 @@ public final class GraphQLJpaQueryFactory {
                     // Let's join fetch element collections to avoid filtering their values used where search criteria
                     if (PersistentAttributeType.ELEMENT_COLLECTION == attribute.getPersistentAttributeType()) {
                         from.fetch(selection.getName(), JoinType.LEFT);
-                    } else if (!whereArgument.isPresent() && !hasAnySelectionOrderBy(selection)) {
+                    } else if (
+                        !whereArgument.isPresent() &&
+                        !hasAnySelectionOrderBy(selection) &&
+                        getPageArgument(selection).isEmpty()
+                    ) {
                         fetch = reuseFetch(from, selection.getName(), isOptional);
                     }
                 }
@@ -1593,7 +3480,7 @@ public final class GraphQLJpaQueryFactory {
                 )
             )
             .sorted()
-            .map(it -> pb.getPredicate(path, path.get(it.getField()), it))
+            .map(it -> getFilterPredicate(pb, path, it))
             .filter(predicate -> predicate != null)
             .forEach(predicates::add);
 
@@ -1626,6 +3513,16 @@ public final class GraphQLJpaQueryFactory {
         }
     }
 
+    private Predicate getFilterPredicate(JpaPredicateBuilder pb, From<?, ?> path, PredicateFilter filter) {
+        QueryTemplateParameters parameters = queryTemplateParameters.get();
+
+        if (parameters != null && parameters.isRegistered(filter)) {
+            return parameters.getPredicate(filter, path.get(filter.getField()));
+        }
+
+        return pb.getPredicate(path, path.get(filter.getField()), filter);
+    }
+
     private PredicateFilter getPredicateFilter(
         ObjectField objectField,
         DataFetchingEnvironment environment,
@@ -1647,7 +3544,24 @@ public final class GraphQLJpaQueryFactory {
 
         Attribute attribute = getAttribute(environment, objectField.getName());
 
-        return new PredicateFilter(objectField.getName(), filterValue, options, attribute);
+        PredicateFilter filter = new PredicateFilter(objectField.getName(), filterValue, options, attribute);
+        QueryTemplateParameters parameters = queryTemplateParameters.get();
+
+        // Let's bind variable comparison operands of compiled query templates as parameters
+        if (
+            parameters != null &&
+            argument.getValue() instanceof VariableReference variableReference &&
+            QUERY_TEMPLATE_PARAMETER_CRITERIA.contains(argument.getName()) &&
+            QueryTemplateParameters.isBindable(filterValue)
+        ) {
+            parameters.register(
+                filter,
+                variableReference.getName(),
+                getJavaType(dataFetchingEnvironment, dataFetchingArgument)
+            );
+        }
+
+        return filter;
     }
 
     protected DataFetchingEnvironment argumentEnvironment(
@@ -1776,20 +3690,14 @@ public final class GraphQLJpaQueryFactory {
 
                     return values;
                 } else {
-                    return Enum.valueOf(javaType, argumentValue.toString());
+                    return convertVariableValue(javaType, argumentValue);
                 }
             } else {
-                Coercing<?, ?> coercing = JavaScalars.of(javaType).getCoercing();
-                Function<Object, Object> valueConverter = it ->
-                    (it == null || javaType.isInstance(it))
-                        ? it
-                        : coercing.parseValue(it, new GraphQLContext.Builder().build(), Locale.ROOT);
-
                 if (argumentValue instanceof Collection<?> argumentValues) {
-                    return argumentValues.stream().map(valueConverter).toList();
+                    return argumentValues.stream().map(it -> convertVariableValue(javaType, it)).toList();
                 } else {
                     // Get resolved variable in environment arguments
-                    return valueConverter.apply(argumentValue);
+                    return convertVariableValue(javaType, argumentValue);
                 }
             }
         } else if (value instanceof ArrayValue) {
@@ -1852,6 +3760,26 @@ public final class GraphQLJpaQueryFactory {
         return value;
     }
 
+    /**
+     * Converts variable value into Java type of the query argument attribute.
+     *
+     * @param javaType attribute Java type
+     * @param value variable value
+     * @return converted value
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    protected Object convertVariableValue(Class javaType, Object value) {
+        if (javaType.isEnum()) {
+            return Enum.valueOf(javaType, value.toString());
+        }
+
+        return (value == null || javaType.isInstance(value))
+            ? value
+            : JavaScalars.of(javaType)
+                .getCoercing()
+                .parseValue(value, new GraphQLContext.Builder().build(), Locale.ROOT);
+    }
+
     private Object getJavaBeanValue(Class<?> javaType, Map<String, Object> values) throws Exception {
         Constructor<?> constructor = javaType.getConstructor();
         constructor.setAccessible(true);
@@ -1954,104 +3882,400 @@ public final class GraphQLJpaQueryFactory {
         return graphQLObjectTypeMetadata.entity(objectType.getName());
     }
 
-    private EmbeddableType<?> getEmbeddableType(GraphQLObjectType objectType) {
-        return embeddableTypeMap.computeIfAbsent(objectType, this::computeEmbeddableType);
+    private EmbeddableType<?> getEmbeddableType(GraphQLObjectType objectType) {
+        return embeddableTypeMap.computeIfAbsent(objectType, this::computeEmbeddableType);
+    }
+
+    private EmbeddableType<?> computeEmbeddableType(GraphQLObjectType objectType) {
+        return graphQLObjectTypeMetadata.embeddable(objectType.getName());
+    }
+
+    /**
+     * Resolve GraphQL object type from Argument output type.
+     *
+     * @param environment
+     * @return resolved GraphQL object type or null if no output type is provided
+     */
+    private GraphQLObjectType getObjectType(DataFetchingEnvironment environment) {
+        return getObjectType(environment.getFieldType());
+    }
+
+    private GraphQLObjectType getObjectType(GraphQLType outputType) {
+        if (outputType instanceof GraphQLList) outputType = ((GraphQLList) outputType).getWrappedType();
+
+        if (outputType instanceof GraphQLObjectType) return (GraphQLObjectType) outputType;
+
+        return null;
+    }
+
+    protected Optional<Argument> extractArgument(Field field, String argumentName) {
+        return field.getArguments().stream().filter(it -> argumentName.equals(it.getName())).findFirst();
+    }
+
+    protected Argument extractArgument(Field field, String argumentName, Value defaultValue) {
+        return extractArgument(field, argumentName).orElse(new Argument(argumentName, defaultValue));
+    }
+
+    protected GraphQLFieldDefinition getFieldDefinition(
+        GraphQLSchema schema,
+        GraphQLObjectType parentType,
+        Field field
+    ) {
+        if (schema.getQueryType() == parentType) {
+            if (field.getName().equals(SchemaMetaFieldDef.getName())) {
+                return SchemaMetaFieldDef;
+            }
+            if (field.getName().equals(TypeMetaFieldDef.getName())) {
+                return TypeMetaFieldDef;
+            }
+        }
+        if (field.getName().equals(TypeNameMetaFieldDef.getName())) {
+            return TypeNameMetaFieldDef;
+        }
+
+        GraphQLFieldDefinition fieldDefinition = parentType.getFieldDefinition(field.getName());
+
+        if (fieldDefinition != null) {
+            return fieldDefinition;
+        }
+
+        throw new GraphQLException("unknown field " + field.getName());
+    }
+
+    protected boolean hasSelectionSet(Field field) {
+        return field.getSelectionSet() != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <T> T getArgumentValue(DataFetchingEnvironment environment, Argument argument, Class<T> type) {
+        Value<?> value = argument.getValue();
+
+        if (VariableReference.class.isInstance(value)) {
+            return (T) environment.getVariables().get(VariableReference.class.cast(value).getName());
+        } else if (BooleanValue.class.isInstance(value)) {
+            return (T) Boolean.valueOf(BooleanValue.class.cast(value).isValue());
+        } else if (IntValue.class.isInstance(value)) {
+            return (T) IntValue.class.cast(value).getValue();
+        } else if (StringValue.class.isInstance(value)) {
+            return (T) StringValue.class.cast(value).getValue();
+        } else if (FloatValue.class.isInstance(value)) {
+            return (T) FloatValue.class.cast(value).getValue();
+        } else if (NullValue.class.isInstance(value)) {
+            return null;
+        }
+
+        throw new IllegalArgumentException("Not supported");
+    }
+
+    protected boolean isPersistent(DataFetchingEnvironment environment, String attributeName) {
+        GraphQLObjectType objectType = getObjectType(environment);
+        EntityType<?> entityType = getEntityType(objectType);
+
+        return isPersistent(entityType, attributeName);
+    }
+
+    protected boolean isPersistent(EntityType<?> entityType, String attributeName) {
+        try {
+            return entityType.getAttribute(attributeName) != null;
+        } catch (Exception ignored) {}
+
+        return false;
+    }
+
+    /**
+     * Returns true if the query can be compiled into a cached template, i.e. query template cache is enabled
+     * and query keys, if any, can be bound as a single collection parameter.
+     *
+     * @param restricted true if query is restricted by keys
+     * @return true if query template cache can be used
+     */
+    protected boolean isQueryTemplate(boolean restricted) {
+        return queryTemplateCache != null && (!restricted || hasIdAttribute());
+    }
+
+    private <T> QueryTemplate<T> getQueryTemplate(
+        Operation operation,
+        DataFetchingEnvironment environment,
+        Field field,
+        boolean restricted,
+        Supplier<CriteriaQuery<T>> compiler
+    ) {
+        return queryTemplateCache.getTemplate(
+            new QueryTemplateKey(entityType.getName(), operation, restricted, getQueryDocument(environment, field)),
+            environment.getVariables(),
+            () -> compileQueryTemplate(environment, field, compiler)
+        );
+    }
+
+    private <T> QueryTemplate<T> compileQueryTemplate(
+        DataFetchingEnvironment environment,
+        Field field,
+        Supplier<CriteriaQuery<T>> compiler
+    ) {
+        QueryTemplateParameters parameters = new QueryTemplateParameters(entityManager.getCriteriaBuilder());
+        QueryTemplateParameters outerParameters = queryTemplateParameters.get();
+        CriteriaQuery<T> criteriaQuery;
+
+        queryTemplateParameters.set(parameters);
+
+        try {
+            criteriaQuery = compiler.get();
+        } finally {
+            queryTemplateParameters.set(outerParameters);
+        }
+
+        // Let's match the template by values of variables that are not bound as parameters
+        Map<String, Boolean> parameterVariables = new HashMap<>();
+        Map<String, Object> variables = new HashMap<>();
+
+        Stream
+            .concat(Stream.of(field), environment.getFragmentsByName().values().stream())
+            .forEach(node -> collectQueryTemplateVariables(node, false, parameterVariables));
+
+        parameterVariables.forEach((name, parameter) -> {
+            if (!parameter || !parameters.isBound(name)) {
+                variables.put(name, environment.getVariables().get(name));
+            }
+        });
+
+        return new QueryTemplate<>(criteriaQuery, variables, parameters.getParameters());
+    }
+
+    // Let's find variables used only as comparison operands of where criteria expressions
+    private static void collectQueryTemplateVariables(
+        Node<?> node,
+        boolean parameter,
+        Map<String, Boolean> variables
+    ) {
+        if (node instanceof VariableReference variableReference) {
+            variables.merge(variableReference.getName(), parameter, Boolean::logicalAnd);
+        }
+
+        boolean operand =
+            node instanceof ObjectField objectField &&
+            QUERY_TEMPLATE_PARAMETER_CRITERIA.contains(objectField.getName()) &&
+            objectField.getValue() instanceof VariableReference;
+
+        for (Node<?> child : node.getChildren()) {
+            collectQueryTemplateVariables(child, operand, variables);
+        }
+    }
+
+    /**
+     * Returns result cache key of the query field with its selection, variable values and restricted keys.
+     *
+     * @param environment data fetching environment
+     * @param restrictedKeys restricted keys
+     * @return query result key
+     */
+    ResultKey getResultKey(DataFetchingEnvironment environment, Optional<List<Object>> restrictedKeys) {
+        return new ResultKey(
+            entityType.getName(),
+            getQueryDocument(environment, environment.getField()),
+            new HashMap<>(environment.getVariables()),
+            restrictedKeys.<List<Object>>map(ArrayList::new)
+        );
+    }
+
+    /**
+     * Returns java types of the entity and all entities reachable by its associations, including associations
+     * of embeddables, because nested selections and where predicates may read any of them.
+     *
+     * @return entity types read by queries of this entity
+     */
+    Set<Class<?>> getResultEntityTypes() {
+        Set<Class<?>> entityTypes = resultEntityTypes;
+
+        if (entityTypes == null) {
+            Set<Class<?>> reachableTypes = new LinkedHashSet<>();
+            Deque<ManagedType<?>> managedTypes = new ArrayDeque<>(List.of(entityType));
+            Set<ManagedType<?>> visitedTypes = new HashSet<>();
+
+            reachableTypes.add(entityType.getJavaType());
+
+            while (!managedTypes.isEmpty()) {
+                ManagedType<?> managedType = managedTypes.pop();
+
+                if (!visitedTypes.add(managedType)) {
+                    continue;
+                }
+
+                for (Attribute<?, ?> attribute : managedType.getAttributes()) {
+                    Type<?> type = attribute instanceof PluralAttribute<?, ?, ?> pluralAttribute
+                        ? pluralAttribute.getElementType()
+                        : ((SingularAttribute<?, ?>) attribute).getType();
+
+                    if (type instanceof EntityType<?> associatedType) {
+                        reachableTypes.add(associatedType.getJavaType());
+                        managedTypes.push(associatedType);
+                    } else if (type instanceof EmbeddableType<?> embeddableType) {
+                        managedTypes.push(embeddableType);
+                    }
+                }
+            }
+
+            entityTypes = resultEntityTypes = Collections.unmodifiableSet(reachableTypes);
+        }
+
+        return entityTypes;
     }
 
-    private EmbeddableType<?> computeEmbeddableType(GraphQLObjectType objectType) {
-        return graphQLObjectTypeMetadata.embeddable(objectType.getName());
+    // Let's normalize query field with referenced fragments, variable values are resolved from the environment
+    private String getQueryDocument(DataFetchingEnvironment environment, Field field) {
+        return environment.getFragmentsByName().isEmpty()
+            ? AstPrinter.printAstCompact(field)
+            : Stream
+                .concat(Stream.of(field), environment.getFragmentsByName().values().stream())
+                .map(AstPrinter::printAstCompact)
+                .collect(Collectors.joining(" "));
     }
 
     /**
-     * Resolve GraphQL object type from Argument output type.
+     * Returns true if query keys are bound as a single named parameter instead of a list of values, so that
+     * queries with different number of keys can share the same SQL statement.
      *
-     * @param environment
-     * @return resolved GraphQL object type or null if no output type is provided
+     * @return true if keys parameter binding is used
      */
-    private GraphQLObjectType getObjectType(DataFetchingEnvironment environment) {
-        return getObjectType(environment.getFieldType());
+    protected boolean isKeysParameter() {
+        return queryTemplateCache != null || inListBinding != InListBinding.VALUES;
     }
 
-    private GraphQLObjectType getObjectType(GraphQLType outputType) {
-        if (outputType instanceof GraphQLList) outputType = ((GraphQLList) outputType).getWrappedType();
+    /**
+     * Returns true if query keys are bound as a single array parameter.
+     *
+     * @return true if array binding is enabled and supported by the database dialect
+     */
+    public boolean isArrayInListBinding() {
+        if (inListBinding != InListBinding.ARRAY) {
+            return false;
+        }
 
-        if (outputType instanceof GraphQLObjectType) return (GraphQLObjectType) outputType;
+        if (arrayBindingSupported == null) {
+            arrayBindingSupported = supportsDialectFeature(entityManager, "supportsStandardArrays");
+        }
 
-        return null;
+        return arrayBindingSupported;
     }
 
-    protected Optional<Argument> extractArgument(Field field, String argumentName) {
-        return field.getArguments().stream().filter(it -> argumentName.equals(it.getName())).findFirst();
+    private Predicate getKeysPredicate(CriteriaBuilder cb, Path<?> idPath, Collection<?> keys, boolean keysParameter) {
+        if (!keysParameter) {
+            return idPath.in(keys);
+        }
+
+        return getKeysPredicate(cb, idPath, getKeysParameter(cb, idPath));
     }
 
-    protected Argument extractArgument(Field field, String argumentName, Value defaultValue) {
-        return extractArgument(field, argumentName).orElse(new Argument(argumentName, defaultValue));
+    // Keys parameter expression can be shared by several predicates of the same query, so that it is bound once
+    private ParameterExpression<?> getKeysParameter(CriteriaBuilder cb, Path<?> idPath) {
+        return isArrayInListBinding()
+            ? cb.parameter(getKeysArrayType(idPath.getJavaType()), KEYS_PARAMETER_NAME)
+            : cb.parameter(Collection.class, KEYS_PARAMETER_NAME);
     }
 
-    protected GraphQLFieldDefinition getFieldDefinition(
-        GraphQLSchema schema,
-        GraphQLObjectType parentType,
-        Field field
-    ) {
-        if (schema.getQueryType() == parentType) {
-            if (field.getName().equals(SchemaMetaFieldDef.getName())) {
-                return SchemaMetaFieldDef;
-            }
-            if (field.getName().equals(TypeMetaFieldDef.getName())) {
-                return TypeMetaFieldDef;
-            }
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private Predicate getKeysPredicate(CriteriaBuilder cb, Path<?> idPath, ParameterExpression<?> parameter) {
+        if (parameter.getJavaType().isArray()) {
+            // Let's bind keys as a single array parameter compared with id = any(?), so that the database
+            // can still use the primary key index
+            return cb.equal(idPath, cb.function(ANY_FUNCTION, idPath.getJavaType(), parameter));
         }
-        if (field.getName().equals(TypeNameMetaFieldDef.getName())) {
-            return TypeNameMetaFieldDef;
+
+        return idPath.in((Expression<Collection<?>>) parameter);
+    }
+
+    private <T> TypedQuery<T> bindKeysParameter(TypedQuery<T> query, Collection<?> keys) {
+        if (!hasIdAttribute()) {
+            return query;
         }
 
-        GraphQLFieldDefinition fieldDefinition = parentType.getFieldDefinition(field.getName());
+        return bindKeysParameter(query, keys, entityType.getIdType().getJavaType());
+    }
 
-        if (fieldDefinition != null) {
-            return fieldDefinition;
+    private <T> TypedQuery<T> bindKeysParameter(TypedQuery<T> query, Collection<?> keys, Class<?> idType) {
+        if (keys.isEmpty()) {
+            return query;
         }
 
-        throw new GraphQLException("unknown field " + field.getName());
+        if (isArrayInListBinding()) {
+            Class<?> componentType = getKeysArrayType(idType).getComponentType();
+
+            return query.setParameter(
+                KEYS_PARAMETER_NAME,
+                keys.toArray((Object[]) Array.newInstance(componentType, keys.size()))
+            );
+        }
+
+        // Let's leave padding of the IN-list parameter to hibernate.query.in_clause_parameter_padding setting
+        return query.setParameter(KEYS_PARAMETER_NAME, keys);
     }
 
-    protected boolean hasSelectionSet(Field field) {
-        return field.getSelectionSet() != null;
+    private static Class<?> getKeysArrayType(Class<?> idType) {
+        if (idType.isPrimitive()) {
+            idType = MethodType.methodType(idType).wrap().returnType();
+        }
+
+        return Array.newInstance(idType, 0).getClass();
     }
 
-    @SuppressWarnings("unchecked")
-    protected <T> T getArgumentValue(DataFetchingEnvironment environment, Argument argument, Class<T> type) {
-        Value<?> value = argument.getValue();
+    private <T> TypedQuery<T> bindQueryTemplate(
+        QueryTemplate<T> template,
+        DataFetchingEnvironment environment,
+        Collection<?> keys
+    ) {
+        TypedQuery<T> query = entityManager.createQuery(copyCriteriaQuery(template.criteriaQuery()));
+
+        bindKeysParameter(query, keys);
+
+        template
+            .parameters()
+            .forEach((name, parameter) ->
+                query.setParameter(
+                    name,
+                    convertVariableValue(
+                        parameter.javaType(),
+                        environment.getVariables().get(parameter.variableName())
+                    )
+                )
+            );
 
-        if (VariableReference.class.isInstance(value)) {
-            return (T) environment.getVariables().get(VariableReference.class.cast(value).getName());
-        } else if (BooleanValue.class.isInstance(value)) {
-            return (T) Boolean.valueOf(BooleanValue.class.cast(value).isValue());
-        } else if (IntValue.class.isInstance(value)) {
-            return (T) IntValue.class.cast(value).getValue();
-        } else if (StringValue.class.isInstance(value)) {
-            return (T) StringValue.class.cast(value).getValue();
-        } else if (FloatValue.class.isInstance(value)) {
-            return (T) FloatValue.class.cast(value).getValue();
-        } else if (NullValue.class.isInstance(value)) {
-            return null;
+        // Let's reuse Hibernate's interpretation of the cached criteria query template
+        if (setQueryPlanCacheableMethod != null && setQueryPlanCacheableMethod.getDeclaringClass().isInstance(query)) {
+            try {
+                setQueryPlanCacheableMethod.invoke(query, true);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Unable to set query plan cacheable for query template", e);
+            }
         }
 
-        throw new IllegalArgumentException("Not supported");
+        return query;
     }
 
-    protected boolean isPersistent(DataFetchingEnvironment environment, String attributeName) {
-        GraphQLObjectType objectType = getObjectType(environment);
-        EntityType<?> entityType = getEntityType(objectType);
+    // Let's not share cached criteria query instance between sessions, Hibernate resolves its state on execution
+    @SuppressWarnings("unchecked")
+    private static <T> CriteriaQuery<T> copyCriteriaQuery(CriteriaQuery<T> criteriaQuery) {
+        if (!copyCriteriaQueryMethod.getDeclaringClass().isInstance(criteriaQuery)) {
+            throw new IllegalStateException("Unable to copy query template criteria query " + criteriaQuery);
+        }
 
-        return isPersistent(entityType, attributeName);
+        try {
+            return (CriteriaQuery<T>) copyCriteriaQueryMethod.invoke(criteriaQuery, simpleCopyContextMethod.invoke(null));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to copy query template criteria query " + criteriaQuery, e);
+        }
     }
 
-    protected boolean isPersistent(EntityType<?> entityType, String attributeName) {
-        try {
-            return entityType.getAttribute(attributeName) != null;
-        } catch (Exception ignored) {}
+    // Cached criteria query templates are copied for each execution, so the cache is disabled if the copy
+    // is not supported by the JPA provider
+    private static GraphQLJpaQueryTemplateCache getQueryTemplateCache(
+        GraphQLJpaQueryTemplateCache queryTemplateCache
+    ) {
+        if (queryTemplateCache != null && copyCriteriaQueryMethod == null) {
+            logger.warn("Query template cache is disabled. Criteria query copy is not supported by JPA provider");
 
-        return false;
+            return null;
+        }
+
+        return queryTemplateCache;
     }
 
     protected String getJPQLQueryString(TypedQuery<?> query) {
@@ -2067,6 +4291,84 @@ public final class GraphQLJpaQueryFactory {
         return null;
     }
 
+    @SuppressWarnings("unchecked")
+    private static Expression<Long> countOver(CriteriaBuilder cb, Expression<?> argument) {
+        try {
+            Object window = createWindowMethod.invoke(cb);
+
+            return (Expression<Long>) countOverMethod.invoke(cb, argument, window);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("COUNT(*) OVER() window function is not supported", e);
+        }
+    }
+
+    private static boolean supportsWindowFunctions(EntityManager entityManager) {
+        return supportsDialectFeature(entityManager, "supportsWindowFunctions");
+    }
+
+    private static boolean supportsDialectFeature(EntityManager entityManager, String feature) {
+        try {
+            Object dialect = resolveDialect(entityManager);
+
+            return Boolean.TRUE.equals(dialect.getClass().getMethod(feature).invoke(dialect));
+        } catch (Exception e) {
+            logger.warn("Unable to resolve dialect {} for {}: {}", feature, entityManager, e.getMessage());
+        }
+
+        return false;
+    }
+
+    private static DialectFamily resolveDialectFamily(EntityManager entityManager) {
+        try {
+            Object dialect = resolveDialect(entityManager);
+
+            for (DialectFamily dialectFamily : DialectFamily.values()) {
+                if (dialectFamily.isInstance(dialect)) {
+                    return dialectFamily;
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Unable to resolve dialect for {}: {}", entityManager, e.getMessage());
+        }
+
+        return DialectFamily.DEFAULT;
+    }
+
+    // Dialects with time bucket functions other than date_trunc matched by Hibernate dialect base class,
+    // i.e. MariaDBDialect extends MySQLDialect
+    private enum DialectFamily {
+        ORACLE("org.hibernate.dialect.OracleDialect"),
+        MYSQL("org.hibernate.dialect.MySQLDialect"),
+        SQL_SERVER("org.hibernate.dialect.SQLServerDialect"),
+        DEFAULT(null);
+
+        private final String dialectClassName;
+
+        DialectFamily(String dialectClassName) {
+            this.dialectClassName = dialectClassName;
+        }
+
+        boolean isInstance(Object dialect) {
+            if (dialectClassName == null) {
+                return false;
+            }
+
+            try {
+                return Class.forName(dialectClassName, false, dialect.getClass().getClassLoader()).isInstance(dialect);
+            } catch (ClassNotFoundException e) {
+                return false;
+            }
+        }
+    }
+
+    private static Object resolveDialect(EntityManager entityManager) throws ReflectiveOperationException {
+        Class<?> sessionFactoryClass = Class.forName("org.hibernate.engine.spi.SessionFactoryImplementor");
+        Object sessionFactory = entityManager.getEntityManagerFactory().unwrap(sessionFactoryClass);
+        Object jdbcServices = sessionFactoryClass.getMethod("getJdbcServices").invoke(sessionFactory);
+
+        return jdbcServices.getClass().getMethod("getDialect").invoke(jdbcServices);
+    }
+
     private boolean hasIdAttribute() {
         return entityType.getIdType() != null && entityType.hasSingleIdAttribute();
     }
@@ -2103,6 +4405,10 @@ public final class GraphQLJpaQueryFactory {
      */
     @SuppressWarnings("unchecked")
     protected <E, T> T getAttributeValue(T entity, SingularAttribute<E, T> field) {
+        if (entity instanceof Map<?, ?> projection) {
+            return (T) projection.get(field.getName());
+        }
+
         try {
             Member member = field.getJavaMember();
             if (member instanceof Method) {
@@ -2244,16 +4550,74 @@ public final class GraphQLJpaQueryFactory {
         return (T) unproxy.apply(entityProxy);
     }
 
-    private <T> T unproxyAndThenDetach(T entityProxy) {
-        return (T) unproxy.andThen(this::detach).apply(entityProxy);
-    }
+    // Let's resolve read-only session once per query and pass it down, instead of unwrapping session per entity
+    private <T> T unproxyAndThenDetach(T entityProxy, boolean detach) {
+        T entity = unproxy(entityProxy);
 
-    private <T> T detach(T entity) {
-        entityManager.detach(entity);
+        if (detach) {
+            entityManager.detach(entity);
+        }
 
         return entity;
     }
 
+    // Managed entities keep association collections fetched with where filters, so that other fields of the same
+    // execution would resolve the same entities with filtered collections. Let's detach results of executions with
+    // association filters even in read-only session
+    private static boolean isDetachResult(boolean readOnly, boolean associationFilters) {
+        return !readOnly || associationFilters;
+    }
+
+    /**
+     * Returns true if the operation of the environment has where arguments on fields nested in root query fields,
+     * i.e. associations fetched with filters.
+     *
+     * @param environment data fetching environment
+     * @return true if nested fields of the operation have where arguments
+     */
+    protected static boolean hasAssociationFilters(DataFetchingEnvironment environment) {
+        Stream<Node<?>> rootSelections = environment
+            .getOperationDefinition()
+            .getSelectionSet()
+            .getSelections()
+            .stream()
+            .map(selection -> selection instanceof Field field ? field.getSelectionSet() : selection);
+
+        return Stream
+            .concat(rootSelections, environment.getFragmentsByName().values().stream())
+            .filter(Objects::nonNull)
+            .anyMatch(GraphQLJpaQueryFactory::hasWhereArgument);
+    }
+
+    private static boolean hasWhereArgument(Node<?> node) {
+        if (node instanceof Field field && field.getArguments().stream().anyMatch(GraphQLSupport::isWhereArgument)) {
+            return true;
+        }
+
+        return node.getChildren().stream().anyMatch(GraphQLJpaQueryFactory::hasWhereArgument);
+    }
+
+    /**
+     * Returns true if read-only session mode is enabled and the current Hibernate session loads entities in
+     * read-only mode by default, i.e. in a read-only transaction. Read-only entities have no loaded state
+     * snapshots and are not dirty checked, so query results are left in the persistence context instead of
+     * detaching them one by one, unless the operation fetches associations with where filters, and queries
+     * skip auto flush.
+     *
+     * @return true if results are fetched in read-only session
+     */
+    protected boolean isReadOnlySession() {
+        if (!readOnlySession || isDefaultReadOnlyMethod == null) {
+            return false;
+        }
+
+        try {
+            return Boolean.TRUE.equals(isDefaultReadOnlyMethod.invoke(entityManager.unwrap(sessionClass)));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     EntityGraph<?> createEntityGraph(DataFetchingEnvironment environment) {
         Field root = environment.getMergedField().getSingleField();
         GraphQLObjectType fieldType = getObjectType(environment);
@@ -2442,6 +4806,76 @@ public final class GraphQLJpaQueryFactory {
          */
         IBuildStage withRestrictedKeysProvider(RestrictedKeysProvider restrictedKeysProvider);
 
+        /**
+         * Builder method for queryMetricsRecorder parameter.
+         * @param queryMetricsRecorder field to set
+         * @return builder
+         */
+        IBuildStage withQueryMetricsRecorder(QueryMetricsRecorder queryMetricsRecorder);
+
+        /**
+         * Builder method for concurrentQueryExecutor parameter.
+         * @param concurrentQueryExecutor field to set
+         * @return builder
+         */
+        IBuildStage withConcurrentQueryExecutor(Executor concurrentQueryExecutor);
+
+        /**
+         * Builder method for concurrentQueryPermits parameter.
+         * @param concurrentQueryPermits field to set
+         * @return builder
+         */
+        IBuildStage withConcurrentQueryPermits(Semaphore concurrentQueryPermits);
+
+        /**
+         * Builder method for windowTotalCount parameter.
+         * @param windowTotalCount field to set
+         * @return builder
+         */
+        IBuildStage withWindowTotalCount(boolean windowTotalCount);
+
+        /**
+         * Builder method for queryTemplateCache parameter.
+         * @param queryTemplateCache field to set
+         * @return builder
+         */
+        IBuildStage withQueryTemplateCache(GraphQLJpaQueryTemplateCache queryTemplateCache);
+
+        /**
+         * Builder method for inListBinding parameter.
+         * @param inListBinding field to set
+         * @return builder
+         */
+        IBuildStage withInListBinding(InListBinding inListBinding);
+
+        /**
+         * Builder method for toOneIdentityCache parameter.
+         * @param toOneIdentityCache field to set
+         * @return builder
+         */
+        IBuildStage withToOneIdentityCache(boolean toOneIdentityCache);
+
+        /**
+         * Builder method for fetchMode parameter.
+         * @param fetchMode field to set
+         * @return builder
+         */
+        IBuildStage withFetchMode(FetchMode fetchMode);
+
+        /**
+         * Builder method for readOnlySession parameter.
+         * @param readOnlySession field to set
+         * @return builder
+         */
+        IBuildStage withReadOnlySession(boolean readOnlySession);
+
+        /**
+         * Builder method for maxBatchSize parameter.
+         * @param maxBatchSize field to set
+         * @return builder
+         */
+        IBuildStage withMaxBatchSize(int maxBatchSize);
+
         /**
          * Builder method of the builder.
          * @return built class
@@ -2471,6 +4905,16 @@ public final class GraphQLJpaQueryFactory {
         private int defaultFetchSize = 100;
         private boolean resultStream = false;
         private GraphQLObjectTypeMetadata graphQLObjectTypeMetadata;
+        private QueryMetricsRecorder queryMetricsRecorder = QueryMetricsRecorder.NOOP;
+        private Executor concurrentQueryExecutor;
+        private Semaphore concurrentQueryPermits;
+        private boolean windowTotalCount = false;
+        private GraphQLJpaQueryTemplateCache queryTemplateCache;
+        private InListBinding inListBinding = InListBinding.VALUES;
+        private boolean toOneIdentityCache = false;
+        private FetchMode fetchMode = FetchMode.ENTITY;
+        private boolean readOnlySession = false;
+        private int maxBatchSize = 0;
 
         private Builder() {}
 
@@ -2537,9 +4981,71 @@ public final class GraphQLJpaQueryFactory {
             return this;
         }
 
+        @Override
+        public IBuildStage withQueryMetricsRecorder(QueryMetricsRecorder queryMetricsRecorder) {
+            this.queryMetricsRecorder = queryMetricsRecorder;
+            return this;
+        }
+
+        @Override
+        public IBuildStage withConcurrentQueryExecutor(Executor concurrentQueryExecutor) {
+            this.concurrentQueryExecutor = concurrentQueryExecutor;
+            return this;
+        }
+
+        @Override
+        public IBuildStage withConcurrentQueryPermits(Semaphore concurrentQueryPermits) {
+            this.concurrentQueryPermits = concurrentQueryPermits;
+            return this;
+        }
+
+        @Override
+        public IBuildStage withWindowTotalCount(boolean windowTotalCount) {
+            this.windowTotalCount = windowTotalCount;
+            return this;
+        }
+
+        @Override
+        public IBuildStage withQueryTemplateCache(GraphQLJpaQueryTemplateCache queryTemplateCache) {
+            this.queryTemplateCache = queryTemplateCache;
+            return this;
+        }
+
+        @Override
+        public IBuildStage withInListBinding(InListBinding inListBinding) {
+            this.inListBinding = inListBinding;
+            return this;
+        }
+
+        @Override
+        public IBuildStage withToOneIdentityCache(boolean toOneIdentityCache) {
+            this.toOneIdentityCache = toOneIdentityCache;
+            return this;
+        }
+
+        @Override
+        public IBuildStage withFetchMode(FetchMode fetchMode) {
+            this.fetchMode = fetchMode;
+            return this;
+        }
+
+        @Override
+        public IBuildStage withReadOnlySession(boolean readOnlySession) {
+            this.readOnlySession = readOnlySession;
+            return this;
+        }
+
+        @Override
+        public IBuildStage withMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
         @Override
         public GraphQLJpaQueryFactory build() {
             Objects.requireNonNull(restrictedKeysProvider, "restrictedKeysProvider must not be null");
+            Objects.requireNonNull(inListBinding, "inListBinding must not be null");
+            Objects.requireNonNull(fetchMode, "fetchMode must not be null");
 
             return new GraphQLJpaQueryFactory(this);
         }
@@ -2548,4 +5054,28 @@ public final class GraphQLJpaQueryFactory {
     public RestrictedKeysProvider getRestrictedKeysProvider() {
         return restrictedKeysProvider;
     }
+
+    /**
+     * Page keys with total count of matching entities
+     *
+     * @param keys page keys
+     * @param total total count
+     */
+    public record PagedKeys(List<Object> keys, Long total) {}
+
+    /**
+     * Aggregate function of entity attribute
+     *
+     * @param alias result alias
+     * @param function one of sum, avg, min or max function names
+     * @param attribute entity attribute name
+     */
+    public record AggregateFunction(String alias, String function, String attribute) {
+        public static final String SUM = "sum";
+        public static final String AVG = "avg";
+        public static final String MIN = "min";
+        public static final String MAX = "max";
+
+        public static final List<String> NAMES = List.of(SUM, AVG, MIN, MAX);
+    }
 }
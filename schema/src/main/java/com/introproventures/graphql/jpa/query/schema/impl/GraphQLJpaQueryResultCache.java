@@ -0,0 +1,207 @@
+/*
+ * Copyright 2017 IntroPro Ventures Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Size and time bounded LRU cache of select query results keyed by entity, normalized query field document,
+ * variable values and restricted keys.
+ *
+ * Only root query field page results are cached, i.e. page keys, select entities, total and aggregates. Nested
+ * association fields of cached entities are still resolved by batch loaders with their own queries on every
+ * execution.
+ *
+ * Each cached result records the entity types the query may read, so that results are invalidated when
+ * entities of any of these types are inserted, updated or deleted, i.e. by Hibernate post-commit event listeners.
+ * Results loaded concurrently with an invalidation are not cached, so that stale data is never served after
+ * a committed write.
+ */
+public class GraphQLJpaQueryResultCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(1);
+
+    private final int maximumSize;
+    private final Duration timeToLive;
+    private final LongSupplier ticker;
+    private final Map<ResultKey, Entry> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    public GraphQLJpaQueryResultCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE);
+    }
+
+    public GraphQLJpaQueryResultCache(int maximumSize, Duration timeToLive) {
+        this(maximumSize, timeToLive, System::nanoTime);
+    }
+
+    GraphQLJpaQueryResultCache(int maximumSize, Duration timeToLive, LongSupplier ticker) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize must not be negative: " + maximumSize);
+        }
+        if (timeToLive.isNegative()) {
+            throw new IllegalArgumentException("timeToLive must not be negative: " + timeToLive);
+        }
+
+        this.maximumSize = maximumSize;
+        this.timeToLive = timeToLive;
+        this.ticker = ticker;
+        this.cache =
+            Collections.synchronizedMap(
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<ResultKey, Entry> eldest) {
+                        if (size() > GraphQLJpaQueryResultCache.this.maximumSize) {
+                            evictionCount.incrementAndGet();
+                            return true;
+                        }
+                        return false;
+                    }
+                }
+            );
+    }
+
+    /**
+     * Returns cached result for the key, or loads and caches a new one.
+     *
+     * @param key query result key
+     * @param entityTypes entity types read by the query
+     * @param loader query result loader
+     * @return query result
+     */
+    @SuppressWarnings("unchecked")
+    <T> T getResult(ResultKey key, Set<Class<?>> entityTypes, Supplier<T> loader) {
+        if (maximumSize == 0 || timeToLive.isZero()) {
+            return loader.get();
+        }
+
+        Entry entry = cache.get(key);
+
+        if (entry != null) {
+            if (ticker.getAsLong() - entry.expiresAt() < 0) {
+                hitCount.incrementAndGet();
+
+                return (T) entry.result();
+            }
+
+            if (cache.remove(key, entry)) {
+                evictionCount.incrementAndGet();
+            }
+        }
+
+        missCount.incrementAndGet();
+
+        final long loadGeneration = generation.get();
+
+        T result = loader.get();
+
+        synchronized (cache) {
+            // Let's skip results which may have been loaded before a concurrent write was committed
+            if (loadGeneration == generation.get()) {
+                cache.put(key, new Entry(result, entityTypes, ticker.getAsLong() + timeToLive.toNanos()));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Removes cached results of the queries, which may read entities of the changed entity type,
+     * including its super and sub types.
+     *
+     * @param entityType changed entity type
+     */
+    public void invalidate(Class<?> entityType) {
+        synchronized (cache) {
+            generation.incrementAndGet();
+
+            cache
+                .values()
+                .removeIf(entry -> {
+                    boolean stale = entry
+                        .entityTypes()
+                        .stream()
+                        .anyMatch(it -> it.isAssignableFrom(entityType) || entityType.isAssignableFrom(it));
+
+                    if (stale) {
+                        invalidationCount.incrementAndGet();
+                    }
+
+                    return stale;
+                });
+        }
+    }
+
+    public void clear() {
+        synchronized (cache) {
+            generation.incrementAndGet();
+            cache.clear();
+        }
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    public long getInvalidationCount() {
+        return invalidationCount.get();
+    }
+
+    record ResultKey(
+        String entityName,
+        String document,
+        Map<String, Object> variables,
+        Optional<List<Object>> restrictedKeys
+    ) {}
+
+    private record Entry(Object result, Set<Class<?>> entityTypes, long expiresAt) {}
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2017 IntroPro Ventures Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import com.introproventures.graphql.jpa.query.schema.impl.PredicateFilter.Criteria;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Predicate;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Size bounded LRU cache of compiled query templates keyed by entity, operation and normalized query field
+ * document shape.
+ *
+ * Compiled templates are criteria queries with page and restricted keys bound as a named collection parameter,
+ * and variables used as comparison operands of where criteria expressions bound as named parameters, so that
+ * repeated executions with different variable values skip rebuilding of predicates, joins and order by from
+ * the query AST. Variables that change the shape of the query, i.e. null values, lists, like patterns or whole
+ * where arguments, are matched by value against the values the template was compiled with.
+ *
+ * Cached templates are never passed to the entity manager directly, executions create queries from a copy of
+ * the template criteria query.
+ */
+public class GraphQLJpaQueryTemplateCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private final int maximumSize;
+    private final Map<QueryTemplateKey, QueryTemplate<?>> cache;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public GraphQLJpaQueryTemplateCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public GraphQLJpaQueryTemplateCache(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize must not be negative: " + maximumSize);
+        }
+
+        this.maximumSize = maximumSize;
+        this.cache =
+            Collections.synchronizedMap(
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<QueryTemplateKey, QueryTemplate<?>> eldest) {
+                        if (size() > GraphQLJpaQueryTemplateCache.this.maximumSize) {
+                            evictionCount.incrementAndGet();
+                            return true;
+                        }
+                        return false;
+                    }
+                }
+            );
+    }
+
+    /**
+     * Returns cached query template for the key compiled with matching variable values, or compiles and caches
+     * a new one.
+     *
+     * @param key query template key
+     * @param variables query variable values
+     * @param compiler query template compiler
+     * @return compiled query template
+     */
+    @SuppressWarnings("unchecked")
+    <T> QueryTemplate<T> getTemplate(
+        QueryTemplateKey key,
+        Map<String, Object> variables,
+        Supplier<QueryTemplate<T>> compiler
+    ) {
+        if (maximumSize == 0) {
+            return compiler.get();
+        }
+
+        QueryTemplate<T> template = (QueryTemplate<T>) cache.get(key);
+
+        if (template != null && template.matches(variables)) {
+            hitCount.incrementAndGet();
+
+            return template;
+        }
+
+        missCount.incrementAndGet();
+
+        template = compiler.get();
+
+        cache.put(key, template);
+
+        return template;
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    enum Operation {
+        SELECT,
+        SELECT_DISTINCT,
+        PROJECTION,
+        PROJECTION_DISTINCT,
+        KEYS,
+        KEYS_WITH_TOTAL_COUNT,
+        COUNT,
+    }
+
+    record QueryTemplateKey(String entityName, Operation operation, boolean restricted, String document) {}
+
+    /**
+     * Compiled query template.
+     *
+     * @param criteriaQuery template criteria query
+     * @param variables values of variables the template shape depends on
+     * @param parameters template parameters by name
+     */
+    record QueryTemplate<T>(
+        CriteriaQuery<T> criteriaQuery,
+        Map<String, Object> variables,
+        Map<String, QueryTemplateParameter> parameters
+    ) {
+        boolean matches(Map<String, Object> values) {
+            for (Map.Entry<String, Object> variable : variables.entrySet()) {
+                if (!Objects.equals(values.get(variable.getKey()), variable.getValue())) {
+                    return false;
+                }
+            }
+
+            for (QueryTemplateParameter parameter : parameters.values()) {
+                if (!QueryTemplateParameters.isBindable(values.get(parameter.variableName()))) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * Template parameter bound to the value of the variable converted into the attribute java type.
+     *
+     * @param variableName variable name
+     * @param javaType attribute java type
+     */
+    record QueryTemplateParameter(String variableName, Class<?> javaType) {}
+
+    /**
+     * Collects template parameters while a query template is compiled. Comparison filters of variables are
+     * registered as parameter slots when their predicates are built, if the filter predicate compares the attribute
+     * with the filter value as is. Registered filter predicates are built with a named parameter of the variable in
+     * the operand slot. Variables of other filters, i.e. like patterns, case-insensitive or negated boolean
+     * comparisons, are not parameterized and remain part of the template shape.
+     */
+    static class QueryTemplateParameters {
+
+        private static final Set<Class<?>> COMPARABLE_TYPES = Set.of(
+            Long.class,
+            BigInteger.class,
+            Integer.class,
+            Short.class,
+            Byte.class,
+            BigDecimal.class,
+            Double.class,
+            Float.class,
+            LocalDate.class,
+            LocalDateTime.class,
+            Instant.class,
+            LocalTime.class,
+            ZonedDateTime.class,
+            OffsetDateTime.class
+        );
+
+        private final CriteriaBuilder cb;
+        private final Map<PredicateFilter, QueryTemplateParameter> slots = new IdentityHashMap<>();
+        private final Map<QueryTemplateParameter, ParameterExpression<?>> expressions = new HashMap<>();
+        private final Map<String, QueryTemplateParameter> parameters = new LinkedHashMap<>();
+        private final Set<String> boundVariables = new HashSet<>();
+        private final Set<String> unboundVariables = new HashSet<>();
+
+        QueryTemplateParameters(CriteriaBuilder cb) {
+            this.cb = cb;
+        }
+
+        static boolean isBindable(Object value) {
+            return value != null && !(value instanceof Collection) && !value.getClass().isArray();
+        }
+
+        /**
+         * Registers comparison operand of the filter as parameter slot of the variable, or keeps the variable in
+         * the template shape if the filter predicate does not compare the attribute with the filter value as is.
+         *
+         * @param filter variable comparison filter
+         * @param variableName variable name
+         * @param javaType attribute java type
+         */
+        void register(PredicateFilter filter, String variableName, Class<?> javaType) {
+            if (isComparison(filter)) {
+                slots.put(filter, new QueryTemplateParameter(variableName, javaType));
+            } else {
+                unboundVariables.add(variableName);
+            }
+        }
+
+        boolean isRegistered(PredicateFilter filter) {
+            return slots.containsKey(filter);
+        }
+
+        /**
+         * Builds comparison predicate of the registered filter with the variable parameter in its operand slot.
+         *
+         * @param filter registered filter
+         * @param field filter attribute expression
+         * @return filter predicate
+         */
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        Predicate getPredicate(PredicateFilter filter, Expression field) {
+            QueryTemplateParameter parameter = slots.get(filter);
+            Expression operand = getExpression(parameter);
+
+            boundVariables.add(parameter.variableName());
+
+            return switch (filter.getCriterias().iterator().next()) {
+                case EQ -> cb.equal(field, operand);
+                case NE -> cb.notEqual(field, operand);
+                case GT -> cb.greaterThan(field, operand);
+                case GE -> cb.greaterThanOrEqualTo(field, operand);
+                case LT -> cb.lessThan(field, operand);
+                case LE -> cb.lessThanOrEqualTo(field, operand);
+                default -> throw new IllegalStateException("Unsupported query template filter " + filter);
+            };
+        }
+
+        /**
+         * Returns true if all compiled filters of the variable bound its value as parameter.
+         *
+         * @param variableName variable name
+         * @return true if variable value is bound as parameter
+         */
+        boolean isBound(String variableName) {
+            return boundVariables.contains(variableName) && !unboundVariables.contains(variableName);
+        }
+
+        Map<String, QueryTemplateParameter> getParameters() {
+            return Collections.unmodifiableMap(parameters);
+        }
+
+        private ParameterExpression<?> getExpression(QueryTemplateParameter parameter) {
+            return expressions.computeIfAbsent(
+                parameter,
+                it -> {
+                    String name = "var_" + it.variableName() + "_" + parameters.size();
+
+                    parameters.put(name, it);
+
+                    return cb.parameter(wrap(it.javaType()), name);
+                }
+            );
+        }
+
+        // Filters that JpaPredicateBuilder renders as comparison of the attribute with the filter value as is
+        private static boolean isComparison(PredicateFilter filter) {
+            if (filter.getCriterias().size() != 1) {
+                return false;
+            }
+
+            Criteria criteria = filter.getCriterias().iterator().next();
+            Class<?> javaType = wrap(filter.getJavaType());
+            boolean equality = criteria == Criteria.EQ || criteria == Criteria.NE;
+
+            if (!javaType.isInstance(filter.getValue())) {
+                return false;
+            }
+
+            if (COMPARABLE_TYPES.contains(javaType) || Date.class.isAssignableFrom(javaType)) {
+                return true;
+            }
+
+            if (javaType == String.class || javaType == UUID.class || javaType.isEnum()) {
+                return equality;
+            }
+
+            return javaType == Boolean.class && criteria == Criteria.EQ;
+        }
+
+        private static Class<?> wrap(Class<?> javaType) {
+            return javaType.isPrimitive() ? MethodType.methodType(javaType).wrap().returnType() : javaType;
+        }
+    }
+}
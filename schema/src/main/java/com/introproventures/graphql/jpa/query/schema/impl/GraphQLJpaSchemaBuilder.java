@@ -19,6 +19,7 @@ package com.introproventures.graphql.jpa.query.schema.impl;
 import static com.introproventures.graphql.jpa.query.schema.impl.EntityIntrospector.capitalize;
 import static com.introproventures.graphql.jpa.query.support.GraphQLSupport.getAliasOrName;
 import static graphql.Scalars.GraphQLBoolean;
+import static graphql.Scalars.GraphQLFloat;
 import static graphql.Scalars.GraphQLInt;
 import static graphql.schema.GraphQLArgument.newArgument;
 import static graphql.schema.GraphQLEnumType.newEnum;
@@ -34,6 +35,7 @@ import com.introproventures.graphql.jpa.query.annotation.GraphQLIgnoreOrder;
 import com.introproventures.graphql.jpa.query.schema.GraphQLSchemaBuilder;
 import com.introproventures.graphql.jpa.query.schema.JavaScalars;
 import com.introproventures.graphql.jpa.query.schema.NamingStrategy;
+import com.introproventures.graphql.jpa.query.schema.QueryMetricsRecorder;
 import com.introproventures.graphql.jpa.query.schema.RestrictedKeysProvider;
 import com.introproventures.graphql.jpa.query.schema.impl.EntityIntrospector.EntityIntrospectionResult.AttributePropertyDescriptor;
 import com.introproventures.graphql.jpa.query.schema.impl.PredicateFilter.Criteria;
@@ -51,6 +53,7 @@ import graphql.schema.GraphQLInputObjectType;
 import graphql.schema.GraphQLInputObjectType.Builder;
 import graphql.schema.GraphQLInputType;
 import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLNonNull;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLOutputType;
 import graphql.schema.GraphQLScalarType;
@@ -71,15 +74,21 @@ import java.beans.Introspector;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
 import java.lang.reflect.Member;
+import java.time.temporal.Temporal;
 import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -104,9 +113,11 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
     public static final String PAGE_PARAM_NAME = "page";
     public static final String PAGE_TOTAL_PARAM_NAME = "total";
     public static final String PAGE_PAGES_PARAM_NAME = "pages";
+    public static final String PAGE_END_CURSOR_PARAM_NAME = "endCursor";
 
     public static final String PAGE_START_PARAM_NAME = "start";
     public static final String PAGE_LIMIT_PARAM_NAME = "limit";
+    public static final String PAGE_AFTER_PARAM_NAME = "after";
 
     public static final String QUERY_SELECT_PARAM_NAME = "select";
     public static final String QUERY_WHERE_PARAM_NAME = "where";
@@ -114,18 +125,20 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
 
     public static final String SELECT_DISTINCT_PARAM_NAME = "distinct";
 
+    public static final String TIME_BUCKET_PARAM_NAME = "bucket";
+
     protected NamingStrategy namingStrategy = new NamingStrategy() {};
 
     public static final String ORDER_BY_PARAM_NAME = "orderBy";
 
-    private final Map<Class<?>, GraphQLOutputType> classCache = new HashMap<>();
-    private final Map<EntityType<?>, GraphQLObjectType> entityCache = new HashMap<>();
+    private final Map<Class<?>, GraphQLOutputType> classCache = new ConcurrentHashMap<>();
+    private final Map<EntityType<?>, GraphQLObjectType> entityCache = new ConcurrentHashMap<>();
     private final Map<String, EntityType<?>> entityTypeMap = new ConcurrentHashMap<>();
     private final Map<String, EmbeddableType<?>> embeddableTypeMap = new ConcurrentHashMap<>();
-    private final Map<ManagedType<?>, GraphQLInputObjectType> inputObjectCache = new HashMap<>();
-    private final Map<ManagedType<?>, GraphQLInputObjectType> subqueryInputObjectCache = new HashMap<>();
-    private final Map<Class<?>, GraphQLObjectType> embeddableOutputCache = new HashMap<>();
-    private final Map<Class<?>, GraphQLInputObjectType> embeddableInputCache = new HashMap<>();
+    private final Map<ManagedType<?>, GraphQLInputObjectType> inputObjectCache = new ConcurrentHashMap<>();
+    private final Map<ManagedType<?>, GraphQLInputObjectType> subqueryInputObjectCache = new ConcurrentHashMap<>();
+    private final Map<Class<?>, GraphQLObjectType> embeddableOutputCache = new ConcurrentHashMap<>();
+    private final Map<Class<?>, GraphQLInputObjectType> embeddableInputCache = new ConcurrentHashMap<>();
     private Function<String, String> queryByIdFieldNameCustomizer = Function.identity();
     private Function<String, String> queryAllFieldNameCustomizer = Function.identity();
     private Function<String, String> queryResultTypeNameCustomizer = Function.identity();
@@ -148,6 +161,7 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
     private boolean toManyDefaultOptional = true; // the many end is a collection, and it is always optional by default (empty collection)
     private boolean enableSubscription = false; // experimental
     private boolean enableRelay = false; // experimental
+    private boolean useKeysetPagination = false;
     private boolean enableAggregate = false; // experimental
     private int defaultMaxResults = 100;
     private int defaultFetchSize = 100;
@@ -157,6 +171,19 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
     private boolean graphQLIDType = false;
 
     private RestrictedKeysProvider restrictedKeysProvider = entityDescriptor -> Optional.of(Collections.emptyList());
+    private QueryMetricsRecorder queryMetricsRecorder = QueryMetricsRecorder.NOOP;
+    private Executor concurrentQueryExecutor;
+    private int maxConcurrentQueries = 0;
+    private Semaphore concurrentQueryPermits;
+    private boolean useWindowTotalCount = false;
+    private GraphQLJpaQueryTemplateCache queryTemplateCache;
+    private GraphQLJpaQueryResultCache queryResultCache;
+    private InListBinding inListBinding = InListBinding.VALUES;
+    private boolean toOneIdentityCache = false;
+    private FetchMode fetchMode = FetchMode.ENTITY;
+    private boolean useReadOnlySession = false;
+    private int maxBatchSize = 0;
+    private int schemaBuildParallelism = 1;
     private final Map<Class<?>, GraphQLScalarType> scalars = new LinkedHashMap<>();
 
     private final Relay relay = new Relay();
@@ -184,18 +211,31 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
     public GraphQLSchema build() {
         scalars.forEach(JavaScalars::register);
 
-        GraphQLSchema.Builder schema = GraphQLSchema.newSchema().query(getQueryType());
+        if (schemaBuildParallelism <= 1) {
+            return buildSchema();
+        }
 
-        entityManager
-            .getMetamodel()
-            .getEntities()
-            .stream()
-            .filter(Predicate.not(entityCache::containsKey))
-            .filter(this::isAdditionalType)
-            .forEach(entity -> schema.additionalType(getEntityObjectType(entity)));
+        ForkJoinPool forkJoinPool = new ForkJoinPool(schemaBuildParallelism);
+
+        try {
+            return forkJoinPool.submit(this::buildSchema).join();
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    private GraphQLSchema buildSchema() {
+        List<EntityType<?>> entities = List.copyOf(entityManager.getMetamodel().getEntities());
+
+        GraphQLSchema.Builder schema = GraphQLSchema.newSchema().query(getQueryType(entities));
+
+        entityStream(entities.stream().filter(Predicate.not(entityCache::containsKey)).filter(this::isAdditionalType))
+            .map(this::getEntityObjectType)
+            .toList()
+            .forEach(schema::additionalType);
 
         if (enableSubscription) {
-            schema.subscription(getSubscriptionType());
+            schema.subscription(getSubscriptionType(entities));
         }
 
         if (enableRelay) {
@@ -220,52 +260,56 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
         return this;
     }
 
-    private GraphQLObjectType getQueryType() {
+    private GraphQLObjectType getQueryType(List<EntityType<?>> entities) {
         GraphQLObjectType.Builder queryType = newObject()
             .name(queryTypeNameCustomizer.apply(this.name))
             .description(this.description);
 
         queryType.fields(
-            entityManager
-                .getMetamodel()
-                .getEntities()
-                .stream()
-                .filter(this::isNotIgnored)
-                .map(this::getQueryFieldByIdDefinition)
-                .toList()
+            entityStream(entities.stream().filter(this::isNotIgnored)).map(this::getQueryFieldByIdDefinition).toList()
         );
 
         queryType.fields(
-            entityManager
-                .getMetamodel()
-                .getEntities()
-                .stream()
-                .filter(this::isNotIgnored)
-                .map(this::getQueryFieldSelectDefinition)
-                .toList()
+            entityStream(entities.stream().filter(this::isNotIgnored)).map(this::getQueryFieldSelectDefinition).toList()
         );
 
         return queryType.build();
     }
 
-    private GraphQLObjectType getSubscriptionType() {
+    private GraphQLObjectType getSubscriptionType(List<EntityType<?>> entities) {
         GraphQLObjectType.Builder queryType = newObject()
             .name(this.name + "Subscription")
             .description(this.description);
 
         queryType.fields(
-            entityManager
-                .getMetamodel()
-                .getEntities()
-                .stream()
-                .filter(this::isNotIgnored)
-                .map(this::getQueryFieldStreamDefinition)
-                .collect(Collectors.toList())
+            entityStream(entities.stream().filter(this::isNotIgnored)).map(this::getQueryFieldStreamDefinition).toList()
         );
 
         return queryType.build();
     }
 
+    /**
+     * Entity types are mapped in parallel on the schema build fork join pool. Ordered stream collectors keep
+     * the metamodel encounter order, so that the schema does not depend on the build parallelism.
+     */
+    private Stream<EntityType<?>> entityStream(Stream<EntityType<?>> entities) {
+        return schemaBuildParallelism > 1 ? entities.parallel() : entities;
+    }
+
+    /**
+     * Returns cached value or computes a new one outside of the cache lock, so that mapping functions can
+     * recursively populate the same cache. Concurrent callers always get the first value put into the cache.
+     */
+    private static <K, V> V computeIfAbsent(Map<K, V> cache, K key, Function<? super K, ? extends V> mappingFunction) {
+        V value = cache.get(key);
+
+        return value != null ? value : putIfAbsent(cache, key, mappingFunction.apply(key));
+    }
+
+    private static <K, V> V putIfAbsent(Map<K, V> cache, K key, V value) {
+        return Objects.requireNonNullElse(cache.putIfAbsent(key, value), value);
+    }
+
     private GraphQLFieldDefinition getQueryFieldByIdDefinition(EntityType<?> entityType) {
         GraphQLObjectType entityObjectType = getEntityObjectType(entityType);
 
@@ -278,6 +322,16 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
             .withSelectNodeName(entityObjectType.getName())
             .withToManyDefaultOptional(toManyDefaultOptional)
             .withRestrictedKeysProvider(restrictedKeysProvider)
+            .withQueryMetricsRecorder(queryMetricsRecorder)
+            .withConcurrentQueryExecutor(concurrentQueryExecutor)
+            .withConcurrentQueryPermits(concurrentQueryPermits)
+            .withWindowTotalCount(useWindowTotalCount)
+            .withQueryTemplateCache(queryTemplateCache)
+            .withInListBinding(inListBinding)
+            .withToOneIdentityCache(toOneIdentityCache)
+            .withFetchMode(fetchMode)
+            .withReadOnlySession(useReadOnlySession)
+            .withMaxBatchSize(maxBatchSize)
             .withResultStream(enableResultStream)
             .build();
 
@@ -328,6 +382,16 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
             .withDefaultDistinct(isDefaultDistinct)
             .withDefaultFetchSize(defaultFetchSize)
             .withRestrictedKeysProvider(restrictedKeysProvider)
+            .withQueryMetricsRecorder(queryMetricsRecorder)
+            .withConcurrentQueryExecutor(concurrentQueryExecutor)
+            .withConcurrentQueryPermits(concurrentQueryPermits)
+            .withWindowTotalCount(useWindowTotalCount)
+            .withQueryTemplateCache(queryTemplateCache)
+            .withInListBinding(inListBinding)
+            .withToOneIdentityCache(toOneIdentityCache)
+            .withFetchMode(fetchMode)
+            .withReadOnlySession(useReadOnlySession)
+            .withMaxBatchSize(maxBatchSize)
             .withResultStream(enableResultStream)
             .build();
 
@@ -339,6 +403,7 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
                     .withDefaultMaxResults(defaultMaxResults)
                     .withEnableDefaultMaxResults(enableDefaultMaxResults)
                     .withDefaultFirstSize(defaultPageLimitSize)
+                    .withKeysetPagination(useKeysetPagination)
                     .build();
         } else {
             dataFetcher =
@@ -348,6 +413,7 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
                     .withDefaultMaxResults(defaultMaxResults)
                     .withEnableDefaultMaxResults(enableDefaultMaxResults)
                     .withDefaultPageLimitSize(defaultPageLimitSize)
+                    .withResultCache(queryResultCache)
                     .build();
         }
 
@@ -372,7 +438,9 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
             .argument(getWhereArgument(entityType))
             .arguments(
                 enableRelay
-                    ? relay.getForwardPaginationConnectionFieldArguments()
+                    ? useKeysetPagination
+                        ? relay.getConnectionFieldArguments()
+                        : relay.getForwardPaginationConnectionFieldArguments()
                     : Collections.singletonList(paginationArgument)
             );
 
@@ -412,6 +480,16 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
                     .type(JavaScalars.of(Long.class))
                     .build()
             )
+            .field(
+                newFieldDefinition()
+                    .name(GraphQLJpaSchemaBuilder.PAGE_END_CURSOR_PARAM_NAME)
+                    .description(
+                        "Cursor of the last record in this page to request the next page with the page after field. " +
+                        "Returns null if the query sort is not supported by keyset continuation."
+                    )
+                    .type(Scalars.GraphQLString)
+                    .build()
+            )
             .field(
                 newFieldDefinition()
                     .name(GraphQLJpaSchemaBuilder.QUERY_SELECT_PARAM_NAME)
@@ -494,6 +572,12 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
             );
         }
 
+        var aggregateFunctionDefinitions = getAggregateFunctionDefinitions(
+            entityType,
+            aggregateObjectTypeName,
+            aggregateDataFetcher
+        );
+
         var groupFieldDefinition = newFieldDefinition()
             .name("group")
             .description("Group by %s entity query field aggregated by multiple fields".formatted(selectTypeName))
@@ -528,9 +612,11 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
                                                 .build()
                                         )
                                 )
+                                .argument(timeBucketArgument)
                                 .type(JavaScalars.GraphQLObjectScalar)
                         )
                         .field(countFieldDefinition)
+                        .fields(aggregateFunctionDefinitions)
                         .build()
                 )
             );
@@ -630,7 +716,10 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
                 }
             });
 
-        aggregateObjectType.field(countFieldDefinition).field(groupFieldDefinition);
+        aggregateObjectType
+            .field(countFieldDefinition)
+            .fields(aggregateFunctionDefinitions)
+            .field(groupFieldDefinition);
 
         if (!aggregateByObjectType.build().getFieldDefinitions().isEmpty()) {
             aggregateObjectType.field(
@@ -649,6 +738,120 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
         return aggregateFieldDefinition.build();
     }
 
+    private List<GraphQLFieldDefinition> getAggregateFunctionDefinitions(
+        EntityType<?> entityType,
+        String aggregateObjectTypeName,
+        DataFetcher<Object> aggregateDataFetcher
+    ) {
+        final var selectTypeName = resolveSelectTypeName(entityType);
+
+        var basicAttributes = entityType
+            .getAttributes()
+            .stream()
+            .filter(it -> EntityIntrospector.introspect(entityType).isNotIgnored(it.getName()))
+            .filter(this::isBasic)
+            .toList();
+
+        var numericEnumValueDefinitions = basicAttributes
+            .stream()
+            .filter(it -> isNumeric(it.getJavaType()))
+            .map(Attribute::getName)
+            .map(name ->
+                newEnumValueDefinition()
+                    .name(name)
+                    .description("%s entity %s numeric attribute".formatted(selectTypeName, name))
+                    .build()
+            )
+            .toList();
+
+        var comparableEnumValueDefinitions = basicAttributes
+            .stream()
+            .filter(it -> isNumeric(it.getJavaType()) || isTemporal(it.getJavaType()))
+            .map(Attribute::getName)
+            .map(name ->
+                newEnumValueDefinition()
+                    .name(name)
+                    .description("%s entity %s numeric or temporal attribute".formatted(selectTypeName, name))
+                    .build()
+            )
+            .toList();
+
+        var definitions = new ArrayList<GraphQLFieldDefinition>();
+
+        if (!numericEnumValueDefinitions.isEmpty()) {
+            var numericFieldsEnum = newEnum()
+                .name(aggregateObjectTypeName.concat("NumericFieldsEnum"))
+                .description("%s entity numeric field name values".formatted(selectTypeName))
+                .values(numericEnumValueDefinitions)
+                .build();
+
+            definitions.add(
+                getAggregateFunctionDefinition("sum", "Sum", numericFieldsEnum, JavaScalars.GraphQLObjectScalar)
+                    .dataFetcher(aggregateDataFetcher)
+                    .build()
+            );
+            definitions.add(
+                getAggregateFunctionDefinition("avg", "Average", numericFieldsEnum, GraphQLFloat)
+                    .dataFetcher(aggregateDataFetcher)
+                    .build()
+            );
+        }
+
+        if (!comparableEnumValueDefinitions.isEmpty()) {
+            var comparableFieldsEnum = newEnum()
+                .name(aggregateObjectTypeName.concat("ComparableFieldsEnum"))
+                .description("%s entity numeric or temporal field name values".formatted(selectTypeName))
+                .values(comparableEnumValueDefinitions)
+                .build();
+
+            definitions.add(
+                getAggregateFunctionDefinition("min", "Minimum", comparableFieldsEnum, JavaScalars.GraphQLObjectScalar)
+                    .dataFetcher(aggregateDataFetcher)
+                    .build()
+            );
+            definitions.add(
+                getAggregateFunctionDefinition("max", "Maximum", comparableFieldsEnum, JavaScalars.GraphQLObjectScalar)
+                    .dataFetcher(aggregateDataFetcher)
+                    .build()
+            );
+        }
+
+        return definitions;
+    }
+
+    private GraphQLFieldDefinition.Builder getAggregateFunctionDefinition(
+        String name,
+        String description,
+        GraphQLEnumType fieldsEnum,
+        GraphQLOutputType type
+    ) {
+        return newFieldDefinition()
+            .name(name)
+            .description("%s of the field values computed in the database".formatted(description))
+            .argument(
+                newArgument()
+                    .name("field")
+                    .description("Field argument used to specify aggregated entity field name")
+                    .type(new GraphQLNonNull(fieldsEnum))
+            )
+            .type(type);
+    }
+
+    private static boolean isNumeric(Class<?> javaType) {
+        return (
+            Number.class.isAssignableFrom(javaType) ||
+            (javaType.isPrimitive() && javaType != boolean.class && javaType != char.class)
+        );
+    }
+
+    private static boolean isTemporal(Class<?> javaType) {
+        return (
+            Temporal.class.isAssignableFrom(javaType) ||
+            Date.class.isAssignableFrom(javaType) ||
+            Calendar.class.isAssignableFrom(javaType)
+        );
+    }
+
     private GraphQLFieldDefinition getQueryFieldStreamDefinition(EntityType<?> entityType) {
         GraphQLObjectType entityObjectType = getEntityObjectType(entityType);
 
@@ -662,10 +865,24 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
             .withToManyDefaultOptional(toManyDefaultOptional)
             .withDefaultDistinct(isDefaultDistinct)
             .withRestrictedKeysProvider(restrictedKeysProvider)
+            .withQueryMetricsRecorder(queryMetricsRecorder)
+            .withConcurrentQueryExecutor(concurrentQueryExecutor)
+            .withConcurrentQueryPermits(concurrentQueryPermits)
+            .withWindowTotalCount(useWindowTotalCount)
+            .withQueryTemplateCache(queryTemplateCache)
+            .withInListBinding(inListBinding)
+            .withToOneIdentityCache(toOneIdentityCache)
+            .withFetchMode(fetchMode)
+            .withReadOnlySession(useReadOnlySession)
+            .withMaxBatchSize(maxBatchSize)
             .withResultStream(enableResultStream)
             .build();
 
-        DataFetcher<Object> dataFetcher = GraphQLJpaStreamDataFetcher.builder().withQueryFactory(queryFactory).build();
+        DataFetcher<Object> dataFetcher = GraphQLJpaStreamDataFetcher
+            .builder()
+            .withQueryFactory(queryFactory)
+            .withFetchSize(defaultFetchSize)
+            .build();
         var fieldName = pluralize.andThen(queryResultTypeNameCustomizer).apply(entityType.getName());
 
         GraphQLFieldDefinition.Builder fieldDefinition = newFieldDefinition()
@@ -691,7 +908,7 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
         return fieldDefinition.build();
     }
 
-    private Map<Class<?>, GraphQLArgument> whereArgumentsMap = new HashMap<>();
+    private final Map<Class<?>, GraphQLArgument> whereArgumentsMap = new ConcurrentHashMap<>();
 
     private GraphQLArgument distinctArgument(EntityType<?> entityType) {
         return GraphQLArgument
@@ -704,7 +921,8 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
     }
 
     private GraphQLArgument getWhereArgument(ManagedType<?> managedType) {
-        return whereArgumentsMap.computeIfAbsent(
+        return computeIfAbsent(
+            whereArgumentsMap,
             managedType.getJavaType(),
             javaType -> computeWhereArgument(managedType)
         );
@@ -808,7 +1026,7 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
     }
 
     private GraphQLInputObjectType getSubqueryInputType(ManagedType<?> managedType) {
-        return subqueryInputObjectCache.computeIfAbsent(managedType, this::computeSubqueryInputType);
+        return computeIfAbsent(subqueryInputObjectCache, managedType, this::computeSubqueryInputType);
     }
 
     private GraphQLInputObjectType computeSubqueryInputType(ManagedType<?> managedType) {
@@ -885,13 +1103,7 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
     }
 
     private GraphQLInputObjectType getWhereInputType(ManagedType<?> managedType) {
-        GraphQLInputObjectType type = inputObjectCache.get(managedType);
-        if (type == null) {
-            type = computeWhereInputType(managedType);
-            inputObjectCache.put(managedType, type);
-            return type;
-        }
-        return type;
+        return computeIfAbsent(inputObjectCache, managedType, this::computeWhereInputType);
     }
 
     private String resolveWhereInputTypeName(ManagedType<?> managedType) {
@@ -1003,7 +1215,7 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
         );
     }
 
-    private Map<String, GraphQLInputType> whereAttributesMap = new HashMap<>();
+    private final Map<String, GraphQLInputType> whereAttributesMap = new ConcurrentHashMap<>();
 
     private GraphQLInputType getWhereAttributeType(Attribute<?, ?> attribute) {
         String type =
@@ -1252,11 +1464,7 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
                     .build()
             );
 
-        GraphQLInputType answer = builder.build();
-
-        whereAttributesMap.putIfAbsent(type, answer);
-
-        return answer;
+        return putIfAbsent(whereAttributesMap, type, builder.build());
     }
 
     private GraphQLArgument getArgument(Attribute<?, ?> attribute) {
@@ -1290,8 +1498,11 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
                                 .collect(Collectors.toList())
                         )
                         .build();
-                embeddableInputCache.put(embeddableType.getJavaType(), (GraphQLInputObjectType) graphQLType);
-                return graphQLType;
+                return putIfAbsent(
+                    embeddableInputCache,
+                    embeddableType.getJavaType(),
+                    (GraphQLInputObjectType) graphQLType
+                );
             }
 
             graphQLType = getWhereInputType(embeddableType);
@@ -1316,13 +1527,14 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
                             .collect(Collectors.toList())
                     )
                     .build();
-            embeddableOutputCache.putIfAbsent(embeddableType.getJavaType(), (GraphQLObjectType) graphQLType);
+            graphQLType =
+                putIfAbsent(embeddableOutputCache, embeddableType.getJavaType(), (GraphQLObjectType) graphQLType);
         }
         return graphQLType;
     }
 
     private GraphQLObjectType getEntityObjectType(EntityType<?> entityType) {
-        return entityCache.computeIfAbsent(entityType, this::computeEntityObjectType);
+        return computeIfAbsent(entityCache, entityType, this::computeEntityObjectType);
     }
 
     private String resolveEntityObjectTypeName(EntityType<?> entityType) {
@@ -1421,6 +1633,16 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
                 .withSelectNodeName(baseEntity.getName())
                 .withDefaultDistinct(isDefaultDistinct)
                 .withRestrictedKeysProvider(restrictedKeysProvider)
+                .withQueryMetricsRecorder(queryMetricsRecorder)
+                .withConcurrentQueryExecutor(concurrentQueryExecutor)
+            .withConcurrentQueryPermits(concurrentQueryPermits)
+                .withWindowTotalCount(useWindowTotalCount)
+                .withQueryTemplateCache(queryTemplateCache)
+                .withInListBinding(inListBinding)
+                .withToOneIdentityCache(toOneIdentityCache)
+                .withFetchMode(fetchMode)
+                .withReadOnlySession(useReadOnlySession)
+                .withMaxBatchSize(maxBatchSize)
                 .withResultStream(enableResultStream)
                 .build();
 
@@ -1443,6 +1665,9 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
 
             arguments.add(getWhereArgument(elementType));
 
+            // Let's limit elements for each parent entity
+            arguments.add(paginationArgument);
+
             // make it configurable via builder api
             arguments.add(optionalArgument(toManyDefaultOptional));
 
@@ -1457,6 +1682,16 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
                 .withSelectNodeName(baseEntity.getName())
                 .withDefaultDistinct(isDefaultDistinct)
                 .withRestrictedKeysProvider(restrictedKeysProvider)
+                .withQueryMetricsRecorder(queryMetricsRecorder)
+                .withConcurrentQueryExecutor(concurrentQueryExecutor)
+            .withConcurrentQueryPermits(concurrentQueryPermits)
+                .withWindowTotalCount(useWindowTotalCount)
+                .withQueryTemplateCache(queryTemplateCache)
+                .withInListBinding(inListBinding)
+                .withToOneIdentityCache(toOneIdentityCache)
+                .withFetchMode(fetchMode)
+                .withReadOnlySession(useReadOnlySession)
+                .withMaxBatchSize(maxBatchSize)
                 .withResultStream(enableResultStream)
                 .build();
 
@@ -1732,11 +1967,7 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
             int ordinal = 0;
             for (Enum<?> enumValue : ((Class<Enum<?>>) clazz).getEnumConstants()) enumBuilder.value(enumValue.name());
 
-            GraphQLEnumType enumType = enumBuilder.build();
-
-            classCache.putIfAbsent(clazz, enumType);
-
-            return enumType;
+            return putIfAbsent(classCache, clazz, enumBuilder.build());
         } else if (clazz.isArray() && !JavaScalars.contains(clazz)) {
             return GraphQLList.list(JavaScalars.of(clazz.getComponentType()));
         }
@@ -1760,6 +1991,29 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
         return answer;
     }
 
+    private static final GraphQLArgument timeBucketArgument = newArgument()
+        .name(TIME_BUCKET_PARAM_NAME)
+        .description("Truncates temporal group by field values to the start of time bucket in the database query")
+        .type(
+            newEnum()
+                .name("TimeBucket")
+                .description("Time bucket values used to group temporal fields")
+                .values(
+                    Stream
+                        .of(TimeBucket.values())
+                        .map(bucket ->
+                            newEnumValueDefinition()
+                                .name(bucket.name())
+                                .value(bucket)
+                                .description("Start of %s bucket".formatted(bucket.getUnit()))
+                                .build()
+                        )
+                        .toList()
+                )
+                .build()
+        )
+        .build();
+
     private static final GraphQLArgument paginationArgument = newArgument()
         .name(PAGE_PARAM_NAME)
         .description("Page object for pageble requests, specifying the requested start page and limit size.")
@@ -1782,6 +2036,16 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
                         .type(Scalars.GraphQLInt)
                         .build()
                 )
+                .field(
+                    newInputObjectField()
+                        .name(PAGE_AFTER_PARAM_NAME)
+                        .description(
+                            "End cursor of the previous page to continue after it using keyset seek predicate " +
+                            "instead of the start page offset."
+                        )
+                        .type(Scalars.GraphQLString)
+                        .build()
+                )
                 .build()
         )
         .build();
@@ -2006,6 +2270,24 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
         return this;
     }
 
+    public boolean isUseKeysetPagination() {
+        return useKeysetPagination;
+    }
+
+    /**
+     * Resolves Relay connection pages with keyset cursors and seek predicates on the effective sort columns
+     * and the id, and enables backward pagination with last/before arguments. Offset cursors are used
+     * as a fallback, when the sort is not supported, i.e. sorting on optional or association attributes.
+     *
+     * @param useKeysetPagination true to use keyset pagination
+     * @return this builder
+     */
+    public GraphQLJpaSchemaBuilder useKeysetPagination(boolean useKeysetPagination) {
+        this.useKeysetPagination = useKeysetPagination;
+
+        return this;
+    }
+
     public int getDefaultMaxResults() {
         return defaultMaxResults;
     }
@@ -2056,6 +2338,213 @@ public class GraphQLJpaSchemaBuilder implements GraphQLSchemaBuilder {
         return restrictedKeysProvider;
     }
 
+    public GraphQLJpaSchemaBuilder queryMetricsRecorder(QueryMetricsRecorder queryMetricsRecorder) {
+        this.queryMetricsRecorder = queryMetricsRecorder;
+
+        return this;
+    }
+
+    public QueryMetricsRecorder getQueryMetricsRecorder() {
+        return queryMetricsRecorder;
+    }
+
+    /**
+     * Enables concurrent execution of total count and aggregate queries with page queries using the executor.
+     * Each concurrent query uses a new read-only entity manager and database connection outside of the current
+     * transaction, so that it does not see uncommitted changes, Hibernate filters, tenant identifier or thread
+     * local context of the request. Use {@link #maxConcurrentQueries(int)} to bound the number of extra
+     * connections against the connection pool size.
+     *
+     * @param concurrentQueryExecutor executor or null to run queries sequentially
+     * @return this builder
+     */
+    public GraphQLJpaSchemaBuilder concurrentQueryExecutor(Executor concurrentQueryExecutor) {
+        this.concurrentQueryExecutor = concurrentQueryExecutor;
+
+        return this;
+    }
+
+    /**
+     * Sets max number of concurrent queries running on separate database connections at the same time across all
+     * query executions of the schema. Queries over the limit run on the calling thread with the request entity
+     * manager, so that executions never wait for a second connection while holding one. Size it as the
+     * connection pool size minus max number of concurrent requests.
+     *
+     * @param maxConcurrentQueries max number of extra connections, 0 for unlimited
+     * @return this builder
+     */
+    public GraphQLJpaSchemaBuilder maxConcurrentQueries(int maxConcurrentQueries) {
+        this.maxConcurrentQueries = maxConcurrentQueries;
+        this.concurrentQueryPermits = maxConcurrentQueries > 0 ? new Semaphore(maxConcurrentQueries) : null;
+
+        return this;
+    }
+
+    public int getMaxConcurrentQueries() {
+        return maxConcurrentQueries;
+    }
+
+    public Executor getConcurrentQueryExecutor() {
+        return concurrentQueryExecutor;
+    }
+
+    /**
+     * Enables querying of page keys together with total count using <code>COUNT(*) OVER()</code> window function
+     * for databases that support it, instead of a separate count query.
+     *
+     * @param useWindowTotalCount flag
+     * @return this builder
+     */
+    public GraphQLJpaSchemaBuilder useWindowTotalCount(boolean useWindowTotalCount) {
+        this.useWindowTotalCount = useWindowTotalCount;
+
+        return this;
+    }
+
+    public boolean isUseWindowTotalCount() {
+        return useWindowTotalCount;
+    }
+
+    /**
+     * Enables caching of compiled criteria query templates for page keys, total count and select queries
+     * keyed by query field document shape. Variables used as where comparison operands are bound as query
+     * parameters on each execution, other variables are matched by value.
+     *
+     * @param queryTemplateCache cache or null to build queries on every execution
+     * @return this builder
+     */
+    public GraphQLJpaSchemaBuilder queryTemplateCache(GraphQLJpaQueryTemplateCache queryTemplateCache) {
+        this.queryTemplateCache = queryTemplateCache;
+
+        return this;
+    }
+
+    public GraphQLJpaQueryTemplateCache getQueryTemplateCache() {
+        return queryTemplateCache;
+    }
+
+    /**
+     * Enables caching of select query results keyed by query field document, variable values and restricted keys.
+     * Only root query field page results are cached, nested association fields are loaded by batch loaders on
+     * every execution. Cached results must be invalidated on entity changes with
+     * {@link GraphQLJpaQueryResultCache#invalidate(Class)}.
+     *
+     * @param queryResultCache cache or null to query results on every execution
+     * @return this builder
+     */
+    public GraphQLJpaSchemaBuilder queryResultCache(GraphQLJpaQueryResultCache queryResultCache) {
+        this.queryResultCache = queryResultCache;
+
+        return this;
+    }
+
+    public GraphQLJpaQueryResultCache getQueryResultCache() {
+        return queryResultCache;
+    }
+
+    /**
+     * Configures binding of entity keys in batch, restricted keys and page select queries, so that queries
+     * with different number of keys can reuse the same SQL statement. Padded binding requires
+     * <code>hibernate.query.in_clause_parameter_padding</code> setting of the entity manager factory.
+     *
+     * @param inListBinding keys binding
+     * @return this builder
+     */
+    public GraphQLJpaSchemaBuilder inListBinding(InListBinding inListBinding) {
+        this.inListBinding = inListBinding;
+
+        return this;
+    }
+
+    public InListBinding getInListBinding() {
+        return inListBinding;
+    }
+
+    /**
+     * Enables request scoped identity cache for to-one associations with where arguments, so that repeated
+     * references to the same entity with the same selection are loaded once per query execution.
+     *
+     * @param toOneIdentityCache true to resolve to-one associations by entity identity
+     * @return this builder
+     */
+    public GraphQLJpaSchemaBuilder toOneIdentityCache(boolean toOneIdentityCache) {
+        this.toOneIdentityCache = toOneIdentityCache;
+
+        return this;
+    }
+
+    public boolean isToOneIdentityCache() {
+        return toOneIdentityCache;
+    }
+
+    /**
+     * Configures fetch mode of root query select results, so that queries selecting only basic attributes can
+     * skip entity hydration. Selections with associations are always fetched as entities.
+     *
+     * @param fetchMode fetch mode
+     * @return this builder
+     */
+    public GraphQLJpaSchemaBuilder fetchMode(FetchMode fetchMode) {
+        this.fetchMode = fetchMode;
+
+        return this;
+    }
+
+    public FetchMode getFetchMode() {
+        return fetchMode;
+    }
+
+    /**
+     * Enables read-only session mode, so that query results fetched in a session with default read-only mode,
+     * i.e. in a read-only transaction, are not detached from persistence context and queries skip auto flush.
+     *
+     * @param useReadOnlySession true to skip detaching of query results in read-only sessions
+     * @return this builder
+     */
+    public GraphQLJpaSchemaBuilder useReadOnlySession(boolean useReadOnlySession) {
+        this.useReadOnlySession = useReadOnlySession;
+
+        return this;
+    }
+
+    public boolean isUseReadOnlySession() {
+        return useReadOnlySession;
+    }
+
+    /**
+     * Sets max number of keys loaded by a single association batch query. Larger batches are split into chunks
+     * that run concurrently on separate read-only entity managers if concurrent query executor is configured.
+     *
+     * @param maxBatchSize max keys per batch query, 0 for unlimited
+     * @return this builder
+     */
+    public GraphQLJpaSchemaBuilder maxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+
+        return this;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Sets number of fork join pool threads used to build entity object, input and where types in parallel.
+     * The schema is built on the calling thread if parallelism is 1. Parallel build is experimental.
+     *
+     * @param schemaBuildParallelism number of threads, defaults to 1
+     * @return this builder
+     */
+    public GraphQLJpaSchemaBuilder schemaBuildParallelism(int schemaBuildParallelism) {
+        this.schemaBuildParallelism = schemaBuildParallelism;
+
+        return this;
+    }
+
+    public int getSchemaBuildParallelism() {
+        return schemaBuildParallelism;
+    }
+
     public boolean isEnableResultStream() {
         return enableResultStream;
     }
@@ -23,15 +23,20 @@ import graphql.language.Argument;
 import graphql.language.Field;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
-import java.util.Collections;
 import java.util.Optional;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 /**
- * JPA Query DataFetcher implementation that fetches entities with page and where criteria expressions
+ * JPA Query DataFetcher implementation that streams entities with page and where criteria expressions.
+ *
+ * The returned publisher opens a forward-only database cursor with configured fetch size in a read-only
+ * transaction on subscription, pulls rows from the cursor only on subscriber demand, and closes the cursor
+ * with its transaction on completion, error or cancellation. Blocking cursor reads run on Reactor bounded
+ * elastic scheduler threads.
  *
  * @author Igor Dianov
  *
@@ -41,9 +46,11 @@ class GraphQLJpaStreamDataFetcher implements DataFetcher<Object> {
     private static final Logger logger = LoggerFactory.getLogger(GraphQLJpaStreamDataFetcher.class);
 
     private final GraphQLJpaQueryFactory queryFactory;
+    private final int fetchSize;
 
     private GraphQLJpaStreamDataFetcher(Builder builder) {
         this.queryFactory = builder.queryFactory;
+        this.fetchSize = builder.fetchSize;
     }
 
     @Override
@@ -54,10 +61,20 @@ class GraphQLJpaStreamDataFetcher implements DataFetcher<Object> {
         PageArgument page = extractPageArgument(environment, pageArgument, 100);
         field = removeArgument(field, pageArgument);
 
-        // Let's execute query and get results via stream
-        Stream<Object> resultStream = queryFactory.queryResultStream(environment, 100, Collections.emptyList());
+        // Let's defer query execution until subscription and keep cursor open while there is demand. The cursor
+        // blocks on JDBC reads, so let's open, advance and close it on bounded elastic threads
+        return Flux
+            .using(
+                () -> queryFactory.openResultStream(environment, Math.min(fetchSize, page.getLimit())),
+                resultStream -> Flux.fromStream(resultStream),
+                Stream::close
+            )
+            .take(page.getLimit())
+            .subscribeOn(Schedulers.boundedElastic());
+    }
 
-        return Flux.fromIterable(ResultStreamWrapper.wrap(resultStream, page.getLimit()));
+    public int getFetchSize() {
+        return fetchSize;
     }
 
     /**
@@ -84,6 +101,13 @@ class GraphQLJpaStreamDataFetcher implements DataFetcher<Object> {
      * Definition of a stage for staged builder.
      */
     public interface IBuildStage {
+        /**
+         * Builder method for fetchSize parameter.
+         * @param fetchSize field to set
+         * @return builder
+         */
+        public IBuildStage withFetchSize(int fetchSize);
+
         /**
          * Builder method of the builder.
          * @return built class
@@ -97,6 +121,7 @@ class GraphQLJpaStreamDataFetcher implements DataFetcher<Object> {
     public static final class Builder implements IQueryFactoryStage, IBuildStage {
 
         private GraphQLJpaQueryFactory queryFactory;
+        private int fetchSize = 100;
 
         private Builder() {}
 
@@ -106,6 +131,12 @@ class GraphQLJpaStreamDataFetcher implements DataFetcher<Object> {
             return this;
         }
 
+        @Override
+        public IBuildStage withFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+            return this;
+        }
+
         @Override
         public GraphQLJpaStreamDataFetcher build() {
             return new GraphQLJpaStreamDataFetcher(this);
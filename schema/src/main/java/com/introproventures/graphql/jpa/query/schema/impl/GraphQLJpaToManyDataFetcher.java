@@ -58,8 +58,10 @@ class GraphQLJpaToManyDataFetcher implements DataFetcher<Object> {
         Object source = environment.getSource();
         Optional<Argument> whereArg = GraphQLSupport.getWhereArgument(field);
 
-        // Resolve collection query if where argument is present or any field in selection has orderBy argument
-        if (whereArg.isPresent() || queryFactory.hasAnySelectionOrderBy(field)) {
+        Optional<Argument> pageArg = GraphQLSupport.getPageArgument(field);
+
+        // Resolve collection query if where or page argument is present or any field in selection has orderBy argument
+        if (whereArg.isPresent() || pageArg.isPresent() || queryFactory.hasAnySelectionOrderBy(field)) {
             Object parentIdValue = queryFactory.getParentIdAttributeValue(source);
             String dataLoaderKey =
                 parentType.getName() + "." + Optional.ofNullable(field.getAlias()).orElseGet(attribute::getName);
@@ -4,7 +4,6 @@ import graphql.schema.DataFetchingEnvironment;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import org.dataloader.BatchLoaderEnvironment;
 import org.dataloader.MappedBatchLoaderWithContext;
@@ -36,6 +35,6 @@ class GraphQLJpaToManyMappedBatchLoader implements MappedBatchLoaderWithContext<
             );
         }
 
-        return CompletableFuture.completedStage(queryFactory.loadOneToMany(context, keys));
+        return queryFactory.loadOneToManyBatch(context, keys);
     }
 }
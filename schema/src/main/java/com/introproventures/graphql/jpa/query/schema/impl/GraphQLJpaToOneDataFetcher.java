@@ -60,6 +60,21 @@ class GraphQLJpaToOneDataFetcher implements DataFetcher<Object> {
         Boolean isOptional = queryFactory.getOptionalArgumentValue(environment, field, attribute);
         // Resolve collection query if where argument is present
         if ((whereArgument.isPresent() && isOptional) && !EMBEDDED.equals(attribute.getPersistentAttributeType())) {
+            // Let's resolve association by identity of associated entity shared within query execution
+            if (queryFactory.isToOneIdentityCache(environment)) {
+                Object idValue = queryFactory.getToOneIdentifier(source, attribute);
+
+                if (idValue == null) {
+                    return null;
+                }
+
+                String dataLoaderKey = queryFactory.getToOneIdentityKey(environment);
+
+                DataLoader<Object, Object> dataLoader = getIdentityDataLoader(environment, dataLoaderKey);
+
+                return dataLoader.load(idValue, environment);
+            }
+
             Object parentIdValue = queryFactory.getParentIdAttributeValue(source);
             String dataLoaderKey =
                 parentType.getName() + "." + Optional.ofNullable(field.getAlias()).orElseGet(attribute::getName);
@@ -94,4 +109,31 @@ class GraphQLJpaToOneDataFetcher implements DataFetcher<Object> {
 
         return environment.getDataLoader(dataLoaderKey);
     }
+
+    protected DataLoader<Object, Object> getIdentityDataLoader(
+        DataFetchingEnvironment environment,
+        String dataLoaderKey
+    ) {
+        DataLoaderRegistry dataLoaderRegistry = environment.getDataLoaderRegistry();
+
+        if (!dataLoaderRegistry.getKeys().contains(dataLoaderKey)) {
+            synchronized (dataLoaderRegistry) {
+                MappedBatchLoaderWithContext<Object, Object> mappedBatchLoader = new GraphQLJpaToOneIdentityBatchLoader(
+                    queryFactory
+                );
+
+                // Data loader registry is created per query execution, so loaded entities are cached by id
+                // for the execution only
+                DataLoaderOptions options = DataLoaderOptions.newOptions().setCachingEnabled(true).build();
+
+                DataLoader<Object, Object> dataLoader = DataLoaderFactory.newMappedDataLoader(
+                    mappedBatchLoader,
+                    options
+                );
+                dataLoaderRegistry.register(dataLoaderKey, dataLoader);
+            }
+        }
+
+        return environment.getDataLoader(dataLoaderKey);
+    }
 }
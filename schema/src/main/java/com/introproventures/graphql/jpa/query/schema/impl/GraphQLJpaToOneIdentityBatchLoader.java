@@ -0,0 +1,26 @@
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import graphql.schema.DataFetchingEnvironment;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import org.dataloader.BatchLoaderEnvironment;
+import org.dataloader.MappedBatchLoaderWithContext;
+
+// a batch loader function that will be called with N or more associated entity ids for batch loading
+class GraphQLJpaToOneIdentityBatchLoader implements MappedBatchLoaderWithContext<Object, Object> {
+
+    private final GraphQLJpaQueryFactory queryFactory;
+
+    public GraphQLJpaToOneIdentityBatchLoader(GraphQLJpaQueryFactory queryFactory) {
+        this.queryFactory = queryFactory;
+    }
+
+    @Override
+    public CompletionStage<Map<Object, Object>> load(Set<Object> keys, BatchLoaderEnvironment environment) {
+        Object key = keys.iterator().next();
+        DataFetchingEnvironment context = (DataFetchingEnvironment) environment.getKeyContexts().get(key);
+
+        return queryFactory.loadToOneByIdsBatch(context, keys);
+    }
+}
@@ -3,7 +3,6 @@ package com.introproventures.graphql.jpa.query.schema.impl;
 import graphql.schema.DataFetchingEnvironment;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import org.dataloader.BatchLoaderEnvironment;
 import org.dataloader.MappedBatchLoaderWithContext;
@@ -22,6 +21,6 @@ class GraphQLJpaToOneMappedBatchLoader implements MappedBatchLoaderWithContext<O
         Object key = keys.iterator().next();
         DataFetchingEnvironment context = (DataFetchingEnvironment) environment.getKeyContexts().get(key);
 
-        return CompletableFuture.completedStage(queryFactory.loadManyToOne(context, keys));
+        return queryFactory.loadManyToOneBatch(context, keys);
     }
 }
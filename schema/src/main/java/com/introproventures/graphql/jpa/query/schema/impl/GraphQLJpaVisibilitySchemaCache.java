@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017 IntroPro Ventures Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.visibility.GraphqlFieldVisibility;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Size bounded LRU cache of immutable schemas transformed with field visibility, keyed by source schema and
+ * visibility policy key, so that requests sharing visibility policy do not copy the whole type graph.
+ *
+ * Plain field visibility suppliers are keyed by the visibility instance they return, so they must return a stable
+ * instance per visibility policy. Suppliers creating a new instance per call should implement
+ * {@link com.introproventures.graphql.jpa.query.schema.GraphQLFieldVisibilitySupplier} to provide a stable key.
+ */
+public class GraphQLJpaVisibilitySchemaCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 32;
+
+    private final int maximumSize;
+    private final Map<SchemaKey, GraphQLSchema> cache;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    public GraphQLJpaVisibilitySchemaCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public GraphQLJpaVisibilitySchemaCache(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize must not be negative: " + maximumSize);
+        }
+
+        this.maximumSize = maximumSize;
+        this.cache =
+            Collections.synchronizedMap(
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<SchemaKey, GraphQLSchema> eldest) {
+                        return size() > GraphQLJpaVisibilitySchemaCache.this.maximumSize;
+                    }
+                }
+            );
+    }
+
+    /**
+     * Returns the schema with applied field visibility for the given visibility key. The field visibility supplier
+     * is invoked only when the schema is not found in the cache.
+     *
+     * @param graphQLSchema source schema
+     * @param visibilityKey visibility policy key
+     * @param fieldVisibility field visibility supplier
+     * @return visibility transformed schema
+     */
+    public GraphQLSchema getGraphQLSchema(
+        GraphQLSchema graphQLSchema,
+        Object visibilityKey,
+        Supplier<GraphqlFieldVisibility> fieldVisibility
+    ) {
+        if (maximumSize == 0) {
+            return transform(graphQLSchema, fieldVisibility.get());
+        }
+
+        SchemaKey key = new SchemaKey(graphQLSchema, visibilityKey);
+
+        GraphQLSchema result = cache.get(key);
+
+        if (result != null) {
+            hitCount.incrementAndGet();
+
+            return result;
+        }
+
+        missCount.incrementAndGet();
+
+        result = transform(graphQLSchema, fieldVisibility.get());
+
+        cache.put(key, result);
+
+        return result;
+    }
+
+    public static GraphQLSchema transform(GraphQLSchema graphQLSchema, GraphqlFieldVisibility fieldVisibility) {
+        if (graphQLSchema.getCodeRegistry().getFieldVisibility() == fieldVisibility) {
+            return graphQLSchema;
+        }
+
+        GraphQLCodeRegistry codeRegistry = graphQLSchema
+            .getCodeRegistry()
+            .transform(builder -> builder.fieldVisibility(fieldVisibility));
+
+        return graphQLSchema.transform(builder -> builder.codeRegistry(codeRegistry));
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Cache key of visibility transformed schema.
+     */
+    public record SchemaKey(GraphQLSchema graphQLSchema, Object visibilityKey) {}
+}
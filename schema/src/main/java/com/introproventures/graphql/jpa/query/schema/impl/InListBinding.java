@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017 IntroPro Ventures Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+/**
+ * Binding of entity keys in batch, restricted keys and page select queries.
+ */
+public enum InListBinding {
+    /**
+     * Binds each key as a separate IN-list value, so that every distinct number of keys produces a new statement
+     */
+    VALUES,
+
+    /**
+     * Binds keys as a single IN-list parameter, so that Hibernate pads it to the next power of two size with
+     * <code>hibernate.query.in_clause_parameter_padding</code> setting enabled
+     */
+    PADDED,
+
+    /**
+     * Binds keys as a single array parameter with <code>id = any(?)</code> predicate on dialects that support
+     * arrays, or falls back to {@link #PADDED}
+     */
+    ARRAY,
+}
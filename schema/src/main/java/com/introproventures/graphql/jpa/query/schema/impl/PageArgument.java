@@ -1,13 +1,21 @@
 package com.introproventures.graphql.jpa.query.schema.impl;
 
+import java.util.Optional;
+
 public final class PageArgument {
 
     private int start;
     private int limit;
+    private String after;
 
     public PageArgument(Integer start, Integer limit) {
+        this(start, limit, null);
+    }
+
+    public PageArgument(Integer start, Integer limit, String after) {
         this.start = start;
         this.limit = limit;
+        this.after = after;
     }
 
     public int getStart() {
@@ -21,4 +29,13 @@ public final class PageArgument {
     public int getOffset() {
         return (getStart() - 1) * getLimit();
     }
+
+    /**
+     * Returns end cursor of the previous page to continue with, if requested instead of the start page.
+     *
+     * @return optional end cursor
+     */
+    public Optional<String> getAfter() {
+        return Optional.ofNullable(after);
+    }
 }
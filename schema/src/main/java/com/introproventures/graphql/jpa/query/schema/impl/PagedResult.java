@@ -29,6 +29,7 @@ public class PagedResult<T> {
     private final int offset;
     private final List<T> select;
     private final Map<String, Object> aggregate;
+    private final String endCursor;
 
     private PagedResult(Builder<T> builder) {
         this.limit = builder.limit;
@@ -37,6 +38,7 @@ public class PagedResult<T> {
         this.select = builder.select;
         this.pages = ((Double) Math.ceil(total / (double) limit)).longValue();
         this.aggregate = builder.aggregate;
+        this.endCursor = builder.endCursor;
     }
 
     public Long getTotal() {
@@ -63,6 +65,10 @@ public class PagedResult<T> {
         return aggregate;
     }
 
+    public String getEndCursor() {
+        return endCursor;
+    }
+
     /**
      * Creates builder to build {@link PagedResult}.
      * @return created builder
@@ -82,6 +88,7 @@ public class PagedResult<T> {
         private int offset;
         private List<T> select = Collections.emptyList();
         private Map<String, Object> aggregate = new LinkedHashMap<>();
+        private String endCursor;
 
         private Builder() {}
 
@@ -145,6 +152,16 @@ public class PagedResult<T> {
             return this;
         }
 
+        /**
+         * Builder method for endCursor parameter.
+         * @param endCursor field to set
+         * @return builder
+         */
+        public Builder<T> withEndCursor(String endCursor) {
+            this.endCursor = endCursor;
+            return this;
+        }
+
         /**
          * Builder method of the builder.
          * @return built class
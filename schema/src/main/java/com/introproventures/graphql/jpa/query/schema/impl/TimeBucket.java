@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017 IntroPro Ventures Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+/**
+ * Time bucket used to truncate temporal attribute values in aggregate group by queries.
+ */
+public enum TimeBucket {
+    /**
+     * Truncates values to the start of hour
+     */
+    HOUR("hour", "HH", "%Y-%m-%d %H:00:00", "%Y-%m-%d %H:%i:%s"),
+
+    /**
+     * Truncates values to the start of day
+     */
+    DAY("day", "DD", "%Y-%m-%d 00:00:00", "%Y-%m-%d %H:%i:%s"),
+
+    /**
+     * Truncates values to the start of ISO week
+     */
+    WEEK("week", "IW", "%x-%v Monday", "%x-%v %W"),
+
+    /**
+     * Truncates values to the start of month
+     */
+    MONTH("month", "MM", "%Y-%m-01 00:00:00", "%Y-%m-%d %H:%i:%s"),
+
+    /**
+     * Truncates values to the start of year
+     */
+    YEAR("year", "YYYY", "%Y-01-01 00:00:00", "%Y-%m-%d %H:%i:%s");
+
+    private final String unit;
+    private final String oracleFormat;
+    private final String mySQLFormat;
+    private final String mySQLParseFormat;
+
+    TimeBucket(String unit, String oracleFormat, String mySQLFormat, String mySQLParseFormat) {
+        this.unit = unit;
+        this.oracleFormat = oracleFormat;
+        this.mySQLFormat = mySQLFormat;
+        this.mySQLParseFormat = mySQLParseFormat;
+    }
+
+    /**
+     * Returns <code>date_trunc</code> function unit
+     *
+     * @return unit name
+     */
+    public String getUnit() {
+        return unit;
+    }
+
+    /**
+     * Returns Oracle <code>trunc</code> function format
+     *
+     * @return format model
+     */
+    public String getOracleFormat() {
+        return oracleFormat;
+    }
+
+    /**
+     * Returns MySQL <code>date_format</code> function format of the bucket start
+     *
+     * @return format string
+     */
+    public String getMySQLFormat() {
+        return mySQLFormat;
+    }
+
+    /**
+     * Returns MySQL <code>str_to_date</code> function format parsing the formatted bucket start
+     *
+     * @return format string
+     */
+    public String getMySQLParseFormat() {
+        return mySQLParseFormat;
+    }
+}
@@ -9,7 +9,11 @@ import graphql.language.Field;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,11 +25,14 @@ public class GraphQLJpaRelayDataFetcher implements DataFetcher<Page<Object>> {
     private static final String EDGES = "edges";
     private static final String FIRST = "first";
     private static final String AFTER = "after";
+    private static final String LAST = "last";
+    private static final String BEFORE = "before";
     private static final String PAGE_INFO = "pageInfo";
 
     private final int defaultMaxResults;
     private final int defaultFirstSize;
     private final boolean enableDefaultMaxResults;
+    private final boolean keysetPagination;
     private final GraphQLJpaQueryFactory queryFactory;
 
     private GraphQLJpaRelayDataFetcher(Builder builder) {
@@ -33,6 +40,19 @@ public class GraphQLJpaRelayDataFetcher implements DataFetcher<Page<Object>> {
         this.defaultMaxResults = builder.defaultMaxResults;
         this.defaultFirstSize = builder.defaultFirstSize;
         this.enableDefaultMaxResults = builder.enableDefaultMaxResults;
+        this.keysetPagination = builder.keysetPagination;
+    }
+
+    public int getDefaultMaxResults() {
+        return defaultMaxResults;
+    }
+
+    public int getDefaultFirstSize() {
+        return defaultFirstSize;
+    }
+
+    public boolean isKeysetPagination() {
+        return keysetPagination;
     }
 
     @Override
@@ -43,28 +63,83 @@ public class GraphQLJpaRelayDataFetcher implements DataFetcher<Page<Object>> {
         Optional<Field> pageInfoSelection = getSelectionField(rootNode, PAGE_INFO);
         Optional<Integer> firstArgument = Optional.<Integer>ofNullable(environment.getArgument(FIRST));
         Optional<String> afterArgument = Optional.<String>ofNullable(environment.getArgument(AFTER));
+        Optional<Integer> lastArgument = Optional.<Integer>ofNullable(environment.getArgument(LAST));
+        Optional<String> beforeArgument = Optional.<String>ofNullable(environment.getArgument(BEFORE));
+
+        final boolean backward =
+            (lastArgument.isPresent() || beforeArgument.isPresent()) &&
+            firstArgument.isEmpty() &&
+            afterArgument.isEmpty();
 
-        final Integer first = firstArgument.orElse(defaultFirstSize);
+        final Integer first = (backward ? lastArgument : firstArgument).orElse(defaultFirstSize);
+        final Optional<String> cursorArgument = backward ? beforeArgument : afterArgument;
+
+        Optional<List<Object>> restrictedKeys = queryFactory.getRestrictedKeys(environment);
 
-        final String after = afterArgument.orElse(new OffsetBasedCursor(0L).toConnectionCursor().toString());
+        if (
+            keysetPagination &&
+            edgesSelection.isPresent() &&
+            restrictedKeys.isPresent() &&
+            (enableDefaultMaxResults || firstArgument.isPresent() || afterArgument.isPresent() || backward) &&
+            cursorArgument.map(KeysetCursor::isKeysetCursor).orElse(true)
+        ) {
+            Optional<List<SortField>> sortFields = queryFactory.getKeysetSortFields(environment);
+
+            if (sortFields.isPresent()) {
+                return getKeysetPage(
+                    environment,
+                    sortFields.get(),
+                    cursorArgument,
+                    backward,
+                    Integer.min(first, defaultMaxResults),
+                    restrictedKeys.get()
+                );
+            }
 
-        final OffsetBasedCursor cursor = OffsetBasedCursor.fromCursor(after);
+            logger.debug("Sort is not supported by keyset pagination, falling back to offset pagination");
+        }
 
-        final int firstResult = Integer.parseInt(Long.toString(cursor.getOffset()));
-        final int maxResults = Integer.min(first, defaultMaxResults);
+        final int maxResults;
+        final int firstResult;
+        final Optional<Long> total;
+
+        if (backward) {
+            // Let's resolve position of the before cursor, or the end of the result for the last page
+            total =
+                pageInfoSelection.isPresent() || beforeArgument.isEmpty()
+                    ? Optional.of(queryFactory.queryTotalCount(environment, restrictedKeys))
+                    : Optional.empty();
+
+            final long before = beforeArgument
+                .map(OffsetBasedCursor::fromCursor)
+                .map(OffsetBasedCursor::getOffset)
+                .orElseGet(() -> total.get() + 1);
+
+            firstResult = (int) Long.max(0L, before - 1 - first);
+            maxResults = Integer.min((int) Long.max(0L, before - 1 - firstResult), defaultMaxResults);
+        } else {
+            final String after = afterArgument.orElse(new OffsetBasedCursor(0L).toConnectionCursor().toString());
+
+            final OffsetBasedCursor cursor = OffsetBasedCursor.fromCursor(after);
+
+            firstResult = Integer.parseInt(Long.toString(cursor.getOffset()));
+            maxResults = Integer.min(first, defaultMaxResults);
+            total =
+                pageInfoSelection.isPresent()
+                    ? Optional.of(queryFactory.queryTotalCount(environment, restrictedKeys))
+                    : Optional.empty();
+        }
 
         final PagedResult.Builder<Object> pagedResult = PagedResult
             .builder()
             .withOffset(firstResult)
             .withLimit(maxResults);
 
-        Optional<List<Object>> restrictedKeys = queryFactory.getRestrictedKeys(environment);
-
         if (edgesSelection.isPresent()) {
             if (restrictedKeys.isPresent()) {
                 final List<Object> queryKeys = new ArrayList<>();
 
-                if (enableDefaultMaxResults || firstArgument.isPresent() || afterArgument.isPresent()) {
+                if (enableDefaultMaxResults || firstArgument.isPresent() || afterArgument.isPresent() || backward) {
                     queryKeys.addAll(
                         queryFactory.queryKeys(environment, firstResult, maxResults, restrictedKeys.get())
                     );
@@ -77,17 +152,69 @@ public class GraphQLJpaRelayDataFetcher implements DataFetcher<Page<Object>> {
             }
         }
 
-        if (pageInfoSelection.isPresent()) {
-            final Long total = queryFactory.queryTotalCount(environment, restrictedKeys);
-
-            pagedResult.withTotal(total);
-        }
+        total.ifPresent(pagedResult::withTotal);
 
         PagedResult<Object> result = pagedResult.build();
 
         return PageFactory.createOffsetBasedPage(result.getSelect(), result.getTotal(), result.getOffset());
     }
 
+    /**
+     * Resolves page with keyset seek predicate on the sort values encoded in the cursor. One extra key is queried
+     * to detect the next page in the paging direction, so that the total count query is not needed.
+     */
+    private Page<Object> getKeysetPage(
+        DataFetchingEnvironment environment,
+        List<SortField> sortFields,
+        Optional<String> cursorArgument,
+        boolean backward,
+        int maxResults,
+        List<Object> restrictedKeys
+    ) {
+        final List<Object> seekValues = cursorArgument
+            .map(KeysetCursor::fromCursor)
+            .map(cursor -> cursor.getValues(sortFields, queryFactory.getKeysetValueTypes(sortFields)))
+            .orElse(Collections.emptyList());
+
+        final List<Object> keys = queryFactory.queryKeysetKeys(
+            environment,
+            sortFields,
+            seekValues,
+            backward,
+            maxResults + 1,
+            restrictedKeys
+        );
+
+        final boolean hasMore = keys.size() > maxResults;
+        final List<Object> pageKeys = new ArrayList<>(keys.subList(0, Integer.min(keys.size(), maxResults)));
+
+        if (backward) {
+            Collections.reverse(pageKeys);
+        }
+
+        final KeysetCursorProvider cursorProvider = new KeysetCursorProvider(queryFactory, sortFields);
+        final List<Object> resultList = new ArrayList<>();
+
+        if (!pageKeys.isEmpty()) {
+            final Map<Object, Integer> positions = new HashMap<>();
+
+            for (int i = 0; i < pageKeys.size(); i++) {
+                positions.put(pageKeys.get(i), i);
+            }
+
+            // Let's keep nodes in the order of keys, because the id tie-breaker may not be in the result query sort
+            resultList.addAll(queryFactory.queryResultList(environment, maxResults, pageKeys));
+            resultList.sort(Comparator.comparing(node -> positions.get(cursorProvider.getKey(node))));
+        }
+
+        return PageFactory.createPage(
+            resultList,
+            cursorProvider,
+            backward ? cursorArgument.isPresent() : hasMore,
+            backward ? hasMore : cursorArgument.isPresent()
+        );
+    }
+
     /**
      * Creates builder to build {@link GraphQLJpaRelayDataFetcher}.
      * @return created builder
@@ -143,6 +270,13 @@ public class GraphQLJpaRelayDataFetcher implements DataFetcher<Page<Object>> {
      * Definition of a stage for staged builder.
      */
     public interface IBuildStage {
+        /**
+         * Builder method for keysetPagination parameter.
+         * @param keysetPagination field to set
+         * @return builder
+         */
+        public IBuildStage withKeysetPagination(boolean keysetPagination);
+
         /**
          * Builder method of the builder.
          * @return built class
@@ -160,6 +294,7 @@ public class GraphQLJpaRelayDataFetcher implements DataFetcher<Page<Object>> {
         private int defaultMaxResults;
         private int defaultFirstSize;
         private boolean enableDefaultMaxResults;
+        private boolean keysetPagination;
 
         private Builder() {}
 
@@ -181,6 +316,12 @@ public class GraphQLJpaRelayDataFetcher implements DataFetcher<Page<Object>> {
             return this;
         }
 
+        @Override
+        public IBuildStage withKeysetPagination(boolean keysetPagination) {
+            this.keysetPagination = keysetPagination;
+            return this;
+        }
+
         @Override
         public GraphQLJpaRelayDataFetcher build() {
             return new GraphQLJpaRelayDataFetcher(this);
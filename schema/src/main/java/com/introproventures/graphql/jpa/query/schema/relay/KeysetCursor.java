@@ -0,0 +1,201 @@
+package com.introproventures.graphql.jpa.query.schema.relay;
+
+import graphql.relay.ConnectionCursor;
+import graphql.relay.DefaultConnectionCursor;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This uses an encoding of the sort signature and values of the sort attributes of the last node, so that the next
+ * page can be resolved with a seek predicate instead of skipping offset rows
+ */
+public class KeysetCursor {
+
+    private static final java.util.Base64.Encoder encoder = java.util.Base64.getEncoder();
+    private static final java.util.Base64.Decoder decoder = java.util.Base64.getDecoder();
+    private static final String PREFIX = "keyset=";
+    private static final String SIGNATURE_SEPARATOR = ";";
+    private static final String VALUE_SEPARATOR = ",";
+
+    private final String signature;
+    private final List<String> values;
+
+    KeysetCursor(String signature, List<String> values) {
+        this.signature = signature;
+        this.values = values;
+    }
+
+    public static KeysetCursor of(List<SortField> sortFields, List<Object> values) {
+        return new KeysetCursor(signature(sortFields), values.stream().map(KeysetCursor::format).toList());
+    }
+
+    public static boolean isKeysetCursor(String cursor) {
+        try {
+            return decode(cursor).startsWith(PREFIX);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public static KeysetCursor fromCursor(String cursor) {
+        String s = decode(cursor);
+
+        if (!s.startsWith(PREFIX) || !s.contains(SIGNATURE_SEPARATOR)) {
+            throwInvalidCursor(s);
+        }
+
+        String signature = s.substring(PREFIX.length(), s.indexOf(SIGNATURE_SEPARATOR));
+        String values = s.substring(s.indexOf(SIGNATURE_SEPARATOR) + 1);
+
+        return new KeysetCursor(
+            signature,
+            Stream
+                .of(values.split(VALUE_SEPARATOR, -1))
+                .map(it -> URLDecoder.decode(it, StandardCharsets.UTF_8))
+                .toList()
+        );
+    }
+
+    /**
+     * Returns cursor values converted to the sort attribute types.
+     *
+     * @param sortFields sort fields of the query the cursor is used with
+     * @param types java types of the sort attributes
+     * @return seek values
+     */
+    public List<Object> getValues(List<SortField> sortFields, List<Class<?>> types) {
+        if (!signature.equals(signature(sortFields)) || values.size() != types.size()) {
+            throwInvalidCursor(signature);
+        }
+
+        List<Object> result = new ArrayList<>(values.size());
+
+        for (int i = 0; i < values.size(); i++) {
+            result.add(parse(types.get(i), values.get(i)));
+        }
+
+        return result;
+    }
+
+    public ConnectionCursor toConnectionCursor() {
+        return new DefaultConnectionCursor(
+            encode(
+                PREFIX +
+                signature +
+                SIGNATURE_SEPARATOR +
+                values
+                    .stream()
+                    .map(it -> URLEncoder.encode(it, StandardCharsets.UTF_8))
+                    .collect(Collectors.joining(VALUE_SEPARATOR))
+            )
+        );
+    }
+
+    /**
+     * Returns true if values of the java type can be encoded into cursor and compared in a seek predicate.
+     *
+     * @param type attribute java type
+     * @return true if supported
+     */
+    public static boolean isSupportedType(Class<?> type) {
+        Class<?> javaType = wrap(type);
+
+        return (
+            String.class.equals(javaType) ||
+            UUID.class.equals(javaType) ||
+            Boolean.class.equals(javaType) ||
+            BigDecimal.class.equals(javaType) ||
+            BigInteger.class.equals(javaType) ||
+            (Number.class.isAssignableFrom(javaType) && javaType.getName().startsWith("java.lang.")) ||
+            Enum.class.isAssignableFrom(javaType) ||
+            Date.class.isAssignableFrom(javaType) ||
+            (Temporal.class.isAssignableFrom(javaType) && javaType.getName().startsWith("java.time."))
+        );
+    }
+
+    static String signature(List<SortField> sortFields) {
+        return sortFields
+            .stream()
+            .map(it -> it.getName() + ":" + it.getDirection())
+            .collect(Collectors.joining("|"));
+    }
+
+    static String format(Object value) {
+        Objects.requireNonNull(value, "keyset cursor value must not be null");
+
+        if (value instanceof Enum<?> enumValue) {
+            return enumValue.name();
+        } else if (value instanceof Date date && !(value instanceof java.sql.Date || value instanceof java.sql.Time)) {
+            // Let's keep nanos of timestamps, other dates are encoded as epoch millis
+            return value instanceof java.sql.Timestamp timestamp ? timestamp.toString() : Long.toString(date.getTime());
+        }
+
+        return value.toString();
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static Object parse(Class<?> type, String value) {
+        Class<?> javaType = wrap(type);
+
+        try {
+            if (String.class.equals(javaType)) {
+                return value;
+            } else if (javaType.isEnum()) {
+                return Enum.valueOf((Class<Enum>) javaType, value);
+            } else if (Date.class.equals(javaType)) {
+                // Date attributes may be loaded as timestamps
+                return value.contains("-") ? java.sql.Timestamp.valueOf(value) : new Date(Long.parseLong(value));
+            } else if (UUID.class.equals(javaType)) {
+                return UUID.fromString(value);
+            }
+
+            for (String name : List.of("valueOf", "parse")) {
+                for (Class<?> parameterType : List.of(String.class, CharSequence.class)) {
+                    try {
+                        Method method = javaType.getMethod(name, parameterType);
+                        if (Modifier.isStatic(method.getModifiers()) && javaType.equals(method.getReturnType())) {
+                            return method.invoke(null, value);
+                        }
+                    } catch (NoSuchMethodException ignored) {}
+                }
+            }
+
+            Constructor<?> constructor = javaType.getConstructor(String.class);
+
+            return constructor.newInstance(value);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid keyset cursor value provided : " + value, e);
+        }
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+    private static String encode(String s) {
+        return encoder.encodeToString(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String s) {
+        return new String(decoder.decode(s), StandardCharsets.UTF_8);
+    }
+
+    private static void throwInvalidCursor(String cursor) {
+        throw new IllegalArgumentException("Invalid keyset cursor provided : " + cursor);
+    }
+}
@@ -0,0 +1,39 @@
+package com.introproventures.graphql.jpa.query.schema.relay;
+
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaQueryFactory;
+import graphql.relay.ConnectionCursor;
+import java.util.List;
+
+/**
+ * Cursor provider that encodes values of the effective sort attributes followed by the id of each node,
+ * so that the adjacent pages can be resolved with keyset seek predicate.
+ */
+public class KeysetCursorProvider implements CursorProvider<Object> {
+
+    private final GraphQLJpaQueryFactory queryFactory;
+    private final List<SortField> sortFields;
+
+    public KeysetCursorProvider(GraphQLJpaQueryFactory queryFactory, List<SortField> sortFields) {
+        this.queryFactory = queryFactory;
+        this.sortFields = sortFields;
+    }
+
+    @Override
+    public ConnectionCursor createCursor(Object node, int index) {
+        return KeysetCursor.of(sortFields, queryFactory.getKeysetValues(node, sortFields)).toConnectionCursor();
+    }
+
+    /**
+     * Returns id of the node, which is always the last keyset sort field.
+     *
+     * @param node entity node
+     * @return node id
+     */
+    public Object getKey(Object node) {
+        return queryFactory.getKeysetValues(node, sortFields.subList(sortFields.size() - 1, sortFields.size())).get(0);
+    }
+
+    public List<SortField> getSortFields() {
+        return sortFields;
+    }
+}
@@ -79,12 +79,16 @@ public class GraphQLSupport {
         int defaultPageLimitSize
     ) {
         if (paginationRequest.isPresent()) {
-            Map<String, Integer> pagex = environment.getArgument(GraphQLJpaSchemaBuilder.PAGE_PARAM_NAME);
+            Map<String, Object> pagex = environment.getArgument(GraphQLJpaSchemaBuilder.PAGE_PARAM_NAME);
 
-            Integer start = pagex.getOrDefault(GraphQLJpaSchemaBuilder.PAGE_START_PARAM_NAME, 1);
-            Integer limit = pagex.getOrDefault(GraphQLJpaSchemaBuilder.PAGE_LIMIT_PARAM_NAME, defaultPageLimitSize);
+            Integer start = (Integer) pagex.getOrDefault(GraphQLJpaSchemaBuilder.PAGE_START_PARAM_NAME, 1);
+            Integer limit = (Integer) pagex.getOrDefault(
+                GraphQLJpaSchemaBuilder.PAGE_LIMIT_PARAM_NAME,
+                defaultPageLimitSize
+            );
+            String after = (String) pagex.get(GraphQLJpaSchemaBuilder.PAGE_AFTER_PARAM_NAME);
 
-            return new PageArgument(start, limit);
+            return new PageArgument(start, limit, after);
         }
 
         return new PageArgument(1, defaultPageLimitSize);
@@ -40,6 +40,8 @@ import jakarta.transaction.Transactional;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -50,6 +52,7 @@ import org.springframework.context.annotation.Bean;
     properties = {
         "spring.sql.init.data-locations=GraphQLJpaAggregateTests.sql",
         "spring.datasource.url=jdbc:h2:mem:db;NON_KEYWORDS=VALUE;INIT=RUNSCRIPT FROM 'classpath:h2-init.sql'",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
     }
 )
 public class GraphQLJpaQueryAggregateTests extends AbstractSpringBootTestSupport {
@@ -364,6 +367,37 @@ public class GraphQLJpaQueryAggregateTests extends AbstractSpringBootTestSupport
         assertThat(result.toString()).isEqualTo(expected);
     }
 
+    @Test
+    public void queryVariablesTaskNestedFusedAggregateCounts() {
+        //given
+        String query =
+            """
+                query {
+                  TaskVariables(where:{task: {status: {EQ: CREATED}}}) {
+                    aggregate {
+                      count
+                      all: count
+                      tasks: count(of: task)
+                      variableTasks: count(of: task)
+                    }
+                  }
+                }
+            """;
+
+        String expected = "{TaskVariables={aggregate={count=6, all=6, tasks=6, variableTasks=6}}}";
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //when
+        ExecutionResult result = executor.execute(query);
+
+        // then
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(result.getData().toString()).isEqualTo(expected);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
     @Test
     public void queryVariablesTaskNestedAggregateCountWhere() {
         //given
@@ -704,4 +738,240 @@ public class GraphQLJpaQueryAggregateTests extends AbstractSpringBootTestSupport
         assertThat(result.getErrors()).isEmpty();
         assertThat(result.getData().toString()).isEqualTo(expected);
     }
+
+    @Test
+    public void queryTasksAggregateFunctions() {
+        //given
+        String query =
+            """
+                query {
+                  Tasks {
+                    aggregate {
+                      count
+                      sum(field: priority)
+                      avg(field: priority)
+                      min(field: priority)
+                      max(field: priority)
+                    }
+                  }
+                }
+            """;
+
+        String expected = "{Tasks={aggregate={count=6, sum=50, avg=8.333333333333334, min=5, max=10}}}";
+
+        //when
+        ExecutionResult result = executor.execute(query);
+
+        // then
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(result.getData().toString()).isEqualTo(expected);
+    }
+
+    @Test
+    public void queryTasksAggregateFunctionRequiresFieldArgument() {
+        //given
+        String query =
+            """
+                query {
+                  Tasks {
+                    aggregate {
+                      sum
+                    }
+                  }
+                }
+            """;
+
+        //when
+        ExecutionResult result = executor.execute(query);
+
+        // then
+        assertThat(result.getErrors())
+            .singleElement()
+            .satisfies(error -> assertThat(error.getMessage()).contains("field"));
+        assertThat(result.getData()).isNull();
+    }
+
+    @Test
+    public void queryTasksAggregateFunctionsWhere() {
+        //given
+        String query =
+            """
+                query {
+                  Tasks(where: {status: {EQ: CREATED}}) {
+                    aggregate {
+                      total: sum(field: priority)
+                      lowest: min(field: priority)
+                      highest: max(field: priority)
+                    }
+                  }
+                }
+            """;
+
+        String expected = "{Tasks={aggregate={total=25, lowest=5, highest=10}}}";
+
+        //when
+        ExecutionResult result = executor.execute(query);
+
+        // then
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(result.getData().toString()).isEqualTo(expected);
+    }
+
+    @Test
+    public void queryTasksAggregateFunctionsGroupBy() {
+        //given
+        String query =
+            """
+                query {
+                  Tasks {
+                    aggregate {
+                      group {
+                        status: by(field: status)
+                        count
+                        sum(field: priority)
+                        max(field: priority)
+                      }
+                    }
+                  }
+                }
+            """;
+
+        //when
+        ExecutionResult result = executor.execute(query);
+
+        // then
+        assertThat(result.getErrors()).isEmpty();
+
+        Map<String, Map<String, List<Map<String, Object>>>> data = result.getData();
+
+        assertThat(data.get("Tasks").get("aggregate").get("group"))
+            .extracting(Object::toString)
+            .containsExactlyInAnyOrder(
+                "{status=COMPLETED, count=2, sum=15, max=10}",
+                "{status=CREATED, count=3, sum=25, max=10}",
+                "{status=ASSIGNED, count=1, sum=10, max=10}"
+            );
+    }
+
+    @Test
+    public void queryTasksAggregateFunctionsGroupByWithoutCount() {
+        //given
+        String query =
+            """
+                query {
+                  Tasks(where: {status: {EQ: COMPLETED}}) {
+                    aggregate {
+                      group {
+                        status: by(field: status)
+                        avg(field: priority)
+                      }
+                    }
+                  }
+                }
+            """;
+
+        String expected = "{Tasks={aggregate={group=[{status=COMPLETED, avg=7.5}]}}}";
+
+        //when
+        ExecutionResult result = executor.execute(query);
+
+        // then
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(result.getData().toString()).isEqualTo(expected);
+    }
+
+    @Test
+    public void queryTasksAggregateCountGroupByTimeBucket() {
+        //given
+        String query =
+            """
+                query {
+                  Tasks {
+                    aggregate {
+                      group {
+                        day: by(field: createdDate, bucket: DAY)
+                        status: by(field: status)
+                        count
+                      }
+                    }
+                  }
+                }
+            """;
+
+        //when
+        ExecutionResult result = executor.execute(query);
+
+        // then
+        assertThat(result.getErrors()).isEmpty();
+
+        Map<String, Map<String, List<Map<String, Object>>>> data = result.getData();
+
+        assertThat(data.get("Tasks").get("aggregate").get("group"))
+            .hasSize(3)
+            .allSatisfy(group -> assertThat(group.get("day")).isNotNull())
+            .extracting(group -> group.get("status") + "=" + group.get("count"))
+            .containsExactlyInAnyOrder("COMPLETED=2", "CREATED=3", "ASSIGNED=1");
+    }
+
+    @Test
+    public void queryTasksAggregateCountGroupByTimeBucketHistogram() {
+        //given
+        String query =
+            """
+                query {
+                  Tasks {
+                    aggregate {
+                      group {
+                        month: by(field: createdDate, bucket: MONTH)
+                        count
+                        max(field: priority)
+                      }
+                    }
+                  }
+                }
+            """;
+
+        //when
+        ExecutionResult result = executor.execute(query);
+
+        // then
+        assertThat(result.getErrors()).isEmpty();
+
+        Map<String, Map<String, List<Map<String, Object>>>> data = result.getData();
+
+        assertThat(data.get("Tasks").get("aggregate").get("group"))
+            .singleElement()
+            .satisfies(group -> {
+                assertThat(group.get("month")).isNotNull();
+                assertThat(group.get("count")).isEqualTo(6L);
+                assertThat(group.get("max")).isEqualTo(10);
+            });
+    }
+
+    @Test
+    public void queryTasksAggregateGroupByTimeBucketRequiresTemporalField() {
+        //given
+        String query =
+            """
+                query {
+                  Tasks {
+                    aggregate {
+                      group {
+                        by(field: name, bucket: DAY)
+                        count
+                      }
+                    }
+                  }
+                }
+            """;
+
+        //when
+        ExecutionResult result = executor.execute(query);
+
+        // then
+        assertThat(result.getErrors())
+            .isNotEmpty()
+            .extracting(GraphQLError::getMessage)
+            .anyMatch(message -> message.contains("Time bucket requires temporal attribute type"));
+    }
 }
@@ -0,0 +1,146 @@
+package com.introproventures.graphql.jpa.query.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.introproventures.graphql.jpa.query.AbstractSpringBootTestSupport;
+import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
+import com.introproventures.graphql.jpa.query.schema.GraphQLSchemaBuilder;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaExecutor;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaSchemaBuilder;
+import graphql.ExecutionResult;
+import jakarta.persistence.EntityManager;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+
+@SpringBootTest(
+    properties = {
+        "spring.sql.init.data-locations=GraphQLJpaAggregateTests.sql",
+        "spring.datasource.url=jdbc:h2:mem:db;NON_KEYWORDS=VALUE;INIT=RUNSCRIPT FROM 'classpath:h2-init.sql'",
+    }
+)
+public class GraphQLJpaQueryConcurrentAggregateTests extends AbstractSpringBootTestSupport {
+
+    @SpringBootApplication
+    static class Application {
+
+        @Bean
+        public CountingExecutor concurrentQueryExecutor() {
+            return new CountingExecutor();
+        }
+
+        @Bean
+        public GraphQLExecutor graphQLExecutor(final GraphQLSchemaBuilder graphQLSchemaBuilder) {
+            return new GraphQLJpaExecutor(graphQLSchemaBuilder.build());
+        }
+
+        @Bean
+        public GraphQLSchemaBuilder graphQLSchemaBuilder(
+            final EntityManager entityManager,
+            final CountingExecutor concurrentQueryExecutor
+        ) {
+            return new GraphQLJpaSchemaBuilder(entityManager)
+                .name("ConcurrentQueriesSchema")
+                .description("Concurrent Queries Schema")
+                .concurrentQueryExecutor(concurrentQueryExecutor)
+                .enableAggregate(true);
+        }
+    }
+
+    static class CountingExecutor implements Executor {
+
+        private final Executor delegate = Executors.newCachedThreadPool();
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public void execute(Runnable command) {
+            count.incrementAndGet();
+            delegate.execute(command);
+        }
+    }
+
+    @Autowired
+    private GraphQLExecutor executor;
+
+    @Autowired
+    private CountingExecutor concurrentQueryExecutor;
+
+    @BeforeEach
+    public void setUp() {
+        concurrentQueryExecutor.count.set(0);
+    }
+
+    @Test
+    public void queryTasksWithTotalAndAggregateCountsConcurrently() {
+        //given
+        String query =
+            """
+                query {
+                  Tasks(
+                    where: {
+                      status: { EQ: COMPLETED }
+                    }
+                    page: { start: 1, limit: 1 }
+                  ) {
+                    total
+                    pages
+                    select {
+                      id
+                      status
+                    }
+                    aggregate {
+                      count
+                      variables: count(of: variables)
+                    }
+                  }
+                }
+            """;
+
+        String expected =
+            "{Tasks={total=2, pages=2, select=[{id=1, status=COMPLETED}], aggregate={count=2, variables=2}}}";
+
+        //when
+        ExecutionResult result = executor.execute(query);
+
+        // then
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(result.getData().toString()).isEqualTo(expected);
+        assertThat(concurrentQueryExecutor.count).hasValue(3);
+    }
+
+    @Test
+    public void queryVariablesAggregateCountGroupByConcurrently() {
+        //given
+        String query =
+            """
+            query {
+              TaskVariables(where: {name: {IN: ["variable1", "variable5"]}}) {
+                aggregate {
+                  count
+                  group {
+                    by(field: name)
+                    count
+                  }
+                }
+              }
+            }
+            """;
+
+        String expected =
+            "{TaskVariables={aggregate={count=3, group=[{by=variable1, count=1}, {by=variable5, count=2}]}}}";
+
+        //when
+        ExecutionResult result = executor.execute(query);
+
+        // then
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(result.getData().toString()).isEqualTo(expected);
+        assertThat(concurrentQueryExecutor.count).hasValue(2);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2017 IntroPro Ventures Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.introproventures.graphql.jpa.query.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaQueryTemplateCache;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaSchemaBuilder;
+import com.introproventures.graphql.jpa.query.support.GraphQLExecutorTestConfiguration;
+import com.introproventures.graphql.jpa.query.support.GraphQLExecutorTestsSupport;
+import graphql.ExecutionResult;
+import jakarta.persistence.EntityManager;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+@SpringBootTest
+public class GraphQLExecutorWithQueryTemplateCacheTests extends GraphQLExecutorTestsSupport {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @Import(GraphQLExecutorTestConfiguration.class)
+    static class Application {
+
+        @Bean
+        public GraphQLJpaQueryTemplateCache queryTemplateCache() {
+            return new GraphQLJpaQueryTemplateCache();
+        }
+
+        @Bean
+        public GraphQLSchemaBuilder graphQLSchemaBuilder(
+            final EntityManager entityManager,
+            final GraphQLJpaQueryTemplateCache queryTemplateCache
+        ) {
+            return new GraphQLJpaSchemaBuilder(entityManager)
+                .name("GraphQLBooks")
+                .description("Books JPA test schema")
+                .queryTemplateCache(queryTemplateCache);
+        }
+    }
+
+    @Autowired
+    private GraphQLJpaQueryTemplateCache queryTemplateCache;
+
+    @Test
+    public void queryWithSameVariablesReusesQueryTemplates() {
+        //given
+        String query =
+            """
+                query($genre: Genre) {
+                  Books(where: {genre: {EQ: $genre}}) {
+                    total
+                    select {
+                      id
+                      title
+                    }
+                  }
+                }
+            """;
+
+        queryTemplateCache.clear();
+
+        //when
+        ExecutionResult plays = executor.execute(query, Map.of("genre", "PLAY"));
+        long missCount = queryTemplateCache.getMissCount();
+        long hitCount = queryTemplateCache.getHitCount();
+
+        ExecutionResult playsAgain = executor.execute(query, Map.of("genre", "PLAY"));
+
+        // then
+        assertThat(plays.getErrors()).isEmpty();
+        assertThat(playsAgain.getData().toString()).isEqualTo(plays.getData().toString());
+        assertThat(queryTemplateCache.getMissCount()).isEqualTo(missCount);
+        assertThat(queryTemplateCache.getHitCount()).isGreaterThan(hitCount);
+    }
+
+    @Test
+    public void queryWithDifferentVariablesReusesQueryTemplates() {
+        //given
+        String query =
+            """
+                query($genre: Genre) {
+                  Books(where: {genre: {EQ: $genre}}) {
+                    select {
+                      id
+                      title
+                    }
+                  }
+                }
+            """;
+
+        queryTemplateCache.clear();
+
+        //when
+        ExecutionResult plays = executor.execute(query, Map.of("genre", "PLAY"));
+        long missCount = queryTemplateCache.getMissCount();
+        long hitCount = queryTemplateCache.getHitCount();
+        int size = queryTemplateCache.size();
+
+        ExecutionResult novels = executor.execute(query, Map.of("genre", "NOVEL"));
+
+        // then
+        assertThat(plays.getData().toString())
+            .isEqualTo(
+                "{Books={select=[" +
+                "{id=5, title=The Cherry Orchard}, " +
+                "{id=6, title=The Seagull}, " +
+                "{id=7, title=Three Sisters}" +
+                "]}}"
+            );
+        assertThat(novels.getData().toString())
+            .isEqualTo("{Books={select=[" + "{id=2, title=War and Peace}, " + "{id=3, title=Anna Karenina}" + "]}}");
+        assertThat(queryTemplateCache.getMissCount()).isEqualTo(missCount);
+        assertThat(queryTemplateCache.getHitCount()).isGreaterThan(hitCount);
+        assertThat(queryTemplateCache.size()).isEqualTo(size);
+    }
+
+    @Test
+    public void queryWithSmallNumberVariablesBindsParameterSlots() {
+        //given
+        String query =
+            """
+                query($from: Long, $to: Long) {
+                  Books(where: {id: {GE: $from, LE: $to}}) {
+                    select {
+                      id
+                    }
+                  }
+                }
+            """;
+
+        queryTemplateCache.clear();
+
+        //when
+        ExecutionResult same = executor.execute(query, Map.of("from", 5, "to", 5));
+        long missCount = queryTemplateCache.getMissCount();
+        long hitCount = queryTemplateCache.getHitCount();
+
+        ExecutionResult range = executor.execute(query, Map.of("from", 2, "to", 6));
+
+        // then
+        assertThat(same.getErrors()).isEmpty();
+        assertThat(same.getData().toString()).isEqualTo("{Books={select=[{id=5}]}}");
+        assertThat(range.getData().toString())
+            .isEqualTo("{Books={select=[{id=2}, {id=3}, {id=5}, {id=6}]}}");
+        assertThat(queryTemplateCache.getMissCount()).isEqualTo(missCount);
+        assertThat(queryTemplateCache.getHitCount()).isGreaterThan(hitCount);
+    }
+
+    @Test
+    public void queryWithDifferentLikeVariablesCompilesNewQueryTemplates() {
+        //given
+        String query =
+            """
+                query($title: String) {
+                  Books(where: {title: {LIKE: $title}}) {
+                    select {
+                      id
+                    }
+                  }
+                }
+            """;
+
+        //when
+        ExecutionResult war = executor.execute(query, Map.of("title", "War"));
+        long missCount = queryTemplateCache.getMissCount();
+
+        ExecutionResult sisters = executor.execute(query, Map.of("title", "Sisters"));
+
+        // then
+        assertThat(war.getData().toString()).isEqualTo("{Books={select=[{id=2}]}}");
+        assertThat(sisters.getData().toString()).isEqualTo("{Books={select=[{id=7}]}}");
+        assertThat(queryTemplateCache.getMissCount()).isGreaterThan(missCount);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017 IntroPro Ventures Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.introproventures.graphql.jpa.query.schema;
+
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaSchemaBuilder;
+import com.introproventures.graphql.jpa.query.support.GraphQLExecutorTestConfiguration;
+import com.introproventures.graphql.jpa.query.support.GraphQLExecutorTestsSupport;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+@SpringBootTest
+public class GraphQLExecutorWithWindowTotalCountTests extends GraphQLExecutorTestsSupport {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @Import(GraphQLExecutorTestConfiguration.class)
+    static class Application {
+
+        @Bean
+        public GraphQLSchemaBuilder graphQLSchemaBuilder(final EntityManager entityManager) {
+            return new GraphQLJpaSchemaBuilder(entityManager)
+                .name("GraphQLBooks")
+                .description("Books JPA test schema")
+                .useWindowTotalCount(true);
+        }
+    }
+}
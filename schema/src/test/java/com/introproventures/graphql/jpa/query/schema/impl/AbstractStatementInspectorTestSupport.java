@@ -0,0 +1,50 @@
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import jakarta.persistence.EntityManager;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Base class of tests asserting on SQL statements prepared by Hibernate. Subclasses share the same application
+ * context, so that statements of all executions are captured by the same session factory inspector.
+ */
+@SpringBootTest(
+    classes = AbstractStatementInspectorTestSupport.Application.class,
+    properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.introproventures.graphql.jpa.query.schema.impl.AbstractStatementInspectorTestSupport$CapturingStatementInspector",
+        "spring.jpa.properties.hibernate.query.in_clause_parameter_padding=true",
+    }
+)
+public abstract class AbstractStatementInspectorTestSupport {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    static class Application {}
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final Queue<String> statements = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+
+            return sql;
+        }
+    }
+
+    @Autowired
+    protected EntityManager entityManager;
+
+    @BeforeEach
+    public void clearStatements() {
+        CapturingStatementInspector.statements.clear();
+    }
+}
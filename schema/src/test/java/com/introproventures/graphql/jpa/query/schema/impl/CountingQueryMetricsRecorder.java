@@ -0,0 +1,42 @@
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import com.introproventures.graphql.jpa.query.schema.QueryMetricsRecorder;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+class CountingQueryMetricsRecorder implements QueryMetricsRecorder {
+
+    private final QueryKind kind;
+
+    final AtomicLong queries = new AtomicLong();
+    final AtomicLong rows = new AtomicLong();
+    final Queue<Integer> batchSizes = new ConcurrentLinkedQueue<>();
+    final Queue<Integer> chunks = new ConcurrentLinkedQueue<>();
+
+    CountingQueryMetricsRecorder(QueryKind kind) {
+        this.kind = kind;
+    }
+
+    @Override
+    public void recordQuery(QueryKind kind, String entity, String field, long durationNanos, long rows) {
+        if (this.kind == kind) {
+            this.queries.incrementAndGet();
+            this.rows.addAndGet(rows);
+        }
+    }
+
+    @Override
+    public void recordBatchSize(QueryKind kind, String entity, String field, int batchSize) {
+        if (this.kind == kind) {
+            batchSizes.add(batchSize);
+        }
+    }
+
+    @Override
+    public void recordBatchChunks(QueryKind kind, String entity, String field, int chunks, long durationNanos) {
+        if (this.kind == kind) {
+            this.chunks.add(chunks);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaAdmissionController.Permit;
+import graphql.ExecutionResult;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+public class GraphQLJpaAdmissionControllerTest {
+
+    @Test
+    public void shouldAdmitExecutionsUpToLimit() {
+        //given
+        GraphQLJpaAdmissionController admissionController = new GraphQLJpaAdmissionController(2, 0, Duration.ZERO);
+
+        //when
+        Optional<Permit> permit1 = admissionController.tryAcquire();
+        Optional<Permit> permit2 = admissionController.tryAcquire();
+        Optional<Permit> permit3 = admissionController.tryAcquire();
+
+        //then
+        assertThat(permit1).isPresent();
+        assertThat(permit2).isPresent();
+        assertThat(permit3).isEmpty();
+        assertThat(admissionController.getInFlightCount()).isEqualTo(2);
+        assertThat(admissionController.getAdmittedCount()).isEqualTo(2);
+        assertThat(admissionController.getRejectedCount()).isEqualTo(1);
+
+        //when
+        permit1.get().close();
+        permit1.get().close();
+
+        //then
+        assertThat(admissionController.getInFlightCount()).isEqualTo(1);
+        assertThat(admissionController.tryAcquire()).isPresent();
+        assertThat(admissionController.tryAcquire()).isEmpty();
+    }
+
+    @Test
+    public void shouldRejectQueuedExecutionAfterTimeout() {
+        //given
+        GraphQLJpaAdmissionController admissionController = new GraphQLJpaAdmissionController(
+            1,
+            1,
+            Duration.ofMillis(50)
+        );
+        admissionController.tryAcquire();
+
+        //when
+        Optional<Permit> permit = admissionController.tryAcquire();
+
+        //then
+        assertThat(permit).isEmpty();
+        assertThat(admissionController.getTimeoutCount()).isEqualTo(1);
+        assertThat(admissionController.getRejectedCount()).isEqualTo(1);
+        assertThat(admissionController.getQueueDepth()).isZero();
+    }
+
+    @Test
+    public void shouldAdmitQueuedExecutionWhenPermitIsReleased() throws Exception {
+        //given
+        GraphQLJpaAdmissionController admissionController = new GraphQLJpaAdmissionController(
+            1,
+            1,
+            Duration.ofSeconds(10)
+        );
+        Permit permit = admissionController.tryAcquire().orElseThrow();
+
+        //when
+        CompletableFuture<Optional<Permit>> queued = CompletableFuture.supplyAsync(admissionController::tryAcquire);
+
+        while (admissionController.getQueueDepth() == 0) {
+            Thread.sleep(10);
+        }
+
+        permit.close();
+
+        //then
+        assertThat(queued.get()).isPresent();
+        assertThat(admissionController.getQueueDepth()).isZero();
+        assertThat(admissionController.getAdmittedCount()).isEqualTo(2);
+        assertThat(admissionController.getMaxWaitTime()).isPositive();
+    }
+
+    @Test
+    public void shouldCreateOverloadedResult() {
+        //given
+        GraphQLJpaAdmissionController admissionController = new GraphQLJpaAdmissionController(1);
+
+        //when
+        ExecutionResult result = admissionController.overloadedResult();
+
+        //then
+        assertThat(result.getErrors())
+            .hasSize(1)
+            .first()
+            .satisfies(error ->
+                assertThat(error.getExtensions()).containsEntry("code", GraphQLJpaAdmissionController.OVERLOADED)
+            );
+        assertThat(result.<Object>getData()).isNull();
+    }
+}
@@ -0,0 +1,194 @@
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
+import graphql.ExecutionResult;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GraphQLJpaCollectionPageTest extends AbstractStatementInspectorTestSupport {
+
+    private GraphQLExecutor executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = new GraphQLJpaExecutor(new GraphQLJpaSchemaBuilder(entityManager).name("Starwars").build());
+    }
+
+    @Test
+    public void collectionPageLimitsElementsForEachParent() {
+        //given
+        String query =
+            """
+                query {
+                  Authors {
+                    select {
+                      id
+                      books(page: {limit: 2}) {
+                        id
+                        title(orderBy: DESC)
+                      }
+                    }
+                  }
+                }
+            """;
+
+        //when
+        String result = execute(query);
+
+        //then
+        assertThat(result)
+            .isEqualTo(
+                "{Authors={select=[" +
+                "{id=1, books=[{id=2, title=War and Peace}, {id=3, title=Anna Karenina}]}, " +
+                "{id=4, books=[{id=7, title=Three Sisters}, {id=6, title=The Seagull}]}, " +
+                "{id=8, books=[]}" +
+                "]}}"
+            );
+        assertThat(hasStatementWith("row_number")).isTrue();
+    }
+
+    @Test
+    public void collectionPageSelectsStartPageForEachParent() {
+        //given
+        String query =
+            """
+                query {
+                  Authors {
+                    select {
+                      id
+                      books(page: {start: 2, limit: 2}) {
+                        id
+                      }
+                    }
+                  }
+                }
+            """;
+
+        //when
+        String result = execute(query);
+
+        //then
+        assertThat(result).isEqualTo("{Authors={select=[{id=1, books=[]}, {id=4, books=[{id=7}]}, {id=8, books=[]}]}}");
+    }
+
+    @Test
+    public void collectionPageRanksFilteredElements() {
+        //given
+        String query =
+            """
+                query {
+                  Authors {
+                    select {
+                      id
+                      books(where: {title: {LIKE: "The"}}, page: {limit: 1}) {
+                        id
+                        title
+                      }
+                    }
+                  }
+                }
+            """;
+
+        //when
+        String result = execute(query);
+
+        //then
+        assertThat(result)
+            .isEqualTo(
+                "{Authors={select=[" +
+                "{id=1, books=[]}, " +
+                "{id=4, books=[{id=5, title=The Cherry Orchard}]}, " +
+                "{id=8, books=[]}" +
+                "]}}"
+            );
+    }
+
+    @Test
+    public void collectionPageBindsParentKeysWithInListBinding() {
+        //given
+        GraphQLExecutor executor = new GraphQLJpaExecutor(
+            new GraphQLJpaSchemaBuilder(entityManager).name("Starwars").inListBinding(InListBinding.ARRAY).build()
+        );
+
+        String query =
+            """
+                query {
+                  Authors(where: {id: {IN: [%s]}}) {
+                    select {
+                      id
+                      books(page: {limit: 1}) {
+                        id
+                      }
+                    }
+                  }
+                }
+            """;
+
+        //when
+        ExecutionResult oneParent = executor.execute(query.formatted("1"));
+        List<String> oneParentStatements = statementsWith("row_number");
+
+        CapturingStatementInspector.statements.clear();
+
+        ExecutionResult twoParents = executor.execute(query.formatted("1, 4"));
+        List<String> twoParentsStatements = statementsWith("row_number");
+
+        //then
+        assertThat(oneParent.getErrors()).isEmpty();
+        assertThat(twoParents.getErrors()).isEmpty();
+        assertThat(twoParents.getData().toString())
+            .isEqualTo("{Authors={select=[{id=1, books=[{id=2}]}, {id=4, books=[{id=5}]}]}}");
+        assertThat(oneParentStatements).hasSize(1).allMatch(sql -> !sql.toLowerCase().contains(" in ("));
+        assertThat(twoParentsStatements).isEqualTo(oneParentStatements);
+    }
+
+    @Test
+    public void collectionPageRejectsAfterCursor() {
+        //given
+        String query =
+            """
+                query {
+                  Authors {
+                    select {
+                      id
+                      books(page: {limit: 1, after: "cursor"}) {
+                        id
+                      }
+                    }
+                  }
+                }
+            """;
+
+        //when
+        ExecutionResult result = executor.execute(query);
+
+        //then
+        assertThat(result.getErrors())
+            .isNotEmpty()
+            .allSatisfy(error ->
+                assertThat(error.getMessage()).contains("Page after cursor is not supported for collection field: books")
+            );
+    }
+
+    private String execute(String query) {
+        ExecutionResult result = executor.execute(query);
+
+        assertThat(result.getErrors()).isEmpty();
+
+        return result.getData().toString();
+    }
+
+    private static boolean hasStatementWith(String fragment) {
+        return !statementsWith(fragment).isEmpty();
+    }
+
+    private static List<String> statementsWith(String fragment) {
+        return CapturingStatementInspector.statements
+            .stream()
+            .filter(sql -> sql.toLowerCase().contains(fragment))
+            .toList();
+    }
+}
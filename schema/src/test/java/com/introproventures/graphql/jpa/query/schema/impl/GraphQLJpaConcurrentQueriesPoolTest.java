@@ -0,0 +1,131 @@
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
+import graphql.ExecutionResult;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(
+    properties = {
+        "spring.datasource.hikari.maximum-pool-size=" + GraphQLJpaConcurrentQueriesPoolTest.POOL_SIZE,
+        "spring.datasource.hikari.connection-timeout=250",
+    }
+)
+public class GraphQLJpaConcurrentQueriesPoolTest {
+
+    static final int POOL_SIZE = 3;
+
+    static final int MAX_CONCURRENT_REQUESTS = 2;
+
+    private static final String QUERY =
+        """
+            query {
+              Books(page: { start: 1, limit: 2 }) {
+                total
+                pages
+                select {
+                  id
+                }
+                aggregate {
+                  count
+                }
+              }
+            }
+        """;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    static class Application {}
+
+    static class TrackingExecutor implements Executor {
+
+        private final Executor delegate = Executors.newCachedThreadPool();
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+        final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public void execute(Runnable command) {
+            count.incrementAndGet();
+            delegate.execute(() -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                try {
+                    command.run();
+                } finally {
+                    active.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void concurrentQueriesAreBoundedByConnectionPool() throws Exception {
+        //given
+        String expected = execute(new GraphQLJpaExecutor(builder().build()));
+
+        TrackingExecutor queryExecutor = new TrackingExecutor();
+        GraphQLExecutor executor = new GraphQLJpaExecutor(
+            builder()
+                .concurrentQueryExecutor(queryExecutor)
+                .maxConcurrentQueries(POOL_SIZE - MAX_CONCURRENT_REQUESTS)
+                .build()
+        );
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService requests = Executors.newFixedThreadPool(MAX_CONCURRENT_REQUESTS);
+
+        try {
+            //when
+            List<Future<String>> results = new ArrayList<>();
+
+            for (int i = 0; i < 20; i++) {
+                results.add(requests.submit(() -> transactionTemplate.execute(status -> execute(executor))));
+            }
+
+            //then
+            for (Future<String> result : results) {
+                assertThat(result.get()).isEqualTo(expected);
+            }
+            assertThat(queryExecutor.count.get()).isPositive();
+            assertThat(queryExecutor.maxActive.get()).isLessThanOrEqualTo(POOL_SIZE - MAX_CONCURRENT_REQUESTS);
+        } finally {
+            requests.shutdown();
+        }
+    }
+
+    private GraphQLJpaSchemaBuilder builder() {
+        GraphQLJpaSchemaBuilder builder = new GraphQLJpaSchemaBuilder(entityManager).name("ConcurrentQueries");
+
+        builder.enableAggregate(true);
+
+        return builder;
+    }
+
+    private static String execute(GraphQLExecutor executor) {
+        ExecutionResult result = executor.execute(QUERY);
+
+        assertThat(result.getErrors()).isEmpty();
+
+        return result.getData().toString();
+    }
+}
@@ -0,0 +1,139 @@
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
+import graphql.ExecutionResult;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class GraphQLJpaInListBindingTest extends AbstractStatementInspectorTestSupport {
+
+    private static final String QUERY =
+        """
+            query($limit: Int) {
+              Humans(page: {start: 1, limit: $limit}) {
+                select {
+                  id
+                  name
+                  friends {
+                    name
+                  }
+                }
+              }
+            }
+        """;
+
+    @Test
+    public void valuesBindingCreatesStatementPerKeysCount() {
+        //given
+        GraphQLExecutor executor = executor(InListBinding.VALUES);
+
+        //when
+        Set<String> threeKeys = execute(executor, 3);
+        Set<String> fourKeys = execute(executor, 4);
+
+        //then
+        assertThat(fourKeys).isNotEqualTo(threeKeys);
+        assertThat(statementCacheHitRate(threeKeys, fourKeys)).isLessThan(1.0);
+    }
+
+    @Test
+    public void paddedBindingReusesStatementsWithinPowerOfTwoBucket() {
+        //given
+        GraphQLExecutor executor = executor(InListBinding.PADDED);
+
+        //when
+        Set<String> threeKeys = execute(executor, 3);
+        Set<String> fourKeys = execute(executor, 4);
+        Set<String> fiveKeys = execute(executor, 5);
+
+        //then
+        assertThat(fourKeys).isEqualTo(threeKeys);
+        assertThat(statementCacheHitRate(threeKeys, fourKeys)).isEqualTo(1.0);
+        assertThat(fiveKeys).isNotEqualTo(fourKeys);
+    }
+
+    @Test
+    public void arrayBindingReusesStatementsForAnyKeysCount() {
+        //given
+        GraphQLExecutor executor = executor(InListBinding.ARRAY);
+
+        //when
+        Set<String> threeKeys = execute(executor, 3);
+        Set<String> fourKeys = execute(executor, 4);
+        Set<String> fiveKeys = execute(executor, 5);
+
+        //then
+        assertThat(fourKeys).isEqualTo(threeKeys);
+        assertThat(fiveKeys).isEqualTo(threeKeys);
+        assertThat(statementCacheHitRate(threeKeys, fourKeys, fiveKeys)).isEqualTo(1.0);
+    }
+
+    @Test
+    public void arrayBindingComparesIdWithAnyArrayElement() {
+        //given
+        GraphQLExecutor executor = executor(InListBinding.ARRAY);
+
+        //when
+        Set<String> statements = execute(executor, 3);
+
+        //then
+        assertThat(statements).anyMatch(sql -> sql.toLowerCase().matches("(?s).*=\\s*any\\(\\?\\).*"));
+        assertThat(statements).noneMatch(sql -> sql.toLowerCase().contains("array_contains"));
+    }
+
+    @Test
+    public void bindingsReturnSameResults() {
+        //given
+        String expected = execute(executor(InListBinding.VALUES), QUERY, 5).getData().toString();
+
+        //then
+        assertThat(execute(executor(InListBinding.PADDED), QUERY, 5).getData().toString()).isEqualTo(expected);
+        assertThat(execute(executor(InListBinding.ARRAY), QUERY, 5).getData().toString()).isEqualTo(expected);
+    }
+
+    private GraphQLExecutor executor(InListBinding inListBinding) {
+        return new GraphQLJpaExecutor(
+            new GraphQLJpaSchemaBuilder(entityManager)
+                .name("Starwars")
+                .inListBinding(inListBinding)
+                .build()
+        );
+    }
+
+    private Set<String> execute(GraphQLExecutor executor, int limit) {
+        CapturingStatementInspector.statements.clear();
+
+        execute(executor, QUERY, limit);
+
+        return new HashSet<>(CapturingStatementInspector.statements);
+    }
+
+    private ExecutionResult execute(GraphQLExecutor executor, String query, int limit) {
+        ExecutionResult result = executor.execute(query, Map.of("limit", limit));
+
+        assertThat(result.getErrors()).isEmpty();
+
+        return result;
+    }
+
+    // Ratio of statements prepared after the first execution that were already prepared before
+    @SafeVarargs
+    private static double statementCacheHitRate(Set<String> first, Set<String>... next) {
+        Set<String> prepared = new HashSet<>(first);
+        List<String> executed = new ArrayList<>();
+
+        for (Set<String> statements : next) {
+            executed.addAll(statements);
+        }
+
+        long hits = executed.stream().filter(prepared::contains).count();
+
+        return executed.isEmpty() ? 1.0 : (double) hits / executed.size();
+    }
+}
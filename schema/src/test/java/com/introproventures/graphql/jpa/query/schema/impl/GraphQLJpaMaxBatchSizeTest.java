@@ -0,0 +1,215 @@
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
+import com.introproventures.graphql.jpa.query.schema.QueryMetricsRecorder;
+import com.introproventures.graphql.jpa.query.schema.QueryMetricsRecorder.QueryKind;
+import graphql.ExecutionResult;
+import jakarta.persistence.EntityManager;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class GraphQLJpaMaxBatchSizeTest {
+
+    private static final String QUERY =
+        """
+            query {
+              Humans {
+                select {
+                  id
+                  name
+                  friends {
+                    name(orderBy: ASC)
+                  }
+                }
+              }
+            }
+        """;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    static class Application {}
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void partitionKeys() {
+        Set<Object> keys = new LinkedHashSet<>(List.of(1, 2, 3, 4, 5));
+
+        assertThat(GraphQLJpaQueryFactory.partitionKeys(keys, 2))
+            .containsExactly(Set.of(1, 2), Set.of(3, 4), Set.of(5));
+        assertThat(GraphQLJpaQueryFactory.partitionKeys(keys, 5)).containsExactly(keys);
+        assertThat(GraphQLJpaQueryFactory.partitionKeys(Set.of(), 2)).isEmpty();
+    }
+
+    @Test
+    public void unlimitedBatchLoadsAllKeysWithSingleQuery() {
+        //given
+        CountingQueryMetricsRecorder recorder = new CountingQueryMetricsRecorder(QueryKind.BATCH_TO_MANY);
+
+        //when
+        execute(builder(recorder).maxBatchSize(0));
+
+        //then
+        assertThat(recorder.queries.get()).isEqualTo(1);
+        assertThat(recorder.batchSizes).containsExactly(5);
+        assertThat(recorder.chunks).isEmpty();
+    }
+
+    @Test
+    public void oversizedBatchIsSplitIntoChunks() {
+        //given
+        CountingQueryMetricsRecorder recorder = new CountingQueryMetricsRecorder(QueryKind.BATCH_TO_MANY);
+        String expected = execute(builder(QueryMetricsRecorder.NOOP));
+
+        //when
+        String result = execute(builder(recorder).maxBatchSize(2));
+
+        //then
+        assertThat(result).isEqualTo(expected);
+        assertThat(recorder.queries.get()).isEqualTo(3);
+        assertThat(recorder.batchSizes).containsExactlyInAnyOrder(2, 2, 1);
+        assertThat(recorder.chunks).containsExactly(3);
+    }
+
+    @Test
+    public void oversizedBatchChunksRunConcurrently() {
+        //given
+        CountingQueryMetricsRecorder recorder = new CountingQueryMetricsRecorder(QueryKind.BATCH_TO_MANY);
+        String expected = execute(builder(QueryMetricsRecorder.NOOP));
+        ExecutorService executorService = Executors.newFixedThreadPool(3);
+        CountDownLatch started = new CountDownLatch(3);
+        Queue<Boolean> overlapped = new ConcurrentLinkedQueue<>();
+
+        // Let's hold every chunk until all of three chunks are in flight
+        Executor executor = command ->
+            executorService.execute(() -> {
+                started.countDown();
+                overlapped.add(await(started));
+                command.run();
+            });
+
+        try {
+            //when
+            String result = execute(
+                builder(recorder).maxBatchSize(2).maxConcurrentQueries(3).concurrentQueryExecutor(executor)
+            );
+
+            //then
+            assertThat(result).isEqualTo(expected);
+            assertThat(overlapped).containsExactly(true, true, true);
+            assertThat(recorder.queries.get()).isEqualTo(3);
+            assertThat(recorder.chunks).containsExactly(3);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void oversizedBatchChunksInFlightAreCapped() {
+        //given
+        CountingQueryMetricsRecorder recorder = new CountingQueryMetricsRecorder(QueryKind.BATCH_TO_MANY);
+        String expected = execute(builder(QueryMetricsRecorder.NOOP));
+        ExecutorService executorService = Executors.newFixedThreadPool(3);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+
+        Executor executor = command ->
+            executorService.execute(() -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                try {
+                    command.run();
+                } finally {
+                    active.decrementAndGet();
+                }
+            });
+
+        try {
+            //when
+            String result = execute(
+                builder(recorder).maxBatchSize(1).maxConcurrentQueries(1).concurrentQueryExecutor(executor)
+            );
+
+            //then
+            assertThat(result).isEqualTo(expected);
+            assertThat(maxActive.get()).isEqualTo(1);
+            assertThat(recorder.queries.get()).isEqualTo(5);
+            assertThat(recorder.chunks).containsExactly(5);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void oversizedBatchChunkFailureFailsBatch() {
+        //given
+        AtomicInteger chunks = new AtomicInteger();
+        CountingQueryMetricsRecorder recorder = new CountingQueryMetricsRecorder(QueryKind.BATCH_TO_MANY) {
+            @Override
+            public void recordQuery(QueryKind kind, String entity, String field, long durationNanos, long rows) {
+                if (kind == QueryKind.BATCH_TO_MANY && chunks.incrementAndGet() == 2) {
+                    throw new IllegalStateException("Chunk failed");
+                }
+                super.recordQuery(kind, entity, field, durationNanos, rows);
+            }
+        };
+        ExecutorService executorService = Executors.newFixedThreadPool(3);
+
+        try {
+            GraphQLExecutor executor = new GraphQLJpaExecutor(
+                builder(recorder).maxBatchSize(2).concurrentQueryExecutor(executorService).build()
+            );
+
+            //when
+            ExecutionResult result = executor.execute(QUERY);
+
+            //then
+            assertThat(result.getErrors()).isNotEmpty();
+            assertThat(result.getErrors().get(0).getMessage()).contains("Chunk failed");
+            assertThat(recorder.chunks).isEmpty();
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            return false;
+        }
+    }
+
+    private GraphQLJpaSchemaBuilder builder(QueryMetricsRecorder queryMetricsRecorder) {
+        return new GraphQLJpaSchemaBuilder(entityManager).name("Starwars").queryMetricsRecorder(queryMetricsRecorder);
+    }
+
+    private String execute(GraphQLJpaSchemaBuilder builder) {
+        GraphQLExecutor executor = new GraphQLJpaExecutor(builder.build());
+
+        ExecutionResult result = executor.execute(QUERY);
+
+        assertThat(result.getErrors()).isEmpty();
+
+        return result.getData().toString();
+    }
+}
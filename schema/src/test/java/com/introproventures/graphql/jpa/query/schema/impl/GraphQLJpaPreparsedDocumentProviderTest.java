@@ -0,0 +1,148 @@
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import static graphql.schema.FieldCoordinates.coordinates;
+import static graphql.schema.GraphQLFieldDefinition.newFieldDefinition;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.Scalars;
+import graphql.execution.preparsed.NoOpPreparsedDocumentProvider;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.StaticDataFetcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GraphQLJpaPreparsedDocumentProviderTest {
+
+    private GraphQLSchema graphQLSchema;
+
+    @BeforeEach
+    public void setUp() {
+        GraphQLObjectType query = GraphQLObjectType
+            .newObject()
+            .name("Query")
+            .field(newFieldDefinition().name("hello").type(Scalars.GraphQLString))
+            .field(newFieldDefinition().name("world").type(Scalars.GraphQLString))
+            .build();
+
+        graphQLSchema =
+            GraphQLSchema
+                .newSchema()
+                .query(query)
+                .codeRegistry(
+                    GraphQLCodeRegistry
+                        .newCodeRegistry()
+                        .dataFetcher(coordinates("Query", "hello"), new StaticDataFetcher("hello"))
+                        .dataFetcher(coordinates("Query", "world"), new StaticDataFetcher("world"))
+                        .build()
+                )
+                .build();
+    }
+
+    private ExecutionResult execute(PreparsedDocumentProvider provider, String query, String operationName) {
+        GraphQL graphQL = GraphQL.newGraphQL(graphQLSchema).preparsedDocumentProvider(provider).build();
+
+        return graphQL.execute(ExecutionInput.newExecutionInput(query).operationName(operationName).build());
+    }
+
+    @Test
+    public void shouldCacheDocumentByQueryAndOperationName() {
+        //given
+        GraphQLJpaPreparsedDocumentProvider provider = new GraphQLJpaPreparsedDocumentProvider(10);
+        String query = "query Hello { hello } query World { world }";
+
+        //when
+        ExecutionResult hello1 = execute(provider, query, "Hello");
+        ExecutionResult hello2 = execute(provider, query, "Hello");
+        ExecutionResult world = execute(provider, query, "World");
+
+        //then
+        assertThat(hello1.getErrors()).isEmpty();
+        assertThat(hello2.getData().toString()).isEqualTo("{hello=hello}");
+        assertThat(world.getData().toString()).isEqualTo("{world=world}");
+
+        assertThat(provider.getHitCount()).isEqualTo(1);
+        assertThat(provider.getMissCount()).isEqualTo(2);
+        assertThat(provider.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedDocument() {
+        //given
+        GraphQLJpaPreparsedDocumentProvider provider = new GraphQLJpaPreparsedDocumentProvider(2);
+
+        //when
+        execute(provider, "{ hello }", null);
+        execute(provider, "{ world }", null);
+        execute(provider, "{ hello }", null);
+        execute(provider, "{ hello world }", null);
+        execute(provider, "{ hello }", null);
+
+        //then
+        assertThat(provider.size()).isEqualTo(2);
+        assertThat(provider.getEvictionCount()).isEqualTo(1);
+        assertThat(provider.getHitCount()).isEqualTo(2);
+        assertThat(provider.getMissCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldNotCacheDocumentsWithErrors() {
+        //given
+        GraphQLJpaPreparsedDocumentProvider provider = new GraphQLJpaPreparsedDocumentProvider(10);
+
+        //when
+        ExecutionResult result1 = execute(provider, "{ unknown }", null);
+        ExecutionResult result2 = execute(provider, "{ unknown }", null);
+
+        //then
+        assertThat(result1.getErrors()).isNotEmpty();
+        assertThat(result2.getErrors()).isNotEmpty();
+        assertThat(provider.size()).isZero();
+        assertThat(provider.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldPartitionDocumentsByScope() {
+        //given
+        GraphQLJpaPreparsedDocumentProvider provider = new GraphQLJpaPreparsedDocumentProvider(10);
+
+        //when
+        execute(provider.scoped("user"), "{ hello }", null);
+        execute(provider.scoped("admin"), "{ hello }", null);
+        execute(provider.scoped("user"), "{ hello }", null);
+
+        //then
+        assertThat(provider.size()).isEqualTo(2);
+        assertThat(provider.getHitCount()).isEqualTo(1);
+        assertThat(provider.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldBypassCacheWhenDisabled() {
+        //given
+        GraphQLJpaPreparsedDocumentProvider provider = new GraphQLJpaPreparsedDocumentProvider(0);
+
+        //when
+        ExecutionResult result = execute(provider, "{ hello }", null);
+        execute(provider, "{ hello }", null);
+
+        //then
+        assertThat(result.getData().toString()).isEqualTo("{hello=hello}");
+        assertThat(provider.size()).isZero();
+        assertThat(provider.getHitCount()).isZero();
+    }
+
+    @Test
+    public void shouldNotCacheDocumentsByDefault() {
+        //when
+        GraphQLJpaExecutorContextFactory contextFactory = new GraphQLJpaExecutorContextFactory();
+
+        //then
+        assertThat(contextFactory.getPreparsedDocumentProvider()).isSameAs(NoOpPreparsedDocumentProvider.INSTANCE);
+    }
+}
@@ -0,0 +1,157 @@
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
+import graphql.ExecutionResult;
+import org.junit.jupiter.api.Test;
+
+public class GraphQLJpaProjectionFetchModeTest extends AbstractStatementInspectorTestSupport {
+
+    @Test
+    public void projectionSelectsOnlySelectedColumns() {
+        //given
+        String query =
+            """
+                query {
+                  Humans {
+                    select {
+                      id
+                      name
+                    }
+                  }
+                }
+            """;
+
+        //when
+        String entities = execute(executor(FetchMode.ENTITY), query);
+        boolean entityColumns = hasStatementWith("favorite_droid_id");
+
+        CapturingStatementInspector.statements.clear();
+
+        String projection = execute(executor(FetchMode.PROJECTION), query);
+
+        //then
+        assertThat(entityColumns).isTrue();
+        assertThat(hasStatementWith("favorite_droid_id")).isFalse();
+        assertThat(hasStatementWith("home_planet")).isFalse();
+        assertThat(projection).isEqualTo(entities);
+        assertThat(projection)
+            .isEqualTo(
+                "{Humans={select=[" +
+                "{id=1000, name=Luke Skywalker}, " +
+                "{id=1001, name=Darth Vader}, " +
+                "{id=1002, name=Han Solo}, " +
+                "{id=1003, name=Leia Organa}, " +
+                "{id=1004, name=Wilhuff Tarkin}" +
+                "]}}"
+            );
+    }
+
+    @Test
+    public void projectionAppliesWhereOrderByAndPage() {
+        //given
+        String query =
+            """
+                query {
+                  Books(
+                    where: {author: {name: {LIKE: "Anton"}}}
+                    page: {start: 1, limit: 2}
+                  ) {
+                    pages
+                    total
+                    select {
+                      id
+                      title(orderBy: DESC)
+                      genre
+                    }
+                  }
+                }
+            """;
+
+        //when
+        String entities = execute(executor(FetchMode.ENTITY), query);
+        String projection = execute(executor(FetchMode.PROJECTION), query);
+
+        //then
+        assertThat(projection).isEqualTo(entities);
+        assertThat(projection)
+            .isEqualTo(
+                "{Books={pages=2, total=3, select=[" +
+                "{id=7, title=Three Sisters, genre=PLAY}, " +
+                "{id=6, title=The Seagull, genre=PLAY}" +
+                "]}}"
+            );
+    }
+
+    @Test
+    public void projectionAppliesCollectionPredicates() {
+        //given
+        String query =
+            """
+                query {
+                  Humans(where: {friends: {name: {IN: ["Luke Skywalker", "Han Solo"]}}}) {
+                    select {
+                      id
+                      name
+                    }
+                  }
+                }
+            """;
+
+        //when
+        String entities = execute(executor(FetchMode.ENTITY), query);
+        String projection = execute(executor(FetchMode.PROJECTION), query);
+
+        //then
+        assertThat(projection).isEqualTo(entities);
+    }
+
+    @Test
+    public void projectionFallsBackToEntitiesForAssociations() {
+        //given
+        String query =
+            """
+                query {
+                  Humans {
+                    select {
+                      id
+                      name
+                      favoriteDroid {
+                        name
+                      }
+                    }
+                  }
+                }
+            """;
+
+        //when
+        String entities = execute(executor(FetchMode.ENTITY), query);
+
+        CapturingStatementInspector.statements.clear();
+
+        String projection = execute(executor(FetchMode.PROJECTION), query);
+
+        //then
+        assertThat(projection).isEqualTo(entities);
+        assertThat(hasStatementWith("favorite_droid_id")).isTrue();
+    }
+
+    private GraphQLExecutor executor(FetchMode fetchMode) {
+        return new GraphQLJpaExecutor(
+            new GraphQLJpaSchemaBuilder(entityManager).name("Starwars").fetchMode(fetchMode).build()
+        );
+    }
+
+    private String execute(GraphQLExecutor executor, String query) {
+        ExecutionResult result = executor.execute(query);
+
+        assertThat(result.getErrors()).isEmpty();
+
+        return result.getData().toString();
+    }
+
+    private static boolean hasStatementWith(String column) {
+        return CapturingStatementInspector.statements.stream().anyMatch(sql -> sql.toLowerCase().contains(column));
+    }
+}
@@ -0,0 +1,125 @@
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
+import com.introproventures.graphql.jpa.query.schema.GraphQLSchemaBuilder;
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import jakarta.persistence.EntityManager;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+
+@SpringBootTest
+public class GraphQLJpaQueryCostInstrumentationTest {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    static class Application {
+
+        @Bean
+        public GraphQLSchemaBuilder graphQLSchemaBuilder(final EntityManager entityManager) {
+            return new GraphQLJpaSchemaBuilder(entityManager)
+                .name("Starwars")
+                .description("Starwars JPA test schema")
+                .enableResultStream(false);
+        }
+
+        @Bean
+        public GraphQLJpaQueryCostInstrumentation queryCostInstrumentation() {
+            return new GraphQLJpaQueryCostInstrumentation(200).withToManySize(10);
+        }
+
+        @Bean
+        public GraphQLExecutor graphQLExecutor(
+            GraphQLSchemaBuilder graphQLSchemaBuilder,
+            GraphQLJpaQueryCostInstrumentation queryCostInstrumentation
+        ) {
+            return new GraphQLJpaExecutor(
+                graphQLSchemaBuilder.build(),
+                new GraphQLJpaExecutorContextFactory().withInstrumentation(() -> queryCostInstrumentation)
+            );
+        }
+    }
+
+    @Autowired
+    private GraphQLExecutor executor;
+
+    @Autowired
+    private GraphQLJpaQueryCostInstrumentation queryCostInstrumentation;
+
+    @Test
+    public void shouldAddEstimatedCostToExtensions() {
+        //given
+        String query = "{ Humans { select { id name } } }";
+
+        //when
+        ExecutionResult result = executor.execute(query);
+
+        //then
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(result.getExtensions())
+            .containsEntry(
+                GraphQLJpaQueryCostInstrumentation.COST_EXTENSION,
+                Map.of("estimated", 101L, "maximum", 200L)
+            );
+    }
+
+    @Test
+    public void shouldEstimatePageLimitAndToManyFanout() {
+        //given
+        String query =
+            """
+            {
+              Humans(page: {start: 1, limit: 2}) {
+                select {
+                  id
+                  friends {
+                    name
+                    friends {
+                      name
+                    }
+                  }
+                }
+              }
+            }
+            """;
+
+        //when
+        ExecutionResult result = executor.execute(query);
+
+        //then
+        assertThat(result.<Object>getData()).isNull();
+        assertThat(result.getErrors())
+            .hasSize(1)
+            .first()
+            .extracting(GraphQLError::getExtensions)
+            .satisfies(extensions ->
+                assertThat(extensions)
+                    .containsEntry("code", GraphQLJpaQueryCostInstrumentation.QUERY_COST_EXCEEDED)
+                    .containsEntry(
+                        GraphQLJpaQueryCostInstrumentation.COST_EXTENSION,
+                        Map.of("estimated", 1L + 2L + 2L * 10 + 2L * 10 * 10, "maximum", 200L)
+                    )
+            );
+    }
+
+    @Test
+    public void shouldExecuteQueryWithinBudget() {
+        //given
+        String query = "{ Humans(page: {start: 1, limit: 5}) { select { name friends { name } } } }";
+
+        //when
+        ExecutionResult result = executor.execute(query);
+
+        //then
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(result.<Map<String, Object>>getData()).containsKey("Humans");
+        assertThat(queryCostInstrumentation.getMaxCost()).isEqualTo(200L);
+    }
+}
@@ -0,0 +1,159 @@
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaQueryResultCache.ResultKey;
+import com.introproventures.graphql.jpa.query.schema.model.book.Author;
+import com.introproventures.graphql.jpa.query.schema.model.book.Book;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+public class GraphQLJpaQueryResultCacheTest {
+
+    private static final String QUERY =
+        """
+            query($id: Long) {
+              Books(where: {id: {EQ: $id}}) {
+                select {
+                  id
+                  title
+                  author {
+                    name
+                  }
+                }
+              }
+            }
+        """;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    static class Application {}
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private GraphQLJpaQueryResultCache queryResultCache;
+
+    private GraphQLExecutor executor;
+
+    @BeforeEach
+    public void setUp() {
+        queryResultCache = new GraphQLJpaQueryResultCache();
+        executor =
+            new GraphQLJpaExecutor(
+                new GraphQLJpaSchemaBuilder(entityManager)
+                    .name("GraphQLBooks")
+                    .queryResultCache(queryResultCache)
+                    .build()
+            );
+    }
+
+    @Test
+    public void queryWithSameVariablesIsServedFromCache() {
+        //when
+        Object first = executor.execute(QUERY, Map.of("id", 2L)).getData();
+        Object second = executor.execute(QUERY, Map.of("id", 2L)).getData();
+        Object other = executor.execute(QUERY, Map.of("id", 3L)).getData();
+
+        //then
+        assertThat(second).hasToString(first.toString());
+        assertThat(first).hasToString("{Books={select=[{id=2, title=War and Peace, author={name=Leo Tolstoy}}]}}");
+        assertThat(other).hasToString("{Books={select=[{id=3, title=Anna Karenina, author={name=Leo Tolstoy}}]}}");
+        assertThat(queryResultCache.getHitCount()).isEqualTo(1);
+        assertThat(queryResultCache.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void associatedEntityChangeInvalidatesCachedResult() {
+        //given
+        executor.execute(QUERY, Map.of("id", 2L));
+
+        new TransactionTemplate(transactionManager)
+            .executeWithoutResult(status -> entityManager.find(Author.class, 1L).setName("Lev Tolstoy"));
+
+        //when
+        queryResultCache.invalidate(Author.class);
+
+        Object result = executor.execute(QUERY, Map.of("id", 2L)).getData();
+
+        //then
+        assertThat(result).hasToString("{Books={select=[{id=2, title=War and Peace, author={name=Lev Tolstoy}}]}}");
+        assertThat(queryResultCache.getInvalidationCount()).isEqualTo(1);
+        assertThat(queryResultCache.getHitCount()).isZero();
+
+        new TransactionTemplate(transactionManager)
+            .executeWithoutResult(status -> entityManager.find(Author.class, 1L).setName("Leo Tolstoy"));
+    }
+
+    @Test
+    public void unrelatedEntityChangeKeepsCachedResult() {
+        //given
+        GraphQLJpaQueryResultCache cache = new GraphQLJpaQueryResultCache();
+        ResultKey key = new ResultKey("Book", "{ Books }", Map.of(), Optional.of(List.of()));
+
+        cache.getResult(key, Set.of(Book.class, Author.class), () -> "books");
+
+        //when
+        cache.invalidate(String.class);
+
+        //then
+        assertThat(cache.<String>getResult(key, Set.of(Book.class), () -> "reloaded")).isEqualTo("books");
+        assertThat(cache.getInvalidationCount()).isZero();
+    }
+
+    @Test
+    public void expiredResultIsReloaded() {
+        //given
+        AtomicLong ticker = new AtomicLong();
+        GraphQLJpaQueryResultCache cache = new GraphQLJpaQueryResultCache(10, Duration.ofSeconds(1), ticker::get);
+        ResultKey key = new ResultKey("Book", "{ Books }", Map.of(), Optional.of(List.of()));
+
+        cache.getResult(key, Set.of(Book.class), () -> "books");
+
+        //when
+        ticker.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        //then
+        assertThat(cache.<String>getResult(key, Set.of(Book.class), () -> "reloaded")).isEqualTo("reloaded");
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void resultLoadedDuringInvalidationIsNotCached() {
+        //given
+        GraphQLJpaQueryResultCache cache = new GraphQLJpaQueryResultCache();
+        ResultKey key = new ResultKey("Book", "{ Books }", Map.of(), Optional.of(List.of()));
+
+        //when
+        cache.getResult(
+            key,
+            Set.of(Book.class),
+            () -> {
+                cache.invalidate(Book.class);
+                return "stale";
+            }
+        );
+
+        //then
+        assertThat(cache.size()).isZero();
+        assertThat(cache.<String>getResult(key, Set.of(Book.class), () -> "books")).isEqualTo("books");
+    }
+}
@@ -0,0 +1,209 @@
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
+import graphql.ExecutionResult;
+import jakarta.persistence.EntityManager;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+public class GraphQLJpaReadOnlySessionTest {
+
+    private static final String QUERY =
+        """
+            query {
+              Books(where: {genre: {EQ: PLAY}}) {
+                select {
+                  id
+                  title
+                }
+              }
+            }
+        """;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    static class Application {}
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void readOnlySessionKeepsResultsInPersistenceContext() {
+        //given
+        GraphQLExecutor executor = executor(true);
+
+        //when
+        Result result = execute(executor, true);
+
+        //then
+        assertThat(result.managedEntities()).isEqualTo(3);
+        assertThat(result.data())
+            .isEqualTo(
+                "{Books={select=[" +
+                "{id=5, title=The Cherry Orchard}, " +
+                "{id=6, title=The Seagull}, " +
+                "{id=7, title=Three Sisters}" +
+                "]}}"
+            );
+    }
+
+    @Test
+    public void readOnlySessionReturnsSameResults() {
+        //given
+        String expected = execute(executor(false), true).data();
+
+        //when
+        Result result = execute(executor(true), true);
+
+        //then
+        assertThat(result.data()).isEqualTo(expected);
+    }
+
+    @Test
+    public void defaultModeDetachesResults() {
+        //given
+        GraphQLExecutor executor = executor(false);
+
+        //when
+        Result result = execute(executor, true);
+
+        //then
+        assertThat(result.managedEntities()).isZero();
+    }
+
+    @Test
+    public void readWriteTransactionDetachesResults() {
+        //given
+        GraphQLExecutor executor = executor(true);
+
+        //when
+        Result result = execute(executor, false);
+
+        //then
+        assertThat(result.managedEntities()).isZero();
+    }
+
+    @Test
+    public void readOnlySessionResolvesAliasedCollectionFiltersOverSameRows() {
+        //given
+        GraphQLExecutor executor = executor(true);
+
+        String query =
+            """
+                query {
+                  plays: Authors(where: {id: {EQ: 4}}) {
+                    select {
+                      id
+                      books(where: {title: {LIKE: "The"}}) {
+                        id
+                      }
+                    }
+                  }
+                  sisters: Authors(where: {id: {EQ: 4}}) {
+                    select {
+                      id
+                      books(where: {title: {LIKE: "Sisters"}}) {
+                        id
+                      }
+                    }
+                  }
+                }
+            """;
+
+        //when
+        Result result = execute(executor, query, true);
+
+        //then
+        assertThat(result.data())
+            .isEqualTo(
+                "{plays={select=[{id=4, books=[{id=5}, {id=6}]}]}, " + "sisters={select=[{id=4, books=[{id=7}]}]}}"
+            );
+        assertThat(result.data()).isEqualTo(execute(executor(false), query, true).data());
+    }
+
+    @Test
+    public void readOnlySessionIsResolvedOncePerQuery() {
+        //given
+        AtomicInteger sessionLookups = new AtomicInteger();
+        GraphQLExecutor executor = new GraphQLJpaExecutor(
+            new GraphQLJpaSchemaBuilder(sessionLookupCounting(sessionLookups))
+                .name("Books")
+                .useReadOnlySession(true)
+                .build()
+        );
+
+        //when
+        sessionLookups.set(0);
+        execute(executor, "{ Books(where: {id: {EQ: 2}}) { select { id author { id } } } }", false);
+        int singleBookLookups = sessionLookups.getAndSet(0);
+
+        execute(executor, "{ Books { select { id author { id } } } }", false);
+        int allBooksLookups = sessionLookups.get();
+
+        //then
+        assertThat(singleBookLookups).isPositive();
+        assertThat(allBooksLookups).isEqualTo(singleBookLookups);
+    }
+
+    // Let's count Hibernate session lookups, so that per entity lookups show up as growing with result size
+    private EntityManager sessionLookupCounting(AtomicInteger sessionLookups) {
+        return (EntityManager) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] { EntityManager.class },
+            (proxy, method, args) -> {
+                if (method.getName().equals("unwrap") && args[0] == Session.class) {
+                    sessionLookups.incrementAndGet();
+                }
+
+                try {
+                    return method.invoke(entityManager, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        );
+    }
+
+    private GraphQLExecutor executor(boolean useReadOnlySession) {
+        return new GraphQLJpaExecutor(
+            new GraphQLJpaSchemaBuilder(entityManager).name("Books").useReadOnlySession(useReadOnlySession).build()
+        );
+    }
+
+    private Result execute(GraphQLExecutor executor, boolean readOnly) {
+        return execute(executor, QUERY, readOnly);
+    }
+
+    private Result execute(GraphQLExecutor executor, String query, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+
+        return transactionTemplate.execute(status -> {
+            ExecutionResult result = executor.execute(query);
+
+            assertThat(result.getErrors()).isEmpty();
+
+            return new Result(
+                result.getData().toString(),
+                entityManager.unwrap(Session.class).getStatistics().getEntityCount()
+            );
+        });
+    }
+
+    record Result(String data, int managedEntities) {}
+}
@@ -0,0 +1,67 @@
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
+import graphql.ExecutionResult;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaPrinter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class GraphQLJpaSchemaBuildParallelismTest {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    static class Application {}
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void parallelSchemaBuildIsDeterministic() {
+        //given
+        String expected = print(build(1));
+
+        //when
+        for (int i = 0; i < 5; i++) {
+            String result = print(build(8));
+
+            //then
+            assertThat(result).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void parallelSchemaBuildExecutesQueries() {
+        //given
+        GraphQLExecutor executor = new GraphQLJpaExecutor(build(8));
+
+        //when
+        ExecutionResult result = executor.execute(
+            "{ Books(where: {author: {name: {LIKE: \"Leo\"}}}) { select { id } } }"
+        );
+
+        //then
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(result.getData().toString()).isEqualTo("{Books={select=[{id=2}, {id=3}]}}");
+    }
+
+    private GraphQLSchema build(int schemaBuildParallelism) {
+        return new GraphQLJpaSchemaBuilder(entityManager)
+            .name("Parallel")
+            .useDistinctParameter(true)
+            .enableSubscription(true)
+            .schemaBuildParallelism(schemaBuildParallelism)
+            .build();
+    }
+
+    private static String print(GraphQLSchema schema) {
+        return new SchemaPrinter().print(schema);
+    }
+}
@@ -0,0 +1,232 @@
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
+import graphql.ExecutionResult;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class GraphQLJpaStreamDataFetcherTest {
+
+    private static final String QUERY = "subscription { Books { id title } }";
+
+    private static final int FETCH_SIZE = 2;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    static class Application {}
+
+    static class SlowSubscriber implements Subscriber<ExecutionResult> {
+
+        final List<Object> received = new CopyOnWriteArrayList<>();
+        final List<String> threads = new CopyOnWriteArrayList<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        volatile Subscription subscription;
+        volatile Throwable error;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(ExecutionResult executionResult) {
+            Object data = executionResult.getData();
+            threads.add(Thread.currentThread().getName());
+            received.add(data);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private GraphQLExecutor executor;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        executor =
+            new GraphQLJpaExecutor(
+                new GraphQLJpaSchemaBuilder(entityManager)
+                    .name("Books")
+                    .enableSubscription(true)
+                    .defaultFetchSize(FETCH_SIZE)
+                    .build()
+            );
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void slowSubscriberReceivesRowsOnDemand() throws InterruptedException {
+        //given
+        SlowSubscriber subscriber = subscribe(QUERY);
+
+        //when
+        subscriber.subscription.request(1);
+        await(() -> subscriber.received.size() == 1);
+
+        // slow subscriber is busy processing the first row
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        //then
+        assertThat(subscriber.received).hasSize(1);
+        assertThat(openSessions()).isEqualTo(1);
+
+        //when
+        subscriber.subscription.request(1);
+        await(() -> subscriber.received.size() == 2);
+
+        //then
+        assertThat(subscriber.received).hasSize(2);
+        assertThat(openSessions()).isEqualTo(1);
+
+        //when
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        //then
+        assertThat(subscriber.completed.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.error).isNull();
+        assertThat(subscriber.received.toString())
+            .isEqualTo(
+                "[" +
+                "{Books={id=2, title=War and Peace}}, " +
+                "{Books={id=3, title=Anna Karenina}}, " +
+                "{Books={id=5, title=The Cherry Orchard}}, " +
+                "{Books={id=6, title=The Seagull}}, " +
+                "{Books={id=7, title=Three Sisters}}" +
+                "]"
+            );
+        assertThat(openSessions()).isZero();
+        assertThat(statistics.getTransactionCount()).isEqualTo(1);
+        assertThat(statistics.getSuccessfulTransactionCount()).isZero();
+    }
+
+    @Test
+    public void demandReadsOnlyFetchSizeRowsOnBoundedElasticThread() throws InterruptedException {
+        //given
+        SlowSubscriber subscriber = subscribe(QUERY);
+
+        //when
+        subscriber.subscription.request(1);
+        await(() -> subscriber.received.size() == 1);
+
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        //then
+        assertThat(subscriber.received).hasSize(1);
+        assertThat(statistics.getEntityLoadCount()).isBetween(1L, (long) FETCH_SIZE);
+        assertThat(subscriber.threads).allMatch(name -> name.startsWith("boundedElastic"));
+
+        //when
+        subscriber.subscription.cancel();
+
+        //then
+        await(() -> openSessions() == 0);
+
+        assertThat(openSessions()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isLessThanOrEqualTo(FETCH_SIZE);
+    }
+
+    @Test
+    public void cancelClosesCursorAndTransaction() throws InterruptedException {
+        //given
+        SlowSubscriber subscriber = subscribe(QUERY);
+
+        subscriber.subscription.request(2);
+        await(() -> subscriber.received.size() == 2);
+
+        assertThat(openSessions()).isEqualTo(1);
+
+        //when
+        subscriber.subscription.cancel();
+
+        //then
+        await(() -> openSessions() == 0);
+
+        assertThat(openSessions()).isZero();
+        assertThat(subscriber.received).hasSize(2);
+        assertThat(subscriber.completed.getCount()).isEqualTo(1);
+        assertThat(statistics.getTransactionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void pageLimitCompletesStreamAndClosesCursor() throws InterruptedException {
+        //given
+        SlowSubscriber subscriber = subscribe("subscription { Books(page: {start: 1, limit: 2}) { id } }");
+
+        //when
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        //then
+        assertThat(subscriber.completed.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.received.toString()).isEqualTo("[{Books={id=2}}, {Books={id=3}}]");
+        assertThat(openSessions()).isZero();
+    }
+
+    @Test
+    public void queryIsNotExecutedBeforeSubscription() {
+        //when
+        ExecutionResult result = executor.execute(QUERY);
+
+        //then
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(openSessions()).isZero();
+    }
+
+    private SlowSubscriber subscribe(String query) {
+        ExecutionResult result = executor.execute(query);
+
+        assertThat(result.getErrors()).isEmpty();
+
+        Publisher<ExecutionResult> publisher = result.getData();
+        SlowSubscriber subscriber = new SlowSubscriber();
+
+        publisher.subscribe(subscriber);
+
+        return subscriber;
+    }
+
+    private long openSessions() {
+        return statistics.getSessionOpenCount() - statistics.getSessionCloseCount();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
+import com.introproventures.graphql.jpa.query.schema.QueryMetricsRecorder;
+import com.introproventures.graphql.jpa.query.schema.QueryMetricsRecorder.QueryKind;
+import graphql.ExecutionResult;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class GraphQLJpaToOneIdentityCacheTest extends AbstractStatementInspectorTestSupport {
+
+    private static final String QUERY =
+        """
+            query {
+              Humans {
+                select {
+                  id
+                  name
+                  gender(where: {active: {EQ: true}}) {
+                    code
+                  }
+                  sex: gender(where: {active: {EQ: true}}) {
+                    code
+                  }
+                }
+              }
+            }
+        """;
+
+    @Test
+    public void batchLoadsRepeatedReferencesForEachAssociationField() {
+        //given
+        CountingQueryMetricsRecorder recorder = new CountingQueryMetricsRecorder(QueryKind.BATCH_TO_ONE);
+        GraphQLExecutor executor = executor(false, recorder);
+
+        //when
+        execute(executor);
+
+        //then
+        assertThat(codeListStatements()).hasSize(2);
+        assertThat(recorder.queries.get()).isEqualTo(2);
+        assertThat(recorder.rows.get()).isEqualTo(10);
+    }
+
+    @Test
+    public void identityCacheLoadsRepeatedReferencesOncePerExecution() {
+        //given
+        CountingQueryMetricsRecorder recorder = new CountingQueryMetricsRecorder(QueryKind.BATCH_TO_ONE);
+        GraphQLExecutor executor = executor(true, recorder);
+
+        //when
+        execute(executor);
+
+        //then
+        assertThat(codeListStatements()).hasSize(1);
+        assertThat(recorder.queries.get()).isEqualTo(1);
+        assertThat(recorder.rows.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void identityCacheIsScopedToQueryExecution() {
+        //given
+        CountingQueryMetricsRecorder recorder = new CountingQueryMetricsRecorder(QueryKind.BATCH_TO_ONE);
+        GraphQLExecutor executor = executor(true, recorder);
+
+        //when
+        execute(executor);
+        execute(executor);
+
+        //then
+        assertThat(codeListStatements()).hasSize(2);
+        assertThat(recorder.rows.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void identityCacheReturnsSameResults() {
+        //given
+        String expected = execute(executor(false, QueryMetricsRecorder.NOOP)).getData().toString();
+
+        //when
+        String result = execute(executor(true, QueryMetricsRecorder.NOOP)).getData().toString();
+
+        //then
+        assertThat(result).isEqualTo(expected);
+        assertThat(result)
+            .isEqualTo(
+                "{Humans={select=[" +
+                "{id=1000, name=Luke Skywalker, gender={code=Male}, sex={code=Male}}, " +
+                "{id=1001, name=Darth Vader, gender={code=Male}, sex={code=Male}}, " +
+                "{id=1002, name=Han Solo, gender={code=Male}, sex={code=Male}}, " +
+                "{id=1003, name=Leia Organa, gender={code=Female}, sex={code=Female}}, " +
+                "{id=1004, name=Wilhuff Tarkin, gender={code=Male}, sex={code=Male}}" +
+                "]}}"
+            );
+    }
+
+    @Test
+    public void identityCacheAppliesWhereArgumentToLoadedEntities() {
+        //given
+        GraphQLExecutor executor = executor(true, QueryMetricsRecorder.NOOP);
+
+        String query =
+            """
+                query {
+                  Humans(where: {id: {IN: ["1000", "1003"]}}) {
+                    select {
+                      id
+                      gender(where: {code: {EQ: "Female"}}) {
+                        code
+                      }
+                    }
+                  }
+                }
+            """;
+
+        //when
+        ExecutionResult result = executor.execute(query);
+
+        //then
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(result.getData().toString())
+            .isEqualTo("{Humans={select=[{id=1000, gender=null}, {id=1003, gender={code=Female}}]}}");
+    }
+
+    @Test
+    public void identityCacheBindsIdsWithInListBinding() {
+        //given
+        GraphQLExecutor executor = new GraphQLJpaExecutor(
+            new GraphQLJpaSchemaBuilder(entityManager)
+                .name("Starwars")
+                .toOneIdentityCache(true)
+                .inListBinding(InListBinding.ARRAY)
+                .build()
+        );
+
+        String query =
+            """
+                query($ids: [String]) {
+                  Humans(where: {id: {IN: $ids}}) {
+                    select {
+                      id
+                      gender {
+                        code
+                      }
+                    }
+                  }
+                }
+            """;
+
+        //when
+        ExecutionResult oneId = executor.execute(query, Map.of("ids", List.of("1000")));
+        List<String> oneIdStatements = codeListStatements();
+
+        CapturingStatementInspector.statements.clear();
+
+        ExecutionResult twoIds = executor.execute(query, Map.of("ids", List.of("1000", "1003")));
+        List<String> twoIdsStatements = codeListStatements();
+
+        //then
+        assertThat(oneId.getErrors()).isEmpty();
+        assertThat(twoIds.getErrors()).isEmpty();
+        assertThat(twoIds.getData().toString())
+            .isEqualTo("{Humans={select=[{id=1000, gender={code=Male}}, {id=1003, gender={code=Female}}]}}");
+        assertThat(oneIdStatements).hasSize(1);
+        assertThat(twoIdsStatements).isEqualTo(oneIdStatements);
+    }
+
+    private GraphQLExecutor executor(boolean toOneIdentityCache, QueryMetricsRecorder queryMetricsRecorder) {
+        return new GraphQLJpaExecutor(
+            new GraphQLJpaSchemaBuilder(entityManager)
+                .name("Starwars")
+                .queryMetricsRecorder(queryMetricsRecorder)
+                .toOneIdentityCache(toOneIdentityCache)
+                .build()
+        );
+    }
+
+    private ExecutionResult execute(GraphQLExecutor executor) {
+        ExecutionResult result = executor.execute(QUERY);
+
+        assertThat(result.getErrors()).isEmpty();
+
+        return result;
+    }
+
+    private static List<String> codeListStatements() {
+        return CapturingStatementInspector.statements
+            .stream()
+            .filter(sql -> sql.toLowerCase().contains("code_list"))
+            .toList();
+    }
+}
@@ -0,0 +1,167 @@
+package com.introproventures.graphql.jpa.query.schema.impl;
+
+import static graphql.schema.FieldCoordinates.coordinates;
+import static graphql.schema.GraphQLFieldDefinition.newFieldDefinition;
+import static graphql.schema.visibility.DefaultGraphqlFieldVisibility.DEFAULT_FIELD_VISIBILITY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.introproventures.graphql.jpa.query.schema.GraphQLExecutorContext;
+import com.introproventures.graphql.jpa.query.schema.GraphQLFieldVisibilitySupplier;
+import graphql.ExecutionResult;
+import graphql.Scalars;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.StaticDataFetcher;
+import graphql.schema.visibility.BlockedFields;
+import graphql.schema.visibility.GraphqlFieldVisibility;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GraphQLJpaVisibilitySchemaCacheTest {
+
+    private GraphQLSchema graphQLSchema;
+
+    private String role;
+
+    private AtomicInteger visibilityCount = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        GraphQLObjectType query = GraphQLObjectType
+            .newObject()
+            .name("Query")
+            .field(newFieldDefinition().name("hello").type(Scalars.GraphQLString))
+            .field(newFieldDefinition().name("secret").type(Scalars.GraphQLString))
+            .build();
+
+        graphQLSchema =
+            GraphQLSchema
+                .newSchema()
+                .query(query)
+                .codeRegistry(
+                    GraphQLCodeRegistry
+                        .newCodeRegistry()
+                        .dataFetcher(coordinates("Query", "hello"), new StaticDataFetcher("hello"))
+                        .dataFetcher(coordinates("Query", "secret"), new StaticDataFetcher("secret"))
+                        .build()
+                )
+                .build();
+    }
+
+    private GraphQLJpaExecutorContextFactory contextFactory() {
+        return new GraphQLJpaExecutorContextFactory()
+            .withGraphqlFieldVisibility(
+                new GraphQLFieldVisibilitySupplier() {
+                    @Override
+                    public Object getVisibilityKey() {
+                        return role;
+                    }
+
+                    @Override
+                    public GraphqlFieldVisibility get() {
+                        visibilityCount.incrementAndGet();
+
+                        return "admin".equals(role)
+                            ? DEFAULT_FIELD_VISIBILITY
+                            : BlockedFields.newBlock().addPattern("Query.secret").build();
+                    }
+                }
+            );
+    }
+
+    private ExecutionResult execute(GraphQLExecutorContext context, String query) {
+        return context.newGraphQL().build().execute(context.newExecutionInput().query(query));
+    }
+
+    @Test
+    public void shouldReuseSchemaForSameVisibilityKey() {
+        //given
+        GraphQLJpaExecutorContextFactory contextFactory = contextFactory();
+
+        //when
+        role = "user";
+        GraphQLSchema user1 = contextFactory.newExecutorContext(graphQLSchema).getGraphQLSchema();
+        GraphQLSchema user2 = contextFactory.newExecutorContext(graphQLSchema).getGraphQLSchema();
+        role = "admin";
+        GraphQLSchema admin = contextFactory.newExecutorContext(graphQLSchema).getGraphQLSchema();
+
+        //then
+        assertThat(user1).isSameAs(user2);
+        assertThat(admin).isNotSameAs(user1);
+        assertThat(visibilityCount.get()).isEqualTo(2);
+        assertThat(contextFactory.getVisibilitySchemaCache().getHitCount()).isEqualTo(1);
+        assertThat(contextFactory.getVisibilitySchemaCache().getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldApplyCachedVisibilityPerKey() {
+        //given
+        GraphQLJpaExecutorContextFactory contextFactory = contextFactory();
+
+        //when
+        role = "user";
+        ExecutionResult user1 = execute(contextFactory.newExecutorContext(graphQLSchema), "{ secret }");
+        role = "admin";
+        ExecutionResult admin = execute(contextFactory.newExecutorContext(graphQLSchema), "{ secret }");
+        role = "user";
+        ExecutionResult user2 = execute(contextFactory.newExecutorContext(graphQLSchema), "{ secret }");
+
+        //then
+        assertThat(user1.getErrors()).isNotEmpty();
+        assertThat(admin.getErrors()).isEmpty();
+        assertThat(admin.getData().toString()).isEqualTo("{secret=secret}");
+        assertThat(user2.getErrors()).isNotEmpty();
+    }
+
+    @Test
+    public void shouldShareDocumentsForSchemaInUse() {
+        //given
+        GraphQLJpaPreparsedDocumentProvider documentCache = new GraphQLJpaPreparsedDocumentProvider(10);
+        GraphQLJpaExecutorContextFactory contextFactory = contextFactory().withPreparsedDocumentProvider(documentCache);
+
+        //when
+        role = "user";
+        execute(contextFactory.newExecutorContext(graphQLSchema), "{ hello }");
+        execute(contextFactory.newExecutorContext(graphQLSchema), "{ hello }");
+        role = "admin";
+        execute(contextFactory.newExecutorContext(graphQLSchema), "{ hello }");
+
+        //then
+        assertThat(documentCache.getHitCount()).isEqualTo(1);
+        assertThat(documentCache.getMissCount()).isEqualTo(2);
+        assertThat(documentCache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldNotTransformSchemaWithSameVisibility() {
+        //given
+        GraphQLJpaVisibilitySchemaCache cache = new GraphQLJpaVisibilitySchemaCache();
+
+        //when
+        GraphQLSchema result = cache.getGraphQLSchema(
+            graphQLSchema,
+            DEFAULT_FIELD_VISIBILITY,
+            () -> DEFAULT_FIELD_VISIBILITY
+        );
+
+        //then
+        assertThat(result).isSameAs(graphQLSchema);
+    }
+
+    @Test
+    public void shouldBoundCachedSchemas() {
+        //given
+        GraphQLJpaVisibilitySchemaCache cache = new GraphQLJpaVisibilitySchemaCache(2);
+
+        //when
+        for (int i = 0; i < 5; i++) {
+            cache.getGraphQLSchema(graphQLSchema, i, () -> BlockedFields.newBlock().addPattern("Query.secret").build());
+        }
+
+        //then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getMissCount()).isEqualTo(5);
+    }
+}
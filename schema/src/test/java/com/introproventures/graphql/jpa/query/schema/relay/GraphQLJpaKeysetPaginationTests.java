@@ -0,0 +1,187 @@
+package com.introproventures.graphql.jpa.query.schema.relay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
+import com.introproventures.graphql.jpa.query.schema.GraphQLSchemaBuilder;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaExecutor;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaSchemaBuilder;
+import com.introproventures.graphql.jpa.query.schema.model.book.Book;
+import graphql.ExecutionResult;
+import jakarta.persistence.EntityManager;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.persistence.autoconfigure.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+
+@SpringBootTest
+public class GraphQLJpaKeysetPaginationTests {
+
+    private static final String QUERY =
+        """
+            query($first: Int, $after: String, $last: Int, $before: String) {
+              books(first: $first, after: $after, last: $last, before: $before) {
+                pageInfo {
+                  hasNextPage
+                  hasPreviousPage
+                  startCursor
+                  endCursor
+                }
+                edges {
+                  node {
+                    id
+                    title
+                  }
+                }
+              }
+            }
+        """;
+
+    @SpringBootApplication
+    @EntityScan(basePackageClasses = Book.class)
+    static class Application {
+
+        @Bean
+        public GraphQLExecutor graphQLExecutor(final GraphQLSchemaBuilder graphQLSchemaBuilder) {
+            return new GraphQLJpaExecutor(graphQLSchemaBuilder.build());
+        }
+
+        @Bean
+        public GraphQLSchemaBuilder graphQLSchemaBuilder(final EntityManager entityManager) {
+            return new GraphQLJpaSchemaBuilder(entityManager)
+                .name("GraphQLBooks")
+                .description("Books JPA test schema")
+                .enableRelay(true)
+                .useKeysetPagination(true);
+        }
+    }
+
+    @Autowired
+    private GraphQLExecutor executor;
+
+    @Test
+    public void keysetCursorRoundTrip() {
+        //given
+        List<SortField> sortFields = List.of(
+            new SortField("title", SortField.Direction.DESC),
+            new SortField("id", SortField.Direction.ASC)
+        );
+
+        //when
+        String cursor = KeysetCursor.of(sortFields, List.of("War, and Peace", 2L)).toConnectionCursor().getValue();
+
+        //then
+        assertThat(KeysetCursor.isKeysetCursor(cursor)).isTrue();
+        assertThat(KeysetCursor.isKeysetCursor("b2Zmc2V0PTE=")).isFalse();
+        assertThat(KeysetCursor.fromCursor(cursor).getValues(sortFields, List.of(String.class, Long.class)))
+            .containsExactly("War, and Peace", 2L);
+    }
+
+    @Test
+    public void forwardPagesWithFirstAfter() {
+        //when
+        Map<String, Object> firstPage = execute(Map.of("first", 2));
+        Map<String, Object> secondPage = execute(Map.of("first", 2, "after", endCursor(firstPage)));
+        Map<String, Object> lastPage = execute(Map.of("first", 2, "after", endCursor(secondPage)));
+
+        //then
+        assertThat(ids(firstPage)).containsExactly(2L, 3L);
+        assertThat(pageInfo(firstPage)).containsEntry("hasNextPage", true).containsEntry("hasPreviousPage", false);
+        assertThat(KeysetCursor.isKeysetCursor(endCursor(firstPage))).isTrue();
+
+        assertThat(ids(secondPage)).containsExactly(5L, 6L);
+        assertThat(pageInfo(secondPage)).containsEntry("hasNextPage", true).containsEntry("hasPreviousPage", true);
+
+        assertThat(ids(lastPage)).containsExactly(7L);
+        assertThat(pageInfo(lastPage)).containsEntry("hasNextPage", false).containsEntry("hasPreviousPage", true);
+    }
+
+    @Test
+    public void backwardPagesWithLastBefore() {
+        //when
+        Map<String, Object> lastPage = execute(Map.of("last", 2));
+        Map<String, Object> previousPage = execute(Map.of("last", 2, "before", startCursor(lastPage)));
+        Map<String, Object> firstPage = execute(Map.of("last", 2, "before", startCursor(previousPage)));
+
+        //then
+        assertThat(ids(lastPage)).containsExactly(6L, 7L);
+        assertThat(pageInfo(lastPage)).containsEntry("hasNextPage", false).containsEntry("hasPreviousPage", true);
+
+        assertThat(ids(previousPage)).containsExactly(3L, 5L);
+        assertThat(pageInfo(previousPage)).containsEntry("hasNextPage", true).containsEntry("hasPreviousPage", true);
+
+        assertThat(ids(firstPage)).containsExactly(2L);
+        assertThat(pageInfo(firstPage)).containsEntry("hasNextPage", true).containsEntry("hasPreviousPage", false);
+    }
+
+    @Test
+    public void offsetCursorFallbackForOptionalSortAttribute() {
+        //given
+        String query =
+            """
+                query($after: String) {
+                  books(first: 2, after: $after) {
+                    pageInfo {
+                      hasNextPage
+                      endCursor
+                    }
+                    edges {
+                      node {
+                        id
+                        title(orderBy: DESC)
+                      }
+                    }
+                  }
+                }
+            """;
+
+        //when
+        Map<String, Object> firstPage = execute(query, Map.of());
+        Map<String, Object> secondPage = execute(query, Map.of("after", endCursor(firstPage)));
+
+        //then
+        assertThat(KeysetCursor.isKeysetCursor(endCursor(firstPage))).isFalse();
+        assertThat(ids(firstPage)).containsExactly(2L, 7L);
+        assertThat(ids(secondPage)).containsExactly(6L, 5L);
+        assertThat(pageInfo(secondPage)).containsEntry("hasNextPage", true);
+    }
+
+    private Map<String, Object> execute(Map<String, Object> variables) {
+        return execute(QUERY, variables);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> execute(String query, Map<String, Object> variables) {
+        ExecutionResult result = executor.execute(query, new HashMap<>(variables));
+
+        assertThat(result.getErrors()).isEmpty();
+
+        return (Map<String, Object>) ((Map<String, Object>) result.getData()).get("books");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> pageInfo(Map<String, Object> page) {
+        return (Map<String, Object>) page.get("pageInfo");
+    }
+
+    private static String startCursor(Map<String, Object> page) {
+        return (String) pageInfo(page).get("startCursor");
+    }
+
+    private static String endCursor(Map<String, Object> page) {
+        return (String) pageInfo(page).get("endCursor");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> ids(Map<String, Object> page) {
+        return ((List<Map<String, Map<String, Object>>>) page.get("edges"))
+            .stream()
+            .map(edge -> edge.get("node").get("id"))
+            .toList();
+    }
+}
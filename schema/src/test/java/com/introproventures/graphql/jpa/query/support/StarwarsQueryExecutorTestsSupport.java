@@ -28,6 +28,7 @@ import com.introproventures.graphql.jpa.query.schema.model.starwars.Human;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import jakarta.transaction.Transactional;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -427,6 +428,77 @@ public abstract class StarwarsQueryExecutorTestsSupport extends AbstractSpringBo
         assertThat(result.toString()).isEqualTo(expected);
     }
 
+    @Test
+    public void queryWhereRootPagedWithAfterCursor() {
+        //given:
+        String query =
+            "query($after: String) { Humans( page: { limit: 2, after: $after }) { endCursor, select { id, name } } }";
+
+        //when:
+        Map<String, Map<String, Object>> firstPage = executor.execute(query, new HashMap<>()).getData();
+        String firstCursor = (String) firstPage.get("Humans").get("endCursor");
+
+        Map<String, Map<String, Object>> secondPage = executor.execute(query, Map.of("after", firstCursor)).getData();
+        String secondCursor = (String) secondPage.get("Humans").get("endCursor");
+
+        Map<String, Map<String, Object>> lastPage = executor.execute(query, Map.of("after", secondCursor)).getData();
+        String lastCursor = (String) lastPage.get("Humans").get("endCursor");
+
+        Map<String, Map<String, Object>> emptyPage = executor.execute(query, Map.of("after", lastCursor)).getData();
+
+        //then:
+        assertThat(firstPage.get("Humans").get("select").toString())
+            .isEqualTo("[{id=1000, name=Luke Skywalker}, {id=1001, name=Darth Vader}]");
+        assertThat(secondPage.get("Humans").get("select").toString())
+            .isEqualTo("[{id=1002, name=Han Solo}, {id=1003, name=Leia Organa}]");
+        assertThat(lastPage.get("Humans").get("select").toString()).isEqualTo("[{id=1004, name=Wilhuff Tarkin}]");
+        assertThat(emptyPage.get("Humans").toString()).isEqualTo("{endCursor=null, select=[]}");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void queryWhereRootPagedWithAfterCursorWalksTiedSortValues() {
+        //given:
+        String query =
+            "query($after: String) { CodeLists( page: { limit: 1, after: $after }) " +
+            "{ endCursor, select { id, active(orderBy: DESC) } } }";
+
+        List<Object> ids = new ArrayList<>();
+        Map<String, Object> variables = new HashMap<>();
+
+        //when:
+        for (int pages = 0; pages < 10; pages++) {
+            Map<String, Map<String, Object>> page = executor.execute(query, variables).getData();
+            List<Map<String, Object>> select = (List<Map<String, Object>>) page.get("CodeLists").get("select");
+            String endCursor = (String) page.get("CodeLists").get("endCursor");
+
+            select.forEach(codeList -> ids.add(codeList.get("id")));
+
+            if (endCursor == null) {
+                break;
+            }
+            variables = Map.of("after", endCursor);
+        }
+
+        //then:
+        assertThat(ids).doesNotHaveDuplicates();
+        assertThat(ids).extracting(Object::toString).containsExactly("0", "1");
+    }
+
+    @Test
+    public void queryEndCursorIsNullForOptionalSortField() {
+        //given:
+        String query = "query { Humans( page: { limit: 2 }) { endCursor, select { name(orderBy: DESC) } } }";
+
+        String expected = "{Humans={endCursor=null, select=[{name=Wilhuff Tarkin}, {name=Luke Skywalker}]}}";
+
+        //when:
+        Object result = executor.execute(query).getData();
+
+        //then:
+        assertThat(result.toString()).isEqualTo(expected);
+    }
+
     @Test
     public void queryPaginationWithoutRecords() {
         //given:
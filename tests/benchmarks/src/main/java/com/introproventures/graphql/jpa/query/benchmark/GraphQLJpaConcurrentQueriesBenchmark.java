@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017 IntroPro Ventures Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.introproventures.graphql.jpa.query.benchmark;
+
+import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaExecutor;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaSchemaBuilder;
+import com.introproventures.graphql.jpa.query.schema.model.book.Author;
+import com.introproventures.graphql.jpa.query.schema.model.book.Book;
+import graphql.ExecutionResult;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceConfiguration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures latency of a paged query that selects page records together with total, pages and aggregate counts
+ * from an H2 database. Compare sequential execution with concurrent count and aggregate queries running
+ * on separate entity managers while the page is fetched.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphQLJpaConcurrentQueriesBenchmark {
+
+    private static final String QUERY =
+        """
+        {
+          Books(where: {title: {LIKE: "7"}}, page: {start: 2, limit: 20}) {
+            total
+            pages
+            select {
+              id
+              title
+              author {
+                name
+              }
+            }
+            aggregate {
+              count
+              authors: count(of: author)
+            }
+          }
+        }
+        """;
+
+    @Param({ "false", "true" })
+    public boolean concurrentQueries;
+
+    @Param({ "200000" })
+    public int bookCount;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private EntityManager entityManager;
+
+    private ExecutorService executorService;
+
+    private GraphQLExecutor executor;
+
+    @Setup
+    public void setUp() {
+        entityManagerFactory =
+            new PersistenceConfiguration("benchmark")
+                .managedClass(Author.class)
+                .managedClass(Book.class)
+                .property(PersistenceConfiguration.JDBC_URL, "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1")
+                .property(PersistenceConfiguration.SCHEMAGEN_DATABASE_ACTION, "drop-and-create")
+                .createEntityManagerFactory();
+
+        entityManagerFactory.runInTransaction(entityManager -> {
+            entityManager
+                .createNativeQuery(
+                    "insert into Author (id, name, genre) select x, 'Author ' || x, 'NOVEL' from system_range(1, 1000)"
+                )
+                .executeUpdate();
+            entityManager
+                .createNativeQuery(
+                    "insert into Book (id, title, description, price, author_id, genre) " +
+                    "select x, 'Book ' || x, 'Description ' || x, x / 100.0, mod(x, 1000) + 1, 'NOVEL' " +
+                    "from system_range(1, ?1)"
+                )
+                .setParameter(1, bookCount)
+                .executeUpdate();
+        });
+
+        entityManager = entityManagerFactory.createEntityManager();
+
+        GraphQLJpaSchemaBuilder schemaBuilder = new GraphQLJpaSchemaBuilder(entityManager).name("Benchmark");
+
+        schemaBuilder.enableAggregate(true);
+
+        if (concurrentQueries) {
+            executorService = Executors.newCachedThreadPool();
+            schemaBuilder.concurrentQueryExecutor(executorService);
+        }
+
+        executor = new GraphQLJpaExecutor(schemaBuilder.build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executorService != null) {
+            executorService.shutdown();
+        }
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public ExecutionResult pagedQueryWithCounts() {
+        try {
+            ExecutionResult result = executor.execute(QUERY);
+
+            if (!result.getErrors().isEmpty()) {
+                throw new IllegalStateException(result.getErrors().toString());
+            }
+
+            return result;
+        } finally {
+            entityManager.clear();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017 IntroPro Ventures Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.introproventures.graphql.jpa.query.benchmark;
+
+import static graphql.schema.GraphQLFieldDefinition.newFieldDefinition;
+
+import com.introproventures.graphql.jpa.query.schema.GraphQLFieldVisibilitySupplier;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaExecutorContextFactory;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaVisibilitySchemaCache;
+import graphql.GraphQL;
+import graphql.Scalars;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLTypeReference;
+import graphql.schema.visibility.BlockedFields;
+import graphql.schema.visibility.GraphqlFieldVisibility;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures per-request cost of creating executor context GraphQL instance with field visibility
+ * applied to a schema with many entity types. Compare schema cache size 0, i.e. transform schema
+ * on every request, with cached visibility schemas, using <code>-prof gc</code> to see allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphQLJpaExecutorContextBenchmark {
+
+    @Param({ "0", "32" })
+    public int schemaCacheSize;
+
+    @Param({ "500" })
+    public int entityCount;
+
+    private GraphQLSchema graphQLSchema;
+
+    private GraphQLJpaExecutorContextFactory contextFactory;
+
+    @Setup
+    public void setUp() {
+        graphQLSchema = BenchmarkSchemas.newEntitySchema(entityCount, 20);
+
+        contextFactory =
+            new GraphQLJpaExecutorContextFactory()
+                .withVisibilitySchemaCache(new GraphQLJpaVisibilitySchemaCache(schemaCacheSize))
+                .withGraphqlFieldVisibility(
+                    new GraphQLFieldVisibilitySupplier() {
+                        @Override
+                        public Object getVisibilityKey() {
+                            return "user";
+                        }
+
+                        @Override
+                        public GraphqlFieldVisibility get() {
+                            return BlockedFields.newBlock().addPattern("Entity0.field0").build();
+                        }
+                    }
+                );
+    }
+
+    @Benchmark
+    public GraphQL newGraphQL() {
+        return contextFactory.newExecutorContext(graphQLSchema).newGraphQL().build();
+    }
+
+    static final class BenchmarkSchemas {
+
+        static GraphQLSchema newEntitySchema(int entityCount, int fieldCount) {
+            GraphQLObjectType.Builder query = GraphQLObjectType.newObject().name("Query");
+
+            for (int i = 0; i < entityCount; i++) {
+                GraphQLObjectType.Builder entity = GraphQLObjectType.newObject().name("Entity" + i);
+
+                for (int j = 0; j < fieldCount; j++) {
+                    entity.field(newFieldDefinition().name("field" + j).type(Scalars.GraphQLString));
+                }
+
+                String next = "Entity" + (i + 1) % entityCount;
+
+                entity.field(newFieldDefinition().name("next").type(GraphQLTypeReference.typeRef(next)));
+
+                query.field(newFieldDefinition().name("entity" + i).type(entity));
+            }
+
+            return GraphQLSchema.newSchema().query(query).build();
+        }
+    }
+}
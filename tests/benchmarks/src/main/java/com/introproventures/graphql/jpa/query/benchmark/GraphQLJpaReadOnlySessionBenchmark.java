@@ -0,0 +1,180 @@
+/*
+ * Copyright 2017 IntroPro Ventures Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.introproventures.graphql.jpa.query.benchmark;
+
+import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaExecutor;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaSchemaBuilder;
+import com.introproventures.graphql.jpa.query.schema.model.book.Author;
+import com.introproventures.graphql.jpa.query.schema.model.book.Book;
+import com.sun.management.ThreadMXBean;
+import graphql.ExecutionResult;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceConfiguration;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures throughput and heap allocated per operation of a query that selects a large page of books. Compare
+ * detaching every result entity from the persistence context with keeping results in a read-only session, in
+ * read-only and read-write transactions. The allocated bytes and queries counters report heap allocated by the
+ * benchmark thread per iteration, run with <code>-prof gc</code> to compare it with garbage collection churn.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphQLJpaReadOnlySessionBenchmark {
+
+    private static final String QUERY =
+        """
+        {
+          Books(page: {start: 1, limit: 1000}) {
+            select {
+              id
+              title
+              description
+              price
+              genre
+              author {
+                id
+                name
+              }
+            }
+          }
+        }
+        """;
+
+    @Param({ "false", "true" })
+    public boolean readOnlySession;
+
+    @Param({ "true", "false" })
+    public boolean readOnlyTransaction;
+
+    @Param({ "1000" })
+    public int bookCount;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private EntityManager entityManager;
+
+    private GraphQLExecutor executor;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Allocation {
+
+        private final ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        public long allocatedBytes;
+
+        public long queries;
+
+        long getAllocatedBytes() {
+            return threadMXBean.getCurrentThreadAllocatedBytes();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        entityManagerFactory =
+            new PersistenceConfiguration("benchmark")
+                .managedClass(Author.class)
+                .managedClass(Book.class)
+                .property(PersistenceConfiguration.JDBC_URL, "jdbc:h2:mem:readonly;DB_CLOSE_DELAY=-1")
+                .property(PersistenceConfiguration.SCHEMAGEN_DATABASE_ACTION, "drop-and-create")
+                .createEntityManagerFactory();
+
+        entityManagerFactory.runInTransaction(entityManager -> {
+            entityManager
+                .createNativeQuery(
+                    "insert into Author (id, name, genre) select x, 'Author ' || x, 'NOVEL' from system_range(1, 100)"
+                )
+                .executeUpdate();
+            entityManager
+                .createNativeQuery(
+                    "insert into Book (id, title, description, price, author_id, genre) " +
+                    "select x, 'Book ' || x, 'Description ' || x, x / 100.0, mod(x, 100) + 1, 'NOVEL' " +
+                    "from system_range(1, ?1)"
+                )
+                .setParameter(1, bookCount)
+                .executeUpdate();
+        });
+
+        entityManager = entityManagerFactory.createEntityManager();
+
+        executor =
+            new GraphQLJpaExecutor(
+                new GraphQLJpaSchemaBuilder(entityManager)
+                    .name("Benchmark")
+                    .useReadOnlySession(readOnlySession)
+                    .build()
+            );
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public ExecutionResult transactionQuery(Allocation allocation) {
+        Session session = entityManager.unwrap(Session.class);
+
+        // Let's start transaction the same way as Spring transaction template with read-only flag does
+        session.setDefaultReadOnly(readOnlyTransaction);
+        session.setHibernateFlushMode(readOnlyTransaction ? FlushMode.MANUAL : FlushMode.AUTO);
+        entityManager.getTransaction().begin();
+
+        long allocatedBytes = allocation.getAllocatedBytes();
+
+        try {
+            ExecutionResult result = executor.execute(QUERY);
+
+            if (!result.getErrors().isEmpty()) {
+                throw new IllegalStateException(result.getErrors().toString());
+            }
+
+            allocation.allocatedBytes += allocation.getAllocatedBytes() - allocatedBytes;
+            allocation.queries++;
+
+            return result;
+        } finally {
+            entityManager.getTransaction().rollback();
+            entityManager.clear();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2017 IntroPro Ventures Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.introproventures.graphql.jpa.query.benchmark;
+
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaSchemaBuilder;
+import graphql.schema.GraphQLSchema;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceConfiguration;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures schema build time of a large generated entity model. Every generated entity has a few basic attributes,
+ * a many-to-one association to the previous entity and a one-to-many association to the next one. Compare building
+ * the schema on the calling thread with building entity types in parallel on a fork join pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GraphQLJpaSchemaBuildBenchmark {
+
+    private static final String PACKAGE_NAME = "com.introproventures.graphql.jpa.query.benchmark.generated";
+
+    @Param({ "1", "8" })
+    public int schemaBuildParallelism;
+
+    @Param({ "600" })
+    public int entityCount;
+
+    private Path sourcePath;
+
+    private URLClassLoader classLoader;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private EntityManager entityManager;
+
+    @Setup
+    public void setUp() throws Exception {
+        sourcePath = Files.createTempDirectory("schema-build-benchmark");
+        classLoader = new URLClassLoader(new URL[] { compileEntities().toUri().toURL() }, getClass().getClassLoader());
+
+        PersistenceConfiguration configuration = new PersistenceConfiguration("benchmark")
+            .property(PersistenceConfiguration.JDBC_URL, "jdbc:h2:mem:schema;DB_CLOSE_DELAY=-1")
+            .property("hibernate.classLoaders", List.of(classLoader));
+
+        for (int i = 0; i < entityCount; i++) {
+            configuration.managedClass(classLoader.loadClass(PACKAGE_NAME + "." + entityName(i)));
+        }
+
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+
+        thread.setContextClassLoader(classLoader);
+
+        try {
+            entityManagerFactory = configuration.createEntityManagerFactory();
+            entityManager = entityManagerFactory.createEntityManager();
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        entityManager.close();
+        entityManagerFactory.close();
+        classLoader.close();
+    }
+
+    @Benchmark
+    public GraphQLSchema buildSchema() {
+        return new GraphQLJpaSchemaBuilder(entityManager)
+            .name("Benchmark")
+            .useDistinctParameter(true)
+            .schemaBuildParallelism(schemaBuildParallelism)
+            .build();
+    }
+
+    private Path compileEntities() throws IOException {
+        Path packagePath = Files.createDirectories(sourcePath.resolve(PACKAGE_NAME.replace('.', '/')));
+        List<String> arguments = new ArrayList<>(
+            List.of("-d", sourcePath.toString(), "-classpath", System.getProperty("java.class.path"))
+        );
+
+        for (int i = 0; i < entityCount; i++) {
+            Path source = packagePath.resolve(entityName(i) + ".java");
+
+            Files.writeString(source, entitySource(i));
+            arguments.add(source.toString());
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        if (compiler == null || compiler.run(null, null, null, arguments.toArray(String[]::new)) != 0) {
+            throw new IllegalStateException("Unable to compile generated entity model");
+        }
+
+        return sourcePath;
+    }
+
+    private String entitySource(int index) {
+        String name = entityName(index);
+        StringBuilder source = new StringBuilder()
+            .append("package ")
+            .append(PACKAGE_NAME)
+            .append(";\n\n")
+            .append("import jakarta.persistence.*;\n\n")
+            .append("@Entity\n")
+            .append("public class ")
+            .append(name)
+            .append(" {\n")
+            .append("    @Id private Long id;\n")
+            .append("    private String name;\n")
+            .append("    private String description;\n")
+            .append("    private Double amount;\n")
+            .append("    private java.time.LocalDate created;\n")
+            .append(getter("Long", "id"))
+            .append(getter("String", "name"))
+            .append(getter("String", "description"))
+            .append(getter("Double", "amount"))
+            .append(getter("java.time.LocalDate", "created"));
+
+        if (index > 0) {
+            String previous = entityName(index - 1);
+
+            source
+                .append("    @ManyToOne(fetch = FetchType.LAZY) private ")
+                .append(previous)
+                .append(" previous;\n")
+                .append(getter(previous, "previous"));
+        }
+
+        if (index < entityCount - 1) {
+            String next = "java.util.Set<" + entityName(index + 1) + ">";
+
+            source
+                .append("    @OneToMany(mappedBy = \"previous\") private ")
+                .append(next)
+                .append(" next;\n")
+                .append(getter(next, "next"));
+        }
+
+        return source.append("}\n").toString();
+    }
+
+    private static String getter(String type, String property) {
+        return (
+            "    public " +
+            type +
+            " get" +
+            Character.toUpperCase(property.charAt(0)) +
+            property.substring(1) +
+            "() { return " +
+            property +
+            "; }\n"
+        );
+    }
+
+    private static String entityName(int index) {
+        return "Entity%04d".formatted(index);
+    }
+}
@@ -17,10 +17,12 @@ package com.introproventures.graphql.jpa.query.web;
 
 import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
 import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaExecutor;
+import com.introproventures.graphql.jpa.query.web.PersistedQueryStore.PersistedQuery;
 import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.GraphqlErrorBuilder;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import jakarta.validation.constraints.NotNull;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.UncheckedIOException;
@@ -29,13 +31,16 @@ import java.util.Map;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
 import tools.jackson.core.JacksonException;
@@ -52,9 +57,13 @@ public class GraphQLController {
 
     private static final String PATH = "${spring.graphql.jpa.query.web.path:/graphql}";
     public static final String APPLICATION_GRAPHQL_VALUE = "application/graphql";
+    public static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+    public static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
+    public static final String PERSISTED_QUERY_NOT_SUPPORTED = "PersistedQueryNotSupported";
 
     private final GraphQLExecutor graphQLExecutor;
     private final ObjectMapper mapper;
+    private PersistedQueryStore persistedQueryStore;
 
     /**
      * Creates instance of Spring GraphQLController RestController
@@ -68,6 +77,21 @@ public class GraphQLController {
         this.mapper = mapper;
     }
 
+    /**
+     * Enables automatic persisted queries support using provided store
+     *
+     * @param persistedQueryStore {@link PersistedQueryStore} instance or null to disable automatic persisted queries
+     * @return this controller
+     */
+    public GraphQLController withPersistedQueryStore(PersistedQueryStore persistedQueryStore) {
+        this.persistedQueryStore = persistedQueryStore;
+        return this;
+    }
+
+    public PersistedQueryStore getPersistedQueryStore() {
+        return persistedQueryStore;
+    }
+
     @GetMapping(
         value = PATH,
         consumes = MediaType.TEXT_EVENT_STREAM_VALUE,
@@ -150,6 +174,9 @@ public class GraphQLController {
      *   "variables": { "myVariable": "someValue", ... }
      * }
      * </pre>
+     * The query can be omitted if the request has "persistedQuery" extension with "sha256Hash" of previously
+     * registered query.
+     *
      * @param queryRequest object
      * @param httpServletResponse object
      * @throws IOException exception
@@ -163,14 +190,51 @@ public class GraphQLController {
         @RequestBody @Valid final GraphQLQueryRequest queryRequest,
         HttpServletResponse httpServletResponse
     ) throws IOException {
+        String query = resolveQuery(queryRequest.getQuery(), queryRequest.getExtensions(), null, false);
+
         ExecutionResult executionResult = graphQLExecutor.execute(
-            queryRequest.getQuery(),
+            query,
             queryRequest.getOperationName(),
             queryRequest.getVariables()
         );
         sendResponse(httpServletResponse, executionResult);
     }
 
+    /**
+     * Handle HTTP GET request with automatic persisted query.
+     * The "extensions" query string should contain JSON-encoded "persistedQuery" extension with "sha256Hash"
+     * of the query, i.e.
+     * <pre> http://server/graphql?extensions={"persistedQuery":{"version":1,"sha256Hash":"..."}}</pre>
+     *
+     * The query text is only required on the first request to register the query for its hash.
+     * Only query operations can be executed over GET, mutations and subscriptions are rejected with
+     * 405 Method Not Allowed status as required by GraphQL over HTTP specification, so that a cross-site request
+     * cannot trigger a stored mutation.
+     *
+     * @param query optional query string
+     * @param operationName optional operation name
+     * @param variables encoded JSON string
+     * @param extensions encoded JSON string
+     * @param httpServletResponse object
+     * @throws IOException exception
+     */
+    @GetMapping(value = PATH, params = "extensions", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void getPersistedQuery(
+        @RequestParam(name = "query", required = false) final String query,
+        @RequestParam(name = "operationName", required = false) final String operationName,
+        @RequestParam(name = "variables", required = false) final String variables,
+        @RequestParam(name = "extensions") final String extensions,
+        HttpServletResponse httpServletResponse
+    ) throws IOException {
+        Map<String, Object> variablesMap = variablesStringToMap(variables);
+        Map<String, Object> extensionsMap = variablesStringToMap(extensions);
+        String resolvedQuery = resolveQuery(query, extensionsMap, operationName, true);
+
+        ExecutionResult executionResult = graphQLExecutor.execute(resolvedQuery, operationName, variablesMap);
+
+        sendResponse(httpServletResponse, executionResult);
+    }
+
     /**
      * Handle HTTP GET request.
      * The GraphQL query should be specified in the "query" query string.
@@ -243,6 +307,107 @@ public class GraphQLController {
         sendResponse(httpServletResponse, executionResult);
     }
 
+    /**
+     * Handle automatic persisted query lookup failures with GraphQL error response, so that clients
+     * can retry the request with the full query text.
+     *
+     * @param exception persisted query error
+     * @return GraphQL error response specification
+     */
+    @ExceptionHandler(PersistedQueryException.class)
+    public Map<String, Object> handlePersistedQueryException(PersistedQueryException exception) {
+        return ExecutionResultImpl
+            .newExecutionResult()
+            .addError(
+                GraphqlErrorBuilder
+                    .newError()
+                    .message(exception.getMessage())
+                    .extensions(Map.of("code", exception.getCode()))
+                    .build()
+            )
+            .build()
+            .toSpecification();
+    }
+
+    /**
+     * Resolves query text using automatic persisted query extension if present. If query operation is required,
+     * the operation type of registered query is checked without parsing the query again, and a new query is
+     * checked before it is registered.
+     */
+    @SuppressWarnings("unchecked")
+    private String resolveQuery(
+        final String query,
+        final Map<String, Object> extensions,
+        final String operationName,
+        final boolean queryOperationRequired
+    ) {
+        Object persistedQuery = extensions != null ? extensions.get(PERSISTED_QUERY_EXTENSION) : null;
+
+        if (!(persistedQuery instanceof Map)) {
+            if (query == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "query must not be null");
+            }
+
+            if (queryOperationRequired) {
+                requireQueryOperation(PersistedQuery.parse(query), operationName);
+            }
+
+            return query;
+        }
+
+        if (persistedQueryStore == null) {
+            throw new PersistedQueryException(PERSISTED_QUERY_NOT_SUPPORTED, "PERSISTED_QUERY_NOT_SUPPORTED");
+        }
+
+        Object sha256Hash = ((Map<String, Object>) persistedQuery).get("sha256Hash");
+
+        if (!(sha256Hash instanceof String hash)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sha256Hash must not be null");
+        }
+
+        if (query == null) {
+            PersistedQuery registered = persistedQueryStore
+                .getPersistedQuery(hash)
+                .orElseThrow(() ->
+                    new PersistedQueryException(PERSISTED_QUERY_NOT_FOUND, "PERSISTED_QUERY_NOT_FOUND")
+                );
+
+            if (queryOperationRequired) {
+                requireQueryOperation(registered, operationName);
+            }
+
+            return registered.query();
+        }
+
+        PersistedQuery parsed = PersistedQuery.parse(query);
+
+        // Let's not register rejected operations in the store
+        if (queryOperationRequired) {
+            requireQueryOperation(parsed, operationName);
+        }
+
+        try {
+            return persistedQueryStore.register(hash, parsed).query();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Rejects documents that select mutation or subscription operation for execution over HTTP GET.
+     * Documents with syntax errors are left to the executor to report as GraphQL errors.
+     */
+    private static void requireQueryOperation(final PersistedQuery query, final String operationName) {
+        query
+            .findNonQueryOperation(operationName)
+            .ifPresent(operation -> {
+                throw new ResponseStatusException(
+                    HttpStatus.METHOD_NOT_ALLOWED,
+                    operation + " operation is not allowed over GET"
+                );
+            });
+    }
+
     /**
      * Convert String argument to a Map as expected by {@link GraphQLJpaExecutor#execute(String, Map)}. GraphiQL posts both
      * query and variables as JSON encoded String, so Spring MVC mapping is useless here.
@@ -267,13 +432,14 @@ public class GraphQLController {
     @Validated
     public static class GraphQLQueryRequest {
 
-        @NotNull
         private String query;
 
         private String operationName;
 
         private Map<String, Object> variables;
 
+        private Map<String, Object> extensions;
+
         GraphQLQueryRequest() {}
 
         /**
@@ -319,6 +485,39 @@ public class GraphQLController {
         public void setOperationName(String operationName) {
             this.operationName = operationName;
         }
+
+        /**
+         * @return the extensions
+         */
+        public Map<String, Object> getExtensions() {
+            return extensions;
+        }
+
+        /**
+         * @param extensions the extensions to set
+         */
+        public void setExtensions(Map<String, Object> extensions) {
+            this.extensions = extensions;
+        }
+    }
+
+    /**
+     * Automatic persisted query error reported to client as GraphQL error with extension code
+     */
+    public static class PersistedQueryException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String code;
+
+        public PersistedQueryException(String message, String code) {
+            super(message);
+            this.code = code;
+        }
+
+        public String getCode() {
+            return code;
+        }
     }
 
     private void sendResponse(HttpServletResponse response, ExecutionResult executionResult) throws IOException {
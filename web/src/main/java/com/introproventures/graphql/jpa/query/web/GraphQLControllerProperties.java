@@ -11,6 +11,11 @@ public class GraphQLControllerProperties {
     @NotEmpty
     private String path;
 
+    /**
+     * Maximum number of automatic persisted queries registered by SHA-256 hash. Set to 0 to disable persisted queries.
+     */
+    private int persistedQueryCacheSize = PersistedQueryStore.DEFAULT_MAXIMUM_SIZE;
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -26,4 +31,12 @@ public class GraphQLControllerProperties {
     public void setPath(String path) {
         this.path = path;
     }
+
+    public int getPersistedQueryCacheSize() {
+        return persistedQueryCacheSize;
+    }
+
+    public void setPersistedQueryCacheSize(int persistedQueryCacheSize) {
+        this.persistedQueryCacheSize = persistedQueryCacheSize;
+    }
 }
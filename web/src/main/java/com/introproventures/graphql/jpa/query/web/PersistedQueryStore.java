@@ -0,0 +1,184 @@
+/*
+ * Copyright 2017 IntroPro Ventures, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.introproventures.graphql.jpa.query.web;
+
+import graphql.language.OperationDefinition;
+import graphql.language.OperationDefinition.Operation;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Size bounded LRU store of automatic persisted queries that maps SHA-256 hash of query text to the query document.
+ *
+ * The store always returns the same registered query string instance for a hash, so that the executor
+ * preparsed document cache resolves the query without hashing and comparing the full query text again.
+ * Operation types of the query document are resolved once when the query is parsed for registration, so that
+ * the operation can be checked for a hash lookup without parsing the query again.
+ *
+ * @see <a href="https://github.com/apollographql/apollo-link-persisted-queries">Automatic persisted queries</a>
+ */
+public class PersistedQueryStore {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private final Map<String, PersistedQuery> queries;
+
+    public PersistedQueryStore() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public PersistedQueryStore(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+
+        this.queries =
+            Collections.synchronizedMap(
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, PersistedQuery> eldest) {
+                        return size() > maximumSize;
+                    }
+                }
+            );
+    }
+
+    /**
+     * Finds registered query document by its hash
+     *
+     * @param sha256Hash hex encoded SHA-256 hash of the query
+     * @return optional query
+     */
+    public Optional<String> get(String sha256Hash) {
+        return getPersistedQuery(sha256Hash).map(PersistedQuery::query);
+    }
+
+    /**
+     * Finds registered query document with its operation types by its hash
+     *
+     * @param sha256Hash hex encoded SHA-256 hash of the query
+     * @return optional persisted query
+     */
+    public Optional<PersistedQuery> getPersistedQuery(String sha256Hash) {
+        return Optional.ofNullable(sha256Hash).map(String::toLowerCase).map(queries::get);
+    }
+
+    /**
+     * Registers query document under its hash after verifying that the hash matches the query text.
+     *
+     * @param sha256Hash hex encoded SHA-256 hash of the query
+     * @param query query document
+     * @return registered query instance
+     * @throws IllegalArgumentException if hash does not match the query
+     */
+    public String register(String sha256Hash, String query) {
+        return register(sha256Hash, PersistedQuery.parse(query)).query();
+    }
+
+    /**
+     * Registers parsed query document under its hash after verifying that the hash matches the query text.
+     *
+     * @param sha256Hash hex encoded SHA-256 hash of the query
+     * @param query parsed query document
+     * @return registered persisted query instance
+     * @throws IllegalArgumentException if hash does not match the query
+     */
+    public PersistedQuery register(String sha256Hash, PersistedQuery query) {
+        String hash = sha256Hex(query.query());
+
+        if (!hash.equalsIgnoreCase(sha256Hash)) {
+            throw new IllegalArgumentException("provided sha does not match query");
+        }
+
+        PersistedQuery existing = queries.putIfAbsent(hash, query);
+
+        return existing != null ? existing : query;
+    }
+
+    public int size() {
+        return queries.size();
+    }
+
+    /**
+     * Query document with operation types of its operation definitions by operation name. Anonymous operation is
+     * mapped to empty name.
+     *
+     * @param query query document
+     * @param operations operation types by operation name
+     */
+    public record PersistedQuery(String query, Map<String, Operation> operations) {
+        /**
+         * Parses query document to resolve its operation types. Documents with syntax errors have no operations,
+         * so that the executor reports syntax errors as GraphQL errors.
+         *
+         * @param query query document
+         * @return persisted query
+         */
+        public static PersistedQuery parse(String query) {
+            Map<String, Operation> operations = new LinkedHashMap<>();
+
+            try {
+                Parser
+                    .parse(query)
+                    .getDefinitionsOfType(OperationDefinition.class)
+                    .forEach(operation ->
+                        operations.merge(
+                            Objects.requireNonNullElse(operation.getName(), ""),
+                            operation.getOperation(),
+                            (existing, other) -> existing == Operation.QUERY ? other : existing
+                        )
+                    );
+            } catch (InvalidSyntaxException ignored) {}
+
+            return new PersistedQuery(query, Map.copyOf(operations));
+        }
+
+        /**
+         * Returns non-query operation type selected by operation name, or of any operation if name is null
+         *
+         * @param operationName optional operation name
+         * @return optional mutation or subscription operation type
+         */
+        public Optional<Operation> findNonQueryOperation(String operationName) {
+            return operations
+                .entrySet()
+                .stream()
+                .filter(operation -> operationName == null || operationName.equals(operation.getKey()))
+                .map(Map.Entry::getValue)
+                .filter(operation -> operation != Operation.QUERY)
+                .findFirst();
+        }
+    }
+
+    public static String sha256Hex(String query) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+            return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
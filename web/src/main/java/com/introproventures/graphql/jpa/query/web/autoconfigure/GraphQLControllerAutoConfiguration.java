@@ -3,6 +3,7 @@ package com.introproventures.graphql.jpa.query.web.autoconfigure;
 import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
 import com.introproventures.graphql.jpa.query.web.GraphQLController;
 import com.introproventures.graphql.jpa.query.web.GraphQLControllerProperties;
+import com.introproventures.graphql.jpa.query.web.PersistedQueryStore;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -28,7 +29,15 @@ public class GraphQLControllerAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean(GraphQLController.class)
     @ConditionalOnBean(GraphQLExecutor.class)
-    public GraphQLController graphQLController(GraphQLExecutor graphQLExecutor, ObjectMapper objectMapper) {
-        return new GraphQLController(graphQLExecutor, objectMapper);
+    public GraphQLController graphQLController(
+        GraphQLExecutor graphQLExecutor,
+        ObjectMapper objectMapper,
+        GraphQLControllerProperties properties
+    ) {
+        PersistedQueryStore persistedQueryStore = properties.getPersistedQueryCacheSize() > 0
+            ? new PersistedQueryStore(properties.getPersistedQueryCacheSize())
+            : null;
+
+        return new GraphQLController(graphQLExecutor, objectMapper).withPersistedQueryStore(persistedQueryStore);
     }
 }
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2017 IntroPro Ventures, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.introproventures.graphql.jpa.query.test.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaExecutor;
+import com.introproventures.graphql.jpa.query.web.GraphQLController;
+import com.introproventures.graphql.jpa.query.web.PersistedQueryStore;
+import com.introproventures.graphql.jpa.query.web.PersistedQueryStore.PersistedQuery;
+import graphql.ExecutionResultImpl;
+import graphql.language.OperationDefinition.Operation;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import tools.jackson.databind.ObjectMapper;
+
+@WebMvcTest(controllers = GraphQLController.class)
+public class GraphQLControllerPersistedQueryTest {
+
+    private static final String QUERY = "{Tasks(where: {name: {EQ: \"name\"}}){select{id}}}";
+
+    @Autowired
+    private MockMvc mockmvc;
+
+    @MockitoBean
+    private GraphQLJpaExecutor executor;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private GraphQLController controller;
+
+    @Configuration
+    static class Config {
+
+        @Bean
+        GraphQLController graphQLController(GraphQLExecutor executor, ObjectMapper mapper) {
+            return new GraphQLController(executor, mapper).withPersistedQueryStore(new PersistedQueryStore(10));
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        when(executor.execute(Mockito.anyString(), Mockito.nullable(String.class), Mockito.nullable(Map.class)))
+            .thenReturn(new ExecutionResultImpl(new HashMap<>(), new ArrayList<>()));
+    }
+
+    private Map<String, Object> persistedQuery(String sha256Hash) {
+        return Map.of(GraphQLController.PERSISTED_QUERY_EXTENSION, Map.of("version", 1, "sha256Hash", sha256Hash));
+    }
+
+    private ResultActions postJson(Map<String, Object> request) throws Exception {
+        return mockmvc.perform(
+            post("/graphql")
+                .content(mapper.writeValueAsString(request))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+        );
+    }
+
+    @Test
+    public void testPersistedQueryNotFound() throws Exception {
+        postJson(Map.of("extensions", persistedQuery(PersistedQueryStore.sha256Hex("{Tasks{select{name}}}"))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.errors[0].message").value(GraphQLController.PERSISTED_QUERY_NOT_FOUND))
+            .andExpect(jsonPath("$.errors[0].extensions.code").value("PERSISTED_QUERY_NOT_FOUND"));
+
+        verify(executor, never())
+            .execute(Mockito.anyString(), Mockito.nullable(String.class), Mockito.nullable(Map.class));
+    }
+
+    @Test
+    public void testPersistedQueryRegisterAndExecuteByHash() throws Exception {
+        String sha256Hash = PersistedQueryStore.sha256Hex(QUERY);
+
+        postJson(Map.of("query", QUERY, "extensions", persistedQuery(sha256Hash))).andExpect(status().isOk());
+
+        postJson(Map.of("extensions", persistedQuery(sha256Hash))).andExpect(status().isOk());
+
+        mockmvc
+            .perform(
+                get("/graphql")
+                    .param("extensions", mapper.writeValueAsString(persistedQuery(sha256Hash)))
+                    .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.errors").doesNotExist());
+
+        verify(executor, Mockito.times(3)).execute(QUERY, null, null);
+        assertThat(controller.getPersistedQueryStore().get(sha256Hash)).contains(QUERY);
+    }
+
+    @Test
+    public void testPersistedQueryHashMismatch() throws Exception {
+        postJson(Map.of("query", QUERY, "extensions", persistedQuery(PersistedQueryStore.sha256Hex("{ other }"))))
+            .andExpect(status().isBadRequest());
+
+        verify(executor, never())
+            .execute(Mockito.anyString(), Mockito.nullable(String.class), Mockito.nullable(Map.class));
+    }
+
+    @Test
+    public void testPersistedQueryGetWithVariables() throws Exception {
+        String sha256Hash = PersistedQueryStore.sha256Hex(QUERY);
+        Map<String, Object> variables = Map.of("name", "value");
+
+        mockmvc
+            .perform(
+                get("/graphql")
+                    .param("query", QUERY)
+                    .param("operationName", "Tasks")
+                    .param("variables", mapper.writeValueAsString(variables))
+                    .param("extensions", mapper.writeValueAsString(persistedQuery(sha256Hash)))
+            )
+            .andExpect(status().isOk());
+
+        verify(executor).execute(QUERY, "Tasks", variables);
+    }
+
+    @Test
+    public void testPersistedMutationIsRejectedOverGet() throws Exception {
+        String mutation = "mutation { deleteTask(id: 1) { id } }";
+        String sha256Hash = PersistedQueryStore.sha256Hex(mutation);
+
+        postJson(Map.of("query", mutation, "extensions", persistedQuery(sha256Hash))).andExpect(status().isOk());
+
+        mockmvc
+            .perform(
+                get("/graphql")
+                    .param("extensions", mapper.writeValueAsString(persistedQuery(sha256Hash)))
+                    .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isMethodNotAllowed());
+
+        verify(executor, Mockito.times(1)).execute(mutation, null, null);
+    }
+
+    @Test
+    public void testRejectedMutationIsNotRegisteredOverGet() throws Exception {
+        String mutation = "mutation { deleteTask(id: 2) { id } }";
+        String sha256Hash = PersistedQueryStore.sha256Hex(mutation);
+
+        mockmvc
+            .perform(
+                get("/graphql")
+                    .param("query", mutation)
+                    .param("extensions", mapper.writeValueAsString(persistedQuery(sha256Hash)))
+                    .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isMethodNotAllowed());
+
+        verify(executor, never())
+            .execute(Mockito.anyString(), Mockito.nullable(String.class), Mockito.nullable(Map.class));
+        assertThat(controller.getPersistedQueryStore().get(sha256Hash)).isEmpty();
+    }
+
+    @Test
+    public void testPersistedQueryGetUsesRegisteredOperationType() throws Exception {
+        String query = "{Tasks{select{id}}}";
+        String sha256Hash = PersistedQueryStore.sha256Hex(query);
+
+        controller
+            .getPersistedQueryStore()
+            .register(sha256Hash, new PersistedQuery(query, Map.of("", Operation.MUTATION)));
+
+        mockmvc
+            .perform(
+                get("/graphql")
+                    .param("extensions", mapper.writeValueAsString(persistedQuery(sha256Hash)))
+                    .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isMethodNotAllowed());
+
+        verify(executor, never())
+            .execute(Mockito.anyString(), Mockito.nullable(String.class), Mockito.nullable(Map.class));
+    }
+
+    @Test
+    public void testPersistedQueryResolvesOperationTypesOnRegistration() {
+        PersistedQuery persistedQuery = PersistedQuery.parse(
+            "query Tasks { Tasks { select { id } } } mutation Delete { deleteTask(id: 1) { id } }"
+        );
+
+        assertThat(persistedQuery.operations())
+            .isEqualTo(Map.of("Tasks", Operation.QUERY, "Delete", Operation.MUTATION));
+        assertThat(persistedQuery.findNonQueryOperation("Tasks")).isEmpty();
+        assertThat(persistedQuery.findNonQueryOperation("Delete")).contains(Operation.MUTATION);
+        assertThat(persistedQuery.findNonQueryOperation(null)).contains(Operation.MUTATION);
+    }
+
+    @Test
+    public void testQueryIsRequiredWithoutPersistedQuery() throws Exception {
+        postJson(Map.of("variables", Map.of())).andExpect(status().isBadRequest());
+    }
+}